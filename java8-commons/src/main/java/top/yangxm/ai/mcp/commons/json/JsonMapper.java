@@ -1,8 +1,11 @@
 package top.yangxm.ai.mcp.commons.json;
-import top.yangxm.ai.mcp.commons.util.ClassUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
-import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
 @SuppressWarnings("unused")
 public interface JsonMapper {
@@ -18,17 +21,53 @@ public interface JsonMapper {
 
     <T> T readValue(byte[] content, Type type) throws JsonException;
 
+    default <T> T readValue(InputStream content, Class<T> type) throws JsonException {
+        return readValue(readAllBytes(content), type);
+    }
+
+    default <T> T readValue(InputStream content, TypeRef<T> type) throws JsonException {
+        return readValue(readAllBytes(content), type);
+    }
+
+    default <T> T readValue(ByteBuffer content, Class<T> type) throws JsonException {
+        return readValue(toBytes(content), type);
+    }
+
+    default <T> T readValue(ByteBuffer content, TypeRef<T> type) throws JsonException {
+        return readValue(toBytes(content), type);
+    }
+
     <T> T convertValue(Object fromValue, Class<T> type) throws JsonException;
 
     <T> T convertValue(Object fromValue, TypeRef<T> type) throws JsonException;
 
+    default <T> T convertValue(Object fromValue, Type type) throws JsonException {
+        if (fromValue == null) {
+            throw new JsonException("fromValue cannot be null");
+        }
+        return readValue(writeValueAsBytes(fromValue), type);
+    }
+
     String writeValueAsString(Object value) throws JsonException;
 
     byte[] writeValueAsBytes(Object value) throws JsonException;
 
+    default ByteBuffer writeValueAsByteBuffer(Object value) throws JsonException {
+        return ByteBuffer.wrap(writeValueAsBytes(value));
+    }
+
+    default void writeValue(OutputStream out, Object value) throws JsonException, IOException {
+        out.write(writeValueAsBytes(value));
+    }
+
+    // the bytes handed to the consumer may be reused once it returns, copy them to keep them
+    default void writeValue(Object value, BytesConsumer consumer) throws JsonException, IOException {
+        byte[] bytes = writeValueAsBytes(value);
+        consumer.accept(bytes, 0, bytes.length);
+    }
+
     boolean isValidJson(String input);
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     static Object toTypedObject(Object value, Class<?> clazz) {
         if (value == null) {
             throw new JsonException("value cannot be null");
@@ -38,49 +77,41 @@ public interface JsonMapper {
             throw new JsonException("clazz cannot be null");
         }
 
-        Class<?> javaType = ClassUtils.resolvePrimitiveIfNecessary(clazz);
-
-        if (javaType == String.class) {
-            return value.toString();
-        } else if (javaType == Byte.class) {
-            return Byte.parseByte(value.toString());
-        } else if (javaType == Integer.class) {
-            BigDecimal bigDecimal = new BigDecimal(value.toString());
-            return bigDecimal.intValueExact();
-        } else if (javaType == Short.class) {
-            return Short.parseShort(value.toString());
-        } else if (javaType == Long.class) {
-            BigDecimal bigDecimal = new BigDecimal(value.toString());
-            return bigDecimal.longValueExact();
-        } else if (javaType == Double.class) {
-            return Double.parseDouble(value.toString());
-        } else if (javaType == Float.class) {
-            return Float.parseFloat(value.toString());
-        } else if (javaType == Boolean.class) {
-            return Boolean.parseBoolean(value.toString());
-        } else if (javaType.isEnum()) {
-            return Enum.valueOf((Class<Enum>) javaType, value.toString());
-        }
+        return TypedValueConverter.of(clazz).convert(value);
+    }
+
+    static JsonMapper getDefault() {
+        return JsonMapperInternal.getDefaultMapper();
+    }
 
-        Object result = null;
-        if (value instanceof String) {
-            String jsonString = (String) value;
-            try {
-                result = getDefault().readValue(jsonString, javaType);
-            } catch (Exception e) {
-                // ignore
+    static byte[] readAllBytes(InputStream content) throws JsonException {
+        if (content == null) {
+            throw new JsonException("content cannot be null");
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
             }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new JsonException("Read JSON from InputStream failed", e);
         }
+    }
 
-        if (result == null) {
-            String json = getDefault().writeValueAsString(value);
-            result = getDefault().readValue(json, javaType);
+    static byte[] toBytes(ByteBuffer content) throws JsonException {
+        if (content == null) {
+            throw new JsonException("content cannot be null");
         }
-
-        return result;
+        byte[] bytes = new byte[content.remaining()];
+        content.duplicate().get(bytes);
+        return bytes;
     }
 
-    static JsonMapper getDefault() {
-        return JsonMapperInternal.getDefaultMapper();
+    @FunctionalInterface
+    interface BytesConsumer {
+        void accept(byte[] bytes, int offset, int length) throws IOException;
     }
 }
@@ -0,0 +1,171 @@
+package top.yangxm.ai.mcp.commons.json;
+
+import top.yangxm.ai.mcp.commons.util.ClassUtils;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+
+// Converts loosely typed JSON values (String, Number, Boolean, Map, List) into one target type. The conversion is
+// picked once per type, so callers that convert the same parameter over and over should keep the instance around.
+@SuppressWarnings("unused")
+public final class TypedValueConverter {
+    private final Type type;
+    private final Conversion conversion;
+
+    private TypedValueConverter(Type type, Conversion conversion) {
+        this.type = type;
+        this.conversion = conversion;
+    }
+
+    public static TypedValueConverter of(Type type) {
+        return of(type, JsonMapper.getDefault());
+    }
+
+    public static TypedValueConverter of(Type type, JsonMapper jsonMapper) {
+        if (type == null) {
+            throw new JsonException("type cannot be null");
+        }
+        if (jsonMapper == null) {
+            throw new JsonException("jsonMapper cannot be null");
+        }
+        return new TypedValueConverter(type, conversion(type, jsonMapper));
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public Object convert(Object value) throws JsonException {
+        if (value == null) {
+            throw new JsonException("value cannot be null");
+        }
+        return conversion.convert(value);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Conversion conversion(Type type, JsonMapper jsonMapper) {
+        if (!(type instanceof Class)) {
+            return value -> jsonMapper.convertValue(value, type);
+        }
+
+        Class<?> javaType = ClassUtils.resolvePrimitiveIfNecessary((Class<?>) type);
+        if (javaType == String.class) {
+            return Object::toString;
+        } else if (javaType == Byte.class) {
+            return TypedValueConverter::toByte;
+        } else if (javaType == Integer.class) {
+            return TypedValueConverter::toInteger;
+        } else if (javaType == Short.class) {
+            return TypedValueConverter::toShort;
+        } else if (javaType == Long.class) {
+            return TypedValueConverter::toLong;
+        } else if (javaType == Double.class) {
+            return TypedValueConverter::toDouble;
+        } else if (javaType == Float.class) {
+            return TypedValueConverter::toFloat;
+        } else if (javaType == Boolean.class) {
+            return value -> value instanceof Boolean ? value : Boolean.parseBoolean(value.toString());
+        } else if (javaType.isEnum()) {
+            return value -> javaType.isInstance(value) ? value : Enum.valueOf((Class<Enum>) javaType, value.toString());
+        }
+
+        return value -> {
+            // a complex argument may arrive as a JSON document in a string
+            if (value instanceof String) {
+                Object result = null;
+                try {
+                    result = jsonMapper.readValue((String) value, javaType);
+                } catch (Exception e) {
+                    // ignore
+                }
+                if (result != null) {
+                    return result;
+                }
+            }
+            return jsonMapper.convertValue(value, (Type) javaType);
+        };
+    }
+
+    // integral values that are already in range skip the text round trip, anything else keeps the exact parsing rules
+
+    private static Object toInteger(Object value) {
+        if (value instanceof Integer) {
+            return value;
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof Long) {
+            long longValue = (Long) value;
+            if (longValue == (int) longValue) {
+                return (int) longValue;
+            }
+        }
+        return new BigDecimal(value.toString()).intValueExact();
+    }
+
+    private static Object toLong(Object value) {
+        if (value instanceof Long) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return new BigDecimal(value.toString()).longValueExact();
+    }
+
+    private static Object toShort(Object value) {
+        if (value instanceof Short) {
+            return value;
+        }
+        if (isIntegral(value)) {
+            long longValue = ((Number) value).longValue();
+            if (longValue == (short) longValue) {
+                return (short) longValue;
+            }
+        }
+        return Short.parseShort(value.toString());
+    }
+
+    private static Object toByte(Object value) {
+        if (value instanceof Byte) {
+            return value;
+        }
+        if (isIntegral(value)) {
+            long longValue = ((Number) value).longValue();
+            if (longValue == (byte) longValue) {
+                return (byte) longValue;
+            }
+        }
+        return Byte.parseByte(value.toString());
+    }
+
+    private static Object toDouble(Object value) {
+        if (value instanceof Double) {
+            return value;
+        }
+        if (isIntegral(value)) {
+            return ((Number) value).doubleValue();
+        }
+        return Double.parseDouble(value.toString());
+    }
+
+    private static Object toFloat(Object value) {
+        if (value instanceof Float) {
+            return value;
+        }
+        if (isIntegral(value)) {
+            return ((Number) value).floatValue();
+        }
+        return Float.parseFloat(value.toString());
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    @FunctionalInterface
+    private interface Conversion {
+        Object convert(Object value);
+    }
+}
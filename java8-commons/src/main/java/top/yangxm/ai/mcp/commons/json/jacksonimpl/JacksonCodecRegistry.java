@@ -0,0 +1,151 @@
+package top.yangxm.ai.mcp.commons.json.jacksonimpl;
+
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
+import top.yangxm.ai.mcp.commons.json.TypeRef;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+@SuppressWarnings("unused")
+public final class JacksonCodecRegistry {
+    private static final int MAX_CACHED_TYPES = 512;
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Type, Codec> codecs = new ConcurrentHashMap<>();
+    // the mapper configuration the cached codecs were built from
+    private volatile MapperState state;
+
+    public JacksonCodecRegistry(ObjectMapper objectMapper) {
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("ObjectMapper must not be null");
+        }
+        this.objectMapper = objectMapper;
+        this.state = new MapperState(objectMapper);
+    }
+
+    public JacksonCodecRegistry register(Type... types) {
+        for (Type type : types) {
+            Codec codec = codec(type);
+            codec.reader();
+            codec.writer();
+        }
+        return this;
+    }
+
+    public JavaType javaType(Type type) {
+        return codec(type).javaType;
+    }
+
+    public JavaType javaType(TypeRef<?> typeRef) {
+        return javaType(typeRef.getType());
+    }
+
+    public ObjectReader reader(Type type) {
+        return codec(type).reader();
+    }
+
+    public ObjectReader reader(TypeRef<?> typeRef) {
+        return reader(typeRef.getType());
+    }
+
+    public ObjectWriter writer(Type type) {
+        return codec(type).writer();
+    }
+
+    public ObjectWriter writer(TypeRef<?> typeRef) {
+        return writer(typeRef.getType());
+    }
+
+    public int size() {
+        return this.codecs.size();
+    }
+
+    private Codec codec(Type type) {
+        if (type == null) {
+            throw new IllegalArgumentException("type must not be null");
+        }
+        MapperState state = currentState();
+        Codec codec = this.codecs.get(type);
+        if (codec == null || codec.state != state) {
+            codec = new Codec(this.objectMapper, state, type);
+            // runtime classes of arbitrary values end up here as well, keep the cache from growing without bound
+            if (this.codecs.size() < MAX_CACHED_TYPES || this.codecs.containsKey(type)) {
+                this.codecs.put(type, codec);
+            }
+        }
+        return codec;
+    }
+
+    // modules, features and customizers applied to the mapper after codecs were cached replace its configuration,
+    // codecs built from an older one are dropped and rebuilt on their next use
+    private MapperState currentState() {
+        MapperState state = this.state;
+        if (!state.matches(this.objectMapper)) {
+            state = new MapperState(this.objectMapper);
+            this.state = state;
+            this.codecs.clear();
+        }
+        return state;
+    }
+
+    // ObjectMapper replaces these immutable instances on every configuration change, comparing them is enough
+    private static final class MapperState {
+        private final SerializationConfig serializationConfig;
+        private final SerializerFactory serializerFactory;
+        private final DeserializationConfig deserializationConfig;
+        private final DeserializationContext deserializationContext;
+
+        private MapperState(ObjectMapper objectMapper) {
+            this.serializationConfig = objectMapper.getSerializationConfig();
+            this.serializerFactory = objectMapper.getSerializerFactory();
+            this.deserializationConfig = objectMapper.getDeserializationConfig();
+            this.deserializationContext = objectMapper.getDeserializationContext();
+        }
+
+        private boolean matches(ObjectMapper objectMapper) {
+            return this.serializationConfig == objectMapper.getSerializationConfig()
+                    && this.serializerFactory == objectMapper.getSerializerFactory()
+                    && this.deserializationConfig == objectMapper.getDeserializationConfig()
+                    && this.deserializationContext == objectMapper.getDeserializationContext();
+        }
+    }
+
+    private static final class Codec {
+        private final ObjectMapper objectMapper;
+        private final MapperState state;
+        private final JavaType javaType;
+        private volatile ObjectReader reader;
+        private volatile ObjectWriter writer;
+
+        private Codec(ObjectMapper objectMapper, MapperState state, Type type) {
+            this.objectMapper = objectMapper;
+            this.state = state;
+            this.javaType = objectMapper.getTypeFactory().constructType(type);
+        }
+
+        private ObjectReader reader() {
+            ObjectReader reader = this.reader;
+            if (reader == null) {
+                reader = this.objectMapper.readerFor(this.javaType);
+                this.reader = reader;
+            }
+            return reader;
+        }
+
+        private ObjectWriter writer() {
+            ObjectWriter writer = this.writer;
+            if (writer == null) {
+                writer = this.objectMapper.writerFor(this.javaType);
+                this.writer = writer;
+            }
+            return writer;
+        }
+    }
+}
@@ -1,36 +1,53 @@
 package top.yangxm.ai.mcp.commons.json.jacksonimpl;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import top.yangxm.ai.mcp.commons.json.JsonException;
 import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 @SuppressWarnings("unused")
 public final class JacksonJsonMapper implements JsonMapper {
+    private static final ThreadLocal<PooledOutput> POOLED_OUTPUT = ThreadLocal.withInitial(PooledOutput::new);
+
     private final ObjectMapper objectMapper;
+    private final JacksonCodecRegistry codecs;
 
     public JacksonJsonMapper(ObjectMapper objectMapper) {
         if (objectMapper == null) {
             throw new IllegalArgumentException("ObjectMapper must not be null");
         }
         this.objectMapper = objectMapper;
+        this.codecs = new JacksonCodecRegistry(objectMapper);
     }
 
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
 
+    public JacksonCodecRegistry getCodecRegistry() {
+        return codecs;
+    }
+
     @Override
     public <T> T readValue(String content, Class<T> clazz) throws JsonException {
         notNull(content, "content");
         notNull(clazz, "clazz");
         try {
-            return objectMapper.readValue(content, clazz);
+            return codecs.reader(clazz).readValue(content);
         } catch (Exception e) {
             throw new JsonException(String.format("Convert JSON from String to %s failed", clazz.getName()), e);
         }
@@ -41,7 +58,7 @@ public final class JacksonJsonMapper implements JsonMapper {
         notNull(content, "content");
         notNull(clazz, "clazz");
         try {
-            return objectMapper.readValue(content, clazz);
+            return codecs.reader(clazz).readValue(content);
         } catch (Exception e) {
             throw new JsonException(String.format("Convert JSON from byte[] to %s failed", clazz.getName()), e);
         }
@@ -52,8 +69,7 @@ public final class JacksonJsonMapper implements JsonMapper {
         notNull(content, "content");
         notNull(typeRef, "typeRef");
         try {
-            JavaType javaType = objectMapper.getTypeFactory().constructType(typeRef.getType());
-            return objectMapper.readValue(content, javaType);
+            return codecs.reader(typeRef).readValue(content);
         } catch (Exception e) {
             throw new JsonException(String.format("Convert JSON from String to %s failed", typeRef.getType().getTypeName()), e);
         }
@@ -64,8 +80,7 @@ public final class JacksonJsonMapper implements JsonMapper {
         notNull(content, "content");
         notNull(typeRef, "typeRef");
         try {
-            JavaType javaType = objectMapper.getTypeFactory().constructType(typeRef.getType());
-            return objectMapper.readValue(content, javaType);
+            return codecs.reader(typeRef).readValue(content);
         } catch (Exception e) {
             throw new JsonException(String.format("Convert JSON from byte[] to %s failed", typeRef.getType().getTypeName()), e);
         }
@@ -76,8 +91,7 @@ public final class JacksonJsonMapper implements JsonMapper {
         notNull(content, "content");
         notNull(type, "type");
         try {
-            JavaType javaType = objectMapper.getTypeFactory().constructType(type);
-            return objectMapper.readValue(content, javaType);
+            return codecs.reader(type).readValue(content);
         } catch (Exception e) {
             throw new JsonException(String.format("Convert JSON from String to %s failed", type.getTypeName()), e);
         }
@@ -88,13 +102,61 @@ public final class JacksonJsonMapper implements JsonMapper {
         notNull(content, "content");
         notNull(type, "type");
         try {
-            JavaType javaType = objectMapper.getTypeFactory().constructType(type);
-            return objectMapper.readValue(content, javaType);
+            return codecs.reader(type).readValue(content);
         } catch (Exception e) {
             throw new JsonException(String.format("Convert JSON from byte[] to %s failed", type.getTypeName()), e);
         }
     }
 
+    @Override
+    public <T> T readValue(InputStream content, Class<T> clazz) throws JsonException {
+        notNull(content, "content");
+        notNull(clazz, "clazz");
+        return readValue(content, codecs.reader(clazz), "InputStream");
+    }
+
+    @Override
+    public <T> T readValue(InputStream content, TypeRef<T> typeRef) throws JsonException {
+        notNull(content, "content");
+        notNull(typeRef, "typeRef");
+        return readValue(content, codecs.reader(typeRef), "InputStream");
+    }
+
+    @Override
+    public <T> T readValue(ByteBuffer content, Class<T> clazz) throws JsonException {
+        notNull(content, "content");
+        notNull(clazz, "clazz");
+        return readValue(content, codecs.reader(clazz));
+    }
+
+    @Override
+    public <T> T readValue(ByteBuffer content, TypeRef<T> typeRef) throws JsonException {
+        notNull(content, "content");
+        notNull(typeRef, "typeRef");
+        return readValue(content, codecs.reader(typeRef));
+    }
+
+    private <T> T readValue(ByteBuffer content, ObjectReader reader) throws JsonException {
+        if (content.hasArray()) {
+            try {
+                return reader.readValue(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            } catch (Exception e) {
+                throw new JsonException(String.format("Convert JSON from ByteBuffer to %s failed", reader.getValueType().getTypeName()), e);
+            }
+        }
+        return readValue(new ByteBufferBackedInputStream(content.duplicate()), reader, "ByteBuffer");
+    }
+
+    private <T> T readValue(InputStream content, ObjectReader reader, String source) throws JsonException {
+        try (JsonParser parser = reader.createParser(content)) {
+            // the caller owns the stream
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return reader.readValue(parser);
+        } catch (Exception e) {
+            throw new JsonException(String.format("Convert JSON from %s to %s failed", source, reader.getValueType().getTypeName()), e);
+        }
+    }
+
     @Override
     public <T> T convertValue(Object fromValue, Class<T> clazz) throws JsonException {
         notNull(fromValue, "fromValue");
@@ -111,18 +173,29 @@ public final class JacksonJsonMapper implements JsonMapper {
         notNull(fromValue, "fromValue");
         notNull(typeRef, "typeRef");
         try {
-            JavaType javaType = objectMapper.getTypeFactory().constructType(typeRef.getType());
-            return objectMapper.convertValue(fromValue, javaType);
+            return objectMapper.convertValue(fromValue, codecs.javaType(typeRef));
         } catch (Exception e) {
             throw new JsonException(String.format("Convert from Object to %s failed", typeRef.getType().getTypeName()), e);
         }
     }
 
+    @Override
+    public <T> T convertValue(Object fromValue, Type type) throws JsonException {
+        notNull(fromValue, "fromValue");
+        notNull(type, "type");
+        try {
+            // goes through a TokenBuffer, no JSON text is produced
+            return objectMapper.convertValue(fromValue, codecs.javaType(type));
+        } catch (Exception e) {
+            throw new JsonException(String.format("Convert from Object to %s failed", type.getTypeName()), e);
+        }
+    }
+
     @Override
     public String writeValueAsString(Object value) throws JsonException {
         notNull(value, "value");
         try {
-            return objectMapper.writeValueAsString(value);
+            return codecs.writer(value.getClass()).writeValueAsString(value);
         } catch (IOException e) {
             throw new JsonException("Convert from Object to JSON String failed", e);
         }
@@ -132,12 +205,47 @@ public final class JacksonJsonMapper implements JsonMapper {
     public byte[] writeValueAsBytes(Object value) throws JsonException {
         notNull(value, "value");
         try {
-            return objectMapper.writeValueAsBytes(value);
+            return codecs.writer(value.getClass()).writeValueAsBytes(value);
         } catch (IOException e) {
             throw new JsonException("Convert from Object to JSON byte[] failed", e);
         }
     }
 
+    @Override
+    public void writeValue(OutputStream out, Object value) throws JsonException, IOException {
+        notNull(out, "out");
+        notNull(value, "value");
+        PooledOutput output = PooledOutput.acquire();
+        try {
+            write(output, value);
+            out.write(output.buffer, 0, output.count);
+        } finally {
+            output.release();
+        }
+    }
+
+    @Override
+    public void writeValue(Object value, BytesConsumer consumer) throws JsonException, IOException {
+        notNull(value, "value");
+        notNull(consumer, "consumer");
+        PooledOutput output = PooledOutput.acquire();
+        try {
+            write(output, value);
+            consumer.accept(output.buffer, 0, output.count);
+        } finally {
+            output.release();
+        }
+    }
+
+    private void write(PooledOutput output, Object value) throws JsonException {
+        ObjectWriter writer = codecs.writer(value.getClass());
+        try (JsonGenerator generator = writer.createGenerator(output, JsonEncoding.UTF8)) {
+            writer.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new JsonException("Convert from Object to JSON bytes failed", e);
+        }
+    }
+
     @Override
     public boolean isValidJson(String input) {
         notNull(input, "input");
@@ -154,4 +262,51 @@ public final class JacksonJsonMapper implements JsonMapper {
             throw new JsonException(name + " cannot be null");
         }
     }
-}
\ No newline at end of file
+
+    private static final class PooledOutput extends OutputStream {
+        private static final int INITIAL_CAPACITY = 8 * 1024;
+        private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+        private byte[] buffer = new byte[INITIAL_CAPACITY];
+        private int count;
+        private boolean inUse;
+
+        private static PooledOutput acquire() {
+            PooledOutput output = POOLED_OUTPUT.get();
+            if (output.inUse) {
+                // re-entrant serialization on this thread, e.g. from inside a consumer
+                output = new PooledOutput();
+            }
+            output.inUse = true;
+            output.count = 0;
+            return output;
+        }
+
+        private void release() {
+            this.inUse = false;
+            this.count = 0;
+            if (this.buffer.length > MAX_RETAINED_CAPACITY) {
+                this.buffer = new byte[INITIAL_CAPACITY];
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            this.buffer[this.count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, this.buffer, this.count, length);
+            this.count += length;
+        }
+
+        private void ensureCapacity(int length) {
+            if (this.count + length > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.count + length));
+            }
+        }
+    }
+}
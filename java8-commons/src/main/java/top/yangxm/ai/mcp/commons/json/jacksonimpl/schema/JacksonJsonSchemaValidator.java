@@ -8,32 +8,49 @@ import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
+import top.yangxm.ai.mcp.commons.json.schema.CompiledJsonSchema;
 import top.yangxm.ai.mcp.commons.json.schema.JsonSchemaValidator;
 import top.yangxm.ai.mcp.commons.json.schema.ValidationResponse;
 import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @SuppressWarnings("unused")
 public final class JacksonJsonSchemaValidator implements JsonSchemaValidator {
     private static final Logger logger = LoggerFactoryHolder.getLogger(JacksonJsonSchemaValidator.class);
+    public static final int DEFAULT_MAX_CACHE_SIZE = 256;
 
     private final ObjectMapper objectMapper;
     private final JsonSchemaFactory schemaFactory;
-    // TODO: Implement a strategy to purge the cache (TTL, size limit, etc.)
-    private final ConcurrentHashMap<String, JsonSchema> schemaCache;
+    // only schemas validated without compiling them first end up here, tools bind their compiled schema
+    private final SchemaCache schemaCache;
 
     public JacksonJsonSchemaValidator() {
         this(new ObjectMapper());
     }
 
     public JacksonJsonSchemaValidator(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    public JacksonJsonSchemaValidator(ObjectMapper objectMapper, int maxCacheSize) {
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("ObjectMapper must not be null");
+        }
+        if (maxCacheSize <= 0) {
+            throw new IllegalArgumentException("maxCacheSize must be positive");
+        }
         this.objectMapper = objectMapper;
         this.schemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V202012);
-        this.schemaCache = new ConcurrentHashMap<>();
+        this.schemaCache = new SchemaCache(maxCacheSize);
     }
 
     @Override
@@ -45,31 +62,71 @@ public final class JacksonJsonSchemaValidator implements JsonSchemaValidator {
             throw new IllegalArgumentException("Structured content must not be null");
         }
 
+        JsonSchema jsonSchema;
+        try {
+            jsonSchema = this.getOrCreateJsonSchema(schema);
+        } catch (Exception e) {
+            return schemaError(e);
+        }
+        return this.validate(jsonSchema, structuredContent);
+    }
+
+    @Override
+    public CompiledJsonSchema compile(Map<String, Object> schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("Schema must not be null");
+        }
+
+        JsonSchema jsonSchema;
+        try {
+            jsonSchema = this.createJsonSchema(schema);
+        } catch (Exception e) {
+            // report it on every call like an uncompiled schema would, registering the tool must not fail
+            ValidationResponse error = schemaError(e);
+            return structuredContent -> error;
+        }
+        return structuredContent -> {
+            if (structuredContent == null) {
+                throw new IllegalArgumentException("Structured content must not be null");
+            }
+            return this.validate(jsonSchema, structuredContent);
+        };
+    }
+
+    private ValidationResponse validate(JsonSchema jsonSchema, Object structuredContent) {
         try {
-            JsonNode jsonStructuredOutput = this.objectMapper.valueToTree(structuredContent);
-            Set<ValidationMessage> validationResult = this.getOrCreateJsonSchema(schema).validate(jsonStructuredOutput);
+            JsonNode jsonStructuredOutput = structuredContent instanceof JsonNode
+                    ? (JsonNode) structuredContent
+                    : this.objectMapper.valueToTree(structuredContent);
+            Set<ValidationMessage> validationResult = jsonSchema.validate(jsonStructuredOutput);
             if (!validationResult.isEmpty()) {
                 return ValidationResponse.asInvalid(
                         "Validation failed: structuredContent does not match tool outputSchema. " + "Validation errors: " + validationResult);
             }
-            return ValidationResponse.asValid(jsonStructuredOutput.toString());
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to validate CallToolResult: Error parsing schema: {}", e.getMessage());
-            return ValidationResponse.asInvalid("Error parsing tool JSON Schema: " + e.getMessage());
+            // the tree that was validated is the one rendered as text
+            return ValidationResponse.asValid(jsonStructuredOutput::toString);
         } catch (Exception e) {
             logger.error("Failed to validate CallToolResult: Unexpected error: {}", e.getMessage());
             return ValidationResponse.asInvalid("Unexpected validation error: " + e.getMessage());
         }
     }
 
+    private static ValidationResponse schemaError(Exception e) {
+        if (e instanceof JsonProcessingException) {
+            logger.error("Failed to validate CallToolResult: Error parsing schema: {}", e.getMessage());
+            return ValidationResponse.asInvalid("Error parsing tool JSON Schema: " + e.getMessage());
+        }
+        logger.error("Failed to validate CallToolResult: Unexpected error: {}", e.getMessage());
+        return ValidationResponse.asInvalid("Unexpected validation error: " + e.getMessage());
+    }
+
     private JsonSchema getOrCreateJsonSchema(Map<String, Object> schema) throws JsonProcessingException {
-        String cacheKey = this.generateCacheKey(schema);
-        JsonSchema cachedSchema = this.schemaCache.get(cacheKey);
+        JsonSchema cachedSchema = this.schemaCache.get(this.lookupKey(schema));
         if (cachedSchema != null) {
             return cachedSchema;
         }
         JsonSchema newSchema = this.createJsonSchema(schema);
-        JsonSchema existingSchema = this.schemaCache.putIfAbsent(cacheKey, newSchema);
+        JsonSchema existingSchema = this.schemaCache.putIfAbsent(this.storedKey(schema), newSchema);
         return existingSchema != null ? existingSchema : newSchema;
     }
 
@@ -91,11 +148,29 @@ public final class JacksonJsonSchemaValidator implements JsonSchemaValidator {
         return this.schemaFactory.getSchema(schemaNode);
     }
 
-    private String generateCacheKey(Map<String, Object> schema) {
-        if (schema.containsKey("$id")) {
-            return "" + schema.get("$id");
+    // keyed by content, two schemas with the same hash code must not share an entry;
+    // lookups use the caller's map as it is, only a stored key is copied
+    private Object lookupKey(Map<String, Object> schema) {
+        return schema.containsKey("$id") ? "$id:" + schema.get("$id") : schema;
+    }
+
+    private Object storedKey(Map<String, Object> schema) {
+        // deep and unmodifiable, the caller may go on mutating nested maps of the schema it passed in
+        return schema.containsKey("$id") ? "$id:" + schema.get("$id") : deepCopy(schema);
+    }
+
+    private static Object deepCopy(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new HashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> copy.put(k, deepCopy(v)));
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(v -> copy.add(deepCopy(v)));
+            return Collections.unmodifiableList(copy);
         }
-        return String.valueOf(schema.hashCode());
+        return value;
     }
 
     public void clearCache() {
@@ -105,4 +180,113 @@ public final class JacksonJsonSchemaValidator implements JsonSchemaValidator {
     public int getCacheSize() {
         return this.schemaCache.size();
     }
+
+    public CacheStats getCacheStats() {
+        return this.schemaCache.stats();
+    }
+
+    public static final class CacheStats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+        private final int maxSize;
+
+        private CacheStats(long hitCount, long missCount, long evictionCount, int size, int maxSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public long hitCount() {
+            return hitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int maxSize() {
+            return maxSize;
+        }
+
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                    + ", size=" + size + ", maxSize=" + maxSize + '}';
+        }
+    }
+
+    // least recently used entries go first once the cache is full
+    private static final class SchemaCache {
+        private final int maxSize;
+        private final LinkedHashMap<Object, JsonSchema> entries;
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder evictionCount = new LongAdder();
+
+        private SchemaCache(int maxSize) {
+            this.maxSize = maxSize;
+            this.entries = new LinkedHashMap<Object, JsonSchema>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, JsonSchema> eldest) {
+                    if (size() > SchemaCache.this.maxSize) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private JsonSchema get(Object key) {
+            JsonSchema schema;
+            synchronized (this.entries) {
+                schema = this.entries.get(key);
+            }
+            if (schema != null) {
+                this.hitCount.increment();
+            } else {
+                this.missCount.increment();
+            }
+            return schema;
+        }
+
+        private JsonSchema putIfAbsent(Object key, JsonSchema schema) {
+            synchronized (this.entries) {
+                return this.entries.putIfAbsent(key, schema);
+            }
+        }
+
+        private int size() {
+            synchronized (this.entries) {
+                return this.entries.size();
+            }
+        }
+
+        private void clear() {
+            synchronized (this.entries) {
+                this.entries.clear();
+            }
+        }
+
+        private CacheStats stats() {
+            return new CacheStats(this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(), size(), this.maxSize);
+        }
+    }
 }
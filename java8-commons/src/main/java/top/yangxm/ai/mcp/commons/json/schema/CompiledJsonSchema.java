@@ -0,0 +1,7 @@
+package top.yangxm.ai.mcp.commons.json.schema;
+
+// A schema prepared once by JsonSchemaValidator.compile, for callers that validate against the same schema repeatedly.
+@FunctionalInterface
+public interface CompiledJsonSchema {
+    ValidationResponse validate(Object structuredContent);
+}
@@ -6,6 +6,13 @@ import java.util.Map;
 public interface JsonSchemaValidator {
     ValidationResponse validate(Map<String, Object> schema, Object structuredContent);
 
+    default CompiledJsonSchema compile(Map<String, Object> schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("Schema must not be null");
+        }
+        return structuredContent -> validate(schema, structuredContent);
+    }
+
     static JsonSchemaValidator getDefault() {
         return JsonSchemaValidatorInternal.getDefaultValidator();
     }
@@ -1,23 +1,33 @@
 package top.yangxm.ai.mcp.commons.json.schema;
 
+import java.util.function.Supplier;
+
 @SuppressWarnings("unused")
 public final class ValidationResponse {
     private final boolean valid;
     private final String errorMessage;
-    private final String jsonStructuredOutput;
+    private Supplier<String> jsonStructuredOutputSupplier;
+    private String jsonStructuredOutput;
 
-    private ValidationResponse(boolean valid, String errorMessage, String jsonStructuredOutput) {
+    private ValidationResponse(boolean valid, String errorMessage, String jsonStructuredOutput,
+                               Supplier<String> jsonStructuredOutputSupplier) {
         this.valid = valid;
         this.errorMessage = errorMessage;
         this.jsonStructuredOutput = jsonStructuredOutput;
+        this.jsonStructuredOutputSupplier = jsonStructuredOutputSupplier;
     }
 
     public static ValidationResponse asValid(String jsonStructuredOutput) {
-        return new ValidationResponse(true, null, jsonStructuredOutput);
+        return new ValidationResponse(true, null, jsonStructuredOutput, null);
+    }
+
+    // the text is only rendered if somebody asks for it, most results already carry their own content
+    public static ValidationResponse asValid(Supplier<String> jsonStructuredOutput) {
+        return new ValidationResponse(true, null, null, jsonStructuredOutput);
     }
 
     public static ValidationResponse asInvalid(String message) {
-        return new ValidationResponse(false, message, null);
+        return new ValidationResponse(false, message, null, null);
     }
 
     public boolean valid() {
@@ -29,6 +39,11 @@ public final class ValidationResponse {
     }
 
     public String jsonStructuredOutput() {
+        Supplier<String> supplier = this.jsonStructuredOutputSupplier;
+        if (supplier != null) {
+            this.jsonStructuredOutput = supplier.get();
+            this.jsonStructuredOutputSupplier = null;
+        }
         return jsonStructuredOutput;
     }
 }
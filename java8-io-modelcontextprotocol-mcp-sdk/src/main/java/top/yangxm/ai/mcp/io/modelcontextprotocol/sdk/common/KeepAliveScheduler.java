@@ -1,9 +1,13 @@
 package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common;
 
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
 import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
@@ -11,13 +15,21 @@ import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class KeepAliveScheduler {
     private static final Logger logger = LoggerFactoryHolder.getLogger(KeepAliveScheduler.class);
     private static final TypeRef<Object> OBJECT_TYPE_REF = new TypeRef<Object>() {
     };
+    private static final Duration MIN_TICK = Duration.ofMillis(10);
+
     private final Duration initialDelay;
     private final Duration interval;
     private final Scheduler scheduler;
@@ -25,23 +37,50 @@ public class KeepAliveScheduler {
     private Disposable currentSubscription;
     // TODO Currently we do not support the streams
     private final Supplier<Flux<McpSession>> mcpSessions;
+    private final Consumer<McpSession> onPingSuccess;
+    private final Consumer<McpSession> onPingFailure;
+    private final int wheelSize;
+    private final long jitterTicks;
+    private final Duration tickDuration;
+    private final int maxConcurrentPings;
+    private final Set<McpSession> inFlight = ConcurrentHashMap.newKeySet();
+    // replaced on the timer thread, cleared by stop()
+    private volatile List<List<McpSession>> wheel;
 
-    KeepAliveScheduler(Scheduler scheduler, Duration initialDelay, Duration interval, Supplier<Flux<McpSession>> mcpSessions) {
+    KeepAliveScheduler(Scheduler scheduler, Duration initialDelay, Duration interval, Supplier<Flux<McpSession>> mcpSessions,
+                       Consumer<McpSession> onPingSuccess, Consumer<McpSession> onPingFailure,
+                       int wheelSize, Duration jitter, int maxConcurrentPings) {
         this.scheduler = scheduler;
         this.initialDelay = initialDelay;
         this.interval = interval;
         this.mcpSessions = mcpSessions;
+        this.onPingSuccess = onPingSuccess;
+        this.onPingFailure = onPingFailure;
+        this.maxConcurrentPings = maxConcurrentPings;
+        long maxWheelSize = Math.max(1, interval.toNanos() / MIN_TICK.toNanos());
+        this.wheelSize = (int) Math.min(wheelSize, maxWheelSize);
+        this.tickDuration = Duration.ofNanos(Math.max(1, interval.toNanos() / this.wheelSize));
+        this.jitterTicks = Math.min(jitter.toNanos() / this.tickDuration.toNanos(), this.wheelSize / 2);
     }
 
     public Disposable start() {
         if (this.isRunning.compareAndSet(false, true)) {
-            this.currentSubscription = Flux.interval(this.initialDelay, this.interval, this.scheduler)
-                    .doOnNext(tick -> this.mcpSessions.get()
-                            .flatMap(session -> session.sendRequest(McpSchema.METHOD_PING, null, OBJECT_TYPE_REF)
-                                    .doOnError(e -> logger.warn("Failed to send keep-alive ping to session {}: {}", session,
-                                            e.getMessage()))
-                                    .onErrorComplete())
-                            .subscribe())
+            Sinks.Many<McpSession> pings = Sinks.many().unicast().onBackpressureBuffer();
+            Disposable pinger = pings.asFlux()
+                    .flatMap(this::ping, this.maxConcurrentPings)
+                    .subscribe();
+            Disposable timer = Flux.interval(this.initialDelay, this.tickDuration, this.scheduler)
+                    .onBackpressureDrop(tick -> logger.debug("KeepAlive tick {} dropped, previous tick still running", tick))
+                    .concatMap(tick -> {
+                        int slot = (int) (tick % this.wheelSize);
+                        Mono<Void> refill = slot == 0 || this.wheel == null ? refillWheel() : Mono.empty();
+                        // a failing tick is logged and skipped, the next one runs as usual
+                        return refill.then(Mono.fromRunnable(() -> pingSlot(slot, pings)))
+                                .onErrorResume(e -> {
+                                    logger.warn("KeepAlive tick {} failed: {}", tick, e.getMessage());
+                                    return Mono.empty();
+                                });
+                    }, 1)
                     .doOnCancel(() -> this.isRunning.set(false))
                     .doOnComplete(() -> this.isRunning.set(false))
                     .onErrorComplete(error -> {
@@ -50,16 +89,80 @@ public class KeepAliveScheduler {
                         return true;
                     })
                     .subscribe();
+            this.currentSubscription = Disposables.composite(timer, pinger);
             return this.currentSubscription;
         } else {
             throw new IllegalStateException("KeepAlive scheduler is already running. Stop it first.");
         }
     }
 
+    private Mono<Void> refillWheel() {
+        return Flux.defer(this.mcpSessions)
+                .collectList()
+                .doOnNext(this::fillWheel)
+                .onErrorResume(e -> {
+                    logger.warn("Failed to collect sessions for keep-alive: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void pingSlot(int slot, Sinks.Many<McpSession> pings) {
+        List<List<McpSession>> wheel = this.wheel;
+        if (wheel == null) {
+            // no sessions collected yet
+            return;
+        }
+        List<McpSession> bucket = wheel.get(slot);
+        for (McpSession session : bucket) {
+            if (this.inFlight.add(session)) {
+                pings.emitNext(session, Sinks.EmitFailureHandler.FAIL_FAST);
+            }
+        }
+        bucket.clear();
+    }
+
+    private void fillWheel(List<McpSession> sessions) {
+        List<List<McpSession>> wheel = new ArrayList<>(this.wheelSize);
+        int bucketCapacity = sessions.size() / this.wheelSize + 1;
+        for (int i = 0; i < this.wheelSize; i++) {
+            wheel.add(new ArrayList<>(bucketCapacity));
+        }
+        for (McpSession session : sessions) {
+            wheel.get(slotOf(session)).add(session);
+        }
+        this.wheel = wheel;
+    }
+
+    private int slotOf(McpSession session) {
+        int h = System.identityHashCode(session);
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        long slot = h;
+        if (this.jitterTicks > 0) {
+            slot += ThreadLocalRandom.current().nextLong(-this.jitterTicks, this.jitterTicks + 1);
+        }
+        return (int) Math.floorMod(slot, (long) this.wheelSize);
+    }
+
+    private Mono<Object> ping(McpSession session) {
+        return session.sendRequest(McpSchema.METHOD_PING, null, OBJECT_TYPE_REF)
+                .doOnSuccess(result -> this.onPingSuccess.accept(session))
+                .doOnError(e -> {
+                    logger.warn("Failed to send keep-alive ping to session {}: {}", session, e.getMessage());
+                    this.onPingFailure.accept(session);
+                })
+                .onErrorComplete()
+                .doFinally(signal -> this.inFlight.remove(session));
+    }
+
     public void stop() {
         if (this.currentSubscription != null && !this.currentSubscription.isDisposed()) {
             this.currentSubscription.dispose();
         }
+        this.inFlight.clear();
+        this.wheel = null;
         this.isRunning.set(false);
     }
 
@@ -83,6 +186,13 @@ public class KeepAliveScheduler {
         private Duration initialDelay = Duration.ofSeconds(0);
         private Duration interval = Duration.ofSeconds(30);
         private final Supplier<Flux<McpSession>> mcpSessions;
+        private Consumer<McpSession> onPingSuccess = session -> {
+        };
+        private Consumer<McpSession> onPingFailure = session -> {
+        };
+        private int wheelSize = 64;
+        private Duration jitter = Duration.ZERO;
+        private int maxConcurrentPings = Queues.SMALL_BUFFER_SIZE;
 
         Builder(Supplier<Flux<McpSession>> mcpSessions) {
             Assert.notNull(mcpSessions, "McpSessions supplier must not be null");
@@ -107,8 +217,41 @@ public class KeepAliveScheduler {
             return this;
         }
 
+        public Builder onPingSuccess(Consumer<McpSession> onPingSuccess) {
+            Assert.notNull(onPingSuccess, "onPingSuccess must not be null");
+            this.onPingSuccess = onPingSuccess;
+            return this;
+        }
+
+        public Builder onPingFailure(Consumer<McpSession> onPingFailure) {
+            Assert.notNull(onPingFailure, "onPingFailure must not be null");
+            this.onPingFailure = onPingFailure;
+            return this;
+        }
+
+        public Builder wheelSize(int wheelSize) {
+            Assert.isTrue(wheelSize > 0, "Wheel size must be positive");
+            this.wheelSize = wheelSize;
+            return this;
+        }
+
+        public Builder jitter(Duration jitter) {
+            Assert.notNull(jitter, "Jitter must not be null");
+            Assert.isTrue(!jitter.isNegative(), "Jitter must not be negative");
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder maxConcurrentPings(int maxConcurrentPings) {
+            Assert.isTrue(maxConcurrentPings > 0, "Max concurrent pings must be positive");
+            this.maxConcurrentPings = maxConcurrentPings;
+            return this;
+        }
+
         public KeepAliveScheduler build() {
-            return new KeepAliveScheduler(scheduler, initialDelay, interval, mcpSessions);
+            Assert.isTrue(!interval.isNegative() && !interval.isZero(), "Interval must be positive");
+            return new KeepAliveScheduler(scheduler, initialDelay, interval, mcpSessions, onPingSuccess, onPingFailure,
+                    wheelSize, jitter, maxConcurrentPings);
         }
 
     }
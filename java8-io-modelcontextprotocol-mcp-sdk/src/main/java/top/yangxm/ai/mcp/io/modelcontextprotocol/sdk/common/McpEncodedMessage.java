@@ -0,0 +1,65 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common;
+
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@SuppressWarnings("unused")
+public final class McpEncodedMessage {
+    private final JSONRPCMessage message;
+    private final String text;
+    private volatile byte[] bytes;
+
+    private McpEncodedMessage(JSONRPCMessage message, String text) {
+        this.message = message;
+        this.text = text;
+    }
+
+    public static McpEncodedMessage encode(JsonMapper jsonMapper, JSONRPCMessage message) {
+        Assert.notNull(jsonMapper, "jsonMapper must not be null");
+        Assert.notNull(message, "message must not be null");
+        return new McpEncodedMessage(message, jsonMapper.writeValueAsString(message));
+    }
+
+    public JSONRPCMessage message() {
+        return message;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public ByteBuffer buffer() {
+        return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
+    }
+
+    public void writeTo(JsonMapper.BytesConsumer consumer) throws IOException {
+        Assert.notNull(consumer, "consumer must not be null");
+        byte[] bytes = bytes();
+        consumer.accept(bytes, 0, bytes.length);
+    }
+
+    public int size() {
+        return bytes().length;
+    }
+
+    byte[] bytes() {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+            bytes = this.text.getBytes(StandardCharsets.UTF_8);
+            this.bytes = bytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "McpEncodedMessage{" +
+                "message=" + message +
+                '}';
+    }
+}
@@ -2,6 +2,7 @@ package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common;
 
 import reactor.core.publisher.Mono;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 
 @SuppressWarnings("unused")
 public interface McpSession {
@@ -13,6 +14,11 @@ public interface McpSession {
 
     Mono<Void> sendNotification(String method, Object params);
 
+    default Mono<Void> sendEncodedNotification(McpEncodedMessage notification) {
+        JSONRPCNotification message = (JSONRPCNotification) notification.message();
+        return sendNotification(message.method(), message.params());
+    }
+
     Mono<Void> closeGracefully();
 
     void close();
@@ -0,0 +1,133 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+@SuppressWarnings("unused")
+public final class McpTimeoutWheel {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpTimeoutWheel.class);
+
+    private static final McpTimeoutWheel SHARED = new McpTimeoutWheel(Duration.ofMillis(50), 512, Schedulers.parallel());
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<List<Timeout>> buckets;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Scheduler expiryScheduler;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final long startNanos = System.nanoTime();
+    private long currentTick;
+
+    public McpTimeoutWheel(Duration tickDuration, int wheelSize, Scheduler expiryScheduler) {
+        Assert.notNull(tickDuration, "tickDuration must not be null");
+        Assert.isTrue(!tickDuration.isNegative() && !tickDuration.isZero(), "tickDuration must be positive");
+        Assert.isTrue(wheelSize > 0 && (wheelSize & (wheelSize - 1)) == 0, "wheelSize must be a power of two");
+        Assert.notNull(expiryScheduler, "expiryScheduler must not be null");
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            this.buckets.add(new ArrayList<>());
+        }
+        this.expiryScheduler = expiryScheduler;
+    }
+
+    public static McpTimeoutWheel shared() {
+        return SHARED;
+    }
+
+    public Timeout schedule(Duration delay, Runnable task) {
+        Assert.notNull(delay, "delay must not be null");
+        Assert.notNull(task, "task must not be null");
+        if (this.started.compareAndSet(false, true)) {
+            Thread worker = new Thread(this::run, "mcp-timeout-wheel");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        Timeout timeout = new Timeout(System.nanoTime() + delay.toNanos(), task);
+        this.incoming.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long deadline = this.startNanos + (this.currentTick + 1) * this.tickNanos;
+            long sleep = deadline - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+                continue;
+            }
+            try {
+                transferIncoming();
+                expire(this.buckets.get((int) (this.currentTick & this.mask)));
+            } catch (Throwable e) {
+                logger.error("Timeout wheel tick failed", e);
+            }
+            this.currentTick++;
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = this.incoming.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max((timeout.deadline - this.startNanos) / this.tickNanos, this.currentTick);
+            timeout.remainingRounds = (ticks - this.currentTick) / this.buckets.size();
+            this.buckets.get((int) (ticks & this.mask)).add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                this.expiryScheduler.schedule(timeout.task);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    public static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public long remaining(TimeUnit unit) {
+            return unit.convert(Math.max(0, this.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -12,6 +12,10 @@ import java.util.List;
 public interface McpTransport {
     Mono<Void> sendMessage(JSONRPCMessage message);
 
+    default Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+        return sendMessage(message.message());
+    }
+
     Mono<Void> closeGracefully();
 
     default void close() {
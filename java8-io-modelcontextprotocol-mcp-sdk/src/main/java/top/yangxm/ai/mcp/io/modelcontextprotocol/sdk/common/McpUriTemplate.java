@@ -0,0 +1,372 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common;
+
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A URI template parsed once into literals and expressions, matched by a backtracking scanner instead of regexes.
+// Supported expressions (RFC 6570 operators, matched in reverse):
+//   {var}      one or more characters up to the next '/'
+//   {+var}     one or more characters, '/' included
+//   {#var}     optional "#" followed by the rest of the URI
+//   {.var}     optional "." followed by one or more characters up to the next '/'
+//   {/var}     optional "/" followed by one or more characters up to the next '/'
+//   {?a,b}     optional query string, the listed parameters are extracted and others are ignored
+//   {&a,b}     like {?a,b}, continuing a query string that the template already started
+// Variables take as much as they can and give back only what the rest of the template needs. When the template has a
+// query or fragment expression later on, the variables before it stop at '?' or '#' respectively, and a variable
+// directly followed by a label expression stops at '.'.
+@SuppressWarnings("unused")
+public final class McpUriTemplate {
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final ConcurrentHashMap<String, McpUriTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final int LITERAL = 0;
+    private static final int SIMPLE = 1;
+    private static final int RESERVED = 2;
+    private static final int FRAGMENT = 3;
+    private static final int LABEL = 4;
+    private static final int PATH = 5;
+    private static final int QUERY = 6;
+    private static final int QUERY_CONTINUATION = 7;
+
+    private final String template;
+    private final Token[] tokens;
+    private final List<String> variableNames;
+    private final List<String> requiredVariableNames;
+    private final String duplicateVariableName;
+    private final boolean simpleOnly;
+
+    private McpUriTemplate(String template, Token[] tokens, List<String> variableNames,
+                           String duplicateVariableName) {
+        this.template = template;
+        this.tokens = tokens;
+        this.variableNames = variableNames;
+        this.duplicateVariableName = duplicateVariableName;
+        boolean simpleOnly = true;
+        List<String> required = new ArrayList<>();
+        for (Token token : tokens) {
+            simpleOnly &= token.type == LITERAL || token.type == SIMPLE;
+            if ((token.type == SIMPLE || token.type == RESERVED) && !required.contains(token.names[0])) {
+                required.add(token.names[0]);
+            }
+        }
+        this.simpleOnly = simpleOnly;
+        this.requiredVariableNames = Collections.unmodifiableList(required);
+    }
+
+    public static McpUriTemplate of(String template) {
+        McpUriTemplate compiled = CACHE.get(template);
+        if (compiled == null) {
+            compiled = compile(template);
+            // templates come from registrations, the bound only guards against callers passing arbitrary URIs
+            if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+                McpUriTemplate existing = CACHE.putIfAbsent(template, compiled);
+                if (existing != null) {
+                    compiled = existing;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    public static McpUriTemplate compile(String template) {
+        Assert.hasText(template, "URI template must not be null or empty");
+        List<Token> tokens = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        String duplicate = null;
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < template.length()) {
+            int open = template.indexOf('{', pos);
+            int close = open < 0 ? -1 : template.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(template, pos, template.length());
+                break;
+            }
+            Token expression = parseExpression(template.substring(open + 1, close));
+            if (expression == null) {
+                // not an expression, e.g. "{}" or "{a/b}", keep the brace as text
+                literal.append(template, pos, open + 1);
+                pos = open + 1;
+                continue;
+            }
+            literal.append(template, pos, open);
+            if (literal.length() > 0) {
+                tokens.add(Token.literal(literal.toString()));
+                literal.setLength(0);
+            }
+            tokens.add(expression);
+            for (String name : expression.names) {
+                if (names.contains(name)) {
+                    duplicate = duplicate != null ? duplicate : name;
+                } else {
+                    names.add(name);
+                }
+            }
+            pos = close + 1;
+        }
+        if (literal.length() > 0) {
+            tokens.add(Token.literal(literal.toString()));
+        }
+
+        Token[] compiled = tokens.toArray(new Token[0]);
+        boolean queryFollows = false;
+        boolean fragmentFollows = false;
+        for (int i = compiled.length - 1; i >= 0; i--) {
+            Token token = compiled[i];
+            token.stopAtQuery = queryFollows;
+            token.stopAtFragment = fragmentFollows;
+            token.stopAtLabel = i + 1 < compiled.length && compiled[i + 1].type == LABEL;
+            queryFollows |= token.type == QUERY || token.type == QUERY_CONTINUATION;
+            fragmentFollows |= token.type == FRAGMENT;
+        }
+        return new McpUriTemplate(template, compiled, Collections.unmodifiableList(names), duplicate);
+    }
+
+    // true if the text contains at least one expression this class understands
+    public static boolean isTemplate(String text) {
+        if (text == null) {
+            return false;
+        }
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) {
+                return false;
+            }
+            if (parseExpression(text.substring(open + 1, close)) != null) {
+                return true;
+            }
+            open = text.indexOf('{', open + 1);
+        }
+        return false;
+    }
+
+    private static Token parseExpression(String expression) {
+        if (expression.isEmpty()) {
+            return null;
+        }
+        int type;
+        switch (expression.charAt(0)) {
+            case '+':
+                type = RESERVED;
+                break;
+            case '#':
+                type = FRAGMENT;
+                break;
+            case '.':
+                type = LABEL;
+                break;
+            case '/':
+                type = PATH;
+                break;
+            case '?':
+                type = QUERY;
+                break;
+            case '&':
+                type = QUERY_CONTINUATION;
+                break;
+            default:
+                type = SIMPLE;
+        }
+        String body = type == SIMPLE ? expression : expression.substring(1);
+        if (body.isEmpty() || body.indexOf('/') >= 0) {
+            return null;
+        }
+        if (type != QUERY && type != QUERY_CONTINUATION) {
+            return new Token(type, null, new String[]{body});
+        }
+        String[] names = body.split(",");
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim();
+            // prefix and explode modifiers do not change what is extracted
+            int modifier = name.indexOf(':');
+            name = modifier >= 0 ? name.substring(0, modifier) : name;
+            name = name.endsWith("*") ? name.substring(0, name.length() - 1) : name;
+            if (name.isEmpty()) {
+                return null;
+            }
+            names[i] = name;
+        }
+        return new Token(type, null, names);
+    }
+
+    public String template() {
+        return template;
+    }
+
+    public boolean isTemplate() {
+        return variableNames.size() > 0 || duplicateVariableName != null;
+    }
+
+    // only {var} expressions, each of which stays within one path segment
+    public boolean isSimple() {
+        return simpleOnly;
+    }
+
+    public List<String> variableNames() {
+        if (duplicateVariableName != null) {
+            throw new IllegalArgumentException("Duplicate URI variable name in template: " + duplicateVariableName);
+        }
+        return variableNames;
+    }
+
+    // the variables every match extracts, those of {var} and {+var}. The other expressions may be left out of the URI
+    // and their variables are then absent from extract()
+    public List<String> requiredVariableNames() {
+        if (duplicateVariableName != null) {
+            throw new IllegalArgumentException("Duplicate URI variable name in template: " + duplicateVariableName);
+        }
+        return requiredVariableNames;
+    }
+
+    // a simple template as literal text and variable names taking turns, starting and ending with literal text that may
+    // be empty: "{name}.{ext}" is ["", "name", ".", "ext", ""]. Null unless the template is simple
+    public List<String> simpleParts() {
+        if (!this.simpleOnly) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>(this.tokens.length * 2 + 1);
+        for (Token token : this.tokens) {
+            if (token.type == LITERAL) {
+                parts.add(token.text);
+            } else {
+                if (parts.size() % 2 == 0) {
+                    parts.add("");
+                }
+                parts.add(token.names[0]);
+            }
+        }
+        if (parts.size() % 2 == 0) {
+            parts.add("");
+        }
+        return Collections.unmodifiableList(parts);
+    }
+
+    public boolean matches(String uri) {
+        return uri != null && match(uri, 0, 0, null);
+    }
+
+    // null if the URI does not match, query parameters that are absent are absent from the map as well
+    public Map<String, String> extract(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        Map<String, String> values = new HashMap<>();
+        return match(uri, 0, 0, values) ? values : null;
+    }
+
+    private boolean match(String uri, int index, int pos, Map<String, String> values) {
+        if (index == this.tokens.length) {
+            return pos == uri.length();
+        }
+        Token token = this.tokens[index];
+        switch (token.type) {
+            case LITERAL:
+                return uri.startsWith(token.text, pos) && match(uri, index + 1, pos + token.text.length(), values);
+            case QUERY:
+            case QUERY_CONTINUATION:
+                return matchQuery(uri, index, pos, token, values);
+            case FRAGMENT:
+            case LABEL:
+            case PATH:
+                // an undefined variable expands to nothing, prefix included
+                if (pos < uri.length() && uri.charAt(pos) == token.prefix()
+                        && matchValue(uri, index, pos + 1, token, values)) {
+                    return true;
+                }
+                return match(uri, index + 1, pos, values);
+            default:
+                return matchValue(uri, index, pos, token, values);
+        }
+    }
+
+    private boolean matchValue(String uri, int index, int start, Token token, Map<String, String> values) {
+        int limit = start;
+        while (limit < uri.length() && !token.stopsAt(uri.charAt(limit))) {
+            limit++;
+        }
+        for (int end = limit; end > start; end--) {
+            if (match(uri, index + 1, end, values)) {
+                if (values != null) {
+                    values.put(token.names[0], uri.substring(start, end));
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchQuery(String uri, int index, int pos, Token token, Map<String, String> values) {
+        char prefix = token.type == QUERY ? '?' : '&';
+        if (pos < uri.length() && uri.charAt(pos) == prefix) {
+            int end = token.stopAtFragment ? uri.indexOf('#', pos) : -1;
+            end = end < 0 ? uri.length() : end;
+            if (match(uri, index + 1, end, values)) {
+                if (values != null) {
+                    extractQuery(uri, pos + 1, end, token.names, values);
+                }
+                return true;
+            }
+        }
+        return match(uri, index + 1, pos, values);
+    }
+
+    private static void extractQuery(String uri, int start, int end, String[] names, Map<String, String> values) {
+        int pairStart = start;
+        while (pairStart <= end) {
+            int pairEnd = uri.indexOf('&', pairStart);
+            pairEnd = pairEnd < 0 || pairEnd > end ? end : pairEnd;
+            int equals = uri.indexOf('=', pairStart);
+            int nameEnd = equals < 0 || equals > pairEnd ? pairEnd : equals;
+            for (String name : names) {
+                if (name.length() == nameEnd - pairStart && uri.startsWith(name, pairStart)) {
+                    values.put(name, nameEnd < pairEnd ? uri.substring(nameEnd + 1, pairEnd) : "");
+                    break;
+                }
+            }
+            pairStart = pairEnd + 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static final class Token {
+        private final int type;
+        private final String text;
+        private final String[] names;
+        private boolean stopAtQuery;
+        private boolean stopAtFragment;
+        private boolean stopAtLabel;
+
+        private Token(int type, String text, String[] names) {
+            this.type = type;
+            this.text = text;
+            this.names = names;
+        }
+
+        private static Token literal(String text) {
+            return new Token(LITERAL, text, new String[0]);
+        }
+
+        private char prefix() {
+            return this.type == FRAGMENT ? '#' : this.type == LABEL ? '.' : '/';
+        }
+
+        private boolean stopsAt(char c) {
+            if (c == '/') {
+                return this.type != RESERVED && this.type != FRAGMENT;
+            }
+            return (c == '?' && this.stopAtQuery) || (c == '#' && this.stopAtFragment) || (c == '.' && this.stopAtLabel);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.io.IOException;
+
+// A result that was serialized ahead of time, e.g. a list result shared by every client until the list changes. It is
+// written into the response as it is, both as text and as UTF-8 bytes, without going through the result object again.
+@SuppressWarnings("unused")
+@JsonSerialize(using = McpEncodedResult.Serializer.class)
+public final class McpEncodedResult {
+    private final Object result;
+    private final SerializedString json;
+
+    private McpEncodedResult(Object result, SerializedString json) {
+        this.result = result;
+        this.json = json;
+    }
+
+    public static McpEncodedResult encode(JsonMapper jsonMapper, Object result) {
+        Assert.notNull(jsonMapper, "jsonMapper must not be null");
+        Assert.notNull(result, "result must not be null");
+        SerializedString json = new SerializedString(jsonMapper.writeValueAsString(result));
+        // encoded once here, the generators reuse the cached bytes
+        json.asUnquotedUTF8();
+        return new McpEncodedResult(result, json);
+    }
+
+    // the result as it was before encoding, for callers that never leave the JVM
+    public static Object decode(Object result) {
+        return result instanceof McpEncodedResult ? ((McpEncodedResult) result).result : result;
+    }
+
+    public Object result() {
+        return result;
+    }
+
+    public String json() {
+        return json.getValue();
+    }
+
+    public int size() {
+        return json.asUnquotedUTF8().length;
+    }
+
+    @Override
+    public String toString() {
+        return "McpEncodedResult{" +
+                "result=" + result +
+                '}';
+    }
+
+    public static final class Serializer extends JsonSerializer<McpEncodedResult> {
+        @Override
+        public void serialize(McpEncodedResult value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import top.yangxm.ai.mcp.commons.json.JsonException;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.json.jacksonimpl.JacksonJsonMapper;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("unused")
+public final class McpJsonRpcMessageParser {
+    private static final McpJsonRpcMessageParser DEFAULT = new McpJsonRpcMessageParser(new ObjectMapper());
+    private static volatile McpJsonRpcMessageParser last = DEFAULT;
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final ObjectReader valueReader;
+    private final ObjectReader errorReader;
+
+    private McpJsonRpcMessageParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        // members are read in place, the rest of the envelope is still ahead of the parser
+        this.valueReader = objectMapper.readerFor(Object.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.errorReader = objectMapper.readerFor(JSONRPCError.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    public static McpJsonRpcMessageParser of(JsonMapper jsonMapper) {
+        if (jsonMapper instanceof JacksonJsonMapper) {
+            return of(((JacksonJsonMapper) jsonMapper).getObjectMapper());
+        }
+        // params, result and error data are read as plain maps and lists, so any mapper yields the same values
+        return DEFAULT;
+    }
+
+    public static McpJsonRpcMessageParser of(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "objectMapper must not be null");
+        McpJsonRpcMessageParser parser = last;
+        if (parser.objectMapper != objectMapper) {
+            // applications normally share one mapper, keep its readers instead of rebuilding them per message
+            parser = new McpJsonRpcMessageParser(objectMapper);
+            last = parser;
+        }
+        return parser;
+    }
+
+    public JSONRPCMessage parse(String content) {
+        Assert.notNull(content, "content must not be null");
+        try (JsonParser parser = this.jsonFactory.createParser(content)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new JsonException("Convert JSON from String to JSONRPCMessage failed", e);
+        }
+    }
+
+    public JSONRPCMessage parse(byte[] content) {
+        Assert.notNull(content, "content must not be null");
+        return parse(content, 0, content.length);
+    }
+
+    public JSONRPCMessage parse(byte[] content, int offset, int length) {
+        Assert.notNull(content, "content must not be null");
+        try (JsonParser parser = this.jsonFactory.createParser(content, offset, length)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new JsonException("Convert JSON from byte[] to JSONRPCMessage failed", e);
+        }
+    }
+
+    public JSONRPCMessage parse(ByteBuffer content) {
+        Assert.notNull(content, "content must not be null");
+        if (content.hasArray()) {
+            return parse(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        }
+        try (JsonParser parser = this.jsonFactory.createParser(new ByteBufferBackedInputStream(content.duplicate()))) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new JsonException("Convert JSON from ByteBuffer to JSONRPCMessage failed", e);
+        }
+    }
+
+    public JSONRPCMessage parse(InputStream content) {
+        Assert.notNull(content, "content must not be null");
+        try (JsonParser parser = this.jsonFactory.createParser(content)) {
+            // the stream belongs to the caller, e.g. a servlet request body
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return parse(parser);
+        } catch (IOException e) {
+            throw new JsonException("Convert JSON from InputStream to JSONRPCMessage failed", e);
+        }
+    }
+
+    private JSONRPCMessage parse(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return parseMessage(parser);
+        }
+        if (token == null) {
+            throw new JsonException("Cannot deserialize JSONRPCMessage from empty content");
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonException("Cannot deserialize JSONRPCMessage, expected a JSON object or array but found " + token);
+        }
+        List<JSONRPCMessage> messages = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage in batch, found " + token);
+            }
+            messages.add(parseMessage(parser));
+        }
+        if (messages.isEmpty()) {
+            throw new IllegalArgumentException("Cannot deserialize empty JSON-RPC batch");
+        }
+        return JSONRPCBatch.of(messages);
+    }
+
+    private JSONRPCMessage parseMessage(JsonParser parser) throws IOException {
+        String jsonrpc = null;
+        String method = null;
+        Object id = null;
+        Object params = null;
+        Object result = null;
+        JSONRPCError error = null;
+        boolean hasMethod = false;
+        boolean hasId = false;
+        boolean hasResult = false;
+        boolean hasError = false;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "jsonrpc":
+                    jsonrpc = parser.getValueAsString();
+                    break;
+                case "method":
+                    hasMethod = true;
+                    method = parser.getValueAsString();
+                    break;
+                case "id":
+                    hasId = true;
+                    id = readId(parser, token);
+                    break;
+                case "params":
+                    // bound lazily to the handler's request type, see McpRawParams
+                    params = token == JsonToken.START_OBJECT
+                            ? McpRawParams.read(this.objectMapper, parser) : readValue(parser, token);
+                    break;
+                case "result":
+                    hasResult = true;
+                    result = readValue(parser, token);
+                    break;
+                case "error":
+                    hasError = true;
+                    error = token == JsonToken.VALUE_NULL ? null : this.errorReader.readValue(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        if (hasMethod && hasId) {
+            return new JSONRPCRequest(jsonrpc, method, id, params);
+        } else if (hasMethod) {
+            return new JSONRPCNotification(jsonrpc, method, params);
+        } else if (hasResult || hasError) {
+            return new JSONRPCResponse(jsonrpc, id, result, error);
+        }
+        throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage without method, result or error");
+    }
+
+    private Object readId(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NULL:
+                return null;
+            default:
+                return readValue(parser, token);
+        }
+    }
+
+    private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return this.valueReader.readValue(parser);
+    }
+}
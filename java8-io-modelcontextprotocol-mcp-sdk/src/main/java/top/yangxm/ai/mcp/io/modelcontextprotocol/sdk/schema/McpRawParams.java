@@ -0,0 +1,241 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import top.yangxm.ai.mcp.commons.json.JsonException;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@SuppressWarnings("unused")
+@JsonSerialize(using = McpRawParams.Serializer.class)
+public final class McpRawParams extends AbstractMap<String, Object> implements Serializable {
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE =
+            new TypeReference<LinkedHashMap<String, Object>>() {
+            };
+
+    private final transient ObjectMapper objectMapper;
+    private final transient TokenBuffer tokens;
+    private transient volatile Map<String, Object> map;
+    private transient volatile Binding binding;
+    private transient volatile String json;
+
+    private McpRawParams(ObjectMapper objectMapper, TokenBuffer tokens) {
+        this.objectMapper = objectMapper;
+        this.tokens = tokens;
+    }
+
+    static McpRawParams read(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(parser);
+        tokens.copyCurrentStructure(parser);
+        return new McpRawParams(objectMapper, tokens);
+    }
+
+    public <T> T as(Class<T> type) {
+        Assert.notNull(type, "type must not be null");
+        return bindTo(type);
+    }
+
+    public <T> T as(TypeRef<T> typeRef) {
+        Assert.notNull(typeRef, "typeRef must not be null");
+        return bindTo(typeRef.getType());
+    }
+
+    public String json() {
+        if (this.map != null) {
+            return write(this.map);
+        }
+        String json = this.json;
+        if (json == null) {
+            json = write(this.tokens);
+            this.json = json;
+        }
+        return json;
+    }
+
+    public boolean isMaterialized() {
+        return this.map != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T bindTo(Type type) {
+        Binding binding = this.binding;
+        if (binding != null && binding.type.equals(type)) {
+            return (T) binding.value;
+        }
+        JavaType javaType = this.objectMapper.getTypeFactory().constructType(type);
+        T value;
+        Map<String, Object> map = this.map;
+        try {
+            if (map != null) {
+                value = this.objectMapper.convertValue(map, javaType);
+            } else {
+                try (JsonParser parser = this.tokens.asParser(this.objectMapper)) {
+                    value = this.objectMapper.readValue(parser, javaType);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new JsonException(String.format("Convert params to %s failed", type.getTypeName()), e);
+        }
+        this.binding = new Binding(type, value);
+        return value;
+    }
+
+    private String write(Object value) {
+        try {
+            return this.objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new JsonException("Convert params to String failed", e);
+        }
+    }
+
+    private Map<String, Object> map() {
+        Map<String, Object> map = this.map;
+        if (map == null) {
+            synchronized (this) {
+                map = this.map;
+                if (map == null) {
+                    try (JsonParser parser = this.tokens.asParser(this.objectMapper)) {
+                        map = this.objectMapper.readValue(parser, MAP_TYPE);
+                    } catch (IOException e) {
+                        throw new JsonException("Convert params to Map failed", e);
+                    }
+                    this.map = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return map().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        this.binding = null;
+        return map().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        this.binding = null;
+        return map().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.binding = null;
+        map().clear();
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashMap<>(map());
+    }
+
+    public static <T> T bind(JsonMapper jsonMapper, Object params, Class<T> type) {
+        if (params instanceof McpRawParams) {
+            return ((McpRawParams) params).as(type);
+        }
+        // params handed over in-process, e.g. by a zero-copy InMemoryClient, may already be the requested type
+        if (type.isInstance(params)) {
+            return type.cast(params);
+        }
+        return jsonMapper.convertValue(params, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T bind(JsonMapper jsonMapper, Object params, TypeRef<T> typeRef) {
+        if (params instanceof McpRawParams) {
+            return ((McpRawParams) params).as(typeRef);
+        }
+        // only a plain class can be checked, a parameterized type still goes through the mapper
+        Type type = typeRef.getType();
+        if (type instanceof Class && ((Class<?>) type).isInstance(params)) {
+            return (T) params;
+        }
+        return jsonMapper.convertValue(params, typeRef);
+    }
+
+    public static String toJson(JsonMapper jsonMapper, Object params) {
+        if (params instanceof McpRawParams) {
+            return ((McpRawParams) params).json();
+        }
+        return jsonMapper.writeValueAsString(params);
+    }
+
+    private static final class Binding {
+        private final Type type;
+        private final Object value;
+
+        private Binding(Type type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    public static final class Serializer extends JsonSerializer<McpRawParams> {
+        @Override
+        public void serialize(McpRawParams value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            Map<String, Object> map = value.map;
+            if (map != null) {
+                serializers.defaultSerializeValue(map, gen);
+            } else {
+                value.tokens.serialize(gen);
+            }
+        }
+    }
+
+    public static final class Deserializer extends JsonDeserializer<Map<String, Object>> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, Object> deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (Map<String, Object>) ctxt.handleUnexpectedToken(Map.class, parser);
+            }
+            // binding later goes through the mapper the params were read with, so its modules and features apply.
+            // Parsers from an ObjectMapper or its readers carry it as their codec
+            ObjectCodec codec = parser.getCodec();
+            if (!(codec instanceof ObjectMapper)) {
+                return (Map<String, Object>) ctxt.reportInputMismatch(Map.class,
+                        "Params must be read with a parser whose codec is an ObjectMapper, found %s",
+                        codec != null ? codec.getClass().getName() : null);
+            }
+            return new McpRawParams((ObjectMapper) codec, ctxt.bufferAsCopyOfValue(parser));
+        }
+    }
+}
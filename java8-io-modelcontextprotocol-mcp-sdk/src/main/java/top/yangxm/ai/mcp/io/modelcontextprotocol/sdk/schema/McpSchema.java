@@ -5,6 +5,9 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
 import top.yangxm.ai.mcp.commons.logger.Logger;
@@ -12,7 +15,9 @@ import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.commons.util.Nullable;
 
+import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -38,6 +43,7 @@ public final class McpSchema {
     public static final String METHOD_NOTIFICATION_INITIALIZED = "notifications/initialized";
     public static final String METHOD_PING = "ping";
     public static final String METHOD_NOTIFICATION_PROGRESS = "notifications/progress";
+    public static final String METHOD_NOTIFICATION_CANCELLED = "notifications/cancelled";
 
     // Tool Methods
     public static final String METHOD_TOOLS_LIST = "tools/list";
@@ -74,18 +80,20 @@ public final class McpSchema {
     public static final String METHOD_ELICITATION_CREATE = "elicitation/create";
 
     public static JSONRPCMessage deserializeJsonRpcMessage(JsonMapper jsonMapper, String jsonText) {
-        logger.debug("Received JSON message: {}", jsonText);
-        HashMap<String, Object> map = jsonMapper.readValue(jsonText, MAP_TYPE_REF);
-        if (map.containsKey("method") && map.containsKey("id")) {
-            return jsonMapper.convertValue(map, JSONRPCRequest.class);
-        } else if (map.containsKey("method") && !map.containsKey("id")) {
-            return jsonMapper.convertValue(map, JSONRPCNotification.class);
-        } else if (map.containsKey("result") || map.containsKey("error")) {
-            return jsonMapper.convertValue(map, JSONRPCResponse.class);
-        }
-        throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + jsonText);
+        return McpJsonRpcMessageParser.of(jsonMapper).parse(jsonText);
     }
 
+    public static JSONRPCMessage deserializeJsonRpcMessage(JsonMapper jsonMapper, byte[] json) {
+        return McpJsonRpcMessageParser.of(jsonMapper).parse(json);
+    }
+
+    public static JSONRPCMessage deserializeJsonRpcMessage(JsonMapper jsonMapper, ByteBuffer json) {
+        return McpJsonRpcMessageParser.of(jsonMapper).parse(json);
+    }
+
+    public static JSONRPCMessage deserializeJsonRpcMessage(JsonMapper jsonMapper, InputStream json) {
+        return McpJsonRpcMessageParser.of(jsonMapper).parse(json);
+    }
 
     private static Map<String, Object> schemaToMap(JsonMapper jsonMapper, String schema) {
         try {
@@ -1288,6 +1296,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.JSONRPCRequestSerializer.class)
     public static class JSONRPCRequest implements JSONRPCMessage {
         @JsonProperty("jsonrpc")
         private String jsonrpc;
@@ -1393,6 +1402,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.JSONRPCResponseSerializer.class)
     public static class JSONRPCResponse implements JSONRPCMessage {
         @JsonProperty("jsonrpc")
         private String jsonrpc;
@@ -1513,8 +1523,61 @@ public final class McpSchema {
         }
     }
 
+    public static class JSONRPCBatch implements JSONRPCMessage {
+        private final List<JSONRPCMessage> messages;
+
+        public JSONRPCBatch(List<? extends JSONRPCMessage> messages) {
+            Assert.notEmpty(messages, "batch must contain at least one message");
+            for (JSONRPCMessage message : messages) {
+                Assert.notNull(message, "batch must not contain null messages");
+                Assert.isTrue(!(message instanceof JSONRPCBatch), "batch must not contain nested batches");
+            }
+            this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+        }
+
+        public static JSONRPCBatch of(List<? extends JSONRPCMessage> messages) {
+            return new JSONRPCBatch(messages);
+        }
+
+        @Override
+        public String jsonrpc() {
+            return JSONRPC_VERSION;
+        }
+
+        @JsonValue
+        public List<JSONRPCMessage> messages() {
+            return messages;
+        }
+
+        public boolean hasRequests() {
+            for (JSONRPCMessage message : this.messages) {
+                if (message instanceof JSONRPCRequest) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean containsRequest(String method) {
+            for (JSONRPCMessage message : this.messages) {
+                if (message instanceof JSONRPCRequest && method.equals(((JSONRPCRequest) message).method())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "JSONRPCBatch{" +
+                    "messages=" + messages +
+                    '}';
+        }
+    }
+
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.JSONRPCNotificationSerializer.class)
     public static class JSONRPCNotification implements JSONRPCMessage {
         @JsonProperty("jsonrpc")
         private String jsonrpc;
@@ -1595,6 +1658,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.JSONRPCErrorSerializer.class)
     public static class JSONRPCError implements Serializable {
         @JsonProperty("code")
         private int code;
@@ -2719,6 +2783,7 @@ public final class McpSchema {
         private String name;
 
         @JsonProperty("arguments")
+        @JsonDeserialize(using = McpRawParams.Deserializer.class)
         private Map<String, Object> arguments;
 
         @Nullable
@@ -2850,6 +2915,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.CallToolResultSerializer.class)
     public static class CallToolResult implements Result {
         @JsonProperty("content")
         private List<Content> content;
@@ -3114,6 +3180,10 @@ public final class McpSchema {
         @JsonProperty("_meta")
         private Map<String, Object> meta;
 
+        // set by the server when it routed the request through a resource template, never serialized
+        private transient String uriTemplate;
+        private transient Map<String, String> uriVariables;
+
         ReadResourceRequest() {
         }
 
@@ -3126,10 +3196,27 @@ public final class McpSchema {
             this.meta = meta;
         }
 
+        public ReadResourceRequest withUriVariables(String uriTemplate, Map<String, String> uriVariables) {
+            ReadResourceRequest request = new ReadResourceRequest(this.uri, this.meta);
+            request.uriTemplate = uriTemplate;
+            request.uriVariables = uriVariables;
+            return request;
+        }
+
         public String uri() {
             return uri;
         }
 
+        @Nullable
+        public String uriTemplate() {
+            return uriTemplate;
+        }
+
+        @Nullable
+        public Map<String, String> uriVariables() {
+            return uriVariables;
+        }
+
         public void uri(String uri) {
             this.uri = uri;
         }
@@ -3166,6 +3253,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.ReadResourceResultSerializer.class)
     public static class ReadResourceResult implements Result {
         @JsonProperty("contents")
         private List<ResourceContents> contents;
@@ -3475,6 +3563,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.GetPromptResultSerializer.class)
     public static class GetPromptResult implements Result {
         @JsonProperty("description")
         private String description;
@@ -5045,6 +5134,7 @@ public final class McpSchema {
 
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonSerialize(using = McpSchemaSerializers.TextContentSerializer.class)
     public static class TextContent implements Annotated, Content {
         @Nullable
         @JsonProperty("annotations")
@@ -6569,6 +6659,87 @@ public final class McpSchema {
         }
     }
 
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class CancelledNotification implements Notification {
+        @JsonProperty("requestId")
+        private Object requestId;
+
+        @JsonProperty("reason")
+        private String reason;
+
+        @Nullable
+        @JsonProperty("_meta")
+        private Map<String, Object> meta;
+
+        CancelledNotification() {
+        }
+
+        public CancelledNotification(Object requestId, String reason) {
+            this(requestId, reason, null);
+        }
+
+        public CancelledNotification(Object requestId, String reason, Map<String, Object> meta) {
+            this.requestId = requestId;
+            this.reason = reason;
+            this.meta = meta;
+        }
+
+        public Object requestId() {
+            return requestId;
+        }
+
+        public void requestId(Object requestId) {
+            this.requestId = requestId;
+        }
+
+        public String reason() {
+            return reason;
+        }
+
+        public void reason(String reason) {
+            this.reason = reason;
+        }
+
+        @Override
+        public Map<String, Object> meta() {
+            return meta;
+        }
+
+        public void meta(Map<String, Object> meta) {
+            this.meta = meta;
+        }
+
+        public Object getRequestId() {
+            return this.requestId();
+        }
+
+        public void setRequestId(Object requestId) {
+            this.requestId(requestId);
+        }
+
+        public String getReason() {
+            return this.reason();
+        }
+
+        public void setReason(String reason) {
+            this.reason(reason);
+        }
+
+        public void setMeta(Map<String, Object> meta) {
+            this.meta(meta);
+        }
+
+        @Override
+        public String toString() {
+            return "CancelledNotification{" +
+                    "requestId=" + requestId +
+                    ", reason='" + reason + '\'' +
+                    ", meta=" + meta +
+                    '}';
+        }
+    }
+
     @JsonInclude(JsonInclude.Include.NON_ABSENT)
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class ResourcesUpdatedNotification implements Notification {
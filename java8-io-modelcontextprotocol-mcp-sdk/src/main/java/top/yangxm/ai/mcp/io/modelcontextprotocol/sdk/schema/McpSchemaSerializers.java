@@ -0,0 +1,228 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Content;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.GetPromptResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.PromptMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ReadResourceResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ResourceContents;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.TextContent;
+
+import java.io.IOException;
+import java.util.List;
+
+// Generator-based serializers for the JSON-RPC envelope and the hottest result and content types, they write exactly what
+// bean introspection would (property order and NON_ABSENT inclusion included) without the per-property reflection.
+@SuppressWarnings("unused")
+public final class McpSchemaSerializers {
+    private static final JavaType CONTENT_LIST = TypeFactory.defaultInstance()
+            .constructCollectionType(List.class, Content.class);
+    private static final JavaType RESOURCE_CONTENTS_LIST = TypeFactory.defaultInstance()
+            .constructCollectionType(List.class, ResourceContents.class);
+    private static final JavaType PROMPT_MESSAGE_LIST = TypeFactory.defaultInstance()
+            .constructCollectionType(List.class, PromptMessage.class);
+
+    private McpSchemaSerializers() {
+    }
+
+    public static final class JSONRPCRequestSerializer extends ObjectSerializer<JSONRPCRequest> {
+        public JSONRPCRequestSerializer() {
+            super(JSONRPCRequest.class);
+        }
+
+        @Override
+        void serializeFields(JSONRPCRequest value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeString(gen, "jsonrpc", value.jsonrpc());
+            writeString(gen, "method", value.method());
+            writeId(gen, provider, value.id());
+            writeObject(gen, provider, "params", value.params());
+        }
+    }
+
+    public static final class JSONRPCNotificationSerializer extends ObjectSerializer<JSONRPCNotification> {
+        public JSONRPCNotificationSerializer() {
+            super(JSONRPCNotification.class);
+        }
+
+        @Override
+        void serializeFields(JSONRPCNotification value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeString(gen, "jsonrpc", value.jsonrpc());
+            writeString(gen, "method", value.method());
+            writeObject(gen, provider, "params", value.params());
+        }
+    }
+
+    public static final class JSONRPCResponseSerializer extends ObjectSerializer<JSONRPCResponse> {
+        public JSONRPCResponseSerializer() {
+            super(JSONRPCResponse.class);
+        }
+
+        @Override
+        void serializeFields(JSONRPCResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeString(gen, "jsonrpc", value.jsonrpc());
+            // a response always carries its id, null when the request's id could not be read, e.g. on a parse error
+            if (value.id() == null) {
+                gen.writeNullField("id");
+            } else {
+                writeId(gen, provider, value.id());
+            }
+            writeObject(gen, provider, "result", value.result());
+            JSONRPCError error = value.error();
+            if (error != null) {
+                gen.writeFieldName("error");
+                gen.writeStartObject(error);
+                JSONRPCErrorSerializer.writeFields(error, gen, provider);
+                gen.writeEndObject();
+            }
+        }
+    }
+
+    public static final class JSONRPCErrorSerializer extends ObjectSerializer<JSONRPCError> {
+        public JSONRPCErrorSerializer() {
+            super(JSONRPCError.class);
+        }
+
+        @Override
+        void serializeFields(JSONRPCError value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeFields(value, gen, provider);
+        }
+
+        private static void writeFields(JSONRPCError value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumberField("code", value.code());
+            writeString(gen, "message", value.message());
+            writeObject(gen, provider, "data", value.data());
+        }
+    }
+
+    public static final class CallToolResultSerializer extends ObjectSerializer<CallToolResult> {
+        public CallToolResultSerializer() {
+            super(CallToolResult.class);
+        }
+
+        @Override
+        void serializeFields(CallToolResult value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Boolean isError = value.isError();
+            // getError() has always been exposed next to the isError field, keep both on the wire
+            if (isError != null) {
+                gen.writeBooleanField("error", isError);
+            }
+            writeTyped(gen, provider, "content", value.content(), CONTENT_LIST);
+            if (isError != null) {
+                gen.writeBooleanField("isError", isError);
+            }
+            writeObject(gen, provider, "structuredContent", value.structuredContent());
+            writeObject(gen, provider, "_meta", value.meta());
+        }
+    }
+
+    public static final class ReadResourceResultSerializer extends ObjectSerializer<ReadResourceResult> {
+        public ReadResourceResultSerializer() {
+            super(ReadResourceResult.class);
+        }
+
+        @Override
+        void serializeFields(ReadResourceResult value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeTyped(gen, provider, "contents", value.contents(), RESOURCE_CONTENTS_LIST);
+            writeObject(gen, provider, "_meta", value.meta());
+        }
+    }
+
+    public static final class GetPromptResultSerializer extends ObjectSerializer<GetPromptResult> {
+        public GetPromptResultSerializer() {
+            super(GetPromptResult.class);
+        }
+
+        @Override
+        void serializeFields(GetPromptResult value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeString(gen, "description", value.description());
+            writeTyped(gen, provider, "messages", value.messages(), PROMPT_MESSAGE_LIST);
+            writeObject(gen, provider, "_meta", value.meta());
+        }
+    }
+
+    public static final class TextContentSerializer extends ObjectSerializer<TextContent> {
+        public TextContentSerializer() {
+            super(TextContent.class);
+        }
+
+        @Override
+        void serializeFields(TextContent value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            // getType() is a bean property on top of the polymorphic type id, so typed writes carry it twice
+            gen.writeStringField("type", Content.TYPE_TEXT);
+            writeObject(gen, provider, "annotations", value.annotations());
+            writeString(gen, "text", value.text());
+            writeObject(gen, provider, "_meta", value.meta());
+        }
+    }
+
+    abstract static class ObjectSerializer<T> extends StdSerializer<T> {
+        ObjectSerializer(Class<T> type) {
+            super(type);
+        }
+
+        abstract void serializeFields(T value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+        @Override
+        public final void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            serializeFields(value, gen, provider);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public final void serializeWithType(T value, JsonGenerator gen, SerializerProvider provider,
+                                            TypeSerializer typeSer) throws IOException {
+            gen.assignCurrentValue(value);
+            WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_OBJECT));
+            serializeFields(value, gen, provider);
+            typeSer.writeTypeSuffix(gen, typeId);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeId(JsonGenerator gen, SerializerProvider provider, Object id) throws IOException {
+        if (id instanceof String) {
+            gen.writeStringField("id", (String) id);
+        } else if (id instanceof Integer) {
+            gen.writeNumberField("id", (Integer) id);
+        } else if (id instanceof Long) {
+            gen.writeNumberField("id", (Long) id);
+        } else {
+            writeObject(gen, provider, "id", id);
+        }
+    }
+
+    private static void writeObject(JsonGenerator gen, SerializerProvider provider, String name, Object value)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    private static void writeTyped(JsonGenerator gen, SerializerProvider provider, String name, Object value,
+                                   JavaType type) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            // resolved against the declared element type so polymorphic content keeps its type ids
+            provider.findTypedValueSerializer(type, true, null).serialize(value, gen, provider);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
@@ -17,11 +19,16 @@ final class DefaultMcpStatelessServerHandler implements McpStatelessServerHandle
 
     private final Map<String, McpStatelessRequestHandler<?>> requestHandlers;
     private final Map<String, McpStatelessNotificationHandler> notificationHandlers;
+    private final int batchConcurrency;
+    private final McpAdmissionController admissionController;
 
     public DefaultMcpStatelessServerHandler(Map<String, McpStatelessRequestHandler<?>> requestHandlers,
-                                            Map<String, McpStatelessNotificationHandler> notificationHandlers) {
+                                            Map<String, McpStatelessNotificationHandler> notificationHandlers,
+                                            int batchConcurrency, McpAdmissionController admissionController) {
         this.requestHandlers = requestHandlers;
         this.notificationHandlers = notificationHandlers;
+        this.batchConcurrency = batchConcurrency;
+        this.admissionController = admissionController;
     }
 
     @Override
@@ -30,7 +37,7 @@ final class DefaultMcpStatelessServerHandler implements McpStatelessServerHandle
         if (requestHandler == null) {
             return Mono.error(McpError.of("Missing handler for request type: " + request.method()));
         }
-        return requestHandler.handle(transportContext, request.params())
+        return this.admissionController.admit(null, request, () -> requestHandler.handle(transportContext, request.params())
                 .map(result -> JSONRPCResponse.ofSuccess(request.id(), result))
                 .onErrorResume(t -> {
                     if (t instanceof McpError) {
@@ -41,7 +48,7 @@ final class DefaultMcpStatelessServerHandler implements McpStatelessServerHandle
                         }
                     }
                     return Mono.just(JSONRPCResponse.ofInternalError(request.id(), t.getMessage()));
-                });
+                }));
     }
 
     @Override
@@ -53,4 +60,28 @@ final class DefaultMcpStatelessServerHandler implements McpStatelessServerHandle
         }
         return notificationHandler.handle(transportContext, notification.params());
     }
+
+    @Override
+    public Mono<JSONRPCBatch> handleBatch(McpTransportContext transportContext, JSONRPCBatch batch) {
+        return Flux.fromIterable(batch.messages())
+                .flatMapSequential(message -> {
+                    if (message instanceof JSONRPCRequest) {
+                        JSONRPCRequest request = (JSONRPCRequest) message;
+                        return handleRequest(transportContext, request)
+                                .onErrorResume(t -> Mono.just(JSONRPCResponse.ofInternalError(request.id(), t.getMessage())));
+                    } else if (message instanceof JSONRPCNotification) {
+                        return handleNotification(transportContext, (JSONRPCNotification) message)
+                                .onErrorResume(t -> {
+                                    logger.error("Failed to handle notification in batch: {}", t.getMessage());
+                                    return Mono.empty();
+                                })
+                                .then(Mono.<JSONRPCResponse>empty());
+                    }
+                    logger.warn("Ignoring unsupported message in batch: {}", message);
+                    return Mono.<JSONRPCResponse>empty();
+                }, this.batchConcurrency)
+                .collectList()
+                .filter(responses -> !responses.isEmpty())
+                .map(JSONRPCBatch::of);
+    }
 }
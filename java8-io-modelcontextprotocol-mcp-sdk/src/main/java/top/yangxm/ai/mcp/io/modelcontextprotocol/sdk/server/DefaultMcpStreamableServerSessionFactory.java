@@ -1,26 +1,40 @@
 package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
 
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession.McpStreamableServerSessionInit;
 
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public final class DefaultMcpStreamableServerSessionFactory implements McpStreamableServerSession.Factory {
     private final Duration requestTimeout;
     private final McpServerInitRequestHandler initRequestHandler;
     private final Map<String, McpServerRequestHandler<?>> requestHandlers;
     private final Map<String, McpServerNotificationHandler> notificationHandlers;
+    private final Supplier<McpStreamableEventHistory> eventHistorySupplier;
+    private final JsonMapper jsonMapper;
+    private final int batchConcurrency;
+    private final McpAdmissionController admissionController;
 
     public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
                                                     McpServerInitRequestHandler initRequestHandler,
                                                     Map<String, McpServerRequestHandler<?>> requestHandlers,
-                                                    Map<String, McpServerNotificationHandler> notificationHandlers) {
+                                                    Map<String, McpServerNotificationHandler> notificationHandlers,
+                                                    Supplier<McpStreamableEventHistory> eventHistorySupplier,
+                                                    JsonMapper jsonMapper,
+                                                    int batchConcurrency,
+                                                    McpAdmissionController admissionController) {
         this.requestTimeout = requestTimeout;
         this.initRequestHandler = initRequestHandler;
         this.requestHandlers = requestHandlers;
         this.notificationHandlers = notificationHandlers;
+        this.eventHistorySupplier = eventHistorySupplier;
+        this.jsonMapper = jsonMapper;
+        this.batchConcurrency = batchConcurrency;
+        this.admissionController = admissionController;
     }
 
     @Override
@@ -28,7 +42,9 @@ public final class DefaultMcpStreamableServerSessionFactory implements McpStream
         return new McpStreamableServerSessionInit(
                 new McpStreamableServerSession(UUID.randomUUID().toString(),
                         initRequest.capabilities(), initRequest.clientInfo(),
-                        requestTimeout, requestHandlers, notificationHandlers),
+                        requestTimeout, requestHandlers, notificationHandlers,
+                        this.eventHistorySupplier.get(), this.jsonMapper, this.batchConcurrency,
+                        this.admissionController),
                 this.initRequestHandler.handle(initRequest));
     }
 }
@@ -0,0 +1,274 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@SuppressWarnings("unused")
+public final class McpAdmissionController {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpAdmissionController.class);
+
+    public static final int SERVER_OVERLOADED = -32000;
+    public static final int SESSION_OVERLOADED = -32001;
+
+    public static final McpAdmissionController UNLIMITED = new Builder().build();
+
+    private final Set<String> methods;
+    private final int maxConcurrent;
+    private final int maxConcurrentPerSession;
+    private final AdaptiveLimit adaptiveLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<String, Integer> sessionInFlight = new ConcurrentHashMap<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private McpAdmissionController(Builder builder) {
+        this.methods = Collections.unmodifiableSet(new HashSet<>(builder.methods));
+        this.maxConcurrent = builder.maxConcurrent;
+        this.maxConcurrentPerSession = builder.maxConcurrentPerSession;
+        this.adaptiveLimit = builder.adaptive
+                ? new AdaptiveLimit(builder.initialLimit, builder.minLimit, builder.maxLimit) : null;
+    }
+
+    public boolean isLimited(String method) {
+        return (this.maxConcurrent > 0 || this.maxConcurrentPerSession > 0 || this.adaptiveLimit != null)
+                && this.methods.contains(method);
+    }
+
+    public JSONRPCError check(String sessionId, String method) {
+        if (!isLimited(method)) {
+            return null;
+        }
+        int limit = limit();
+        if (this.inFlight.get() >= limit) {
+            return serverOverloaded(limit);
+        }
+        if (sessionId != null && this.maxConcurrentPerSession > 0
+                && this.sessionInFlight.getOrDefault(sessionId, 0) >= this.maxConcurrentPerSession) {
+            return sessionOverloaded();
+        }
+        return null;
+    }
+
+    public Mono<JSONRPCResponse> admit(String sessionId, JSONRPCRequest request,
+                                       Supplier<Mono<JSONRPCResponse>> handler) {
+        if (!isLimited(request.method())) {
+            return Mono.defer(handler);
+        }
+        return Mono.defer(() -> {
+            JSONRPCError rejection = acquire(sessionId);
+            if (rejection != null) {
+                this.rejected.incrementAndGet();
+                logger.warn("Rejected {} request {} of session {}: {}",
+                        request.method(), request.id(), sessionId, rejection.message());
+                return Mono.just(JSONRPCResponse.ofError(request.id(), rejection.code(), rejection.message()));
+            }
+            long start = System.nanoTime();
+            int inFlightAtStart = this.inFlight.get();
+            return Mono.defer(handler).doFinally(signal -> release(sessionId,
+                    signal == SignalType.CANCEL ? -1 : System.nanoTime() - start, inFlightAtStart));
+        });
+    }
+
+    public int limit() {
+        int limit = this.maxConcurrent > 0 ? this.maxConcurrent : Integer.MAX_VALUE;
+        return this.adaptiveLimit != null ? Math.min(limit, this.adaptiveLimit.limit()) : limit;
+    }
+
+    public int inFlight() {
+        return this.inFlight.get();
+    }
+
+    public int inFlight(String sessionId) {
+        return this.sessionInFlight.getOrDefault(sessionId, 0);
+    }
+
+    public long rejectedCount() {
+        return this.rejected.get();
+    }
+
+    private JSONRPCError acquire(String sessionId) {
+        int limit = limit();
+        if (this.inFlight.incrementAndGet() > limit) {
+            this.inFlight.decrementAndGet();
+            return serverOverloaded(limit);
+        }
+        if (sessionId != null && this.maxConcurrentPerSession > 0
+                && this.sessionInFlight.merge(sessionId, 1, Integer::sum) > this.maxConcurrentPerSession) {
+            releaseSession(sessionId);
+            this.inFlight.decrementAndGet();
+            return sessionOverloaded();
+        }
+        return null;
+    }
+
+    private void release(String sessionId, long latencyNanos, int inFlight) {
+        this.inFlight.decrementAndGet();
+        if (sessionId != null && this.maxConcurrentPerSession > 0) {
+            releaseSession(sessionId);
+        }
+        if (this.adaptiveLimit != null && latencyNanos >= 0) {
+            this.adaptiveLimit.sample(latencyNanos, inFlight);
+        }
+    }
+
+    private void releaseSession(String sessionId) {
+        this.sessionInFlight.computeIfPresent(sessionId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private JSONRPCError serverOverloaded(int limit) {
+        return new JSONRPCError(SERVER_OVERLOADED, "Server overloaded, concurrent request limit " + limit + " reached", null);
+    }
+
+    private JSONRPCError sessionOverloaded() {
+        return new JSONRPCError(SESSION_OVERLOADED,
+                "Too many concurrent requests, session limit " + this.maxConcurrentPerSession + " reached", null);
+    }
+
+    public static int httpStatus(JSONRPCError error) {
+        if (error == null) {
+            return 0;
+        }
+        switch (error.code()) {
+            case SESSION_OVERLOADED:
+                return 429;
+            case SERVER_OVERLOADED:
+                return 503;
+            default:
+                return 0;
+        }
+    }
+
+    // overload rejections raised inside a handler, e.g. by a full bulkhead, keep their code
+    static JSONRPCResponse errorResponse(Object id, Throwable error) {
+        if (error instanceof McpError && httpStatus(((McpError) error).jsonRpcError()) != 0) {
+            JSONRPCError rejection = ((McpError) error).jsonRpcError();
+            return JSONRPCResponse.ofError(id, rejection.code(), rejection.message());
+        }
+        return JSONRPCResponse.ofInternalError(id, error.getMessage());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return "McpAdmissionController{" +
+                "methods=" + methods +
+                ", maxConcurrent=" + maxConcurrent +
+                ", maxConcurrentPerSession=" + maxConcurrentPerSession +
+                ", adaptive=" + (adaptiveLimit != null) +
+                ", limit=" + limit() +
+                ", inFlight=" + inFlight() +
+                ", rejected=" + rejectedCount() +
+                '}';
+    }
+
+    private static final class AdaptiveLimit {
+        private static final double SMOOTHING = 0.2;
+        private static final double TOLERANCE = 1.5;
+        private static final int LONG_WINDOW = 100;
+
+        private final int minLimit;
+        private final int maxLimit;
+        private double estimatedLimit;
+        private double longRtt;
+        private volatile int limit;
+
+        private AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.estimatedLimit = initialLimit;
+            this.limit = initialLimit;
+        }
+
+        private int limit() {
+            return this.limit;
+        }
+
+        private synchronized void sample(long rttNanos, int inFlight) {
+            double rtt = Math.max(1, rttNanos);
+            this.longRtt = this.longRtt == 0 ? rtt : this.longRtt + (rtt - this.longRtt) / LONG_WINDOW;
+            if (this.longRtt / rtt > 2) {
+                // recovering from a latency spike, let the baseline catch up faster
+                this.longRtt *= 0.95;
+            }
+            if (inFlight < this.estimatedLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.longRtt / rtt));
+            double newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+            newLimit = this.estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+            this.limit = (int) this.estimatedLimit;
+        }
+    }
+
+    public static final class Builder {
+        private final Set<String> methods = new HashSet<>(Collections.singleton(McpSchema.METHOD_TOOLS_CALL));
+        private int maxConcurrent;
+        private int maxConcurrentPerSession;
+        private boolean adaptive;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+
+        private Builder() {
+        }
+
+        public Builder methods(Collection<String> methods) {
+            Assert.notEmpty(methods, "methods must not be empty");
+            this.methods.clear();
+            this.methods.addAll(methods);
+            return this;
+        }
+
+        public Builder methods(String... methods) {
+            return this.methods(Arrays.asList(methods));
+        }
+
+        public Builder maxConcurrent(int maxConcurrent) {
+            Assert.isTrue(maxConcurrent >= 0, "maxConcurrent must not be negative");
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        public Builder maxConcurrentPerSession(int maxConcurrentPerSession) {
+            Assert.isTrue(maxConcurrentPerSession >= 0, "maxConcurrentPerSession must not be negative");
+            this.maxConcurrentPerSession = maxConcurrentPerSession;
+            return this;
+        }
+
+        public Builder adaptive(int initialLimit, int minLimit, int maxLimit) {
+            Assert.isTrue(minLimit > 0, "minLimit must be positive");
+            Assert.isTrue(minLimit <= initialLimit && initialLimit <= maxLimit,
+                    "initialLimit must be between minLimit and maxLimit");
+            this.adaptive = true;
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        public McpAdmissionController build() {
+            return new McpAdmissionController(this);
+        }
+    }
+}
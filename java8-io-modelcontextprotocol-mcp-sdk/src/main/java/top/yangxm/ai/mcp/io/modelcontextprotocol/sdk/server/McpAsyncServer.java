@@ -9,8 +9,11 @@ import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.commons.util.Lists;
 import top.yangxm.ai.mcp.commons.util.Maps;
+import top.yangxm.ai.mcp.commons.util.Utils;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpUriTemplateManager;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpEncodedResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
@@ -26,6 +29,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListPrompt
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListResourceTemplatesResult;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListResourcesResult;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListToolsResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.PaginatedRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Prompt;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.PromptReference;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ReadResourceRequest;
@@ -52,15 +56,29 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("unused")
 public class McpAsyncServer {
     private static final Logger logger = LoggerFactoryHolder.getLogger(McpAsyncServer.class);
 
+    // catalog features, indexes into the per-feature state of a transaction
+    private static final int TOOLS = 0;
+    private static final int RESOURCES = 1;
+    private static final int PROMPTS = 2;
+
     private final McpServerTransportProviderBase transportProvider;
     private final JsonMapper jsonMapper;
     private final McpUriTemplateManager.Factory uriTemplateManagerFactory;
+    private final McpResourceRouter<AsyncResourceSpec> resourceRouter;
+    private final McpListCache<Tool> toolListCache;
+    private final McpListCache<Resource> resourceListCache;
+    private final McpListCache<ResourceTemplate> resourceTemplateListCache;
+    private final McpListCache<Prompt> promptListCache;
+    private final McpListChangedNotifier listChangedNotifier;
+    // serializes catalog changes against each other and against the list builders
+    private final Object catalogLock = new Object();
     private final JsonSchemaValidator jsonSchemaValidator;
     private final ServerCapabilities serverCapabilities;
     private final Implementation serverInfo;
@@ -84,6 +102,12 @@ public class McpAsyncServer {
                            Map<CompleteReference, AsyncCompletionSpec> completionSpecs,
                            List<BiFunction<McpAsyncServerExchange, List<Root>, Mono<Void>>> rootsChangeConsumers,
                            Duration requestTimeout,
+                           int batchConcurrency,
+                           int listPageSize,
+                           int listRetainedSnapshots,
+                           Duration listSnapshotRetention,
+                           Duration listChangedDebounce,
+                           McpAdmissionController admissionController,
                            McpUriTemplateManager.Factory uriTemplateManagerFactory,
                            JsonSchemaValidator jsonSchemaValidator) {
         Assert.notNull(nonStreamTransportProvider, "nonStreamTransportProvider must not be null");
@@ -98,6 +122,12 @@ public class McpAsyncServer {
         Assert.notNull(completionSpecs, "completionSpecs must not be null");
         Assert.notNull(rootsChangeConsumers, "rootsChangeConsumers must not be null");
         Assert.notNull(requestTimeout, "requestTimeout must not be null");
+        Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+        Assert.isTrue(listPageSize >= 0, "listPageSize must not be negative");
+        Assert.isTrue(listRetainedSnapshots >= 0, "listRetainedSnapshots must not be negative");
+        Assert.notNull(listSnapshotRetention, "listSnapshotRetention must not be null");
+        Assert.notNull(listChangedDebounce, "listChangedDebounce must not be null");
+        Assert.notNull(admissionController, "admissionController must not be null");
         Assert.notNull(jsonSchemaValidator, "jsonSchemaValidator must not be null");
 
         this.transportProvider = nonStreamTransportProvider;
@@ -117,6 +147,18 @@ public class McpAsyncServer {
         this.promptSpecs.putAll(promptSpecs);
         this.completionSpecs.putAll(completionSpecs);
         this.uriTemplateManagerFactory = (uriTemplateManagerFactory != null) ? uriTemplateManagerFactory : McpUriTemplateManager.DEFAULT_FACTORY;
+        this.resourceRouter = new McpResourceRouter<>(this.uriTemplateManagerFactory);
+        this.resourceSpecs.forEach(this.resourceRouter::add);
+        this.toolListCache = new McpListCache<>(jsonMapper, this::buildToolList, ListToolsResult::new,
+                listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.resourceListCache = new McpListCache<>(jsonMapper, this::buildResourceList, ListResourcesResult::new,
+                listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.resourceTemplateListCache = new McpListCache<>(jsonMapper, this::buildResourceTemplateList,
+                ListResourceTemplatesResult::new, listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.promptListCache = new McpListCache<>(jsonMapper, this::buildPromptList, ListPromptsResult::new,
+                listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.listChangedNotifier = new McpListChangedNotifier(listChangedDebounce,
+                method -> this.transportProvider.notifyClients(method, null));
         this.jsonSchemaValidator = jsonSchemaValidator;
 
         Map<String, McpServerRequestHandler<?>> requestHandlers = prepareRequestHandlers();
@@ -126,7 +168,7 @@ public class McpAsyncServer {
 
         nonStreamTransportProvider.setSessionFactory(transport -> new McpServerSession(requestTimeout, transport,
                 this::asyncInitializeRequestHandler,
-                requestHandlers, notificationHandlers)
+                requestHandlers, notificationHandlers, batchConcurrency, admissionController)
         );
     }
 
@@ -142,8 +184,15 @@ public class McpAsyncServer {
                            Map<CompleteReference, AsyncCompletionSpec> completionSpecs,
                            List<BiFunction<McpAsyncServerExchange, List<Root>, Mono<Void>>> rootsChangeConsumers,
                            Duration requestTimeout,
+                           int batchConcurrency,
+                           int listPageSize,
+                           int listRetainedSnapshots,
+                           Duration listSnapshotRetention,
+                           Duration listChangedDebounce,
+                           McpAdmissionController admissionController,
                            McpUriTemplateManager.Factory uriTemplateManagerFactory,
-                           JsonSchemaValidator jsonSchemaValidator) {
+                           JsonSchemaValidator jsonSchemaValidator,
+                           McpStreamableEventHistory.Factory eventHistoryFactory) {
         Assert.notNull(streamableTransportProvider, "streamableTransportProvider must not be null");
         Assert.notNull(jsonMapper, "jsonMapper must not be null");
         Assert.notNull(serverCapabilities, "serverCapabilities must not be null");
@@ -156,7 +205,14 @@ public class McpAsyncServer {
         Assert.notNull(completionSpecs, "completionSpecs must not be null");
         Assert.notNull(rootsChangeConsumers, "rootsChangeConsumers must not be null");
         Assert.notNull(requestTimeout, "requestTimeout must not be null");
+        Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+        Assert.isTrue(listPageSize >= 0, "listPageSize must not be negative");
+        Assert.isTrue(listRetainedSnapshots >= 0, "listRetainedSnapshots must not be negative");
+        Assert.notNull(listSnapshotRetention, "listSnapshotRetention must not be null");
+        Assert.notNull(listChangedDebounce, "listChangedDebounce must not be null");
+        Assert.notNull(admissionController, "admissionController must not be null");
         Assert.notNull(jsonSchemaValidator, "jsonSchemaValidator must not be null");
+        Assert.notNull(eventHistoryFactory, "eventHistoryFactory must not be null");
 
         this.transportProvider = streamableTransportProvider;
         this.jsonMapper = jsonMapper;
@@ -175,6 +231,18 @@ public class McpAsyncServer {
         this.promptSpecs.putAll(promptSpecs);
         this.completionSpecs.putAll(completionSpecs);
         this.uriTemplateManagerFactory = (uriTemplateManagerFactory != null) ? uriTemplateManagerFactory : McpUriTemplateManager.DEFAULT_FACTORY;
+        this.resourceRouter = new McpResourceRouter<>(this.uriTemplateManagerFactory);
+        this.resourceSpecs.forEach(this.resourceRouter::add);
+        this.toolListCache = new McpListCache<>(jsonMapper, this::buildToolList, ListToolsResult::new,
+                listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.resourceListCache = new McpListCache<>(jsonMapper, this::buildResourceList, ListResourcesResult::new,
+                listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.resourceTemplateListCache = new McpListCache<>(jsonMapper, this::buildResourceTemplateList,
+                ListResourceTemplatesResult::new, listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.promptListCache = new McpListCache<>(jsonMapper, this::buildPromptList, ListPromptsResult::new,
+                listPageSize, listRetainedSnapshots, listSnapshotRetention);
+        this.listChangedNotifier = new McpListChangedNotifier(listChangedDebounce,
+                method -> this.transportProvider.notifyClients(method, null));
         this.jsonSchemaValidator = jsonSchemaValidator;
 
         Map<String, McpServerRequestHandler<?>> requestHandlers = prepareRequestHandlers();
@@ -183,7 +251,8 @@ public class McpAsyncServer {
         this.protocolVersions = streamableTransportProvider.protocolVersions();
 
         streamableTransportProvider.setSessionFactory(new DefaultMcpStreamableServerSessionFactory(requestTimeout,
-                this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers)
+                this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers,
+                () -> eventHistoryFactory.create(jsonMapper), jsonMapper, batchConcurrency, admissionController)
         );
     }
 
@@ -223,6 +292,8 @@ public class McpAsyncServer {
             List<BiFunction<McpAsyncServerExchange, List<Root>, Mono<Void>>> rootsChangeConsumers) {
         Map<String, McpServerNotificationHandler> notificationHandlers = new HashMap<>();
         notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_INITIALIZED, (exchange, params) -> Mono.empty());
+        // in-flight requests are disposed by the session before this handler runs
+        notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_CANCELLED, (exchange, params) -> Mono.empty());
         if (Lists.isEmpty(rootsChangeConsumers)) {
             rootsChangeConsumers = Lists.of((exchange, roots) -> Mono.fromRunnable(
                     () -> logger.warn("Roots list changed notification, but no consumers provided. Roots list changed: {}", roots)
@@ -273,57 +344,236 @@ public class McpAsyncServer {
         this.protocolVersions = protocolVersions;
     }
 
-    public Mono<Void> addTool(AsyncToolSpec toolSpec) {
-        if (toolSpec == null) {
-            return Mono.error(McpError.of("Tool specification must not be null"));
+    // applies every change made to the transaction or, if any of them is invalid, none of them. Each list that changed is
+    // rebuilt once and announced with a single list_changed notification
+    public Mono<Void> mutateCatalog(Consumer<CatalogTransaction> mutation) {
+        if (mutation == null) {
+            return Mono.error(McpError.of("Catalog mutation must not be null"));
         }
-        if (toolSpec.tool() == null) {
-            return Mono.error(McpError.of("Tool must not be null"));
+        return Mono.defer(() -> {
+            CatalogTransaction transaction = new CatalogTransaction();
+            mutation.accept(transaction);
+            return commit(transaction.changes);
+        });
+    }
+
+    private Mono<Void> commit(List<CatalogChange> changes) {
+        // checked and prepared before taking the lock, wrapping a tool compiles its output schema
+        List<CatalogChange> prepared = new ArrayList<>(changes.size());
+        for (CatalogChange change : changes) {
+            String error = specError(change);
+            if (error != null) {
+                return Mono.error(McpError.of(error));
+            }
+            prepared.add(prepare(change));
         }
-        if (toolSpec.callHandler() == null) {
-            return Mono.error(McpError.of("Tool call handler must not be null"));
+
+        boolean[] changed = new boolean[3];
+        synchronized (this.catalogLock) {
+            String error = validate(prepared);
+            if (error != null) {
+                return Mono.error(McpError.of(error));
+            }
+            for (CatalogChange change : prepared) {
+                apply(change);
+                changed[change.feature] = true;
+            }
+            if (changed[TOOLS]) {
+                this.toolListCache.invalidate();
+            }
+            if (changed[RESOURCES]) {
+                this.resourceListCache.invalidate();
+                this.resourceTemplateListCache.invalidate();
+            }
+            if (changed[PROMPTS]) {
+                this.promptListCache.invalidate();
+            }
+        }
+
+        List<Mono<Void>> notifications = new ArrayList<>();
+        if (changed[TOOLS] && this.serverCapabilities.tools().listChanged()) {
+            notifications.add(this.listChangedNotifier.changed(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED));
+        }
+        if (changed[RESOURCES] && this.serverCapabilities.resources().listChanged()) {
+            notifications.add(this.listChangedNotifier.changed(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED));
+        }
+        if (changed[PROMPTS] && this.serverCapabilities.prompts().listChanged()) {
+            notifications.add(this.listChangedNotifier.changed(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED));
+        }
+        return Mono.when(notifications);
+    }
+
+    // what is wrong with the change itself, regardless of the catalog
+    private String specError(CatalogChange change) {
+        switch (change.feature) {
+            case TOOLS:
+                return toolSpecError(change);
+            case RESOURCES:
+                return resourceSpecError(change);
+            default:
+                return promptSpecError(change);
+        }
+    }
+
+    private String toolSpecError(CatalogChange change) {
+        if (change.adds() ? change.spec == null : change.key == null) {
+            return change.adds() ? "Tool specification must not be null" : "Tool name must not be null";
+        }
+        if (change.adds()) {
+            AsyncToolSpec toolSpec = (AsyncToolSpec) change.spec;
+            if (toolSpec.tool() == null) {
+                return "Tool must not be null";
+            }
+            if (toolSpec.callHandler() == null) {
+                return "Tool call handler must not be null";
+            }
         }
         if (this.serverCapabilities.tools() == null) {
-            return Mono.error(McpError.of("Server must be configured with tool capabilities"));
+            return "Server must be configured with tool capabilities";
         }
+        return null;
+    }
 
-        AsyncToolSpec wrappedToolSpec = toolSpec.withCallHandler(
-                StructuredOutputCallToolHandler.withStructuredOutputHandling(
-                        this.jsonSchemaValidator,
-                        toolSpec.tool().outputSchema(),
-                        toolSpec.callHandler()
-                ));
-        return Mono.defer(() -> {
-            if (this.toolSpecs.putIfAbsent(wrappedToolSpec.tool().name(), wrappedToolSpec) != null) {
-                return Mono.error(McpError.of("Tool with name '" + wrappedToolSpec.tool().name() + "' already exists"));
+    private String resourceSpecError(CatalogChange change) {
+        if (change.adds() ? change.spec == null : change.key == null) {
+            return change.adds() ? "Resource specification must not be null" : "Resource URI must not be null";
+        }
+        if (change.adds()) {
+            AsyncResourceSpec resourceSpec = (AsyncResourceSpec) change.spec;
+            if (resourceSpec.resource() == null) {
+                return "Resource must not be null";
             }
-            logger.debug("Added tool handler: {}", wrappedToolSpec.tool().name());
-            if (this.serverCapabilities.tools().listChanged()) {
-                return notifyToolsListChanged();
+            if (resourceSpec.readHandler() == null) {
+                return "Resource read handler must not be null";
             }
-            return Mono.empty();
-        });
+            // the resource router rejects it, and that must not happen halfway through apply()
+            if (!Utils.hasText(resourceSpec.resource().uri())) {
+                return "Resource URI must not be empty";
+            }
+        }
+        if (this.serverCapabilities.resources() == null) {
+            return "Server must be configured with resource capabilities";
+        }
+        return null;
     }
 
-    public Mono<Void> removeTool(String toolName) {
-        if (toolName == null) {
-            return Mono.error(McpError.of("Tool name must not be null"));
+    private String promptSpecError(CatalogChange change) {
+        if (change.adds() ? change.spec == null : change.key == null) {
+            return change.adds() ? "Prompt specification must not be null" : "Prompt name must not be null";
         }
-        if (this.serverCapabilities.tools() == null) {
-            return Mono.error(McpError.of("Server must be configured with tool capabilities"));
+        if (change.adds()) {
+            AsyncPromptSpec promptSpec = (AsyncPromptSpec) change.spec;
+            if (promptSpec.prompt() == null) {
+                return "Prompt must not be null";
+            }
+            if (promptSpec.promptHandler() == null) {
+                return "Prompt handler must not be null";
+            }
+        }
+        if (this.serverCapabilities.prompts() == null) {
+            return "Server must be configured with prompt capabilities";
         }
+        return null;
+    }
 
-        return Mono.defer(() -> {
-            AsyncToolSpec removed = this.toolSpecs.remove(toolName);
-            if (removed != null) {
-                logger.debug("Removed tool handler: {}", toolName);
-                if (this.serverCapabilities.tools().listChanged()) {
-                    return notifyToolsListChanged();
-                }
-                return Mono.empty();
+    // the change as apply() puts it into the catalog, with the key resolved and tools wrapped for structured output
+    private CatalogChange prepare(CatalogChange change) {
+        if (!change.adds()) {
+            return change;
+        }
+        switch (change.feature) {
+            case TOOLS:
+                AsyncToolSpec toolSpec = (AsyncToolSpec) change.spec;
+                return new CatalogChange(TOOLS, true, toolSpec.withCallHandler(
+                        StructuredOutputCallToolHandler.withStructuredOutputHandling(
+                                this.jsonSchemaValidator,
+                                toolSpec.tool().outputSchema(),
+                                toolSpec.callHandler()
+                        )), toolSpec.tool().name());
+            case RESOURCES:
+                return new CatalogChange(RESOURCES, true, change.spec,
+                        ((AsyncResourceSpec) change.spec).resource().uri());
+            default:
+                return new CatalogChange(PROMPTS, true, change.spec, ((AsyncPromptSpec) change.spec).prompt().name());
+        }
+    }
+
+    // the first change that conflicts with the catalog as the earlier changes of the transaction leave it
+    private String validate(List<CatalogChange> changes) {
+        // keys added (true) or removed (false) by the changes checked so far, by feature
+        List<Map<String, Boolean>> staged = Arrays.asList(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        for (CatalogChange change : changes) {
+            String error;
+            switch (change.feature) {
+                case TOOLS:
+                    error = stagedChangeError(staged.get(TOOLS), this.toolSpecs, change,
+                            "Tool with name '" + change.key + "'");
+                    break;
+                case RESOURCES:
+                    error = stagedChangeError(staged.get(RESOURCES), this.resourceSpecs, change,
+                            "Resource with URI '" + change.key + "'");
+                    break;
+                default:
+                    error = stagedChangeError(staged.get(PROMPTS), this.promptSpecs, change,
+                            "Prompt with name '" + change.key + "'");
             }
-            return Mono.error(McpError.of("Tool with name '" + toolName + "' not found"));
-        });
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private static String stagedChangeError(Map<String, Boolean> staged, Map<String, ?> specs, CatalogChange change,
+                                            String subject) {
+        Boolean present = staged.get(change.key);
+        if ((present != null ? present : specs.containsKey(change.key)) == change.adds()) {
+            return subject + (change.adds() ? " already exists" : " not found");
+        }
+        staged.put(change.key, change.adds());
+        return null;
+    }
+
+    // only puts and removes, everything that can fail was done by prepare() and validate()
+    private void apply(CatalogChange change) {
+        switch (change.feature) {
+            case TOOLS:
+                if (change.adds()) {
+                    this.toolSpecs.put(change.key, (AsyncToolSpec) change.spec);
+                    logger.debug("Added tool handler: {}", change.key);
+                } else {
+                    this.toolSpecs.remove(change.key);
+                    logger.debug("Removed tool handler: {}", change.key);
+                }
+                break;
+            case RESOURCES:
+                if (change.adds()) {
+                    this.resourceSpecs.put(change.key, (AsyncResourceSpec) change.spec);
+                    this.resourceRouter.add(change.key, (AsyncResourceSpec) change.spec);
+                    logger.debug("Added resource handler: {}", change.key);
+                } else {
+                    this.resourceSpecs.remove(change.key);
+                    this.resourceRouter.remove(change.key);
+                    logger.debug("Removed resource handler: {}", change.key);
+                }
+                break;
+            default:
+                if (change.adds()) {
+                    this.promptSpecs.put(change.key, (AsyncPromptSpec) change.spec);
+                    logger.debug("Added prompt handler: {}", change.key);
+                } else {
+                    this.promptSpecs.remove(change.key);
+                    logger.debug("Removed prompt handler: {}", change.key);
+                }
+        }
+    }
+
+    public Mono<Void> addTool(AsyncToolSpec toolSpec) {
+        return mutateCatalog(catalog -> catalog.addTool(toolSpec));
+    }
+
+    public Mono<Void> removeTool(String toolName) {
+        return mutateCatalog(catalog -> catalog.removeTool(toolName));
     }
 
     public Mono<Void> notifyToolsListChanged() {
@@ -331,7 +581,14 @@ public class McpAsyncServer {
     }
 
     public List<Tool> getToolList() {
-        return this.toolSpecs.values().stream().map(AsyncToolSpec::tool).collect(Collectors.toList());
+        return new ArrayList<>(this.toolListCache.items());
+    }
+
+    // built under the catalog lock, so a list never shows part of a transaction
+    private List<Tool> buildToolList() {
+        synchronized (this.catalogLock) {
+            return this.toolSpecs.values().stream().map(AsyncToolSpec::tool).collect(Collectors.toList());
+        }
     }
 
     public Optional<AsyncToolSpec> getToolSpec(String toolName) {
@@ -342,15 +599,17 @@ public class McpAsyncServer {
         return Optional.of(specification);
     }
 
-    private McpServerRequestHandler<ListToolsResult> toolsListRequestHandler() {
-        return (exchange, params) -> Mono.just(
-                new ListToolsResult(this.getToolList(), null)
-        );
+    private String listCursor(Object params) {
+        return params != null ? McpRawParams.bind(jsonMapper, params, PaginatedRequest.class).cursor() : null;
+    }
+
+    private McpServerRequestHandler<McpEncodedResult> toolsListRequestHandler() {
+        return (exchange, params) -> Mono.fromSupplier(() -> this.toolListCache.encodedPage(listCursor(params)));
     }
 
     private McpServerRequestHandler<CallToolResult> toolsCallRequestHandler() {
         return (exchange, params) -> {
-            CallToolRequest callToolRequest = jsonMapper.convertValue(params, CallToolRequest.class);
+            CallToolRequest callToolRequest = McpRawParams.bind(jsonMapper, params, CallToolRequest.class);
             String name = callToolRequest.name();
             return this.getToolSpec(name)
                     .map(ts -> Mono.defer(() -> ts.callHandler().apply(exchange, callToolRequest)))
@@ -359,54 +618,11 @@ public class McpAsyncServer {
     }
 
     public Mono<Void> addResource(AsyncResourceSpec resourceSpec) {
-        if (resourceSpec == null) {
-            return Mono.error(McpError.of("Resource specification must not be null"));
-        }
-
-        if (resourceSpec.resource() == null) {
-            return Mono.error(McpError.of("Resource must not be null"));
-        }
-
-        if (resourceSpec.readHandler() == null) {
-            return Mono.error(McpError.of("Resource read handler must not be null"));
-        }
-
-        if (this.serverCapabilities.resources() == null) {
-            return Mono.error(McpError.of("Server must be configured with resource capabilities"));
-        }
-
-        return Mono.defer(() -> {
-            if (this.resourceSpecs.putIfAbsent(resourceSpec.resource().uri(), resourceSpec) != null) {
-                return Mono.error(McpError.of("Resource with URI '" + resourceSpec.resource().uri() + "' already exists"));
-            }
-            logger.debug("Added resource handler: {}", resourceSpec.resource().uri());
-            if (this.serverCapabilities.resources().listChanged()) {
-                return notifyResourcesListChanged();
-            }
-            return Mono.empty();
-        });
+        return mutateCatalog(catalog -> catalog.addResource(resourceSpec));
     }
 
     public Mono<Void> removeResource(String resourceUri) {
-        if (resourceUri == null) {
-            return Mono.error(McpError.of("Resource URI must not be null"));
-        }
-
-        if (this.serverCapabilities.resources() == null) {
-            return Mono.error(McpError.of("Server must be configured with resource capabilities"));
-        }
-
-        return Mono.defer(() -> {
-            AsyncResourceSpec removed = this.resourceSpecs.remove(resourceUri);
-            if (removed != null) {
-                logger.debug("Removed resource handler: {}", resourceUri);
-                if (this.serverCapabilities.resources().listChanged()) {
-                    return notifyResourcesListChanged();
-                }
-                return Mono.empty();
-            }
-            return Mono.error(McpError.of("Resource with URI '" + resourceUri + "' not found"));
-        });
+        return mutateCatalog(catalog -> catalog.removeResource(resourceUri));
     }
 
     public Mono<Void> notifyResourcesListChanged() {
@@ -418,106 +634,83 @@ public class McpAsyncServer {
     }
 
     public List<Resource> getResourceList() {
-        return this.resourceSpecs.values()
-                .stream()
-                .map(AsyncResourceSpec::resource)
-                .filter(resource -> !resource.uri().contains("{"))
-                .collect(Collectors.toList());
+        return new ArrayList<>(this.resourceListCache.items());
+    }
+
+    private List<Resource> buildResourceList() {
+        synchronized (this.catalogLock) {
+            return this.resourceSpecs.values()
+                    .stream()
+                    .map(AsyncResourceSpec::resource)
+                    .filter(resource -> !resource.uri().contains("{"))
+                    .collect(Collectors.toList());
+        }
     }
 
     public List<ResourceTemplate> getResourceTemplateList() {
-        List<ResourceTemplate> list = new ArrayList<>(this.resourceTemplates.values());
-        List<ResourceTemplate> resourceTemplates = this.resourceSpecs.keySet()
-                .stream()
-                .filter(uri -> uri.contains("{"))
-                .map(uri -> {
-                    Resource resource = this.resourceSpecs.get(uri).resource();
-                    return new ResourceTemplate(resource.uri(), resource.name(), resource.title(),
-                            resource.description(), resource.mimeType(), resource.annotations());
-                })
-                .collect(Collectors.toList());
+        return new ArrayList<>(this.resourceTemplateListCache.items());
+    }
 
-        list.addAll(resourceTemplates);
-        return list;
+    private List<ResourceTemplate> buildResourceTemplateList() {
+        synchronized (this.catalogLock) {
+            List<ResourceTemplate> list = new ArrayList<>(this.resourceTemplates.values());
+            List<ResourceTemplate> resourceTemplates = this.resourceSpecs.keySet()
+                    .stream()
+                    .filter(uri -> uri.contains("{"))
+                    .map(uri -> {
+                        Resource resource = this.resourceSpecs.get(uri).resource();
+                        return new ResourceTemplate(resource.uri(), resource.name(), resource.title(),
+                                resource.description(), resource.mimeType(), resource.annotations());
+                    })
+                    .collect(Collectors.toList());
+
+            list.addAll(resourceTemplates);
+            return list;
+        }
     }
 
     public Optional<AsyncResourceSpec> getResourceSpec(String resourceUri) {
-        return this.resourceSpecs.values()
-                .stream()
-                .filter(specification -> this.uriTemplateManagerFactory
-                        .create(specification.resource().uri())
-                        .matches(resourceUri))
-                .findFirst();
+        McpResourceRouter.Match<AsyncResourceSpec> match = this.resourceRouter.route(resourceUri);
+        return match != null ? Optional.of(match.value()) : Optional.empty();
+    }
+
+    // hands the variables the router already extracted to the read handler
+    private static ReadResourceRequest routedRequest(ReadResourceRequest request,
+                                                     McpResourceRouter.Match<AsyncResourceSpec> match) {
+        if (match.variables() == null) {
+            return request;
+        }
+        return request.withUriVariables(match.uriTemplate(), match.variables());
     }
 
-    private McpServerRequestHandler<ListResourcesResult> resourcesListRequestHandler() {
-        return (exchange, params) -> Mono.just(
-                new ListResourcesResult(this.getResourceList(), null));
+    private McpServerRequestHandler<McpEncodedResult> resourcesListRequestHandler() {
+        return (exchange, params) -> Mono.fromSupplier(() -> this.resourceListCache.encodedPage(listCursor(params)));
     }
 
-    private McpServerRequestHandler<ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-        return (exchange, params) -> Mono.just(
-                new ListResourceTemplatesResult(this.getResourceTemplateList(), null));
+    private McpServerRequestHandler<McpEncodedResult> resourceTemplateListRequestHandler() {
+        return (exchange, params) -> Mono.fromSupplier(
+                () -> this.resourceTemplateListCache.encodedPage(listCursor(params)));
     }
 
     private McpServerRequestHandler<ReadResourceResult> resourcesReadRequestHandler() {
         return (exchange, params) -> {
-            ReadResourceRequest resourceRequest = jsonMapper.convertValue(params, ReadResourceRequest.class);
+            ReadResourceRequest resourceRequest = McpRawParams.bind(jsonMapper, params, ReadResourceRequest.class);
             String resourceUri = resourceRequest.uri();
-            return this.getResourceSpec(resourceUri)
-                    .map(rs -> Mono.defer(() -> rs.readHandler().apply(exchange, resourceRequest)))
-                    .orElseGet(() -> Mono.error(McpError.of("Resource not found: " + resourceUri)));
+            McpResourceRouter.Match<AsyncResourceSpec> match = this.resourceRouter.route(resourceUri);
+            if (match == null) {
+                return Mono.error(McpError.of("Resource not found: " + resourceUri));
+            }
+            ReadResourceRequest routedRequest = routedRequest(resourceRequest, match);
+            return Mono.defer(() -> match.value().readHandler().apply(exchange, routedRequest));
         };
     }
 
     public Mono<Void> addPrompt(AsyncPromptSpec promptSpec) {
-        if (promptSpec == null) {
-            return Mono.error(McpError.of("Prompt specification must not be null"));
-        }
-
-        if (promptSpec.prompt() == null) {
-            return Mono.error(McpError.of("Prompt must not be null"));
-        }
-
-        if (promptSpec.promptHandler() == null) {
-            return Mono.error(McpError.of("Prompt handler must not be null"));
-        }
-
-        if (this.serverCapabilities.prompts() == null) {
-            return Mono.error(McpError.of("Server must be configured with prompt capabilities"));
-        }
-
-        return Mono.defer(() -> {
-            if (this.promptSpecs.putIfAbsent(promptSpec.prompt().name(), promptSpec) != null) {
-                return Mono.error(McpError.of("Prompt with name '" + promptSpec.prompt().name() + "' already exists"));
-            }
-            logger.debug("Added prompt handler: {}", promptSpec.prompt().name());
-            if (this.serverCapabilities.prompts().listChanged()) {
-                return notifyPromptsListChanged();
-            }
-            return Mono.empty();
-        });
+        return mutateCatalog(catalog -> catalog.addPrompt(promptSpec));
     }
 
     public Mono<Void> removePrompt(String promptName) {
-        if (promptName == null) {
-            return Mono.error(McpError.of("Prompt name must not be null"));
-        }
-        if (this.serverCapabilities.prompts() == null) {
-            return Mono.error(McpError.of("Server must be configured with prompt capabilities"));
-        }
-
-        return Mono.defer(() -> {
-            AsyncPromptSpec removed = this.promptSpecs.remove(promptName);
-            if (removed != null) {
-                logger.debug("Removed prompt handler: {}", promptName);
-                if (this.serverCapabilities.prompts().listChanged()) {
-                    return this.notifyPromptsListChanged();
-                }
-                return Mono.empty();
-            }
-            return Mono.error(McpError.of("Prompt with name '" + promptName + "' not found"));
-        });
+        return mutateCatalog(catalog -> catalog.removePrompt(promptName));
     }
 
     public Mono<Void> notifyPromptsListChanged() {
@@ -525,10 +718,16 @@ public class McpAsyncServer {
     }
 
     public List<Prompt> getPromptList() {
-        return this.promptSpecs.values()
-                .stream()
-                .map(AsyncPromptSpec::prompt)
-                .collect(Collectors.toList());
+        return new ArrayList<>(this.promptListCache.items());
+    }
+
+    private List<Prompt> buildPromptList() {
+        synchronized (this.catalogLock) {
+            return this.promptSpecs.values()
+                    .stream()
+                    .map(AsyncPromptSpec::prompt)
+                    .collect(Collectors.toList());
+        }
     }
 
     public Optional<AsyncPromptSpec> getPromptSpec(String promptName) {
@@ -539,16 +738,13 @@ public class McpAsyncServer {
         return Optional.of(specification);
     }
 
-    private McpServerRequestHandler<ListPromptsResult> promptsListRequestHandler() {
-        return (exchange, params) -> {
-            // TODO: Implement pagination
-            return Mono.just(new ListPromptsResult(this.getPromptList(), null));
-        };
+    private McpServerRequestHandler<McpEncodedResult> promptsListRequestHandler() {
+        return (exchange, params) -> Mono.fromSupplier(() -> this.promptListCache.encodedPage(listCursor(params)));
     }
 
     private McpServerRequestHandler<GetPromptResult> promptsGetRequestHandler() {
         return (exchange, params) -> {
-            GetPromptRequest promptRequest = jsonMapper.convertValue(params, GetPromptRequest.class);
+            GetPromptRequest promptRequest = McpRawParams.bind(jsonMapper, params, GetPromptRequest.class);
             String name = promptRequest.name();
             return this.getPromptSpec(name)
                     .map(ps -> Mono.defer(() -> ps.promptHandler().apply(exchange, promptRequest)))
@@ -608,7 +804,7 @@ public class McpAsyncServer {
 
     private McpServerRequestHandler<Object> setLoggerRequestHandler() {
         return (exchange, params) -> Mono.defer(() -> {
-            SetLevelRequest newMinLoggingLevel = jsonMapper.convertValue(params, SetLevelRequest.class);
+            SetLevelRequest newMinLoggingLevel = McpRawParams.bind(jsonMapper, params, SetLevelRequest.class);
             exchange.setMinLoggingLevel(newMinLoggingLevel.level());
             return Mono.just(Maps.of());
         });
@@ -648,13 +844,71 @@ public class McpAsyncServer {
     }
 
     public Mono<Void> closeGracefully() {
-        return this.transportProvider.closeGracefully();
+        return Mono.fromRunnable(this.listChangedNotifier::close).then(this.transportProvider.closeGracefully());
     }
 
     public void close() {
+        this.listChangedNotifier.close();
         this.transportProvider.close();
     }
 
+    // the changes of one mutateCatalog call, applied in the order they were made
+    public static final class CatalogTransaction {
+        private final List<CatalogChange> changes = new ArrayList<>();
+
+        private CatalogTransaction() {
+        }
+
+        public CatalogTransaction addTool(AsyncToolSpec toolSpec) {
+            this.changes.add(new CatalogChange(TOOLS, true, toolSpec, null));
+            return this;
+        }
+
+        public CatalogTransaction removeTool(String toolName) {
+            this.changes.add(new CatalogChange(TOOLS, false, null, toolName));
+            return this;
+        }
+
+        public CatalogTransaction addResource(AsyncResourceSpec resourceSpec) {
+            this.changes.add(new CatalogChange(RESOURCES, true, resourceSpec, null));
+            return this;
+        }
+
+        public CatalogTransaction removeResource(String resourceUri) {
+            this.changes.add(new CatalogChange(RESOURCES, false, null, resourceUri));
+            return this;
+        }
+
+        public CatalogTransaction addPrompt(AsyncPromptSpec promptSpec) {
+            this.changes.add(new CatalogChange(PROMPTS, true, promptSpec, null));
+            return this;
+        }
+
+        public CatalogTransaction removePrompt(String promptName) {
+            this.changes.add(new CatalogChange(PROMPTS, false, null, promptName));
+            return this;
+        }
+    }
+
+    // adds spec, or removes the tool, resource or prompt named by key. An addition gets its key from prepare()
+    private static final class CatalogChange {
+        private final int feature;
+        private final boolean adds;
+        private final Object spec;
+        private final String key;
+
+        private CatalogChange(int feature, boolean adds, Object spec, String key) {
+            this.feature = feature;
+            this.adds = adds;
+            this.spec = spec;
+            this.key = key;
+        }
+
+        private boolean adds() {
+            return adds;
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -664,10 +918,17 @@ public class McpAsyncServer {
         private JsonMapper jsonMapper = JsonMapper.getDefault();
         private McpUriTemplateManager.Factory uriTemplateManagerFactory = McpUriTemplateManager.DEFAULT_FACTORY;
         private JsonSchemaValidator jsonSchemaValidator = JsonSchemaValidator.getDefault();
+        private McpStreamableEventHistory.Factory eventHistoryFactory = McpStreamableEventHistory.defaultFactory();
         private ServerCapabilities serverCapabilities = null;
         private Implementation serverInfo = McpServerConst.DEFAULT_SERVER_INFO;
         private String instructions = "";
         private Duration requestTimeout = McpServerConst.DEFAULT_REQUEST_TIMEOUT;
+        private int batchConcurrency = McpServerConst.DEFAULT_BATCH_CONCURRENCY;
+        private int listPageSize = McpServerConst.DEFAULT_LIST_PAGE_SIZE;
+        private int listRetainedSnapshots = McpServerConst.DEFAULT_LIST_RETAINED_SNAPSHOTS;
+        private Duration listSnapshotRetention = McpServerConst.DEFAULT_LIST_SNAPSHOT_RETENTION;
+        private Duration listChangedDebounce = McpServerConst.DEFAULT_LIST_CHANGED_DEBOUNCE;
+        private McpAdmissionController admissionController = McpAdmissionController.UNLIMITED;
         private final Map<String, AsyncToolSpec> toolSpecs = new HashMap<>();
         private final Map<String, AsyncResourceSpec> resourceSpecs = new HashMap<>();
         private final Map<String, ResourceTemplate> resourceTemplates = new HashMap<>();
@@ -696,6 +957,12 @@ public class McpAsyncServer {
             return this;
         }
 
+        public Builder eventHistoryFactory(McpStreamableEventHistory.Factory eventHistoryFactory) {
+            Assert.notNull(eventHistoryFactory, "eventHistoryFactory must not be null");
+            this.eventHistoryFactory = eventHistoryFactory;
+            return this;
+        }
+
         public Builder serverCapabilities(ServerCapabilities serverCapabilities) {
             Assert.notNull(serverCapabilities, "serverCapabilities must not be null");
             this.serverCapabilities = serverCapabilities;
@@ -728,6 +995,43 @@ public class McpAsyncServer {
             return this;
         }
 
+        public Builder batchConcurrency(int batchConcurrency) {
+            Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+            this.batchConcurrency = batchConcurrency;
+            return this;
+        }
+
+        // items per tools/list, resources/list, resources/templates/list and prompts/list page, 0 lists everything at once
+        public Builder listPageSize(int listPageSize) {
+            Assert.isTrue(listPageSize >= 0, "listPageSize must not be negative");
+            this.listPageSize = listPageSize;
+            return this;
+        }
+
+        // how many paged list snapshots cursors can still resolve, and how long an unused one is kept around
+        public Builder listSnapshotRetention(int listRetainedSnapshots, Duration listSnapshotRetention) {
+            Assert.isTrue(listRetainedSnapshots >= 0, "listRetainedSnapshots must not be negative");
+            Assert.notNull(listSnapshotRetention, "listSnapshotRetention must not be null");
+            Assert.isTrue(!listSnapshotRetention.isNegative(), "listSnapshotRetention must not be negative");
+            this.listRetainedSnapshots = listRetainedSnapshots;
+            this.listSnapshotRetention = listSnapshotRetention;
+            return this;
+        }
+
+        // how long list_changed notifications wait for further changes to the same list, zero sends each one right away
+        public Builder listChangedDebounce(Duration listChangedDebounce) {
+            Assert.notNull(listChangedDebounce, "listChangedDebounce must not be null");
+            Assert.isTrue(!listChangedDebounce.isNegative(), "listChangedDebounce must not be negative");
+            this.listChangedDebounce = listChangedDebounce;
+            return this;
+        }
+
+        public Builder admissionController(McpAdmissionController admissionController) {
+            Assert.notNull(admissionController, "admissionController must not be null");
+            this.admissionController = admissionController;
+            return this;
+        }
+
         public Builder toolSpecs(List<AsyncToolSpec> toolSpecs) {
             if (toolSpecs != null) {
                 for (AsyncToolSpec toolSpec : toolSpecs) {
@@ -857,7 +1161,10 @@ public class McpAsyncServer {
             return new McpAsyncServer(nonStreamTransportProvider, jsonMapper,
                     this.serverCapabilities, this.serverInfo, this.instructions,
                     this.toolSpecs, this.resourceSpecs, this.resourceTemplates, this.promptSpecs, this.completionSpecs,
-                    this.rootsChangeConsumers, this.requestTimeout, this.uriTemplateManagerFactory, this.jsonSchemaValidator);
+                    this.rootsChangeConsumers, this.requestTimeout, this.batchConcurrency, this.listPageSize,
+                    this.listRetainedSnapshots, this.listSnapshotRetention, this.listChangedDebounce,
+                    this.admissionController,
+                    this.uriTemplateManagerFactory, this.jsonSchemaValidator);
         }
 
         public McpAsyncServer buildStreamableSessionMcpServer(McpStreamableServerTransportProvider streamableTransportProvider) {
@@ -866,7 +1173,11 @@ public class McpAsyncServer {
             return new McpAsyncServer(streamableTransportProvider, jsonMapper,
                     this.serverCapabilities, this.serverInfo, this.instructions,
                     this.toolSpecs, this.resourceSpecs, this.resourceTemplates, this.promptSpecs, this.completionSpecs,
-                    this.rootsChangeConsumers, this.requestTimeout, this.uriTemplateManagerFactory, this.jsonSchemaValidator);
+                    this.rootsChangeConsumers, this.requestTimeout, this.batchConcurrency, this.listPageSize,
+                    this.listRetainedSnapshots, this.listSnapshotRetention, this.listChangedDebounce,
+                    this.admissionController,
+                    this.uriTemplateManagerFactory, this.jsonSchemaValidator,
+                    this.eventHistoryFactory);
         }
     }
 }
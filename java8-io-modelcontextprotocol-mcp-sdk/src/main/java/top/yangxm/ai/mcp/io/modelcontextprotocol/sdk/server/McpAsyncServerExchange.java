@@ -28,6 +28,7 @@ public class McpAsyncServerExchange {
     private final ClientCapabilities clientCapabilities;
     private final Implementation clientInfo;
     private final McpTransportContext transportContext;
+    private final McpCancellationToken cancellationToken;
 
     private static final TypeRef<CreateMessageResult> CREATE_MESSAGE_RESULT_TYPE_REF = new TypeRef<CreateMessageResult>() {
     };
@@ -41,11 +42,19 @@ public class McpAsyncServerExchange {
     public McpAsyncServerExchange(String sessionId, McpLoggableSession session,
                                   ClientCapabilities clientCapabilities, Implementation clientInfo,
                                   McpTransportContext transportContext) {
+        this(sessionId, session, clientCapabilities, clientInfo, transportContext, McpCancellationToken.NONE);
+    }
+
+    public McpAsyncServerExchange(String sessionId, McpLoggableSession session,
+                                  ClientCapabilities clientCapabilities, Implementation clientInfo,
+                                  McpTransportContext transportContext, McpCancellationToken cancellationToken) {
+        Assert.notNull(cancellationToken, "cancellationToken must not be null");
         this.sessionId = sessionId;
         this.session = session;
         this.clientCapabilities = clientCapabilities;
         this.clientInfo = clientInfo;
         this.transportContext = transportContext;
+        this.cancellationToken = cancellationToken;
     }
 
     public String sessionId() {
@@ -64,6 +73,10 @@ public class McpAsyncServerExchange {
         return this.transportContext;
     }
 
+    public McpCancellationToken cancellationToken() {
+        return this.cancellationToken;
+    }
+
     public Mono<CreateMessageResult> createMessage(CreateMessageRequest createMessageRequest) {
         if (this.clientCapabilities == null) {
             return Mono.error(McpError.of("Client must be initialized. Call the initialize method first!"));
@@ -131,6 +144,12 @@ public class McpAsyncServerExchange {
     }
 
     McpAsyncServerExchange copy(McpLoggableSession session, McpTransportContext transportContext) {
-        return new McpAsyncServerExchange(this.sessionId(), session, this.clientCapabilities, this.clientInfo, transportContext);
+        return copy(session, transportContext, McpCancellationToken.NONE);
+    }
+
+    McpAsyncServerExchange copy(McpLoggableSession session, McpTransportContext transportContext,
+                                McpCancellationToken cancellationToken) {
+        return new McpAsyncServerExchange(this.sessionId(), session, this.clientCapabilities, this.clientInfo,
+                transportContext, cancellationToken);
     }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings("unused")
+public final class McpBulkheads {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpBulkheads.class);
+
+    public static final McpBulkheads NONE = new Builder().build();
+
+    private final Map<FeatureType, Bulkhead> features;
+    private final Map<String, Bulkhead> tools;
+
+    private McpBulkheads(Map<FeatureType, Bulkhead> features, Map<String, Bulkhead> tools) {
+        this.features = features;
+        this.tools = tools;
+    }
+
+    public Bulkhead forTool(String toolName) {
+        Bulkhead bulkhead = this.tools.get(toolName);
+        return bulkhead != null ? bulkhead : this.features.get(FeatureType.TOOL);
+    }
+
+    public Bulkhead forFeature(FeatureType featureType) {
+        return this.features.get(featureType);
+    }
+
+    public List<Bulkhead> bulkheads() {
+        List<Bulkhead> bulkheads = new ArrayList<>(this.features.values());
+        bulkheads.addAll(this.tools.values());
+        return bulkheads;
+    }
+
+    public boolean isEmpty() {
+        return this.features.isEmpty() && this.tools.isEmpty();
+    }
+
+    public void close() {
+        bulkheads().forEach(Bulkhead::close);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public enum FeatureType {
+        TOOL,
+        RESOURCE,
+        PROMPT,
+        COMPLETION
+    }
+
+    public static final class Bulkhead {
+        private final String name;
+        private final int maxConcurrency;
+        private final int maxQueued;
+        private final ThreadPoolExecutor executor;
+        private final Scheduler scheduler;
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Bulkhead(String name, int maxConcurrency, int maxQueued, Duration keepAlive) {
+            this.name = name;
+            this.maxConcurrency = maxConcurrency;
+            this.maxQueued = maxQueued;
+            AtomicInteger threadCount = new AtomicInteger();
+            BlockingQueue<Runnable> queue = maxQueued == 0 ? new SynchronousQueue<>()
+                    : maxQueued == Integer.MAX_VALUE ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(maxQueued);
+            this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                    keepAlive.toMillis(), TimeUnit.MILLISECONDS, queue,
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "mcp-bulkhead-" + name + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> {
+                        this.rejected.incrementAndGet();
+                        throw new RejectedExecutionException("Bulkhead " + name + " is full");
+                    });
+            this.executor.allowCoreThreadTimeOut(true);
+            this.scheduler = Schedulers.fromExecutorService(this.executor, "mcp-bulkhead-" + name);
+        }
+
+        public <T> Mono<T> execute(Callable<T> task) {
+            return Mono.fromCallable(task)
+                    .subscribeOn(this.scheduler)
+                    .onErrorMap(RejectedExecutionException.class, e -> {
+                        logger.warn("Bulkhead {} rejected a task, active: {}, queued: {}",
+                                this.name, activeCount(), queueDepth());
+                        return McpError.of(McpAdmissionController.SERVER_OVERLOADED,
+                                "Server overloaded, bulkhead " + this.name + " is full");
+                    });
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int maxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public int maxQueued() {
+            return maxQueued;
+        }
+
+        public Scheduler scheduler() {
+            return scheduler;
+        }
+
+        public int queueDepth() {
+            return this.executor.getQueue().size();
+        }
+
+        public int activeCount() {
+            return this.executor.getActiveCount();
+        }
+
+        public long completedCount() {
+            return this.executor.getCompletedTaskCount();
+        }
+
+        public long rejectedCount() {
+            return this.rejected.get();
+        }
+
+        void close() {
+            this.scheduler.dispose();
+        }
+
+        @Override
+        public String toString() {
+            return "Bulkhead{" +
+                    "name='" + name + '\'' +
+                    ", maxConcurrency=" + maxConcurrency +
+                    ", maxQueued=" + maxQueued +
+                    ", active=" + activeCount() +
+                    ", queued=" + queueDepth() +
+                    ", rejected=" + rejectedCount() +
+                    '}';
+        }
+    }
+
+    public static final class Builder {
+        private final Map<FeatureType, int[]> features = new EnumMap<>(FeatureType.class);
+        private final Map<String, int[]> tools = new LinkedHashMap<>();
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        private Builder() {
+        }
+
+        public Builder feature(FeatureType featureType, int maxConcurrency, int maxQueued) {
+            Assert.notNull(featureType, "featureType must not be null");
+            this.features.put(featureType, limits(maxConcurrency, maxQueued));
+            return this;
+        }
+
+        public Builder tool(String toolName, int maxConcurrency, int maxQueued) {
+            Assert.hasText(toolName, "toolName must not be empty");
+            this.tools.put(toolName, limits(maxConcurrency, maxQueued));
+            return this;
+        }
+
+        public Builder keepAlive(Duration keepAlive) {
+            Assert.notNull(keepAlive, "keepAlive must not be null");
+            Assert.isTrue(!keepAlive.isNegative() && !keepAlive.isZero(), "keepAlive must be positive");
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        private static int[] limits(int maxConcurrency, int maxQueued) {
+            Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be positive");
+            Assert.isTrue(maxQueued >= 0, "maxQueued must not be negative");
+            return new int[]{maxConcurrency, maxQueued};
+        }
+
+        public McpBulkheads build() {
+            Map<FeatureType, Bulkhead> features = new EnumMap<>(FeatureType.class);
+            this.features.forEach((featureType, limits) -> features.put(featureType,
+                    new Bulkhead(featureType.name().toLowerCase(), limits[0], limits[1], this.keepAlive)));
+            Map<String, Bulkhead> tools = new HashMap<>();
+            this.tools.forEach((toolName, limits) -> tools.put(toolName,
+                    new Bulkhead("tool-" + toolName, limits[0], limits[1], this.keepAlive)));
+            return new McpBulkheads(Collections.unmodifiableMap(features), Collections.unmodifiableMap(tools));
+        }
+    }
+}
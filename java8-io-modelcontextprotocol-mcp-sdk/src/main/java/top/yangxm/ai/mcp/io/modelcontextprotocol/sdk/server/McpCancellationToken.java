@@ -0,0 +1,106 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+
+@SuppressWarnings("unused")
+public final class McpCancellationToken {
+    public static final McpCancellationToken NONE = new McpCancellationToken();
+
+    private final Sinks.Empty<Void> cancelled = Sinks.empty();
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private volatile String reason;
+
+    McpCancellationToken() {
+    }
+
+    public boolean isCancelled() {
+        return this.reason != null;
+    }
+
+    public String reason() {
+        return this.reason;
+    }
+
+    public void throwIfCancelled() {
+        String reason = this.reason;
+        if (reason != null) {
+            throw new CancellationException(reason);
+        }
+    }
+
+    public Disposable onCancel(Runnable callback) {
+        Assert.notNull(callback, "callback must not be null");
+        synchronized (this.callbacks) {
+            if (this.reason == null) {
+                this.callbacks.add(callback);
+                return () -> {
+                    synchronized (this.callbacks) {
+                        this.callbacks.remove(callback);
+                    }
+                };
+            }
+        }
+        callback.run();
+        return () -> {
+        };
+    }
+
+    public Disposable interruptOnCancel() {
+        return onCancel(Thread.currentThread()::interrupt);
+    }
+
+    public <T> T interruptibly(Callable<T> callable) throws Exception {
+        if (this == NONE) {
+            return callable.call();
+        }
+        throwIfCancelled();
+        Disposable interrupt = interruptOnCancel();
+        try {
+            return callable.call();
+        } finally {
+            interrupt.dispose();
+            if (isCancelled()) {
+                // the interrupt was aimed at the handler, do not leak it into a pooled thread
+                Thread.interrupted();
+            }
+        }
+    }
+
+    public Mono<Void> whenCancelled() {
+        return this.cancelled.asMono();
+    }
+
+    boolean cancel(String reason) {
+        if (this == NONE) {
+            return false;
+        }
+        List<Runnable> callbacks;
+        synchronized (this.callbacks) {
+            if (this.reason != null) {
+                return false;
+            }
+            this.reason = reason != null ? reason : "Request cancelled";
+            callbacks = new ArrayList<>(this.callbacks);
+            this.callbacks.clear();
+        }
+        callbacks.forEach(Runnable::run);
+        this.cancelled.tryEmitEmpty();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "McpCancellationToken{" +
+                "cancelled=" + isCancelled() +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+}
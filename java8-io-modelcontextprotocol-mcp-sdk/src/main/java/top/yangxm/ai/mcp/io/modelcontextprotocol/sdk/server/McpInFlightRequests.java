@@ -0,0 +1,64 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+final class McpInFlightRequests {
+    private final ConcurrentHashMap<Object, McpCancellationToken> requests = new ConcurrentHashMap<>();
+
+    Mono<JSONRPCResponse> track(Object requestId, Function<McpCancellationToken, Mono<JSONRPCResponse>> handler) {
+        if (requestId == null) {
+            return Mono.defer(() -> handler.apply(McpCancellationToken.NONE));
+        }
+        return Mono.defer(() -> {
+            Object key = key(requestId);
+            McpCancellationToken token = new McpCancellationToken();
+            boolean registered = this.requests.putIfAbsent(key, token) == null;
+            return handler.apply(token)
+                    .takeUntilOther(token.whenCancelled())
+                    .doFinally(signal -> {
+                        if (registered) {
+                            this.requests.remove(key, token);
+                        }
+                        if (signal == SignalType.CANCEL) {
+                            token.cancel("Request disposed");
+                        }
+                    });
+        });
+    }
+
+    boolean cancel(Object requestId, String reason) {
+        if (requestId == null) {
+            return false;
+        }
+        McpCancellationToken token = this.requests.remove(key(requestId));
+        return token != null && token.cancel(reason);
+    }
+
+    int cancelAll(String reason) {
+        List<McpCancellationToken> tokens = new ArrayList<>(this.requests.values());
+        this.requests.clear();
+        int cancelled = 0;
+        for (McpCancellationToken token : tokens) {
+            if (token.cancel(reason)) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    int size() {
+        return this.requests.size();
+    }
+
+    private static Object key(Object requestId) {
+        // ids round-trip through JSON as Integer or Long depending on magnitude
+        return requestId instanceof Number ? (Object) ((Number) requestId).longValue() : requestId;
+    }
+}
@@ -0,0 +1,302 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpEncodedResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ErrorCodes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+// The current contents of one catalog (tools, resources, ...) and its list result pages, built on the first list after
+// a change and then shared by every caller. Each add or remove bumps the version, a snapshot taken while a change was
+// in flight is returned to its caller but not kept as the current one.
+// A cursor names a snapshot, its version and an offset into it, so a client paging through the list keeps seeing the
+// snapshot it started with even if the catalog changes meanwhile. Paged snapshots are retained while clients keep
+// using them, up to a count and an idle time. A cursor whose snapshot is no longer retained still works as long as the
+// catalog has not changed since, it is then served from the current snapshot, which lists the same items. Otherwise it
+// is rejected and the client has to list again from the start.
+// Such cursors only resolve on the server instance that issued them. Stateless servers, whose requests may land on any
+// instance, use portable cursors instead: items are sorted into a fixed order and a cursor carries a fingerprint of
+// the whole list plus an offset. Any instance serving the same catalog resolves it, once the catalog changed it is
+// rejected as stale.
+final class McpListCache<T> {
+    private final JsonMapper jsonMapper;
+    private final Supplier<List<T>> items;
+    private final BiFunction<List<T>, String, Object> result;
+    private final int pageSize;
+    // set for portable cursors
+    private final Comparator<? super T> order;
+    private final int maxRetainedSnapshots;
+    private final long snapshotRetentionNanos;
+    // tells cursors of this catalog apart from those of other catalogs and servers
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong snapshotIds = new AtomicLong();
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+    // paged snapshots by id, least recently used first
+    private final LinkedHashMap<Long, Snapshot<T>> retained = new LinkedHashMap<>(16, 0.75f, true);
+
+    McpListCache(JsonMapper jsonMapper, Supplier<List<T>> items, BiFunction<List<T>, String, Object> result,
+                 int pageSize, int maxRetainedSnapshots, Duration snapshotRetention) {
+        this(jsonMapper, items, result, pageSize, null, maxRetainedSnapshots, snapshotRetention);
+    }
+
+    // a cache with portable cursors, for stateless servers
+    McpListCache(JsonMapper jsonMapper, Supplier<List<T>> items, BiFunction<List<T>, String, Object> result,
+                 int pageSize, Comparator<? super T> order) {
+        this(jsonMapper, items, result, pageSize, order, 0, Duration.ZERO);
+        Assert.notNull(order, "order must not be null");
+    }
+
+    private McpListCache(JsonMapper jsonMapper, Supplier<List<T>> items, BiFunction<List<T>, String, Object> result,
+                         int pageSize, Comparator<? super T> order, int maxRetainedSnapshots,
+                         Duration snapshotRetention) {
+        Assert.notNull(jsonMapper, "jsonMapper must not be null");
+        Assert.notNull(items, "items must not be null");
+        Assert.notNull(result, "result must not be null");
+        Assert.isTrue(pageSize >= 0, "pageSize must not be negative");
+        Assert.isTrue(maxRetainedSnapshots >= 0, "maxRetainedSnapshots must not be negative");
+        Assert.notNull(snapshotRetention, "snapshotRetention must not be null");
+        Assert.isTrue(!snapshotRetention.isNegative(), "snapshotRetention must not be negative");
+        this.jsonMapper = jsonMapper;
+        this.items = items;
+        this.result = result;
+        this.pageSize = pageSize;
+        this.order = order;
+        this.maxRetainedSnapshots = maxRetainedSnapshots;
+        this.snapshotRetentionNanos = snapshotRetention.toNanos();
+    }
+
+    void invalidate() {
+        this.version.incrementAndGet();
+    }
+
+    long version() {
+        return this.version.get();
+    }
+
+    int pageSize() {
+        return this.pageSize;
+    }
+
+    Snapshot<T> snapshot() {
+        long version = this.version.get();
+        Snapshot<T> current = this.snapshot.get();
+        if (current != null && current.version == version) {
+            return current;
+        }
+        List<T> items = this.items.get();
+        if (this.order != null) {
+            items = new ArrayList<>(items);
+            items.sort(this.order);
+        }
+        Snapshot<T> built = new Snapshot<>(this, this.snapshotIds.incrementAndGet(), version,
+                Collections.unmodifiableList(items));
+        while (this.version.get() == version && (current == null || current.version < version)) {
+            if (this.snapshot.compareAndSet(current, built)) {
+                break;
+            }
+            current = this.snapshot.get();
+        }
+        return built;
+    }
+
+    List<T> items() {
+        return snapshot().items();
+    }
+
+    // the page a list request with this cursor gets, null being the first page of the current snapshot
+    McpEncodedResult encodedPage(String cursor) {
+        if (cursor == null) {
+            return snapshot().encodedPage(0);
+        }
+        if (this.order != null) {
+            return portablePage(cursor);
+        }
+        long[] position = decodeCursor(cursor);
+        Snapshot<T> snapshot = null;
+        if (position != null) {
+            snapshot = retainedSnapshot(position[0]);
+            if (snapshot == null && position[1] == this.version.get()) {
+                // no longer retained, but nothing changed since, so the current snapshot lists the same items
+                Snapshot<T> current = snapshot();
+                snapshot = current.version == position[1] ? current : null;
+            }
+        }
+        if (snapshot == null || position[2] % this.pageSize != 0 || position[2] >= snapshot.items.size()) {
+            throw McpError.of(ErrorCodes.INVALID_PARAMS, "Invalid cursor", cursor);
+        }
+        return snapshot.encodedPage((int) (position[2] / this.pageSize));
+    }
+
+    private McpEncodedResult portablePage(String cursor) {
+        long[] position = decodePortableCursor(cursor);
+        Snapshot<T> snapshot = snapshot();
+        if (position != null && position[0] != snapshot.fingerprint) {
+            throw McpError.of(ErrorCodes.INVALID_PARAMS, "Stale cursor, the list has changed since it was issued", cursor);
+        }
+        if (position == null || position[1] % this.pageSize != 0 || position[1] >= snapshot.items.size()) {
+            throw McpError.of(ErrorCodes.INVALID_PARAMS, "Invalid cursor", cursor);
+        }
+        return snapshot.encodedPage((int) (position[1] / this.pageSize));
+    }
+
+    private void retain(Snapshot<T> snapshot) {
+        long now = System.nanoTime();
+        synchronized (this.retained) {
+            snapshot.lastUsedNanos = now;
+            this.retained.putIfAbsent(snapshot.id, snapshot);
+            Iterator<Snapshot<T>> it = this.retained.values().iterator();
+            while (it.hasNext()) {
+                Snapshot<T> eldest = it.next();
+                if (this.retained.size() <= this.maxRetainedSnapshots
+                        && now - eldest.lastUsedNanos < this.snapshotRetentionNanos) {
+                    break;
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private Snapshot<T> retainedSnapshot(long id) {
+        long now = System.nanoTime();
+        synchronized (this.retained) {
+            Snapshot<T> snapshot = this.retained.get(id);
+            if (snapshot == null) {
+                return null;
+            }
+            if (now - snapshot.lastUsedNanos >= this.snapshotRetentionNanos) {
+                this.retained.remove(id);
+                return null;
+            }
+            snapshot.lastUsedNanos = now;
+            return snapshot;
+        }
+    }
+
+    private String encodeCursor(Snapshot<T> snapshot, int offset) {
+        String cursor = this.order != null
+                ? Long.toHexString(snapshot.fingerprint) + '.' + offset
+                : Long.toHexString(this.epoch) + '.' + snapshot.id + '.' + snapshot.version + '.' + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // {snapshot id, snapshot version, offset}, null if the cursor was not issued by this catalog
+    private long[] decodeCursor(String cursor) {
+        if (this.pageSize == 0) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("\\.");
+            if (parts.length != 4 || Long.parseUnsignedLong(parts[0], 16) != this.epoch) {
+                return null;
+            }
+            long id = Long.parseLong(parts[1]);
+            long version = Long.parseLong(parts[2]);
+            long offset = Long.parseLong(parts[3]);
+            return offset > 0 ? new long[]{id, version, offset} : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // {list fingerprint, offset}, null if this is no portable cursor
+    private long[] decodePortableCursor(String cursor) {
+        if (this.pageSize == 0) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("\\.");
+            if (parts.length != 2) {
+                return null;
+            }
+            long fingerprint = Long.parseUnsignedLong(parts[0], 16);
+            long offset = Long.parseLong(parts[1]);
+            return offset > 0 ? new long[]{fingerprint, offset} : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // the same items in the same order give the same fingerprint on every instance
+    private long fingerprint(List<T> items) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(this.jsonMapper.writeValueAsBytes(items));
+            long fingerprint = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                fingerprint = (fingerprint << 8) | (digest[i] & 0xff);
+            }
+            return fingerprint;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class Snapshot<T> {
+        private final McpListCache<T> cache;
+        private final long id;
+        private final long version;
+        private final List<T> items;
+        // only portable cursors of a list with more than one page need it
+        private final long fingerprint;
+        private final AtomicReferenceArray<McpEncodedResult> pages;
+        // guarded by the cache's retained map
+        private long lastUsedNanos;
+
+        private Snapshot(McpListCache<T> cache, long id, long version, List<T> items) {
+            this.cache = cache;
+            this.id = id;
+            this.version = version;
+            this.items = items;
+            int pageSize = cache.pageSize;
+            this.fingerprint = cache.order != null && pageSize > 0 && items.size() > pageSize
+                    ? cache.fingerprint(items) : 0;
+            this.pages = new AtomicReferenceArray<>(
+                    pageSize == 0 || items.isEmpty() ? 1 : (items.size() + pageSize - 1) / pageSize);
+        }
+
+        long version() {
+            return version;
+        }
+
+        List<T> items() {
+            return items;
+        }
+
+        // racing callers may both encode a page, either copy is the same JSON
+        McpEncodedResult encodedPage(int page) {
+            int pageSize = this.cache.pageSize;
+            int from = page * pageSize;
+            int to = pageSize == 0 ? this.items.size() : Math.min(from + pageSize, this.items.size());
+            if (to < this.items.size() && this.cache.order == null) {
+                // every page handing out a cursor keeps the snapshot around for it
+                this.cache.retain(this);
+            }
+            McpEncodedResult encodedPage = this.pages.get(page);
+            if (encodedPage == null) {
+                String nextCursor = to < this.items.size() ? this.cache.encodeCursor(this, to) : null;
+                encodedPage = McpEncodedResult.encode(this.cache.jsonMapper,
+                        this.cache.result.apply(this.items.subList(from, to), nextCursor));
+                this.pages.set(page, encodedPage);
+            }
+            return encodedPage;
+        }
+    }
+}
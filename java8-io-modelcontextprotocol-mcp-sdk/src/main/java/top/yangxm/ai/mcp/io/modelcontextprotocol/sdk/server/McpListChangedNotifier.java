@@ -0,0 +1,56 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Sends the list_changed notifications that follow catalog changes. Without a debounce window every change is sent
+// right away and the caller waits for it. With one, the first change of a list schedules its notification at the end
+// of the window and the changes that follow within the window ride along, so a burst reaches the clients as a single
+// notification per list. Clients list again on that notification, so they still see everything that changed.
+final class McpListChangedNotifier {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpListChangedNotifier.class);
+
+    private final Duration debounce;
+    private final Function<String, Mono<Void>> notifier;
+    // the notifications waiting for their window to end, by method
+    private final ConcurrentHashMap<String, Disposable> scheduled = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    McpListChangedNotifier(Duration debounce, Function<String, Mono<Void>> notifier) {
+        Assert.notNull(debounce, "debounce must not be null");
+        Assert.isTrue(!debounce.isNegative(), "debounce must not be negative");
+        Assert.notNull(notifier, "notifier must not be null");
+        this.debounce = debounce;
+        this.notifier = notifier;
+    }
+
+    Mono<Void> changed(String method) {
+        if (this.debounce.isZero()) {
+            return this.notifier.apply(method);
+        }
+        if (!this.closed) {
+            this.scheduled.computeIfAbsent(method, key -> Mono.delay(this.debounce)
+                    .then(Mono.defer(() -> {
+                        // removed before sending, a change made from here on schedules a notification of its own
+                        this.scheduled.remove(key);
+                        return this.notifier.apply(key);
+                    }))
+                    .subscribe(null, error -> logger.warn("Failed to send {} notification: {}", key, error.getMessage())));
+        }
+        return Mono.empty();
+    }
+
+    // drops the notifications still waiting, the clients are going away with the server
+    void close() {
+        this.closed = true;
+        this.scheduled.values().forEach(Disposable::dispose);
+        this.scheduled.clear();
+    }
+}
@@ -0,0 +1,229 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import reactor.core.publisher.MonoSink;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTimeoutWheel;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class McpPendingResponses {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String idPrefix;
+    private final McpTimeoutWheel timeoutWheel;
+    private final AtomicLong counter = new AtomicLong(0);
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Pending[] values = new Pending[INITIAL_CAPACITY];
+    private int size;
+
+    McpPendingResponses(String sessionId, McpTimeoutWheel timeoutWheel) {
+        this.idPrefix = sessionId + "-";
+        this.timeoutWheel = timeoutWheel;
+    }
+
+    long nextKey() {
+        return this.counter.getAndIncrement();
+    }
+
+    String requestId(long key) {
+        return this.idPrefix + key;
+    }
+
+    void register(long key, MonoSink<JSONRPCResponse> sink, Duration timeout, Object owner) {
+        Pending pending = new Pending(key, sink, owner);
+        synchronized (this) {
+            put(key, pending);
+        }
+        pending.timeout = this.timeoutWheel.schedule(timeout, () -> {
+            if (remove(key, pending)) {
+                sink.error(new TimeoutException("Did not observe any item or terminal signal within "
+                        + timeout.toMillis() + "ms for request " + requestId(key)));
+            }
+        });
+        sink.onDispose(() -> {
+            if (remove(key, pending)) {
+                pending.cancelTimeout();
+            }
+        });
+    }
+
+    boolean complete(Object requestId, JSONRPCResponse response) {
+        long key = parseKey(requestId);
+        if (key < 0) {
+            return false;
+        }
+        Pending pending;
+        synchronized (this) {
+            pending = get(key);
+            if (pending == null) {
+                return false;
+            }
+            delete(key);
+        }
+        pending.cancelTimeout();
+        pending.sink.success(response);
+        return true;
+    }
+
+    void remove(long key) {
+        Pending pending;
+        synchronized (this) {
+            pending = get(key);
+            if (pending == null) {
+                return;
+            }
+            delete(key);
+        }
+        pending.cancelTimeout();
+    }
+
+    void failAll(Throwable error) {
+        fail(null, error);
+    }
+
+    void failOwner(Object owner, Throwable error) {
+        fail(owner, error);
+    }
+
+    synchronized int size() {
+        return this.size;
+    }
+
+    private void fail(Object owner, Throwable error) {
+        List<Pending> failed = new ArrayList<>();
+        synchronized (this) {
+            for (Pending pending : this.values) {
+                if (pending != null && (owner == null || pending.owner == owner)) {
+                    failed.add(pending);
+                }
+            }
+            if (owner == null) {
+                this.keys = new long[INITIAL_CAPACITY];
+                this.values = new Pending[INITIAL_CAPACITY];
+                this.size = 0;
+            } else {
+                failed.forEach(pending -> delete(pending.key));
+            }
+        }
+        for (Pending pending : failed) {
+            pending.cancelTimeout();
+            pending.sink.error(error);
+        }
+    }
+
+    private long parseKey(Object requestId) {
+        if (!(requestId instanceof String)) {
+            return -1;
+        }
+        String id = (String) requestId;
+        if (!id.startsWith(this.idPrefix) || id.length() == this.idPrefix.length()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(this.idPrefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private synchronized boolean remove(long key, Pending expected) {
+        if (get(key) != expected) {
+            return false;
+        }
+        delete(key);
+        return true;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Pending get(long key) {
+        int mask = this.values.length - 1;
+        for (int i = hash(key) & mask; this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.values[i];
+            }
+        }
+        return null;
+    }
+
+    private void put(long key, Pending pending) {
+        if ((this.size + 1) * 2 > this.values.length) {
+            resize(this.values.length * 2);
+        }
+        int mask = this.values.length - 1;
+        int i = hash(key) & mask;
+        while (this.values[i] != null) {
+            if (this.keys[i] == key) {
+                this.values[i] = pending;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        this.keys[i] = key;
+        this.values[i] = pending;
+        this.size++;
+    }
+
+    private void delete(long key) {
+        int mask = this.values.length - 1;
+        int i = hash(key) & mask;
+        while (this.values[i] != null && this.keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (this.values[i] == null) {
+            return;
+        }
+        this.values[i] = null;
+        this.size--;
+        for (int j = (i + 1) & mask; this.values[j] != null; j = (j + 1) & mask) {
+            int home = hash(this.keys[j]) & mask;
+            boolean movable = (j > i) ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                this.keys[i] = this.keys[j];
+                this.values[i] = this.values[j];
+                this.values[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Pending[] oldValues = this.values;
+        this.keys = new long[capacity];
+        this.values = new Pending[capacity];
+        this.size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final long key;
+        private final MonoSink<JSONRPCResponse> sink;
+        private final Object owner;
+        private volatile McpTimeoutWheel.Timeout timeout;
+
+        private Pending(long key, MonoSink<JSONRPCResponse> sink, Object owner) {
+            this.key = key;
+            this.sink = sink;
+            this.owner = owner;
+        }
+
+        private void cancelTimeout() {
+            McpTimeoutWheel.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+}
\ No newline at end of file
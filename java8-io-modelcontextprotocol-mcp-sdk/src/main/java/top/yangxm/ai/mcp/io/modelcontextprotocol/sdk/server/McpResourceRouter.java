@@ -0,0 +1,384 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpUriTemplate;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpUriTemplateManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Finds the resource a resources/read URI belongs to. Plain URIs are a hash lookup, templates live in a tree with one
+// level per path segment, so a read only looks at the templates that share its path. Precedence does not depend on
+// registration order: an exact URI wins over any template, and while walking the tree a literal segment beats a
+// segment with variables, more literal characters beat fewer, fewer variables beat more, and the segment text breaks
+// the remaining ties. Templates with RFC 6570 operators such as {+path} or {?query} may span segments, they are only
+// tried when the tree has no match, in template order. A custom template syntax falls back to a scan in template order.
+final class McpResourceRouter<T> {
+    private static final Comparator<PatternChild<?>> PRECEDENCE = Comparator
+            .comparingInt((PatternChild<?> child) -> -child.pattern.literalLength)
+            .thenComparingInt(child -> child.pattern.names.length)
+            .thenComparing(child -> child.pattern.segment);
+
+    private final McpUriTemplateManager.Factory uriTemplateManagerFactory;
+    private final boolean defaultSyntax;
+    private final ConcurrentHashMap<String, Route<T>> exactRoutes = new ConcurrentHashMap<>();
+    private final Node<T> root = new Node<>();
+    private final ConcurrentSkipListMap<String, ScannedRoute<T>> scannedRoutes = new ConcurrentSkipListMap<>();
+
+    McpResourceRouter(McpUriTemplateManager.Factory uriTemplateManagerFactory) {
+        Assert.notNull(uriTemplateManagerFactory, "uriTemplateManagerFactory must not be null");
+        this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+        this.defaultSyntax = uriTemplateManagerFactory == McpUriTemplateManager.DEFAULT_FACTORY;
+    }
+
+    synchronized void add(String uri, T value) {
+        Assert.hasText(uri, "URI must not be empty");
+        Assert.notNull(value, "value must not be null");
+        if (!this.defaultSyntax) {
+            McpUriTemplateManager manager = this.uriTemplateManagerFactory.create(uri);
+            if (manager.isUriTemplate(uri)) {
+                this.scannedRoutes.put(uri, new ScannedRoute<>(new Route<>(uri, value, null), manager, null));
+            } else {
+                this.exactRoutes.put(uri, new Route<>(uri, value, Collections.emptyMap()));
+            }
+            return;
+        }
+        McpUriTemplate template = McpUriTemplate.of(uri);
+        if (!template.isTemplate()) {
+            this.exactRoutes.put(uri, new Route<>(uri, value, Collections.emptyMap()));
+            return;
+        }
+        if (!template.isSimple()) {
+            this.scannedRoutes.put(uri, new ScannedRoute<>(new Route<>(uri, value, null), null, template));
+            return;
+        }
+        // {var} never spans a '/', so each segment on its own parses to the same tokens as within the template
+        String[] segments = split(uri);
+        SegmentPattern[] patterns = new SegmentPattern[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            patterns[i] = SegmentPattern.parse(segments[i]);
+        }
+
+        Node<T> node = this.root;
+        for (int i = 0; i < segments.length; i++) {
+            node = patterns[i] == null ? node.literalChild(segments[i]) : node.patternChild(patterns[i]);
+        }
+        node.route = new Route<>(uri, value, null);
+    }
+
+    synchronized void remove(String uri) {
+        if (uri == null) {
+            return;
+        }
+        if (this.exactRoutes.remove(uri) != null || this.scannedRoutes.remove(uri) != null) {
+            return;
+        }
+
+        String[] segments = split(uri);
+        List<Node<T>> path = new ArrayList<>(segments.length + 1);
+        Node<T> node = this.root;
+        path.add(node);
+        for (String segment : segments) {
+            node = node.child(segment);
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+        if (node.route == null || !node.route.uriTemplate.equals(uri)) {
+            return;
+        }
+        node.route = null;
+        // drop the branch that only led to this template
+        for (int i = segments.length; i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).removeChild(segments[i - 1]);
+        }
+    }
+
+    Match<T> route(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        Route<T> exact = this.exactRoutes.get(uri);
+        if (exact != null) {
+            return new Match<>(exact.value, exact.uriTemplate, exact.variables);
+        }
+        if (!this.defaultSyntax) {
+            for (ScannedRoute<T> scanned : this.scannedRoutes.values()) {
+                if (scanned.manager.matches(uri)) {
+                    // the variables are left to whoever reads them, with the same custom manager
+                    return new Match<>(scanned.route.value, scanned.route.uriTemplate, null);
+                }
+            }
+            return null;
+        }
+        if (!this.root.isEmpty()) {
+            Match<T> match = new Walk<T>(split(uri)).match(this.root);
+            if (match != null) {
+                return match;
+            }
+        }
+        for (ScannedRoute<T> scanned : this.scannedRoutes.values()) {
+            Map<String, String> variables = scanned.template.extract(uri);
+            if (variables != null) {
+                return new Match<>(scanned.route.value, scanned.route.uriTemplate, variables);
+            }
+        }
+        return null;
+    }
+
+    private static String[] split(String uri) {
+        return uri.split("/", -1);
+    }
+
+    static final class Match<T> {
+        private final T value;
+        private final String uriTemplate;
+        private final Map<String, String> variables;
+
+        private Match(T value, String uriTemplate, Map<String, String> variables) {
+            this.value = value;
+            this.uriTemplate = uriTemplate;
+            this.variables = variables;
+        }
+
+        T value() {
+            return value;
+        }
+
+        String uriTemplate() {
+            return uriTemplate;
+        }
+
+        // null when the router did not extract them itself
+        Map<String, String> variables() {
+            return variables;
+        }
+    }
+
+    private static final class Route<T> {
+        private final String uriTemplate;
+        private final T value;
+        private final Map<String, String> variables;
+
+        private Route(String uriTemplate, T value, Map<String, String> variables) {
+            this.uriTemplate = uriTemplate;
+            this.value = value;
+            this.variables = variables;
+        }
+    }
+
+    private static final class ScannedRoute<T> {
+        private final Route<T> route;
+        // one of the two, depending on the template syntax
+        private final McpUriTemplateManager manager;
+        private final McpUriTemplate template;
+
+        private ScannedRoute(Route<T> route, McpUriTemplateManager manager, McpUriTemplate template) {
+            this.route = route;
+            this.manager = manager;
+            this.template = template;
+        }
+    }
+
+    // depth first, the first template reached in precedence order wins
+    private static final class Walk<T> {
+        private final String[] segments;
+        private final SegmentPattern[] patterns;
+        private final String[][] values;
+
+        private Walk(String[] segments) {
+            this.segments = segments;
+            this.patterns = new SegmentPattern[segments.length];
+            this.values = new String[segments.length][];
+        }
+
+        private Match<T> match(Node<T> root) {
+            Route<T> route = walk(root, 0);
+            if (route == null) {
+                return null;
+            }
+            Map<String, String> variables = new LinkedHashMap<>();
+            for (int i = 0; i < this.segments.length; i++) {
+                SegmentPattern pattern = this.patterns[i];
+                if (pattern != null) {
+                    for (int j = 0; j < pattern.names.length; j++) {
+                        variables.put(pattern.names[j], this.values[i][j]);
+                    }
+                }
+            }
+            return new Match<>(route.value, route.uriTemplate, variables);
+        }
+
+        private Route<T> walk(Node<T> node, int index) {
+            if (index == this.segments.length) {
+                return node.route;
+            }
+            String segment = this.segments[index];
+            Node<T> literal = node.literals.get(segment);
+            if (literal != null) {
+                this.patterns[index] = null;
+                Route<T> route = walk(literal, index + 1);
+                if (route != null) {
+                    return route;
+                }
+            }
+            for (PatternChild<T> child : node.patterns) {
+                String[] values = child.pattern.match(segment);
+                if (values != null) {
+                    this.patterns[index] = child.pattern;
+                    this.values[index] = values;
+                    Route<T> route = walk(child.node, index + 1);
+                    if (route != null) {
+                        return route;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Node<T> {
+        private final ConcurrentHashMap<String, Node<T>> literals = new ConcurrentHashMap<>();
+        // copy on write, readers walk the tree without locking
+        private volatile PatternChild<T>[] patterns = newPatternChildren(0);
+        private volatile Route<T> route;
+
+        private Node<T> literalChild(String segment) {
+            return this.literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        private Node<T> patternChild(SegmentPattern pattern) {
+            PatternChild<T> existing = findChild(this.patterns, pattern.segment);
+            if (existing != null) {
+                return existing.node;
+            }
+            PatternChild<T> added = new PatternChild<>(pattern, new Node<>());
+            PatternChild<T>[] children = Arrays.copyOf(this.patterns, this.patterns.length + 1);
+            children[children.length - 1] = added;
+            Arrays.sort(children, PRECEDENCE);
+            this.patterns = children;
+            return added.node;
+        }
+
+        private Node<T> child(String segment) {
+            Node<T> literal = this.literals.get(segment);
+            if (literal != null) {
+                return literal;
+            }
+            PatternChild<T> child = findChild(this.patterns, segment);
+            return child != null ? child.node : null;
+        }
+
+        private void removeChild(String segment) {
+            if (this.literals.remove(segment) != null) {
+                return;
+            }
+            PatternChild<T> child = findChild(this.patterns, segment);
+            if (child != null) {
+                List<PatternChild<T>> children = new ArrayList<>(Arrays.asList(this.patterns));
+                children.remove(child);
+                this.patterns = children.toArray(newPatternChildren(0));
+            }
+        }
+
+        private boolean isEmpty() {
+            return this.route == null && this.literals.isEmpty() && this.patterns.length == 0;
+        }
+
+        private static <T> PatternChild<T> findChild(PatternChild<T>[] children, String segment) {
+            for (PatternChild<T> child : children) {
+                if (child.pattern.segment.equals(segment)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> PatternChild<T>[] newPatternChildren(int length) {
+            return (PatternChild<T>[]) new PatternChild[length];
+        }
+    }
+
+    private static final class PatternChild<T> {
+        private final SegmentPattern pattern;
+        private final Node<T> node;
+
+        private PatternChild(SegmentPattern pattern, Node<T> node) {
+            this.pattern = pattern;
+            this.node = node;
+        }
+    }
+
+    // one path segment with variables, e.g. "{name}.{ext}": literals[0] names[0] literals[1] ... literals[n]
+    private static final class SegmentPattern {
+        private final String segment;
+        private final String[] literals;
+        private final String[] names;
+        private final int literalLength;
+
+        private SegmentPattern(String segment, String[] literals, String[] names) {
+            this.segment = segment;
+            this.literals = literals;
+            this.names = names;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        // null for a segment without variables, with the same grammar McpUriTemplate extracts with
+        private static SegmentPattern parse(String segment) {
+            if (segment.indexOf('{') < 0) {
+                return null;
+            }
+            McpUriTemplate template = McpUriTemplate.compile(segment);
+            List<String> parts = template.simpleParts();
+            if (!template.isTemplate() || parts == null) {
+                return null;
+            }
+            String[] literals = new String[parts.size() / 2 + 1];
+            String[] names = new String[parts.size() / 2];
+            for (int i = 0; i < parts.size(); i++) {
+                if (i % 2 == 0) {
+                    literals[i / 2] = parts.get(i);
+                } else {
+                    names[i / 2] = parts.get(i);
+                }
+            }
+            return new SegmentPattern(segment, literals, names);
+        }
+
+        // variables take as much as they can, like the greedy groups the template manager extracts with
+        private String[] match(String value) {
+            if (value.length() < this.literalLength + this.names.length || !value.startsWith(this.literals[0])) {
+                return null;
+            }
+            String[] values = new String[this.names.length];
+            return match(value, 0, this.literals[0].length(), values) ? values : null;
+        }
+
+        private boolean match(String value, int index, int start, String[] values) {
+            if (index == this.names.length) {
+                return start == value.length();
+            }
+            String next = this.literals[index + 1];
+            for (int end = value.length() - next.length(); end > start; end--) {
+                if (value.startsWith(next, end) && match(value, index + 1, end + next.length(), values)) {
+                    values[index] = value.substring(start, end);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -10,4 +10,9 @@ final class McpServerConst {
 
     final static Implementation DEFAULT_SERVER_INFO = new Implementation("mcp-server", "1.0.0");
     final static Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofHours(10);
+    final static int DEFAULT_BATCH_CONCURRENCY = 16;
+    final static int DEFAULT_LIST_PAGE_SIZE = 0;
+    final static int DEFAULT_LIST_RETAINED_SNAPSHOTS = 64;
+    final static Duration DEFAULT_LIST_SNAPSHOT_RETENTION = Duration.ofMinutes(5);
+    final static Duration DEFAULT_LIST_CHANGED_DEBOUNCE = Duration.ZERO;
 }
@@ -16,6 +16,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ReadResour
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Resource;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Tool;
 
+import java.util.concurrent.Callable;
 import java.util.function.BiFunction;
 
 @SuppressWarnings("unused")
@@ -46,13 +47,21 @@ public final class McpServerFeatures {
         }
 
         public static AsyncToolSpec fromSync(SyncToolSpec syncToolSpec, boolean immediateExecution) {
+            return fromSync(syncToolSpec, immediateExecution, null);
+        }
+
+        public static AsyncToolSpec fromSync(SyncToolSpec syncToolSpec, boolean immediateExecution,
+                                             McpBulkheads.Bulkhead bulkhead) {
             if (syncToolSpec == null) {
                 return null;
             }
             return new AsyncToolSpec(syncToolSpec.tool(), (exchange, req) -> {
-                Mono<CallToolResult> toolResult = Mono.fromCallable(
-                        () -> syncToolSpec.callHandler().apply(new McpSyncServerExchange(exchange), req)
-                );
+                Callable<CallToolResult> call = () -> exchange.cancellationToken()
+                        .interruptibly(() -> syncToolSpec.callHandler().apply(new McpSyncServerExchange(exchange), req));
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<CallToolResult> toolResult = Mono.fromCallable(call);
                 return immediateExecution ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -106,13 +115,21 @@ public final class McpServerFeatures {
 
 
         public static AsyncResourceSpec fromSync(SyncResourceSpec syncResourceSpec, boolean immediateExecution) {
+            return fromSync(syncResourceSpec, immediateExecution, null);
+        }
+
+        public static AsyncResourceSpec fromSync(SyncResourceSpec syncResourceSpec, boolean immediateExecution,
+                                                 McpBulkheads.Bulkhead bulkhead) {
             if (syncResourceSpec == null) {
                 return null;
             }
             return new AsyncResourceSpec(syncResourceSpec.resource(), (exchange, req) -> {
-                Mono<ReadResourceResult> resourceResult = Mono.fromCallable(
-                        () -> syncResourceSpec.readHandler().apply(new McpSyncServerExchange(exchange), req)
-                );
+                Callable<ReadResourceResult> call = () -> exchange.cancellationToken()
+                        .interruptibly(() -> syncResourceSpec.readHandler().apply(new McpSyncServerExchange(exchange), req));
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<ReadResourceResult> resourceResult = Mono.fromCallable(call);
                 return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -165,13 +182,21 @@ public final class McpServerFeatures {
         }
 
         public static AsyncPromptSpec fromSync(SyncPromptSpec syncPromptSpec, boolean immediateExecution) {
+            return fromSync(syncPromptSpec, immediateExecution, null);
+        }
+
+        public static AsyncPromptSpec fromSync(SyncPromptSpec syncPromptSpec, boolean immediateExecution,
+                                               McpBulkheads.Bulkhead bulkhead) {
             if (syncPromptSpec == null) {
                 return null;
             }
             return new AsyncPromptSpec(syncPromptSpec.prompt(), (exchange, req) -> {
-                Mono<GetPromptResult> promptResult = Mono.fromCallable(
-                        () -> syncPromptSpec.promptHandler().apply(new McpSyncServerExchange(exchange), req)
-                );
+                Callable<GetPromptResult> call = () -> exchange.cancellationToken()
+                        .interruptibly(() -> syncPromptSpec.promptHandler().apply(new McpSyncServerExchange(exchange), req));
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<GetPromptResult> promptResult = Mono.fromCallable(call);
                 return immediateExecution ? promptResult : promptResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -224,13 +249,21 @@ public final class McpServerFeatures {
         }
 
         static AsyncCompletionSpec fromSync(SyncCompletionSpec syncCompletionSpec, boolean immediateExecution) {
+            return fromSync(syncCompletionSpec, immediateExecution, null);
+        }
+
+        static AsyncCompletionSpec fromSync(SyncCompletionSpec syncCompletionSpec, boolean immediateExecution,
+                                            McpBulkheads.Bulkhead bulkhead) {
             if (syncCompletionSpec == null) {
                 return null;
             }
             return new AsyncCompletionSpec(syncCompletionSpec.referenceKey(), (exchange, request) -> {
-                Mono<CompleteResult> completionResult = Mono.fromCallable(
-                        () -> syncCompletionSpec.completionHandler().apply(new McpSyncServerExchange(exchange), request)
-                );
+                Callable<CompleteResult> call = () -> exchange.cancellationToken()
+                        .interruptibly(() -> syncCompletionSpec.completionHandler().apply(new McpSyncServerExchange(exchange), request));
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<CompleteResult> completionResult = Mono.fromCallable(call);
                 return immediateExecution ? completionResult : completionResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
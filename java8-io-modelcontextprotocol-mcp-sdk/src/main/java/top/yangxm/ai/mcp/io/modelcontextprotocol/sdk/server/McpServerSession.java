@@ -1,19 +1,23 @@
 package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Sinks;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
 import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpLoggableSession;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTimeoutWheel;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CancelledNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ClientCapabilities;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Implementation;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.InitializeRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
@@ -22,9 +26,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.LoggingLev
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 @SuppressWarnings("unused")
@@ -32,12 +34,16 @@ public class McpServerSession implements McpLoggableSession {
     private static final Logger logger = LoggerFactoryHolder.getLogger(McpServerSession.class);
     private static final TypeRef<InitializeRequest> INITIALIZE_REQUEST_TYPE_REF = new TypeRef<InitializeRequest>() {
     };
+    private static final TypeRef<CancelledNotification> CANCELLED_NOTIFICATION_TYPE_REF = new TypeRef<CancelledNotification>() {
+    };
 
-    private final ConcurrentHashMap<Object, MonoSink<JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
     private final String id;
     private final String shortId;
     private final Duration requestTimeout;
-    private final AtomicLong requestCounter = new AtomicLong(0);
+    private final int batchConcurrency;
+    private final McpAdmissionController admissionController;
+    private final McpPendingResponses pendingResponses;
+    private final McpInFlightRequests inFlightRequests = new McpInFlightRequests();
     private final McpServerInitRequestHandler initRequestHandler;
     private final Map<String, McpServerRequestHandler<?>> requestHandlers;
     private final Map<String, McpServerNotificationHandler> notificationHandlers;
@@ -55,10 +61,16 @@ public class McpServerSession implements McpLoggableSession {
     McpServerSession(Duration requestTimeout, McpServerTransport sessionTransport,
                      McpServerInitRequestHandler initRequestHandler,
                      Map<String, McpServerRequestHandler<?>> requestHandlers,
-                     Map<String, McpServerNotificationHandler> notificationHandlers) {
+                     Map<String, McpServerNotificationHandler> notificationHandlers,
+                     int batchConcurrency, McpAdmissionController admissionController) {
+        Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+        Assert.notNull(admissionController, "admissionController must not be null");
         this.id = sessionTransport.sessionId();
         this.shortId = this.id.length() > 6 ? this.id.substring(0, 6) : this.id;
+        this.pendingResponses = new McpPendingResponses(this.id, McpTimeoutWheel.shared());
         this.requestTimeout = requestTimeout;
+        this.batchConcurrency = batchConcurrency;
+        this.admissionController = admissionController;
         this.initRequestHandler = initRequestHandler;
         this.requestHandlers = requestHandlers;
         this.notificationHandlers = notificationHandlers;
@@ -74,24 +86,18 @@ public class McpServerSession implements McpLoggableSession {
         this.clientInfo.lazySet(clientInfo);
     }
 
-    private String generateRequestId() {
-        return this.id + "-" + this.requestCounter.getAndIncrement();
-    }
-
     public Mono<Void> handle(JSONRPCMessage message) {
         return Mono.deferContextual(ctx -> {
             McpTransportContext transportContext = ctx.getOrDefault(McpTransportContext.KEY, McpTransportContext.EMPTY);
             // TODO handle errors for communication to without initialization happening
             if (message instanceof JSONRPCResponse) {
-                JSONRPCResponse response = (JSONRPCResponse) message;
-                logger.debug("[{}] Received Response: {}", this.shortId, response);
-                MonoSink<JSONRPCResponse> sink = pendingResponses.remove(response.id());
-                if (sink == null) {
-                    logger.warn("[{}] Unexpected response for unknown id {}", this.shortId, response.id());
-                } else {
-                    sink.success(response);
-                }
+                handleIncomingResponse((JSONRPCResponse) message);
                 return Mono.empty();
+            } else if (message instanceof JSONRPCBatch) {
+                JSONRPCBatch batch = (JSONRPCBatch) message;
+                logger.debug("[{}] Received batch of {} messages", this.shortId, batch.messages().size());
+                return handleIncomingBatch(batch, transportContext)
+                        .flatMap(this.sessionTransport::sendMessage);
             } else if (message instanceof JSONRPCRequest) {
                 JSONRPCRequest request = (JSONRPCRequest) message;
                 logger.info("[{}] Received request: {}", this.shortId, request);
@@ -117,7 +123,50 @@ public class McpServerSession implements McpLoggableSession {
         });
     }
 
+    private void handleIncomingResponse(JSONRPCResponse response) {
+        logger.debug("[{}] Received Response: {}", this.shortId, response);
+        if (!this.pendingResponses.complete(response.id(), response)) {
+            logger.warn("[{}] Unexpected response for unknown id {}", this.shortId, response.id());
+        }
+    }
+
+    private Mono<JSONRPCBatch> handleIncomingBatch(JSONRPCBatch batch, McpTransportContext transportContext) {
+        return Flux.fromIterable(batch.messages())
+                .flatMapSequential(message -> {
+                    if (message instanceof JSONRPCRequest) {
+                        JSONRPCRequest request = (JSONRPCRequest) message;
+                        return handleIncomingRequest(request, transportContext)
+                                .onErrorResume(error -> {
+                                    logger.error("[{}] Error handling request: {}", this.shortId, error.getMessage(), error);
+                                    return Mono.just(JSONRPCResponse.ofInternalError(request.id(), error.getMessage()));
+                                });
+                    } else if (message instanceof JSONRPCNotification) {
+                        JSONRPCNotification notification = (JSONRPCNotification) message;
+                        return handleIncomingNotification(notification, transportContext)
+                                .onErrorResume(error -> {
+                                    logger.error("[{}] Error handling notification: {}", this.shortId, error.getMessage());
+                                    return Mono.empty();
+                                })
+                                .then(Mono.<JSONRPCResponse>empty());
+                    } else if (message instanceof JSONRPCResponse) {
+                        handleIncomingResponse((JSONRPCResponse) message);
+                    } else {
+                        logger.warn("[{}] Received unknown message type in batch: {}", this.shortId, message);
+                    }
+                    return Mono.<JSONRPCResponse>empty();
+                }, this.batchConcurrency)
+                .collectList()
+                .filter(responses -> !responses.isEmpty())
+                .map(JSONRPCBatch::of);
+    }
+
     private Mono<JSONRPCResponse> handleIncomingRequest(JSONRPCRequest request, McpTransportContext transportContext) {
+        return this.admissionController.admit(this.id, request, () -> this.inFlightRequests.track(request.id(),
+                cancellationToken -> dispatchRequest(request, transportContext, cancellationToken)));
+    }
+
+    private Mono<JSONRPCResponse> dispatchRequest(JSONRPCRequest request, McpTransportContext transportContext,
+                                                  McpCancellationToken cancellationToken) {
         return Mono.defer(() -> {
             logger.debug("[{}] Handling {} request", this.shortId, request.method());
             Mono<?> resultMono;
@@ -136,7 +185,8 @@ public class McpServerSession implements McpLoggableSession {
                 }
 
                 resultMono = this.exchangeSink.asMono()
-                        .flatMap(exchange -> handler.handle(exchange.copy(this, transportContext), request.params()));
+                        .flatMap(exchange -> handler.handle(exchange.copy(this, transportContext, cancellationToken),
+                                request.params()));
             }
             return resultMono
                     .map(result -> {
@@ -147,11 +197,25 @@ public class McpServerSession implements McpLoggableSession {
                     .onErrorResume(error -> {
                         logger.error("[{}] Handle {} request failed, requestId: {} error: {}",
                                 this.shortId, request.method(), request.id(), error.getMessage());
-                        return Mono.just(JSONRPCResponse.ofInternalError(request.id(), error.getMessage()));
+                        return Mono.just(McpAdmissionController.errorResponse(request.id(), error));
                     });
         });
     }
 
+    private void cancel(JSONRPCNotification notification) {
+        CancelledNotification cancelled;
+        try {
+            cancelled = this.sessionTransport.unmarshalFrom(notification.params(), CANCELLED_NOTIFICATION_TYPE_REF);
+        } catch (RuntimeException e) {
+            // a cancellation that names no request cancels nothing
+            logger.warn("[{}] Ignoring malformed cancellation: {}", this.shortId, e.getMessage());
+            return;
+        }
+        if (cancelled != null && this.inFlightRequests.cancel(cancelled.requestId(), cancelled.reason())) {
+            logger.debug("[{}] Cancelled request {}: {}", this.shortId, cancelled.requestId(), cancelled.reason());
+        }
+    }
+
     private Mono<Void> handleIncomingNotification(JSONRPCNotification notification, McpTransportContext transportContext) {
         return Mono.defer(() -> {
             logger.debug("[{}] Handling {} notification", this.shortId, notification.method());
@@ -160,6 +224,8 @@ public class McpServerSession implements McpLoggableSession {
                 exchangeSink.tryEmitValue(new McpAsyncServerExchange(
                         this.id, this, clientCapabilities.get(), clientInfo.get(), transportContext)
                 );
+            } else if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+                cancel(notification);
             }
 
             McpServerNotificationHandler handler = notificationHandlers.get(notification.method());
@@ -185,18 +251,19 @@ public class McpServerSession implements McpLoggableSession {
 
     @Override
     public <T> Mono<T> sendRequest(String method, Object params, TypeRef<T> typeRef) {
-        String requestId = this.generateRequestId();
-        logger.debug("[{}] Sending request, method: {}, params: {}, type: {}, requestId: {}",
-                this.shortId, method, params, typeRef.getType(), requestId);
         return Mono.<JSONRPCResponse>create(sink -> {
-            this.pendingResponses.put(requestId, sink);
+            long key = this.pendingResponses.nextKey();
+            String requestId = this.pendingResponses.requestId(key);
+            logger.debug("[{}] Sending request, method: {}, params: {}, type: {}, requestId: {}",
+                    this.shortId, method, params, typeRef.getType(), requestId);
+            this.pendingResponses.register(key, sink, this.requestTimeout, this);
             JSONRPCRequest request = JSONRPCRequest.of(method, requestId, params);
             this.sessionTransport.sendMessage(request).subscribe(v -> {
             }, error -> {
-                this.pendingResponses.remove(requestId);
+                this.pendingResponses.remove(key);
                 sink.error(error);
             });
-        }).timeout(requestTimeout).handle((response, sink) -> {
+        }).handle((response, sink) -> {
             if (response.error() != null) {
                 sink.error(new McpError(response.error()));
             } else {
@@ -215,15 +282,32 @@ public class McpServerSession implements McpLoggableSession {
         return this.sessionTransport.sendMessage(JSONRPCNotification.of(method, params));
     }
 
+    @Override
+    public Mono<Void> sendEncodedNotification(McpEncodedMessage notification) {
+        return this.sessionTransport.sendEncodedMessage(notification);
+    }
+
+    public void disconnect() {
+        int cancelled = this.inFlightRequests.cancelAll("Client disconnected");
+        if (cancelled > 0) {
+            logger.debug("[{}] Client disconnected, cancelled {} in-flight requests", this.shortId, cancelled);
+        }
+        this.pendingResponses.failAll(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, "Client disconnected"));
+    }
+
     @Override
     public Mono<Void> closeGracefully() {
-        // TODO: clear pendingResponses and emit errors?
-        return this.sessionTransport.closeGracefully();
+        return Mono.defer(() -> {
+            this.inFlightRequests.cancelAll("Session closed");
+            this.pendingResponses.failAll(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, "Session closed"));
+            return this.sessionTransport.closeGracefully();
+        });
     }
 
     @Override
     public void close() {
-        // TODO: clear pendingResponses and emit errors?
+        this.inFlightRequests.cancelAll("Session closed");
+        this.pendingResponses.failAll(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, "Session closed"));
         this.sessionTransport.close();
     }
 
@@ -9,6 +9,8 @@ import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.commons.util.Maps;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpUriTemplateManager;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpEncodedResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
@@ -26,6 +28,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListPrompt
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListResourceTemplatesResult;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListResourcesResult;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ListToolsResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.PaginatedRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Prompt;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.PromptReference;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ReadResourceRequest;
@@ -42,6 +45,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerFe
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +60,11 @@ public class McpStatelessAsyncServer {
     private final McpStatelessServerTransport transportProvider;
     private final JsonMapper jsonMapper;
     private final McpUriTemplateManager.Factory uriTemplateManagerFactory;
+    private final McpResourceRouter<AsyncResourceSpec> resourceRouter;
+    private final McpListCache<McpSchema.Tool> toolListCache;
+    private final McpListCache<Resource> resourceListCache;
+    private final McpListCache<ResourceTemplate> resourceTemplateListCache;
+    private final McpListCache<Prompt> promptListCache;
     private final JsonSchemaValidator jsonSchemaValidator;
     private final ServerCapabilities serverCapabilities;
     private final Implementation serverInfo;
@@ -78,6 +87,9 @@ public class McpStatelessAsyncServer {
                                     Map<String, AsyncPromptSpec> promptSpecs,
                                     Map<CompleteReference, AsyncCompletionSpec> completionSpecs,
                                     Duration requestTimeout,
+                                    int batchConcurrency,
+                                    int listPageSize,
+                                    McpAdmissionController admissionController,
                                     McpUriTemplateManager.Factory uriTemplateManagerFactory,
                                     JsonSchemaValidator jsonSchemaValidator) {
         Assert.notNull(transportProvider, "transportProvider must not be null");
@@ -91,6 +103,9 @@ public class McpStatelessAsyncServer {
         Assert.notNull(promptSpecs, "promptSpecs must not be null");
         Assert.notNull(completionSpecs, "completionSpecs must not be null");
         Assert.notNull(requestTimeout, "requestTimeout must not be null");
+        Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+        Assert.isTrue(listPageSize >= 0, "listPageSize must not be negative");
+        Assert.notNull(admissionController, "admissionController must not be null");
         Assert.notNull(jsonSchemaValidator, "jsonSchemaValidator must not be null");
 
         this.transportProvider = transportProvider;
@@ -110,11 +125,23 @@ public class McpStatelessAsyncServer {
         this.promptSpecs.putAll(promptSpecs);
         this.completionSpecs.putAll(completionSpecs);
         this.uriTemplateManagerFactory = (uriTemplateManagerFactory != null) ? uriTemplateManagerFactory : McpUriTemplateManager.DEFAULT_FACTORY;
+        this.resourceRouter = new McpResourceRouter<>(this.uriTemplateManagerFactory);
+        this.resourceSpecs.forEach(this.resourceRouter::add);
+        // requests may land on any instance, so cursors are portable and lists sorted by their keys
+        this.toolListCache = new McpListCache<>(jsonMapper, this::buildToolList, ListToolsResult::new,
+                listPageSize, Comparator.comparing(McpSchema.Tool::name));
+        this.resourceListCache = new McpListCache<>(jsonMapper, this::buildResourceList, ListResourcesResult::new,
+                listPageSize, Comparator.comparing(Resource::uri));
+        this.resourceTemplateListCache = new McpListCache<>(jsonMapper, this::buildResourceTemplateList,
+                ListResourceTemplatesResult::new, listPageSize, Comparator.comparing(ResourceTemplate::uriTemplate));
+        this.promptListCache = new McpListCache<>(jsonMapper, this::buildPromptList, ListPromptsResult::new,
+                listPageSize, Comparator.comparing(Prompt::name));
         this.jsonSchemaValidator = jsonSchemaValidator;
 
         Map<String, McpStatelessRequestHandler<?>> requestHandlers = prepareRequestHandlers();
         this.protocolVersions = new ArrayList<>(transportProvider.protocolVersions());
-        McpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(requestHandlers, Maps.of());
+        McpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(requestHandlers, Maps.of(),
+                batchConcurrency, admissionController);
         transportProvider.setMcpHandler(handler);
     }
 
@@ -150,7 +177,7 @@ public class McpStatelessAsyncServer {
 
     private McpStatelessRequestHandler<InitializeResult> asyncInitializeRequestHandler() {
         return (ctx, req) -> Mono.defer(() -> {
-            InitializeRequest initializeRequest = this.jsonMapper.convertValue(req, InitializeRequest.class);
+            InitializeRequest initializeRequest = McpRawParams.bind(this.jsonMapper, req, InitializeRequest.class);
             logger.info("Client initialize request - Protocol: {}, Capabilities: {}, Info: {}",
                     initializeRequest.protocolVersion(), initializeRequest.capabilities(),
                     initializeRequest.clientInfo());
@@ -203,6 +230,7 @@ public class McpStatelessAsyncServer {
             if (this.toolSpecs.putIfAbsent(wrappedToolSpec.tool().name(), wrappedToolSpec) != null) {
                 return Mono.error(McpError.of("Tool with name '" + wrappedToolSpec.tool().name() + "' already exists"));
             }
+            this.toolListCache.invalidate();
             logger.debug("Added tool handler: {}", wrappedToolSpec.tool().name());
             return Mono.empty();
         });
@@ -219,6 +247,7 @@ public class McpStatelessAsyncServer {
         return Mono.defer(() -> {
             AsyncToolSpec removed = this.toolSpecs.remove(toolName);
             if (removed != null) {
+                this.toolListCache.invalidate();
                 logger.debug("Removed tool handler: {}", toolName);
                 return Mono.empty();
             }
@@ -227,6 +256,10 @@ public class McpStatelessAsyncServer {
     }
 
     private List<McpSchema.Tool> getToolList() {
+        return new ArrayList<>(this.toolListCache.items());
+    }
+
+    private List<McpSchema.Tool> buildToolList() {
         return this.toolSpecs.values().stream().map(AsyncToolSpec::tool).collect(Collectors.toList());
     }
 
@@ -238,13 +271,17 @@ public class McpStatelessAsyncServer {
         return Optional.of(specification);
     }
 
-    private McpStatelessRequestHandler<ListToolsResult> toolsListRequestHandler() {
-        return (ctx, params) -> Mono.just(new ListToolsResult(this.getToolList(), null));
+    private String listCursor(Object params) {
+        return params != null ? McpRawParams.bind(jsonMapper, params, PaginatedRequest.class).cursor() : null;
+    }
+
+    private McpStatelessRequestHandler<McpEncodedResult> toolsListRequestHandler() {
+        return (ctx, params) -> Mono.fromSupplier(() -> this.toolListCache.encodedPage(listCursor(params)));
     }
 
     private McpStatelessRequestHandler<CallToolResult> toolsCallRequestHandler() {
         return (ctx, params) -> {
-            CallToolRequest callToolRequest = jsonMapper.convertValue(params, CallToolRequest.class);
+            CallToolRequest callToolRequest = McpRawParams.bind(jsonMapper, params, CallToolRequest.class);
             String name = callToolRequest.name();
             return this.getToolSpec(name)
                     .map(ts -> Mono.defer(() -> ts.callHandler().apply(ctx, callToolRequest)))
@@ -276,6 +313,9 @@ public class McpStatelessAsyncServer {
             if (this.resourceSpecs.putIfAbsent(resourceSpec.resource().uri(), resourceSpec) != null) {
                 return Mono.error(McpError.of("Resource with URI '" + resourceSpec.resource().uri() + "' already exists"));
             }
+            this.resourceRouter.add(resourceSpec.resource().uri(), resourceSpec);
+            this.resourceListCache.invalidate();
+            this.resourceTemplateListCache.invalidate();
             logger.debug("Added resource handler: {}", resourceSpec.resource().uri());
             return Mono.empty();
         });
@@ -293,6 +333,9 @@ public class McpStatelessAsyncServer {
         return Mono.defer(() -> {
             AsyncResourceSpec removed = this.resourceSpecs.remove(resourceUri);
             if (removed != null) {
+                this.resourceRouter.remove(resourceUri);
+                this.resourceListCache.invalidate();
+                this.resourceTemplateListCache.invalidate();
                 logger.debug("Removed resource handler: {}", resourceUri);
                 return Mono.empty();
             }
@@ -301,6 +344,10 @@ public class McpStatelessAsyncServer {
     }
 
     private List<Resource> getResourceList() {
+        return new ArrayList<>(this.resourceListCache.items());
+    }
+
+    private List<Resource> buildResourceList() {
         return this.resourceSpecs.values()
                 .stream()
                 .map(AsyncResourceSpec::resource)
@@ -309,6 +356,10 @@ public class McpStatelessAsyncServer {
     }
 
     private List<ResourceTemplate> getResourceTemplateList() {
+        return new ArrayList<>(this.resourceTemplateListCache.items());
+    }
+
+    private List<ResourceTemplate> buildResourceTemplateList() {
         List<ResourceTemplate> list = new ArrayList<>(this.resourceTemplates.values());
         List<ResourceTemplate> resourceTemplates = this.resourceSpecs.keySet()
                 .stream()
@@ -325,33 +376,40 @@ public class McpStatelessAsyncServer {
     }
 
     private Optional<AsyncResourceSpec> getResourceSpec(String resourceUri) {
-        return this.resourceSpecs.values()
-                .stream()
-                .filter(specification -> this.uriTemplateManagerFactory
-                        .create(specification.resource().uri())
-                        .matches(resourceUri))
-                .findFirst();
+        McpResourceRouter.Match<AsyncResourceSpec> match = this.resourceRouter.route(resourceUri);
+        return match != null ? Optional.of(match.value()) : Optional.empty();
     }
 
-    private McpStatelessRequestHandler<ListResourcesResult> resourcesListRequestHandler() {
-        return (ctx, params) -> Mono.just(new ListResourcesResult(this.getResourceList(), null));
+    // hands the variables the router already extracted to the read handler
+    private static ReadResourceRequest routedRequest(ReadResourceRequest request,
+                                                     McpResourceRouter.Match<AsyncResourceSpec> match) {
+        if (match.variables() == null) {
+            return request;
+        }
+        return request.withUriVariables(match.uriTemplate(), match.variables());
     }
 
-    private McpStatelessRequestHandler<ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-        return (ctx, params) -> Mono.just(
-                new ListResourceTemplatesResult(this.getResourceTemplateList(), null));
+    private McpStatelessRequestHandler<McpEncodedResult> resourcesListRequestHandler() {
+        return (ctx, params) -> Mono.fromSupplier(() -> this.resourceListCache.encodedPage(listCursor(params)));
+    }
+
+    private McpStatelessRequestHandler<McpEncodedResult> resourceTemplateListRequestHandler() {
+        return (ctx, params) -> Mono.fromSupplier(
+                () -> this.resourceTemplateListCache.encodedPage(listCursor(params)));
     }
 
     private McpStatelessRequestHandler<ReadResourceResult> resourcesReadRequestHandler() {
         return (ctx, params) -> {
-            ReadResourceRequest resourceRequest = jsonMapper.convertValue(params, ReadResourceRequest.class);
+            ReadResourceRequest resourceRequest = McpRawParams.bind(jsonMapper, params, ReadResourceRequest.class);
             String resourceUri = resourceRequest.uri();
-            return this.getResourceSpec(resourceUri)
-                    .map(rs -> Mono.defer(() -> rs.readHandler().apply(ctx, resourceRequest)))
-                    .orElseThrow(() -> McpError.of(ErrorCodes.INVALID_PARAMS,
-                            "Unknown resource: invalid_resource_uri",
-                            "Resource not found: " + resourceUri)
-                    );
+            McpResourceRouter.Match<AsyncResourceSpec> match = this.resourceRouter.route(resourceUri);
+            if (match == null) {
+                throw McpError.of(ErrorCodes.INVALID_PARAMS,
+                        "Unknown resource: invalid_resource_uri",
+                        "Resource not found: " + resourceUri);
+            }
+            ReadResourceRequest routedRequest = routedRequest(resourceRequest, match);
+            return Mono.defer(() -> match.value().readHandler().apply(ctx, routedRequest));
         };
     }
 
@@ -376,6 +434,7 @@ public class McpStatelessAsyncServer {
             if (this.promptSpecs.putIfAbsent(promptSpec.prompt().name(), promptSpec) != null) {
                 return Mono.error(McpError.of("Prompt with name '" + promptSpec.prompt().name() + "' already exists"));
             }
+            this.promptListCache.invalidate();
             logger.debug("Added prompt handler: {}", promptSpec.prompt().name());
             return Mono.empty();
         });
@@ -392,6 +451,7 @@ public class McpStatelessAsyncServer {
         return Mono.defer(() -> {
             AsyncPromptSpec removed = this.promptSpecs.remove(promptName);
             if (removed != null) {
+                this.promptListCache.invalidate();
                 logger.debug("Removed prompt handler: {}", promptName);
                 return Mono.empty();
             }
@@ -400,6 +460,10 @@ public class McpStatelessAsyncServer {
     }
 
     private List<Prompt> getPromptList() {
+        return new ArrayList<>(this.promptListCache.items());
+    }
+
+    private List<Prompt> buildPromptList() {
         return this.promptSpecs.values()
                 .stream()
                 .map(AsyncPromptSpec::prompt)
@@ -414,16 +478,13 @@ public class McpStatelessAsyncServer {
         return Optional.of(specification);
     }
 
-    private McpStatelessRequestHandler<ListPromptsResult> promptsListRequestHandler() {
-        return (ctx, params) -> {
-            // TODO: Implement pagination
-            return Mono.just(new ListPromptsResult(this.getPromptList(), null));
-        };
+    private McpStatelessRequestHandler<McpEncodedResult> promptsListRequestHandler() {
+        return (ctx, params) -> Mono.fromSupplier(() -> this.promptListCache.encodedPage(listCursor(params)));
     }
 
     private McpStatelessRequestHandler<GetPromptResult> promptsGetRequestHandler() {
         return (ctx, params) -> {
-            GetPromptRequest promptRequest = jsonMapper.convertValue(params, GetPromptRequest.class);
+            GetPromptRequest promptRequest = McpRawParams.bind(jsonMapper, params, GetPromptRequest.class);
             String name = promptRequest.name();
             return this.getPromptSpec(name)
                     .map(ps -> Mono.defer(() -> ps.promptHandler().apply(ctx, promptRequest)))
@@ -531,6 +592,9 @@ public class McpStatelessAsyncServer {
         private Implementation serverInfo = McpServerConst.DEFAULT_SERVER_INFO;
         private String instructions = "";
         private Duration requestTimeout = McpServerConst.DEFAULT_REQUEST_TIMEOUT;
+        private int batchConcurrency = McpServerConst.DEFAULT_BATCH_CONCURRENCY;
+        private int listPageSize = McpServerConst.DEFAULT_LIST_PAGE_SIZE;
+        private McpAdmissionController admissionController = McpAdmissionController.UNLIMITED;
         private final Map<String, AsyncToolSpec> toolSpecs = new HashMap<>();
         private final Map<String, AsyncResourceSpec> resourceSpecs = new HashMap<>();
         private final Map<String, ResourceTemplate> resourceTemplates = new HashMap<>();
@@ -590,6 +654,25 @@ public class McpStatelessAsyncServer {
             return this;
         }
 
+        public Builder batchConcurrency(int batchConcurrency) {
+            Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+            this.batchConcurrency = batchConcurrency;
+            return this;
+        }
+
+        // items per tools/list, resources/list, resources/templates/list and prompts/list page, 0 lists everything at once
+        public Builder listPageSize(int listPageSize) {
+            Assert.isTrue(listPageSize >= 0, "listPageSize must not be negative");
+            this.listPageSize = listPageSize;
+            return this;
+        }
+
+        public Builder admissionController(McpAdmissionController admissionController) {
+            Assert.notNull(admissionController, "admissionController must not be null");
+            this.admissionController = admissionController;
+            return this;
+        }
+
         public Builder toolSpecs(List<AsyncToolSpec> toolSpecs) {
             if (toolSpecs != null) {
                 for (AsyncToolSpec toolSpec : toolSpecs) {
@@ -699,7 +782,8 @@ public class McpStatelessAsyncServer {
             return new McpStatelessAsyncServer(transportProvider, jsonMapper,
                     this.serverCapabilities, this.serverInfo, this.instructions,
                     this.toolSpecs, this.resourceSpecs, this.resourceTemplates, this.promptSpecs, this.completionSpecs,
-                    this.requestTimeout, this.uriTemplateManagerFactory, this.jsonSchemaValidator);
+                    this.requestTimeout, this.batchConcurrency, this.listPageSize, this.admissionController,
+                    this.uriTemplateManagerFactory, this.jsonSchemaValidator);
         }
     }
 }
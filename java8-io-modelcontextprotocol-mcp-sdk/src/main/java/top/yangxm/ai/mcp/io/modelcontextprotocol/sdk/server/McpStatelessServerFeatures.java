@@ -17,6 +17,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ReadResour
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Resource;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Tool;
 
+import java.util.concurrent.Callable;
 import java.util.function.BiFunction;
 
 @SuppressWarnings("unused")
@@ -47,13 +48,20 @@ public final class McpStatelessServerFeatures {
         }
 
         public static AsyncToolSpec fromSync(SyncToolSpec syncToolSpec, boolean immediateExecution) {
+            return fromSync(syncToolSpec, immediateExecution, null);
+        }
+
+        public static AsyncToolSpec fromSync(SyncToolSpec syncToolSpec, boolean immediateExecution,
+                                             McpBulkheads.Bulkhead bulkhead) {
             if (syncToolSpec == null) {
                 return null;
             }
             return new AsyncToolSpec(syncToolSpec.tool(), (ctx, req) -> {
-                Mono<CallToolResult> toolResult = Mono.fromCallable(
-                        () -> syncToolSpec.callHandler().apply(ctx, req)
-                );
+                Callable<CallToolResult> call = () -> syncToolSpec.callHandler().apply(ctx, req);
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<CallToolResult> toolResult = Mono.fromCallable(call);
                 return immediateExecution ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -107,13 +115,20 @@ public final class McpStatelessServerFeatures {
 
 
         public static AsyncResourceSpec fromSync(SyncResourceSpec syncResourceSpec, boolean immediateExecution) {
+            return fromSync(syncResourceSpec, immediateExecution, null);
+        }
+
+        public static AsyncResourceSpec fromSync(SyncResourceSpec syncResourceSpec, boolean immediateExecution,
+                                                 McpBulkheads.Bulkhead bulkhead) {
             if (syncResourceSpec == null) {
                 return null;
             }
             return new AsyncResourceSpec(syncResourceSpec.resource(), (ctx, req) -> {
-                Mono<ReadResourceResult> resourceResult = Mono.fromCallable(
-                        () -> syncResourceSpec.readHandler().apply(ctx, req)
-                );
+                Callable<ReadResourceResult> call = () -> syncResourceSpec.readHandler().apply(ctx, req);
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<ReadResourceResult> resourceResult = Mono.fromCallable(call);
                 return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -166,13 +181,20 @@ public final class McpStatelessServerFeatures {
         }
 
         public static AsyncPromptSpec fromSync(SyncPromptSpec syncPromptSpec, boolean immediateExecution) {
+            return fromSync(syncPromptSpec, immediateExecution, null);
+        }
+
+        public static AsyncPromptSpec fromSync(SyncPromptSpec syncPromptSpec, boolean immediateExecution,
+                                               McpBulkheads.Bulkhead bulkhead) {
             if (syncPromptSpec == null) {
                 return null;
             }
             return new AsyncPromptSpec(syncPromptSpec.prompt(), (ctx, req) -> {
-                Mono<GetPromptResult> promptResult = Mono.fromCallable(
-                        () -> syncPromptSpec.promptHandler().apply(ctx, req)
-                );
+                Callable<GetPromptResult> call = () -> syncPromptSpec.promptHandler().apply(ctx, req);
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<GetPromptResult> promptResult = Mono.fromCallable(call);
                 return immediateExecution ? promptResult : promptResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -225,13 +247,20 @@ public final class McpStatelessServerFeatures {
         }
 
         static AsyncCompletionSpec fromSync(SyncCompletionSpec syncCompletionSpec, boolean immediateExecution) {
+            return fromSync(syncCompletionSpec, immediateExecution, null);
+        }
+
+        static AsyncCompletionSpec fromSync(SyncCompletionSpec syncCompletionSpec, boolean immediateExecution,
+                                            McpBulkheads.Bulkhead bulkhead) {
             if (syncCompletionSpec == null) {
                 return null;
             }
             return new AsyncCompletionSpec(syncCompletionSpec.referenceKey(), (ctx, request) -> {
-                Mono<CompleteResult> completionResult = Mono.fromCallable(
-                        () -> syncCompletionSpec.completionHandler().apply(ctx, request)
-                );
+                Callable<CompleteResult> call = () -> syncCompletionSpec.completionHandler().apply(ctx, request);
+                if (bulkhead != null) {
+                    return bulkhead.execute(call);
+                }
+                Mono<CompleteResult> completionResult = Mono.fromCallable(call);
                 return immediateExecution ? completionResult : completionResult.subscribeOn(Schedulers.boundedElastic());
             });
         }
@@ -2,6 +2,7 @@ package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
 
 import reactor.core.publisher.Mono;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
@@ -11,4 +12,6 @@ public interface McpStatelessServerHandler {
     Mono<JSONRPCResponse> handleRequest(McpTransportContext transportContext, JSONRPCRequest request);
 
     Mono<Void> handleNotification(McpTransportContext transportContext, JSONRPCNotification notification);
+
+    Mono<JSONRPCBatch> handleBatch(McpTransportContext transportContext, JSONRPCBatch batch);
 }
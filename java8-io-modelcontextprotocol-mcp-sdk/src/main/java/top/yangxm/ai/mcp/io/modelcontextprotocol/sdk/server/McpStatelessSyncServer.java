@@ -27,11 +27,13 @@ import java.util.Set;
 public class McpStatelessSyncServer {
     private final McpStatelessAsyncServer asyncServer;
     private final boolean immediateExecution;
+    private final McpBulkheads bulkheads;
 
-    private McpStatelessSyncServer(McpStatelessAsyncServer asyncServer, boolean immediateExecution) {
+    private McpStatelessSyncServer(McpStatelessAsyncServer asyncServer, boolean immediateExecution, McpBulkheads bulkheads) {
         Assert.notNull(asyncServer, "Async server must not be null");
         this.asyncServer = asyncServer;
         this.immediateExecution = immediateExecution;
+        this.bulkheads = bulkheads;
     }
 
     public ServerCapabilities serverCapabilities() {
@@ -46,8 +48,16 @@ public class McpStatelessSyncServer {
         return this.asyncServer;
     }
 
+    public McpBulkheads bulkheads() {
+        return this.bulkheads;
+    }
+
     public void addTool(SyncToolSpec toolSpec) {
-        this.asyncServer.addTool(AsyncToolSpec.fromSync(toolSpec, this.immediateExecution)).block();
+        this.asyncServer.addTool(AsyncToolSpec.fromSync(toolSpec, this.immediateExecution, toolBulkhead(toolSpec))).block();
+    }
+
+    private McpBulkheads.Bulkhead toolBulkhead(SyncToolSpec toolSpec) {
+        return toolSpec != null && toolSpec.tool() != null ? this.bulkheads.forTool(toolSpec.tool().name()) : null;
     }
 
     public void removeTool(String toolName) {
@@ -55,7 +65,8 @@ public class McpStatelessSyncServer {
     }
 
     public void addResource(SyncResourceSpec resourceSpec) {
-        this.asyncServer.addResource(AsyncResourceSpec.fromSync(resourceSpec, this.immediateExecution)).block();
+        this.asyncServer.addResource(AsyncResourceSpec.fromSync(resourceSpec, this.immediateExecution,
+                this.bulkheads.forFeature(McpBulkheads.FeatureType.RESOURCE))).block();
     }
 
     public void removeResource(String resourceUri) {
@@ -63,7 +74,8 @@ public class McpStatelessSyncServer {
     }
 
     public void addPrompt(SyncPromptSpec promptSpec) {
-        this.asyncServer.addPrompt(AsyncPromptSpec.fromSync(promptSpec, this.immediateExecution)).block();
+        this.asyncServer.addPrompt(AsyncPromptSpec.fromSync(promptSpec, this.immediateExecution,
+                this.bulkheads.forFeature(McpBulkheads.FeatureType.PROMPT))).block();
     }
 
     public void removePrompt(String promptName) {
@@ -93,6 +105,7 @@ public class McpStatelessSyncServer {
         private final List<SyncPromptSpec> promptSpecs = new ArrayList<>();
         private final List<SyncCompletionSpec> completionSpecs = new ArrayList<>();
         private boolean immediateExecution = false;
+        private McpBulkheads bulkheads = McpBulkheads.NONE;
 
         private Builder() {
             this.asyncBuilder = McpStatelessAsyncServer.builder();
@@ -103,6 +116,12 @@ public class McpStatelessSyncServer {
             return this;
         }
 
+        public Builder bulkheads(McpBulkheads bulkheads) {
+            Assert.notNull(bulkheads, "bulkheads must not be null");
+            this.bulkheads = bulkheads;
+            return this;
+        }
+
         public Builder jsonMapper(JsonMapper jsonMapper) {
             this.asyncBuilder.jsonMapper(jsonMapper);
             return this;
@@ -143,6 +162,21 @@ public class McpStatelessSyncServer {
             return this;
         }
 
+        public Builder batchConcurrency(int batchConcurrency) {
+            this.asyncBuilder.batchConcurrency(batchConcurrency);
+            return this;
+        }
+
+        public Builder listPageSize(int listPageSize) {
+            this.asyncBuilder.listPageSize(listPageSize);
+            return this;
+        }
+
+        public Builder admissionController(McpAdmissionController admissionController) {
+            this.asyncBuilder.admissionController(admissionController);
+            return this;
+        }
+
         public Builder toolSpecs(List<SyncToolSpec> toolSpecs) {
             if (toolSpecs != null) {
                 Set<String> toolNames = new HashSet<>();
@@ -255,25 +289,29 @@ public class McpStatelessSyncServer {
         private void beforeBuild() {
             final List<AsyncToolSpec> asyncToolSpecs = new ArrayList<>();
             for (SyncToolSpec syncToolSpec : this.toolSpecs) {
-                asyncToolSpecs.add(AsyncToolSpec.fromSync(syncToolSpec, this.immediateExecution));
+                asyncToolSpecs.add(AsyncToolSpec.fromSync(syncToolSpec, this.immediateExecution,
+                        this.bulkheads.forTool(syncToolSpec.tool().name())));
             }
             this.asyncBuilder.toolSpecs(asyncToolSpecs);
 
             final List<AsyncResourceSpec> asyncResourceSpecs = new ArrayList<>();
             for (SyncResourceSpec syncResourceSpec : this.resourceSpecs) {
-                asyncResourceSpecs.add(AsyncResourceSpec.fromSync(syncResourceSpec, this.immediateExecution));
+                asyncResourceSpecs.add(AsyncResourceSpec.fromSync(syncResourceSpec, this.immediateExecution,
+                        this.bulkheads.forFeature(McpBulkheads.FeatureType.RESOURCE)));
             }
             this.asyncBuilder.resourceSpecs(asyncResourceSpecs);
 
             final List<AsyncPromptSpec> asyncPromptSpecs = new ArrayList<>();
             for (SyncPromptSpec syncPromptSpec : this.promptSpecs) {
-                asyncPromptSpecs.add(AsyncPromptSpec.fromSync(syncPromptSpec, this.immediateExecution));
+                asyncPromptSpecs.add(AsyncPromptSpec.fromSync(syncPromptSpec, this.immediateExecution,
+                        this.bulkheads.forFeature(McpBulkheads.FeatureType.PROMPT)));
             }
             this.asyncBuilder.promptSpecs(asyncPromptSpecs);
 
             final List<AsyncCompletionSpec> asyncCompletionSpecs = new ArrayList<>();
             for (SyncCompletionSpec syncCompletionSpec : this.completionSpecs) {
-                asyncCompletionSpecs.add(AsyncCompletionSpec.fromSync(syncCompletionSpec, this.immediateExecution));
+                asyncCompletionSpecs.add(AsyncCompletionSpec.fromSync(syncCompletionSpec, this.immediateExecution,
+                        this.bulkheads.forFeature(McpBulkheads.FeatureType.COMPLETION)));
             }
             this.asyncBuilder.completionSpecs(asyncCompletionSpecs);
         }
@@ -281,7 +319,7 @@ public class McpStatelessSyncServer {
         public McpStatelessSyncServer build(McpStatelessServerTransport transportProvider) {
             this.beforeBuild();
             McpStatelessAsyncServer asyncServer = this.asyncBuilder.build(transportProvider);
-            return new McpStatelessSyncServer(asyncServer, this.immediateExecution);
+            return new McpStatelessSyncServer(asyncServer, this.immediateExecution, this.bulkheads);
         }
     }
 }
\ No newline at end of file
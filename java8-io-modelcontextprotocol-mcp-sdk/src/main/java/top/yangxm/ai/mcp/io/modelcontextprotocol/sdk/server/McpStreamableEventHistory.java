@@ -0,0 +1,255 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
+
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings("unused")
+public final class McpStreamableEventHistory {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpStreamableEventHistory.class);
+    private static final char EVENT_ID_SEPARATOR = '_';
+    private static final int INITIAL_CAPACITY = 16;
+
+    public static final int DEFAULT_MAX_EVENTS = 256;
+    public static final int DEFAULT_MAX_BYTES = 512 * 1024;
+
+    private final JsonMapper jsonMapper;
+    private final int maxEvents;
+    private final int maxBytes;
+    private final boolean offHeap;
+
+    private Entry[] entries = new Entry[0];
+    private int head;
+    private int size;
+    private long usedBytes;
+    private long sequence;
+    private ByteBuffer arena;
+
+    private McpStreamableEventHistory(JsonMapper jsonMapper, int maxEvents, int maxBytes, boolean offHeap) {
+        this.jsonMapper = jsonMapper;
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+    }
+
+    // false when events only get ids, senders then have no reason to encode ahead of the transport
+    public boolean isRecording() {
+        return this.maxEvents > 0;
+    }
+
+    // prefer append(String, McpEncodedMessage) when the same bytes are sent as well, this encodes the message again
+    public String append(String streamId, JSONRPCMessage message) {
+        Assert.notNull(message, "message must not be null");
+        // encoded before taking the lock, concurrent appends only wait for each other's bookkeeping
+        return append(streamId, isRecording() ? ByteBuffer.wrap(this.jsonMapper.writeValueAsBytes(message)) : null);
+    }
+
+    public String append(String streamId, McpEncodedMessage message) {
+        Assert.notNull(message, "message must not be null");
+        // a read-only view of the encoded bytes, every session's history shares the same array
+        return append(streamId, isRecording() ? message.buffer() : null);
+    }
+
+    private synchronized String append(String streamId, ByteBuffer payload) {
+        Assert.hasText(streamId, "streamId must not be empty");
+        long seq = ++this.sequence;
+        String eventId = eventId(streamId, seq);
+        if (payload == null) {
+            return eventId;
+        }
+        int length = payload.remaining();
+        if (length > this.maxBytes) {
+            logger.warn("Event {} of {} bytes exceeds history limit of {} bytes, not stored",
+                    eventId, length, this.maxBytes);
+            return eventId;
+        }
+        while (this.size == this.maxEvents) {
+            evictOldest();
+        }
+        Entry entry = new Entry(seq, streamId, length);
+        if (this.offHeap) {
+            entry.offset = reserve(length);
+            ByteBuffer slot = this.arena.duplicate();
+            // through Buffer, ByteBuffer's own overrides only exist since Java 9
+            ((Buffer) slot).position(entry.offset);
+            slot.put(payload);
+        } else {
+            while (this.usedBytes + length > this.maxBytes) {
+                evictOldest();
+            }
+            entry.payload = payload;
+        }
+        ensureCapacity();
+        this.entries[(this.head + this.size) % this.entries.length] = entry;
+        this.size++;
+        this.usedBytes += length;
+        return eventId;
+    }
+
+    public synchronized List<Event> eventsAfter(String lastEventId) {
+        Assert.hasText(lastEventId, "lastEventId must not be empty");
+        int idx = lastEventId.lastIndexOf(EVENT_ID_SEPARATOR);
+        if (idx <= 0 || idx == lastEventId.length() - 1) {
+            logger.warn("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            return Collections.emptyList();
+        }
+        String streamId = lastEventId.substring(0, idx);
+        long lastSeq;
+        try {
+            lastSeq = Long.parseLong(lastEventId.substring(idx + 1));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            return Collections.emptyList();
+        }
+        if (this.size > 0 && lastSeq + 1 < this.entries[this.head].seq) {
+            logger.warn("Events after {} may have been evicted from history, replay starts at {}",
+                    lastEventId, this.entries[this.head].seq);
+        }
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < this.size; i++) {
+            Entry entry = this.entries[(this.head + i) % this.entries.length];
+            if (entry.seq > lastSeq && entry.streamId.equals(streamId)) {
+                events.add(new Event(eventId(streamId, entry.seq),
+                        McpSchema.deserializeJsonRpcMessage(this.jsonMapper, read(entry))));
+            }
+        }
+        return events;
+    }
+
+    public synchronized void clear() {
+        this.entries = new Entry[0];
+        this.head = 0;
+        this.size = 0;
+        this.usedBytes = 0;
+        this.arena = null;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    public synchronized long usedBytes() {
+        return this.usedBytes;
+    }
+
+    private ByteBuffer read(Entry entry) {
+        if (!this.offHeap) {
+            return entry.payload.duplicate();
+        }
+        ByteBuffer slot = this.arena.duplicate();
+        ((Buffer) slot).position(entry.offset);
+        ((Buffer) slot).limit(entry.offset + entry.length);
+        return slot;
+    }
+
+    private int reserve(int length) {
+        if (this.arena == null) {
+            this.arena = ByteBuffer.allocateDirect(this.maxBytes);
+        }
+        while (true) {
+            if (this.size == 0) {
+                return 0;
+            }
+            Entry oldest = this.entries[this.head];
+            Entry newest = this.entries[(this.head + this.size - 1) % this.entries.length];
+            int start = oldest.offset;
+            int end = newest.offset + newest.length;
+            if (newest.offset >= start) {
+                if (length <= this.maxBytes - end) {
+                    return end;
+                }
+                if (length <= start) {
+                    return 0;
+                }
+            } else if (length <= start - end) {
+                return end;
+            }
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        Entry oldest = this.entries[this.head];
+        this.entries[this.head] = null;
+        this.head = (this.head + 1) % this.entries.length;
+        this.size--;
+        this.usedBytes -= oldest.length;
+    }
+
+    private void ensureCapacity() {
+        if (this.size < this.entries.length) {
+            return;
+        }
+        int capacity = Math.min(Math.max(INITIAL_CAPACITY, this.entries.length * 2), this.maxEvents);
+        Entry[] grown = new Entry[capacity];
+        for (int i = 0; i < this.size; i++) {
+            grown[i] = this.entries[(this.head + i) % this.entries.length];
+        }
+        this.entries = grown;
+        this.head = 0;
+    }
+
+    private static String eventId(String streamId, long seq) {
+        return streamId + EVENT_ID_SEPARATOR + seq;
+    }
+
+    public static Factory factory(int maxEvents, int maxBytes, boolean offHeap) {
+        Assert.isTrue(maxEvents >= 0, "maxEvents must not be negative");
+        Assert.isTrue(maxBytes > 0, "maxBytes must be positive");
+        return jsonMapper -> new McpStreamableEventHistory(jsonMapper, maxEvents, maxBytes, offHeap);
+    }
+
+    public static Factory defaultFactory() {
+        return factory(DEFAULT_MAX_EVENTS, DEFAULT_MAX_BYTES, false);
+    }
+
+    public static Factory disabled() {
+        return factory(0, 1, false);
+    }
+
+    public static final class Event {
+        private final String id;
+        private final JSONRPCMessage message;
+
+        public Event(String id, JSONRPCMessage message) {
+            this.id = id;
+            this.message = message;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public JSONRPCMessage message() {
+            return message;
+        }
+    }
+
+    private static final class Entry {
+        private final long seq;
+        private final String streamId;
+        private final int length;
+        private int offset;
+        private ByteBuffer payload;
+
+        private Entry(long seq, String streamId, int length) {
+            this.seq = seq;
+            this.streamId = streamId;
+            this.length = length;
+        }
+    }
+
+    public interface Factory {
+        McpStreamableEventHistory create(JsonMapper jsonMapper);
+    }
+}
\ No newline at end of file
@@ -4,15 +4,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
 import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpLoggableSession;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTimeoutWheel;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CancelledNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.InitializeRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.InitializeResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
@@ -20,34 +26,42 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRes
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
 public class McpStreamableServerSession implements McpLoggableSession {
     private static final Logger logger = LoggerFactory.getLogger(McpStreamableServerSession.class);
 
-    private final ConcurrentHashMap<Object, McpStreamableServerSessionStream> requestIdToStream = new ConcurrentHashMap<>();
     private final String id;
     private final String shortId;
     private final Duration requestTimeout;
-    private final AtomicLong requestCounter = new AtomicLong(0);
+    private final int batchConcurrency;
+    private final McpAdmissionController admissionController;
+    private final McpPendingResponses pendingResponses;
+    private final McpInFlightRequests inFlightRequests = new McpInFlightRequests();
     private final Map<String, McpServerRequestHandler<?>> requestHandlers;
     private final Map<String, McpServerNotificationHandler> notificationHandlers;
     private final AtomicReference<McpSchema.ClientCapabilities> clientCapabilities = new AtomicReference<>();
     private final AtomicReference<McpSchema.Implementation> clientInfo = new AtomicReference<>();
     private final AtomicReference<McpLoggableSession> listeningStreamRef;
     private final MissingMcpTransportSession missingMcpTransportSession;
+    private final McpStreamableEventHistory eventHistory;
+    private final JsonMapper jsonMapper;
     private volatile McpSchema.LoggingLevel minLoggingLevel = McpSchema.LoggingLevel.INFO;
 
     public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
                                       McpSchema.Implementation clientInfo, Duration requestTimeout,
                                       Map<String, McpServerRequestHandler<?>> requestHandlers,
-                                      Map<String, McpServerNotificationHandler> notificationHandlers) {
+                                      Map<String, McpServerNotificationHandler> notificationHandlers,
+                                      McpStreamableEventHistory eventHistory, JsonMapper jsonMapper,
+                                      int batchConcurrency, McpAdmissionController admissionController) {
+        Assert.notNull(eventHistory, "eventHistory must not be null");
+        Assert.notNull(jsonMapper, "jsonMapper must not be null");
+        Assert.isTrue(batchConcurrency > 0, "batchConcurrency must be positive");
+        Assert.notNull(admissionController, "admissionController must not be null");
         this.id = id;
         this.shortId = this.id.length() > 6 ? this.id.substring(0, 6) : this.id;
+        this.pendingResponses = new McpPendingResponses(this.id, McpTimeoutWheel.shared());
         this.missingMcpTransportSession = new MissingMcpTransportSession(id);
         this.listeningStreamRef = new AtomicReference<>(this.missingMcpTransportSession);
         this.clientCapabilities.lazySet(clientCapabilities);
@@ -55,20 +69,18 @@ public class McpStreamableServerSession implements McpLoggableSession {
         this.requestTimeout = requestTimeout;
         this.requestHandlers = requestHandlers;
         this.notificationHandlers = notificationHandlers;
+        this.eventHistory = eventHistory;
+        this.jsonMapper = jsonMapper;
+        this.batchConcurrency = batchConcurrency;
+        this.admissionController = admissionController;
     }
 
     public String id() {
         return id;
     }
 
-    private String generateRequestId() {
-        return this.id + "-" + this.requestCounter.getAndIncrement();
-    }
-
     public Mono<Void> delete() {
-        return this.closeGracefully().then(Mono.fromRunnable(() -> {
-            // TODO: review in the context of history storage
-        }));
+        return this.closeGracefully().then(Mono.fromRunnable(this.eventHistory::clear));
     }
 
     public McpStreamableServerSessionStream listeningStream(McpStreamableServerTransport transport) {
@@ -77,34 +89,82 @@ public class McpStreamableServerSession implements McpLoggableSession {
         return listeningStream;
     }
 
-    public Flux<McpSchema.JSONRPCMessage> replay(Object lastEventId) {
-        // TODO: keep track of history by keeping a map from eventId to stream and then
-        return Flux.empty();
+    public Flux<McpStreamableEventHistory.Event> replay(Object lastEventId) {
+        Assert.notNull(lastEventId, "lastEventId must not be null");
+        return Flux.defer(() -> Flux.fromIterable(this.eventHistory.eventsAfter(lastEventId.toString())));
     }
 
     public Mono<Void> responseStream(JSONRPCRequest request, McpStreamableServerTransport transport) {
         return Mono.deferContextual(ctx -> {
             McpTransportContext transportContext = ctx.getOrDefault(McpTransportContext.KEY, McpTransportContext.EMPTY);
             McpStreamableServerSessionStream stream = new McpStreamableServerSessionStream(transport);
-            McpServerRequestHandler<?> requestHandler = McpStreamableServerSession.this.requestHandlers.get(request.method());
             // TODO: delegate to stream, which upon successful response should close
-            if (requestHandler == null) {
-                return transport.sendMessage(JSONRPCResponse.ofMethodNotFoundError(request.id(), request.method()));
+            if (!this.requestHandlers.containsKey(request.method())) {
+                return stream.sendMessage(JSONRPCResponse.ofMethodNotFoundError(request.id(), request.method()));
             }
-            return requestHandler
-                    .handle(new McpAsyncServerExchange(this.id, stream, clientCapabilities.get(), clientInfo.get(),
-                            transportContext), request.params())
-                    .map(result -> JSONRPCResponse.ofSuccess(request.id(), result))
-                    .onErrorResume(e -> Mono.just(JSONRPCResponse.ofInternalError(request.id(), e.getMessage())))
-                    .flatMap(transport::sendMessage)
+            return handleRequest(request, stream, transportContext)
+                    .flatMap(stream::sendMessage)
                     .then(transport.closeGracefully());
         });
     }
 
+    public Mono<Void> responseStream(JSONRPCBatch batch, McpStreamableServerTransport transport) {
+        return Mono.deferContextual(ctx -> {
+            McpTransportContext transportContext = ctx.getOrDefault(McpTransportContext.KEY, McpTransportContext.EMPTY);
+            McpStreamableServerSessionStream stream = new McpStreamableServerSessionStream(transport);
+            logger.debug("[{}] Received batch of {} messages", this.shortId, batch.messages().size());
+            return Flux.fromIterable(batch.messages())
+                    .flatMapSequential(message -> {
+                        if (message instanceof JSONRPCRequest) {
+                            return handleRequest((JSONRPCRequest) message, stream, transportContext);
+                        } else if (message instanceof JSONRPCNotification) {
+                            return accept((JSONRPCNotification) message)
+                                    .onErrorResume(e -> {
+                                        logger.error("[{}] Error handling notification in batch: {}", this.shortId, e.getMessage());
+                                        return Mono.empty();
+                                    })
+                                    .then(Mono.<JSONRPCResponse>empty());
+                        } else if (message instanceof JSONRPCResponse) {
+                            return accept((JSONRPCResponse) message)
+                                    .onErrorResume(e -> Mono.empty())
+                                    .then(Mono.<JSONRPCResponse>empty());
+                        }
+                        logger.warn("[{}] Ignoring unsupported message in batch: {}", this.shortId, message);
+                        return Mono.<JSONRPCResponse>empty();
+                    }, this.batchConcurrency)
+                    .collectList()
+                    .flatMap(responses -> responses.isEmpty()
+                            ? Mono.<Void>empty()
+                            : stream.sendMessage(JSONRPCBatch.of(responses)))
+                    .then(transport.closeGracefully());
+        });
+    }
+
+    public JSONRPCError checkAdmission(JSONRPCRequest request) {
+        return this.admissionController.check(this.id, request.method());
+    }
+
+    private Mono<JSONRPCResponse> handleRequest(JSONRPCRequest request, McpStreamableServerSessionStream stream,
+                                                McpTransportContext transportContext) {
+        McpServerRequestHandler<?> requestHandler = this.requestHandlers.get(request.method());
+        if (requestHandler == null) {
+            return Mono.just(JSONRPCResponse.ofMethodNotFoundError(request.id(), request.method()));
+        }
+        return this.admissionController.admit(this.id, request, () -> this.inFlightRequests.track(request.id(),
+                cancellationToken -> requestHandler
+                        .handle(new McpAsyncServerExchange(this.id, stream, clientCapabilities.get(), clientInfo.get(),
+                                transportContext, cancellationToken), request.params())
+                        .map(result -> JSONRPCResponse.ofSuccess(request.id(), result))
+                        .onErrorResume(e -> Mono.just(McpAdmissionController.errorResponse(request.id(), e)))));
+    }
+
     public Mono<Void> accept(JSONRPCNotification notification) {
         return Mono.deferContextual(ctx -> {
             logger.debug("[{}] Received notification: {}", this.shortId, notification);
             McpTransportContext transportContext = ctx.getOrDefault(McpTransportContext.KEY, McpTransportContext.EMPTY);
+            if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+                cancel(notification);
+            }
             McpServerNotificationHandler notificationHandler = this.notificationHandlers.get(notification.method());
             if (notificationHandler == null) {
                 logger.warn("[{}] No handler registered for notification method: {}", this.shortId, notification.method());
@@ -116,25 +176,42 @@ public class McpStreamableServerSession implements McpLoggableSession {
         });
     }
 
+    private void cancel(JSONRPCNotification notification) {
+        CancelledNotification cancelled;
+        try {
+            cancelled = McpRawParams.bind(this.jsonMapper, notification.params(), CancelledNotification.class);
+        } catch (RuntimeException e) {
+            // a cancellation that names no request cancels nothing
+            logger.warn("[{}] Ignoring malformed cancellation: {}", this.shortId, e.getMessage());
+            return;
+        }
+        if (cancelled != null && this.inFlightRequests.cancel(cancelled.requestId(), cancelled.reason())) {
+            logger.debug("[{}] Cancelled request {}: {}", this.shortId, cancelled.requestId(), cancelled.reason());
+        }
+    }
+
+    public Mono<Void> accept(JSONRPCBatch batch) {
+        return Mono.defer(() -> {
+            if (batch.hasRequests()) {
+                return Mono.error(new IllegalArgumentException("Batches with requests need a response stream"));
+            }
+            return Flux.fromIterable(batch.messages())
+                    .flatMap(message -> message instanceof JSONRPCNotification
+                            ? accept((JSONRPCNotification) message)
+                            : accept((JSONRPCResponse) message), this.batchConcurrency)
+                    .then();
+        });
+    }
+
     public Mono<Void> accept(JSONRPCResponse response) {
         return Mono.defer(() -> {
             logger.debug("[{}] Received response: {}", this.shortId, response);
             if (response.id() != null) {
-                McpStreamableServerSessionStream stream = this.requestIdToStream.get(response.id());
-                if (stream == null) {
+                if (!this.pendingResponses.complete(response.id(), response)) {
                     String logErr = String.format("[%s] Unexpected response for unknown id %s", this.shortId, response.id());
                     logger.error(logErr);
                     return Mono.error(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, logErr));
                 }
-                // TODO: encapsulate this inside the stream itself
-                MonoSink<JSONRPCResponse> sink = stream.pendingResponses.remove(response.id());
-                if (sink == null) {
-                    String logErr = String.format("[%s] Unexpected response for unknown id %s", this.shortId, response.id());
-                    logger.error(logErr);
-                    return Mono.error(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, logErr));
-                } else {
-                    sink.success(response);
-                }
             } else {
                 logger.error("[{}] Discarded MCP request response without session id. "
                         + "This is an indication of a bug in the request sender code that can lead to memory "
@@ -171,10 +248,20 @@ public class McpStreamableServerSession implements McpLoggableSession {
         });
     }
 
+    @Override
+    public Mono<Void> sendEncodedNotification(McpEncodedMessage notification) {
+        return Mono.defer(() -> {
+            McpLoggableSession listeningStream = this.listeningStreamRef.get();
+            return listeningStream.sendEncodedNotification(notification);
+        });
+    }
+
     @Override
     public Mono<Void> closeGracefully() {
         return Mono.defer(() -> {
             McpLoggableSession listeningStream = this.listeningStreamRef.getAndSet(missingMcpTransportSession);
+            this.inFlightRequests.cancelAll("Session closed");
+            this.pendingResponses.failAll(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, "Session closed"));
             return listeningStream.closeGracefully();
             // TODO: Also close all the open streams
         });
@@ -186,21 +273,35 @@ public class McpStreamableServerSession implements McpLoggableSession {
         if (listeningStream != null) {
             listeningStream.close();
         }
+        this.inFlightRequests.cancelAll("Session closed");
+        this.pendingResponses.failAll(McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, "Session closed"));
+        this.eventHistory.clear();
         // TODO: Also close all open streams
     }
 
     public final class McpStreamableServerSessionStream implements McpLoggableSession {
-        private final ConcurrentHashMap<Object, MonoSink<JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
         private final McpStreamableServerSession outerSession;
         private final McpStreamableServerTransport transport;
         private final String transportId;
-        private final Supplier<String> uuidGenerator;
 
         public McpStreamableServerSessionStream(McpStreamableServerTransport transport) {
             this.outerSession = McpStreamableServerSession.this;
             this.transport = transport;
             this.transportId = UUID.randomUUID().toString();
-            this.uuidGenerator = () -> this.transportId + "_" + UUID.randomUUID();
+        }
+
+        private Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+            return Mono.defer(() -> send(message));
+        }
+
+        // a recorded message is encoded once, the history keeps the bytes that the transport sends
+        private Mono<Void> send(McpSchema.JSONRPCMessage message) {
+            McpStreamableEventHistory eventHistory = this.outerSession.eventHistory;
+            if (!eventHistory.isRecording()) {
+                return this.transport.sendMessage(message, eventHistory.append(this.transportId, message));
+            }
+            McpEncodedMessage encoded = McpEncodedMessage.encode(this.outerSession.jsonMapper, message);
+            return this.transport.sendEncodedMessage(encoded, eventHistory.append(this.transportId, encoded));
         }
 
         @Override
@@ -216,20 +317,19 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
         @Override
         public <T> Mono<T> sendRequest(String method, Object params, TypeRef<T> typeRef) {
-            String requestId = this.outerSession.generateRequestId();
-            this.outerSession.requestIdToStream.put(requestId, this);
+            McpPendingResponses pendingResponses = this.outerSession.pendingResponses;
             return Mono.<JSONRPCResponse>create(sink -> {
-                this.pendingResponses.put(requestId, sink);
+                long key = pendingResponses.nextKey();
+                String requestId = pendingResponses.requestId(key);
+                pendingResponses.register(key, sink, requestTimeout, this);
                 JSONRPCRequest jsonrpcRequest = JSONRPCRequest.of(method, requestId, params);
-                String messageId = this.uuidGenerator.get();
-                logger.debug("[{}] Sending request, method: {}, params: {}, type: {}, requestId: {}, messageId: {}",
-                        this.outerSession.shortId, method, params, typeRef.getType(), requestId, messageId);
-                // TODO: store message in history
-                this.transport.sendMessage(jsonrpcRequest, messageId).subscribe(v -> {
-                }, sink::error);
-            }).timeout(requestTimeout).doOnError(e -> {
-                this.pendingResponses.remove(requestId);
-                this.outerSession.requestIdToStream.remove(requestId);
+                logger.debug("[{}] Sending request, method: {}, params: {}, type: {}, requestId: {}",
+                        this.outerSession.shortId, method, params, typeRef.getType(), requestId);
+                send(jsonrpcRequest).subscribe(v -> {
+                }, error -> {
+                    pendingResponses.remove(key);
+                    sink.error(error);
+                });
             }).handle((jsonRpcResponse, sink) -> {
                 if (jsonRpcResponse.error() != null) {
                     sink.error(new McpError(jsonRpcResponse.error()));
@@ -247,28 +347,28 @@ public class McpStreamableServerSession implements McpLoggableSession {
         public Mono<Void> sendNotification(String method, Object params) {
             logger.debug("[{}] Sending notification, method: {}, params: {}", this.outerSession.shortId, method, params);
             JSONRPCNotification jsonrpcNotification = JSONRPCNotification.of(method, params);
-            String messageId = this.uuidGenerator.get();
-            // TODO: store message in history
-            return this.transport.sendMessage(jsonrpcNotification, messageId);
+            return sendMessage(jsonrpcNotification);
+        }
+
+        @Override
+        public Mono<Void> sendEncodedNotification(McpEncodedMessage notification) {
+            return Mono.defer(() -> this.transport.sendEncodedMessage(notification,
+                    this.outerSession.eventHistory.append(this.transportId, notification)));
         }
 
         @Override
         public Mono<Void> closeGracefully() {
             return Mono.defer(() -> {
-                this.pendingResponses.values().forEach(s -> s.error(new RuntimeException("Stream closed")));
-                this.pendingResponses.clear();
+                this.outerSession.pendingResponses.failOwner(this, new RuntimeException("Stream closed"));
                 this.outerSession.listeningStreamRef.compareAndSet(this, this.outerSession.missingMcpTransportSession);
-                this.outerSession.requestIdToStream.values().removeIf(this::equals);
                 return this.transport.closeGracefully();
             });
         }
 
         @Override
         public void close() {
-            this.pendingResponses.values().forEach(s -> s.error(new RuntimeException("Stream closed")));
-            this.pendingResponses.clear();
+            this.outerSession.pendingResponses.failOwner(this, new RuntimeException("Stream closed"));
             this.outerSession.listeningStreamRef.compareAndSet(this, this.outerSession.missingMcpTransportSession);
-            this.outerSession.requestIdToStream.values().removeIf(this::equals);
             this.transport.close();
         }
     }
@@ -1,6 +1,7 @@
 package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
 
 import reactor.core.publisher.Mono;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransport;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 
@@ -9,4 +10,8 @@ public interface McpStreamableServerTransport extends McpTransport {
     String sessionId();
 
     Mono<Void> sendMessage(JSONRPCMessage message, String messageId);
+
+    default Mono<Void> sendEncodedMessage(McpEncodedMessage message, String messageId) {
+        return sendMessage(message.message(), messageId);
+    }
 }
\ No newline at end of file
@@ -28,16 +28,19 @@ import java.util.List;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @SuppressWarnings("unused")
 public class McpSyncServer {
     private final McpAsyncServer asyncServer;
     private final boolean immediateExecution;
+    private final McpBulkheads bulkheads;
 
-    private McpSyncServer(McpAsyncServer asyncServer, boolean immediateExecution) {
+    private McpSyncServer(McpAsyncServer asyncServer, boolean immediateExecution, McpBulkheads bulkheads) {
         Assert.notNull(asyncServer, "Async server must not be null");
         this.asyncServer = asyncServer;
         this.immediateExecution = immediateExecution;
+        this.bulkheads = bulkheads;
     }
 
     public ServerCapabilities serverCapabilities() {
@@ -52,8 +55,21 @@ public class McpSyncServer {
         return this.asyncServer;
     }
 
+    public McpBulkheads bulkheads() {
+        return this.bulkheads;
+    }
+
+    public void mutateCatalog(Consumer<CatalogTransaction> mutation) {
+        this.asyncServer.mutateCatalog(mutation == null ? null
+                : transaction -> mutation.accept(new CatalogTransaction(this, transaction))).block();
+    }
+
     public void addTool(SyncToolSpec toolSpec) {
-        this.asyncServer.addTool(AsyncToolSpec.fromSync(toolSpec, this.immediateExecution)).block();
+        this.asyncServer.addTool(AsyncToolSpec.fromSync(toolSpec, this.immediateExecution, toolBulkhead(toolSpec))).block();
+    }
+
+    private McpBulkheads.Bulkhead toolBulkhead(SyncToolSpec toolSpec) {
+        return toolSpec != null && toolSpec.tool() != null ? this.bulkheads.forTool(toolSpec.tool().name()) : null;
     }
 
     public void removeTool(String toolName) {
@@ -65,7 +81,8 @@ public class McpSyncServer {
     }
 
     public void addResource(SyncResourceSpec resourceSpec) {
-        this.asyncServer.addResource(AsyncResourceSpec.fromSync(resourceSpec, this.immediateExecution)).block();
+        this.asyncServer.addResource(AsyncResourceSpec.fromSync(resourceSpec, this.immediateExecution,
+                this.bulkheads.forFeature(McpBulkheads.FeatureType.RESOURCE))).block();
     }
 
     public void removeResource(String resourceUri) {
@@ -81,7 +98,8 @@ public class McpSyncServer {
     }
 
     public void addPrompt(SyncPromptSpec promptSpec) {
-        this.asyncServer.addPrompt(AsyncPromptSpec.fromSync(promptSpec, this.immediateExecution)).block();
+        this.asyncServer.addPrompt(AsyncPromptSpec.fromSync(promptSpec, this.immediateExecution,
+                this.bulkheads.forFeature(McpBulkheads.FeatureType.PROMPT))).block();
     }
 
     public void removePrompt(String promptName) {
@@ -104,6 +122,50 @@ public class McpSyncServer {
         this.asyncServer.setProtocolVersions(protocolVersions);
     }
 
+    // the sync counterpart of McpAsyncServer.CatalogTransaction, specs are adapted as the single add methods do
+    public static final class CatalogTransaction {
+        private final McpSyncServer server;
+        private final McpAsyncServer.CatalogTransaction transaction;
+
+        private CatalogTransaction(McpSyncServer server, McpAsyncServer.CatalogTransaction transaction) {
+            this.server = server;
+            this.transaction = transaction;
+        }
+
+        public CatalogTransaction addTool(SyncToolSpec toolSpec) {
+            this.transaction.addTool(AsyncToolSpec.fromSync(toolSpec, this.server.immediateExecution,
+                    this.server.toolBulkhead(toolSpec)));
+            return this;
+        }
+
+        public CatalogTransaction removeTool(String toolName) {
+            this.transaction.removeTool(toolName);
+            return this;
+        }
+
+        public CatalogTransaction addResource(SyncResourceSpec resourceSpec) {
+            this.transaction.addResource(AsyncResourceSpec.fromSync(resourceSpec, this.server.immediateExecution,
+                    this.server.bulkheads.forFeature(McpBulkheads.FeatureType.RESOURCE)));
+            return this;
+        }
+
+        public CatalogTransaction removeResource(String resourceUri) {
+            this.transaction.removeResource(resourceUri);
+            return this;
+        }
+
+        public CatalogTransaction addPrompt(SyncPromptSpec promptSpec) {
+            this.transaction.addPrompt(AsyncPromptSpec.fromSync(promptSpec, this.server.immediateExecution,
+                    this.server.bulkheads.forFeature(McpBulkheads.FeatureType.PROMPT)));
+            return this;
+        }
+
+        public CatalogTransaction removePrompt(String promptName) {
+            this.transaction.removePrompt(promptName);
+            return this;
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -115,6 +177,7 @@ public class McpSyncServer {
         private final List<SyncPromptSpec> promptSpecs = new ArrayList<>();
         private final List<SyncCompletionSpec> completionSpecs = new ArrayList<>();
         private boolean immediateExecution = false;
+        private McpBulkheads bulkheads = McpBulkheads.NONE;
 
         private Builder() {
             this.asyncBuilder = McpAsyncServer.builder();
@@ -125,6 +188,12 @@ public class McpSyncServer {
             return this;
         }
 
+        public Builder bulkheads(McpBulkheads bulkheads) {
+            Assert.notNull(bulkheads, "bulkheads must not be null");
+            this.bulkheads = bulkheads;
+            return this;
+        }
+
         public Builder jsonMapper(JsonMapper jsonMapper) {
             this.asyncBuilder.jsonMapper(jsonMapper);
             return this;
@@ -140,6 +209,11 @@ public class McpSyncServer {
             return this;
         }
 
+        public Builder eventHistoryFactory(McpStreamableEventHistory.Factory eventHistoryFactory) {
+            this.asyncBuilder.eventHistoryFactory(eventHistoryFactory);
+            return this;
+        }
+
         public Builder serverCapabilities(ServerCapabilities serverCapabilities) {
             this.asyncBuilder.serverCapabilities(serverCapabilities);
             return this;
@@ -165,6 +239,31 @@ public class McpSyncServer {
             return this;
         }
 
+        public Builder batchConcurrency(int batchConcurrency) {
+            this.asyncBuilder.batchConcurrency(batchConcurrency);
+            return this;
+        }
+
+        public Builder listPageSize(int listPageSize) {
+            this.asyncBuilder.listPageSize(listPageSize);
+            return this;
+        }
+
+        public Builder listSnapshotRetention(int listRetainedSnapshots, Duration listSnapshotRetention) {
+            this.asyncBuilder.listSnapshotRetention(listRetainedSnapshots, listSnapshotRetention);
+            return this;
+        }
+
+        public Builder listChangedDebounce(Duration listChangedDebounce) {
+            this.asyncBuilder.listChangedDebounce(listChangedDebounce);
+            return this;
+        }
+
+        public Builder admissionController(McpAdmissionController admissionController) {
+            this.asyncBuilder.admissionController(admissionController);
+            return this;
+        }
+
         public Builder toolSpecs(List<SyncToolSpec> toolSpecs) {
             if (toolSpecs != null) {
                 Set<String> toolNames = new HashSet<>();
@@ -297,25 +396,29 @@ public class McpSyncServer {
         private void beforeBuild() {
             final List<AsyncToolSpec> asyncToolSpecs = new ArrayList<>();
             for (SyncToolSpec syncToolSpec : this.toolSpecs) {
-                asyncToolSpecs.add(AsyncToolSpec.fromSync(syncToolSpec, this.immediateExecution));
+                asyncToolSpecs.add(AsyncToolSpec.fromSync(syncToolSpec, this.immediateExecution,
+                        this.bulkheads.forTool(syncToolSpec.tool().name())));
             }
             this.asyncBuilder.toolSpecs(asyncToolSpecs);
 
             final List<AsyncResourceSpec> asyncResourceSpecs = new ArrayList<>();
             for (SyncResourceSpec syncResourceSpec : this.resourceSpecs) {
-                asyncResourceSpecs.add(AsyncResourceSpec.fromSync(syncResourceSpec, this.immediateExecution));
+                asyncResourceSpecs.add(AsyncResourceSpec.fromSync(syncResourceSpec, this.immediateExecution,
+                        this.bulkheads.forFeature(McpBulkheads.FeatureType.RESOURCE)));
             }
             this.asyncBuilder.resourceSpecs(asyncResourceSpecs);
 
             final List<AsyncPromptSpec> asyncPromptSpecs = new ArrayList<>();
             for (SyncPromptSpec syncPromptSpec : this.promptSpecs) {
-                asyncPromptSpecs.add(AsyncPromptSpec.fromSync(syncPromptSpec, this.immediateExecution));
+                asyncPromptSpecs.add(AsyncPromptSpec.fromSync(syncPromptSpec, this.immediateExecution,
+                        this.bulkheads.forFeature(McpBulkheads.FeatureType.PROMPT)));
             }
             this.asyncBuilder.promptSpecs(asyncPromptSpecs);
 
             final List<AsyncCompletionSpec> asyncCompletionSpecs = new ArrayList<>();
             for (SyncCompletionSpec syncCompletionSpec : this.completionSpecs) {
-                asyncCompletionSpecs.add(AsyncCompletionSpec.fromSync(syncCompletionSpec, this.immediateExecution));
+                asyncCompletionSpecs.add(AsyncCompletionSpec.fromSync(syncCompletionSpec, this.immediateExecution,
+                        this.bulkheads.forFeature(McpBulkheads.FeatureType.COMPLETION)));
             }
             this.asyncBuilder.completionSpecs(asyncCompletionSpecs);
         }
@@ -323,13 +426,13 @@ public class McpSyncServer {
         public McpSyncServer buildSingleSessionMcpServer(McpServerTransportProvider sessionTransportProvider) {
             this.beforeBuild();
             McpAsyncServer asyncServer = this.asyncBuilder.buildSingleSessionMcpServer(sessionTransportProvider);
-            return new McpSyncServer(asyncServer, this.immediateExecution);
+            return new McpSyncServer(asyncServer, this.immediateExecution, this.bulkheads);
         }
 
         public McpSyncServer buildStreamableSessionMcpServer(McpStreamableServerTransportProvider streamableTransportProvider) {
             this.beforeBuild();
             McpAsyncServer asyncServer = this.asyncBuilder.buildStreamableSessionMcpServer(streamableTransportProvider);
-            return new McpSyncServer(asyncServer, this.immediateExecution);
+            return new McpSyncServer(asyncServer, this.immediateExecution, this.bulkheads);
         }
     }
 }
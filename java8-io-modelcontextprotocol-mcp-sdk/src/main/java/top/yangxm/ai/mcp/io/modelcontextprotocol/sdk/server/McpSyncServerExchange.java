@@ -35,6 +35,10 @@ public class McpSyncServerExchange {
         return this.exchange.transportContext();
     }
 
+    public McpCancellationToken cancellationToken() {
+        return this.exchange.cancellationToken();
+    }
+
     public CreateMessageResult createMessage(CreateMessageRequest createMessageRequest) {
         return this.exchange.createMessage(createMessageRequest).block();
     }
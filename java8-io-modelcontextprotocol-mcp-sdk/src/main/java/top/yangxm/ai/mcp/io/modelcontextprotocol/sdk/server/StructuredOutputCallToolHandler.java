@@ -1,6 +1,7 @@
 package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server;
 
 import reactor.core.publisher.Mono;
+import top.yangxm.ai.mcp.commons.json.schema.CompiledJsonSchema;
 import top.yangxm.ai.mcp.commons.json.schema.JsonSchemaValidator;
 import top.yangxm.ai.mcp.commons.json.schema.ValidationResponse;
 import top.yangxm.ai.mcp.commons.logger.Logger;
@@ -17,6 +18,8 @@ public class StructuredOutputCallToolHandler<EX> implements BiFunction<EX, CallT
     private static final Logger logger = LoggerFactoryHolder.getLogger(StructuredOutputCallToolHandler.class);
     private final JsonSchemaValidator jsonSchemaValidator;
     private final Map<String, Object> outputSchema;
+    // compiled when the tool is registered, calls only walk the result
+    private final CompiledJsonSchema compiledOutputSchema;
     private final BiFunction<EX, CallToolRequest, Mono<CallToolResult>> delegateHandler;
 
     private StructuredOutputCallToolHandler(JsonSchemaValidator jsonSchemaValidator,
@@ -26,6 +29,7 @@ public class StructuredOutputCallToolHandler<EX> implements BiFunction<EX, CallT
         Assert.notNull(delegateHandler, "delegateHandler must not be null");
         this.jsonSchemaValidator = jsonSchemaValidator;
         this.outputSchema = outputSchema;
+        this.compiledOutputSchema = outputSchema != null ? jsonSchemaValidator.compile(outputSchema) : null;
         this.delegateHandler = delegateHandler;
     }
 
@@ -48,7 +52,7 @@ public class StructuredOutputCallToolHandler<EX> implements BiFunction<EX, CallT
                         .build();
             }
 
-            ValidationResponse validation = this.jsonSchemaValidator.validate(outputSchema, result.structuredContent());
+            ValidationResponse validation = this.compiledOutputSchema.validate(result.structuredContent());
 
             if (!validation.valid()) {
                 logger.warn("Tool call result validation failed: {}", validation.errorMessage());
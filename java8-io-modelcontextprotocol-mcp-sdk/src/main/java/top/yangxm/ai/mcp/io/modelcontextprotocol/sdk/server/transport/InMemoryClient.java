@@ -0,0 +1,178 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpEncodedResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpJsonRpcMessageParser;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Client side of an in-process connection, see InMemoryServerTransportProvider and
+// InMemoryStreamableServerTransportProvider.
+@SuppressWarnings("unused")
+public final class InMemoryClient {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(InMemoryClient.class);
+
+    private final Mode mode;
+    private final JsonMapper jsonMapper;
+    private final McpJsonRpcMessageParser parser;
+    private final Peer peer;
+    private final Map<Object, Sinks.One<JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+    // messages nobody listens to are dropped rather than buffered without bound
+    private final Sinks.Many<JSONRPCMessage> messages = Sinks.many().multicast().directBestEffort();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile String sessionId;
+
+    InMemoryClient(Mode mode, JsonMapper jsonMapper, String sessionId, Peer peer) {
+        this.mode = mode;
+        this.jsonMapper = jsonMapper;
+        this.parser = McpJsonRpcMessageParser.of(jsonMapper);
+        this.sessionId = sessionId;
+        this.peer = peer;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public Flux<JSONRPCMessage> messages() {
+        return messages.asFlux();
+    }
+
+    public Mono<Void> send(JSONRPCMessage message) {
+        Assert.notNull(message, "message must not be null");
+        return Mono.defer(() -> {
+            if (this.closed.get()) {
+                return Mono.error(McpError.of("In-memory connection is closed"));
+            }
+            return this.peer.dispatch(transfer(message));
+        });
+    }
+
+    public Mono<JSONRPCResponse> request(JSONRPCRequest request) {
+        Assert.notNull(request, "request must not be null");
+        Assert.notNull(request.id(), "request id must not be null");
+        Object key = key(request.id());
+        return Mono.defer(() -> {
+            Sinks.One<JSONRPCResponse> response = Sinks.one();
+            if (this.pendingResponses.putIfAbsent(key, response) != null) {
+                return Mono.error(McpError.of("Duplicate request id: " + request.id()));
+            }
+            return send(request)
+                    .then(response.asMono())
+                    .doFinally(signal -> this.pendingResponses.remove(key, response));
+        });
+    }
+
+    public Mono<Void> closeGracefully() {
+        return Mono.fromRunnable(this::close);
+    }
+
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.peer.disconnect(this);
+            terminate();
+        }
+    }
+
+    void sessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    void deliver(JSONRPCMessage message) {
+        receive(this.mode == Mode.ZERO_COPY ? decoded(message) : transfer(message));
+    }
+
+    void deliver(McpEncodedMessage message) {
+        receive(this.mode == Mode.ZERO_COPY ? decoded(message.message()) : this.parser.parse(message.text()));
+    }
+
+    // the server went away, e.g. the session was closed or deleted on its side
+    void closedByServer() {
+        if (this.closed.compareAndSet(false, true)) {
+            terminate();
+        }
+    }
+
+    <T> T unmarshal(Object data, TypeRef<T> typeRef) {
+        return McpRawParams.bind(this.jsonMapper, data, typeRef);
+    }
+
+    private JSONRPCMessage transfer(JSONRPCMessage message) {
+        if (this.mode == Mode.ZERO_COPY) {
+            return message;
+        }
+        return this.parser.parse(this.jsonMapper.writeValueAsBytes(message));
+    }
+
+    // results the server encoded ahead of time are handed over as the objects they were encoded from
+    private static JSONRPCMessage decoded(JSONRPCMessage message) {
+        if (message instanceof JSONRPCResponse && ((JSONRPCResponse) message).result() instanceof McpEncodedResult) {
+            JSONRPCResponse response = (JSONRPCResponse) message;
+            return new JSONRPCResponse(response.jsonrpc(), response.id(), McpEncodedResult.decode(response.result()),
+                    response.error());
+        }
+        return message;
+    }
+
+    private void receive(JSONRPCMessage message) {
+        if (message instanceof JSONRPCResponse) {
+            Sinks.One<JSONRPCResponse> response = this.pendingResponses.remove(key(((JSONRPCResponse) message).id()));
+            if (response != null) {
+                response.tryEmitValue((JSONRPCResponse) message);
+                return;
+            }
+        }
+        if (this.messages.tryEmitNext(message).isFailure()) {
+            logger.debug("No subscriber for message on in-memory session {}: {}", this.sessionId, message);
+        }
+    }
+
+    private void terminate() {
+        McpError error = McpError.of(McpSchema.ErrorCodes.INTERNAL_ERROR, "In-memory connection closed");
+        this.pendingResponses.values().forEach(response -> response.tryEmitError(error));
+        this.pendingResponses.clear();
+        this.messages.tryEmitComplete();
+    }
+
+    private static Object key(Object id) {
+        // ids round-trip through JSON as Integer or Long depending on magnitude
+        return id instanceof Number ? (Object) ((Number) id).longValue() : id;
+    }
+
+    public enum Mode {
+        // every message is written through the JsonMapper and parsed back, like on a real wire
+        COPY_ON_WIRE,
+        // McpSchema objects are handed across as they are
+        ZERO_COPY
+    }
+
+    interface Peer {
+        Mono<Void> dispatch(JSONRPCMessage message);
+
+        void disconnect(InMemoryClient client);
+    }
+}
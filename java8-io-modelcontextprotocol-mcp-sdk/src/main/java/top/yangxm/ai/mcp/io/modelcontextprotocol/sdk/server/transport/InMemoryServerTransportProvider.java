@@ -0,0 +1,179 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerSession;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransport;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportProvider;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SuppressWarnings("unused")
+public class InMemoryServerTransportProvider implements McpServerTransportProvider {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(InMemoryServerTransportProvider.class);
+
+    private final JsonMapper jsonMapper;
+    private final InMemoryClient.Mode mode;
+    private final McpTransportContext transportContext;
+    private final McpSessionLifecycleManager<McpServerSession> sessions;
+    private final AtomicBoolean isClosing = new AtomicBoolean(false);
+    private volatile McpServerSession.Factory sessionFactory;
+
+    private InMemoryServerTransportProvider(JsonMapper jsonMapper, InMemoryClient.Mode mode,
+                                            McpTransportContext transportContext,
+                                            McpSessionLifecycleManager.Policy sessionPolicy) {
+        Assert.notNull(jsonMapper, "JsonMapper must not be null");
+        Assert.notNull(mode, "Mode must not be null");
+        Assert.notNull(transportContext, "Transport context must not be null");
+
+        this.jsonMapper = jsonMapper;
+        this.mode = mode;
+        this.transportContext = transportContext;
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
+    }
+
+    @Override
+    public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    public InMemoryClient connect() {
+        if (this.isClosing.get()) {
+            throw McpError.of("Server is shutting down");
+        }
+        Assert.notNull(this.sessionFactory, "Session factory must be set before connecting, build the server first");
+        InMemoryConnection connection = new InMemoryConnection();
+        McpServerSession session = this.sessionFactory.create(connection);
+        connection.session = session;
+        this.sessions.put(connection.sessionId, session);
+        logger.debug("In-memory session {} connected in {} mode", connection.sessionId, this.mode);
+        return connection.client;
+    }
+
+    public int sessionCount() {
+        return this.sessions.size();
+    }
+
+    @Override
+    public Mono<Void> notifyClients(String method, Object params) {
+        if (sessions.isEmpty()) {
+            logger.debug("No active sessions to broadcast message to");
+            return Mono.empty();
+        }
+
+        logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        isClosing.set(true);
+        logger.debug("Initiating graceful shutdown with {} active sessions", sessions.size());
+        return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
+            sessions.clear();
+            sessions.close();
+            logger.debug("Graceful shutdown completed");
+        });
+    }
+
+    private class InMemoryConnection implements McpServerTransport, InMemoryClient.Peer {
+        private final String sessionId = UUID.randomUUID().toString();
+        private final InMemoryClient client = new InMemoryClient(mode, jsonMapper, sessionId, this);
+        private volatile McpServerSession session;
+
+        @Override
+        public String sessionId() {
+            return sessionId;
+        }
+
+        @Override
+        public Mono<Void> dispatch(JSONRPCMessage message) {
+            return this.session.handle(message)
+                    .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
+        }
+
+        @Override
+        public void disconnect(InMemoryClient client) {
+            if (sessions.remove(this.sessionId) != null) {
+                logger.debug("In-memory session {} disconnected", this.sessionId);
+                this.session.disconnect();
+            }
+        }
+
+        @Override
+        public Mono<Void> sendMessage(JSONRPCMessage message) {
+            return Mono.fromRunnable(() -> this.client.deliver(message));
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return Mono.fromRunnable(() -> this.client.deliver(message));
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+            return this.client.unmarshal(data, typeRef);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.fromRunnable(this::close);
+        }
+
+        @Override
+        public void close() {
+            sessions.remove(this.sessionId);
+            this.client.closedByServer();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private JsonMapper jsonMapper;
+        private InMemoryClient.Mode mode = InMemoryClient.Mode.COPY_ON_WIRE;
+        private McpTransportContext transportContext = McpTransportContext.EMPTY;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+
+        public Builder jsonMapper(JsonMapper jsonMapper) {
+            Assert.notNull(jsonMapper, "JsonMapper must not be null");
+            this.jsonMapper = jsonMapper;
+            return this;
+        }
+
+        public Builder mode(InMemoryClient.Mode mode) {
+            Assert.notNull(mode, "Mode must not be null");
+            this.mode = mode;
+            return this;
+        }
+
+        public Builder transportContext(McpTransportContext transportContext) {
+            Assert.notNull(transportContext, "Transport context must not be null");
+            this.transportContext = transportContext;
+            return this;
+        }
+
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public InMemoryServerTransportProvider build() {
+            return new InMemoryServerTransportProvider(jsonMapper == null ? JsonMapper.getDefault() : jsonMapper,
+                    mode, transportContext, sessionPolicy);
+        }
+    }
+}
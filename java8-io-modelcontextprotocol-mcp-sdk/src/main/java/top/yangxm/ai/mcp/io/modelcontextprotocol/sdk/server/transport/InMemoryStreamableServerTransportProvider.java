@@ -0,0 +1,278 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.commons.util.Lists;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.InitializeRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.ProtocolVersions;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession.McpStreamableServerSessionInit;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerTransport;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerTransportProvider;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SuppressWarnings("unused")
+public class InMemoryStreamableServerTransportProvider implements McpStreamableServerTransportProvider {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(InMemoryStreamableServerTransportProvider.class);
+
+    private final JsonMapper jsonMapper;
+    private final InMemoryClient.Mode mode;
+    private final McpTransportContext transportContext;
+    private final McpSessionLifecycleManager<McpStreamableServerSession> sessions;
+    private final AtomicBoolean isClosing = new AtomicBoolean(false);
+    private volatile McpStreamableServerSession.Factory sessionFactory;
+
+    private InMemoryStreamableServerTransportProvider(JsonMapper jsonMapper, InMemoryClient.Mode mode,
+                                                      McpTransportContext transportContext,
+                                                      McpSessionLifecycleManager.Policy sessionPolicy) {
+        Assert.notNull(jsonMapper, "JsonMapper must not be null");
+        Assert.notNull(mode, "Mode must not be null");
+        Assert.notNull(transportContext, "Transport context must not be null");
+
+        this.jsonMapper = jsonMapper;
+        this.mode = mode;
+        this.transportContext = transportContext;
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
+    }
+
+    @Override
+    public void setSessionFactory(McpStreamableServerSession.Factory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    // the session is created by the client's initialize request, like a POST without mcp-session-id
+    public InMemoryClient connect() {
+        if (this.isClosing.get()) {
+            throw McpError.of("Server is shutting down");
+        }
+        Assert.notNull(this.sessionFactory, "Session factory must be set before connecting, build the server first");
+        return new InMemoryConnection().client;
+    }
+
+    public int sessionCount() {
+        return this.sessions.size();
+    }
+
+    @Override
+    public List<String> protocolVersions() {
+        return Lists.of(ProtocolVersions.MCP_2024_11_05,
+                ProtocolVersions.MCP_2025_03_26,
+                ProtocolVersions.MCP_2025_06_18);
+    }
+
+    @Override
+    public Mono<Void> notifyClients(String method, Object params) {
+        if (sessions.isEmpty()) {
+            logger.debug("No active sessions to broadcast message to");
+            return Mono.empty();
+        }
+
+        logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        isClosing.set(true);
+        logger.debug("Initiating graceful shutdown with {} active sessions", sessions.size());
+        return Flux.fromIterable(sessions.values())
+                .flatMap(McpStreamableServerSession::closeGracefully)
+                .then()
+                .doOnSuccess(v -> {
+                    sessions.clear();
+                    sessions.close();
+                    logger.debug("Graceful shutdown completed");
+                });
+    }
+
+    private class InMemoryConnection implements InMemoryClient.Peer {
+        private final InMemoryClient client = new InMemoryClient(mode, jsonMapper, null, this);
+        private volatile McpStreamableServerSession session;
+
+        @Override
+        public Mono<Void> dispatch(JSONRPCMessage message) {
+            return handle(message).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
+        }
+
+        private Mono<Void> handle(JSONRPCMessage message) {
+            if (message instanceof JSONRPCRequest
+                    && McpSchema.METHOD_INITIALIZE.equals(((JSONRPCRequest) message).method())) {
+                return initialize((JSONRPCRequest) message);
+            }
+            if (message instanceof JSONRPCBatch && ((JSONRPCBatch) message).containsRequest(McpSchema.METHOD_INITIALIZE)) {
+                return Mono.error(McpError.of("Initialize request must not be part of a batch"));
+            }
+            McpStreamableServerSession session = this.session;
+            if (session == null) {
+                return Mono.error(McpError.of("Session not initialized"));
+            }
+
+            if (message instanceof JSONRPCResponse) {
+                return session.accept((JSONRPCResponse) message);
+            } else if (message instanceof JSONRPCNotification) {
+                return session.accept((JSONRPCNotification) message);
+            } else if (message instanceof JSONRPCRequest) {
+                JSONRPCRequest request = (JSONRPCRequest) message;
+                JSONRPCError rejection = session.checkAdmission(request);
+                if (rejection != null) {
+                    return Mono.fromRunnable(() -> this.client.deliver(
+                            JSONRPCResponse.ofError(request.id(), rejection.code(), rejection.message())));
+                }
+                return session.responseStream(request, new InMemoryStreamTransport(this, false));
+            } else if (message instanceof JSONRPCBatch) {
+                JSONRPCBatch batch = (JSONRPCBatch) message;
+                if (!batch.hasRequests()) {
+                    return session.accept(batch);
+                }
+                return session.responseStream(batch, new InMemoryStreamTransport(this, false));
+            }
+            return Mono.error(McpError.of("Unknown message type"));
+        }
+
+        private Mono<Void> initialize(JSONRPCRequest request) {
+            if (this.session != null) {
+                return Mono.error(McpError.of("Session already initialized: " + this.session.id()));
+            }
+            InitializeRequest initializeRequest = this.client.unmarshal(request.params(),
+                    new TypeRef<InitializeRequest>() {
+                    });
+            McpStreamableServerSessionInit init = sessionFactory.startSession(initializeRequest);
+            McpStreamableServerSession session = init.session();
+            this.session = session;
+            this.client.sessionId(session.id());
+            sessions.put(session.id(), session);
+            // server initiated messages go out on the listening stream, for HTTP that is the GET request
+            session.listeningStream(new InMemoryStreamTransport(this, true));
+            logger.debug("In-memory streamable session {} initialized in {} mode", session.id(), mode);
+            return init.initResult()
+                    .doOnNext(result -> this.client.deliver(
+                            new JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null)))
+                    .then();
+        }
+
+        @Override
+        public void disconnect(InMemoryClient client) {
+            McpStreamableServerSession session = this.session;
+            if (session == null || sessions.remove(session.id()) == null) {
+                return;
+            }
+            logger.debug("In-memory streamable session {} disconnected", session.id());
+            session.delete().subscribe(null,
+                    e -> logger.error("Failed to delete session {}: {}", session.id(), e.getMessage()));
+        }
+    }
+
+    private class InMemoryStreamTransport implements McpStreamableServerTransport {
+        private final InMemoryConnection connection;
+        private final boolean listening;
+
+        private InMemoryStreamTransport(InMemoryConnection connection, boolean listening) {
+            this.connection = connection;
+            this.listening = listening;
+        }
+
+        @Override
+        public String sessionId() {
+            return this.connection.client.sessionId();
+        }
+
+        @Override
+        public Mono<Void> sendMessage(JSONRPCMessage message) {
+            return sendMessage(message, null);
+        }
+
+        @Override
+        public Mono<Void> sendMessage(JSONRPCMessage message, String messageId) {
+            return Mono.fromRunnable(() -> this.connection.client.deliver(message));
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return sendEncodedMessage(message, null);
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message, String messageId) {
+            return Mono.fromRunnable(() -> this.connection.client.deliver(message));
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+            return this.connection.client.unmarshal(data, typeRef);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.fromRunnable(this::close);
+        }
+
+        @Override
+        public void close() {
+            // response streams end with their response, only the listening stream ends the connection
+            if (this.listening) {
+                McpStreamableServerSession session = this.connection.session;
+                if (session != null) {
+                    sessions.remove(session.id());
+                }
+                this.connection.client.closedByServer();
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private JsonMapper jsonMapper;
+        private InMemoryClient.Mode mode = InMemoryClient.Mode.COPY_ON_WIRE;
+        private McpTransportContext transportContext = McpTransportContext.EMPTY;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+
+        public Builder jsonMapper(JsonMapper jsonMapper) {
+            Assert.notNull(jsonMapper, "JsonMapper must not be null");
+            this.jsonMapper = jsonMapper;
+            return this;
+        }
+
+        public Builder mode(InMemoryClient.Mode mode) {
+            Assert.notNull(mode, "Mode must not be null");
+            this.mode = mode;
+            return this;
+        }
+
+        public Builder transportContext(McpTransportContext transportContext) {
+            Assert.notNull(transportContext, "Transport context must not be null");
+            this.transportContext = transportContext;
+            return this;
+        }
+
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public InMemoryStreamableServerTransportProvider build() {
+            return new InMemoryStreamableServerTransportProvider(jsonMapper == null ? JsonMapper.getDefault() : jsonMapper,
+                    mode, transportContext, sessionPolicy);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpSession;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
+
+import java.util.Collection;
+
+// Encodes a notification once and hands the same frame to every session. What that saves grows with the payload,
+// for a tiny list_changed the per-session write dominates and a broadcast costs about what the old loop did.
+@SuppressWarnings("unused")
+public final class McpNotificationBroadcaster {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpNotificationBroadcaster.class);
+
+    public static final int DEFAULT_CONCURRENCY = 256;
+
+    private McpNotificationBroadcaster() {
+    }
+
+    public static Mono<Void> broadcast(JsonMapper jsonMapper, Collection<? extends McpSession> sessions,
+                                       String method, Object params) {
+        return broadcast(jsonMapper, sessions, method, params, DEFAULT_CONCURRENCY, null);
+    }
+
+    public static Mono<Void> broadcast(JsonMapper jsonMapper, Collection<? extends McpSession> sessions,
+                                       String method, Object params, Scheduler scheduler) {
+        return broadcast(jsonMapper, sessions, method, params, DEFAULT_CONCURRENCY, scheduler);
+    }
+
+    public static Mono<Void> broadcast(JsonMapper jsonMapper, Collection<? extends McpSession> sessions,
+                                       String method, Object params, int concurrency, Scheduler scheduler) {
+        Assert.notNull(jsonMapper, "jsonMapper must not be null");
+        Assert.notNull(sessions, "sessions must not be null");
+        Assert.hasText(method, "method must not be empty");
+        Assert.isTrue(concurrency > 0, "concurrency must be positive");
+        if (sessions.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> McpEncodedMessage.encode(jsonMapper, JSONRPCNotification.of(method, params)))
+                .flatMap(encoded -> broadcast(sessions, encoded, concurrency, scheduler));
+    }
+
+    public static Mono<Void> broadcast(Collection<? extends McpSession> sessions, McpEncodedMessage notification,
+                                       int concurrency, Scheduler scheduler) {
+        Assert.notNull(sessions, "sessions must not be null");
+        Assert.notNull(notification, "notification must not be null");
+        Assert.isTrue(notification.message() instanceof JSONRPCNotification, "message must be a notification");
+        Assert.isTrue(concurrency > 0, "concurrency must be positive");
+        return Flux.fromIterable(sessions)
+                .flatMap(session -> {
+                    Mono<Void> send = Mono.defer(() -> session.sendEncodedNotification(notification));
+                    if (scheduler != null) {
+                        send = send.subscribeOn(scheduler);
+                    }
+                    return send.onErrorResume(e -> {
+                        logger.error("Failed to send notification to session {}: {}", session, e.getMessage());
+                        return Mono.empty();
+                    });
+                }, concurrency)
+                .then();
+    }
+}
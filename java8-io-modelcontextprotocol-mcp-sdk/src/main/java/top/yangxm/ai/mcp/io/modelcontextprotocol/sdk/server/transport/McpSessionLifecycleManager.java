@@ -0,0 +1,375 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings("unused")
+public final class McpSessionLifecycleManager<S extends McpSession> {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(McpSessionLifecycleManager.class);
+
+    private final Policy policy;
+    private final ConcurrentHashMap<String, Entry<S>> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<McpSession, Entry<S>> entriesBySession = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Entry<S>> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    // insertion ordered, every removal unlinks the entry so it never outlives its session
+    private final LinkedHashMap<String, Entry<S>> creationOrder = new LinkedHashMap<>();
+    private final Map<EvictionReason, AtomicLong> evictionCounters = new EnumMap<>(EvictionReason.class);
+    private final Disposable sweeper;
+
+    public McpSessionLifecycleManager(Policy policy) {
+        Assert.notNull(policy, "policy must not be null");
+        this.policy = policy;
+        for (EvictionReason reason : EvictionReason.values()) {
+            this.evictionCounters.put(reason, new AtomicLong());
+        }
+        if (policy.idleTimeout != null || policy.maxLifetime != null) {
+            this.sweeper = Flux.interval(policy.sweepInterval, policy.sweepInterval, policy.scheduler)
+                    .onBackpressureDrop(tick -> logger.debug("Session sweep {} dropped, previous sweep still running", tick))
+                    .subscribe(this::sweepSafely, e -> logger.error("Session sweeper failed", e));
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    public void put(String sessionId, S session) {
+        Assert.hasText(sessionId, "sessionId must not be empty");
+        Assert.notNull(session, "session must not be null");
+        Entry<S> entry = new Entry<>(sessionId, session, System.nanoTime());
+        Entry<S> previous = this.sessions.put(sessionId, entry);
+        if (previous != null) {
+            this.entriesBySession.remove(previous.session);
+        }
+        this.entriesBySession.put(session, entry);
+        List<Entry<S>> evicted = Collections.emptyList();
+        synchronized (this.lock) {
+            if (previous != null) {
+                unlink(previous);
+            }
+            this.accessOrder.put(sessionId, entry);
+            if (this.policy.maxLifetime != null) {
+                this.creationOrder.put(sessionId, entry);
+            }
+            if (this.policy.maxSessions > 0 && this.accessOrder.size() > this.policy.maxSessions) {
+                evicted = new ArrayList<>();
+                Iterator<Entry<S>> it = this.accessOrder.values().iterator();
+                while (this.accessOrder.size() > this.policy.maxSessions && it.hasNext()) {
+                    Entry<S> eldest = it.next();
+                    it.remove();
+                    unlink(eldest);
+                    evicted.add(eldest);
+                }
+            }
+        }
+        evicted.forEach(e -> evict(e, EvictionReason.CAPACITY));
+    }
+
+    public S get(String sessionId) {
+        Entry<S> entry = this.sessions.get(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        touch(entry);
+        return entry.session;
+    }
+
+    public S remove(String sessionId) {
+        Entry<S> entry = this.sessions.remove(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        detach(entry);
+        return entry.session;
+    }
+
+    public Collection<S> values() {
+        List<S> values = new ArrayList<>(this.sessions.size());
+        this.sessions.values().forEach(entry -> values.add(entry.session));
+        return values;
+    }
+
+    public boolean isEmpty() {
+        return this.sessions.isEmpty();
+    }
+
+    public int size() {
+        return this.sessions.size();
+    }
+
+    public void clear() {
+        this.sessions.clear();
+        this.entriesBySession.clear();
+        synchronized (this.lock) {
+            this.accessOrder.clear();
+            this.creationOrder.clear();
+        }
+    }
+
+    // a pong only proves the client is alive, the idle timeout still counts from its last real request
+    public void pingSucceeded(McpSession session) {
+        Entry<S> entry = this.entriesBySession.get(session);
+        if (entry != null) {
+            entry.failedPings.set(0);
+        }
+    }
+
+    public void pingFailed(McpSession session) {
+        Entry<S> entry = this.entriesBySession.get(session);
+        if (entry == null || this.policy.maxFailedPings <= 0) {
+            return;
+        }
+        if (entry.failedPings.incrementAndGet() >= this.policy.maxFailedPings
+                && this.sessions.remove(entry.id, entry)) {
+            detach(entry);
+            evict(entry, EvictionReason.PING_FAILURES);
+        }
+    }
+
+    public long evictionCount(EvictionReason reason) {
+        return this.evictionCounters.get(reason).get();
+    }
+
+    public Map<EvictionReason, Long> evictionCounts() {
+        Map<EvictionReason, Long> counts = new EnumMap<>(EvictionReason.class);
+        this.evictionCounters.forEach((reason, counter) -> counts.put(reason, counter.get()));
+        return counts;
+    }
+
+    public void close() {
+        if (this.sweeper != null) {
+            this.sweeper.dispose();
+        }
+    }
+
+    // a failing sweep is logged and skipped, the next tick runs as usual
+    private void sweepSafely(long tick) {
+        try {
+            sweep();
+        } catch (Exception e) {
+            logger.warn("Session sweep {} failed: {}", tick, e.getMessage());
+        }
+    }
+
+    void sweep() {
+        long now = System.nanoTime();
+        List<Entry<S>> idle = new ArrayList<>();
+        List<Entry<S>> expired = new ArrayList<>();
+        synchronized (this.lock) {
+            if (this.policy.idleTimeout != null) {
+                long idleNanos = this.policy.idleTimeout.toNanos();
+                Iterator<Entry<S>> it = this.accessOrder.values().iterator();
+                while (it.hasNext()) {
+                    Entry<S> entry = it.next();
+                    if (now - entry.lastAccessNanos < idleNanos) {
+                        break;
+                    }
+                    it.remove();
+                    unlink(entry);
+                    idle.add(entry);
+                }
+            }
+            if (this.policy.maxLifetime != null) {
+                long lifetimeNanos = this.policy.maxLifetime.toNanos();
+                Iterator<Entry<S>> it = this.creationOrder.values().iterator();
+                while (it.hasNext()) {
+                    Entry<S> entry = it.next();
+                    if (now - entry.createdNanos < lifetimeNanos) {
+                        break;
+                    }
+                    it.remove();
+                    unlink(entry);
+                    expired.add(entry);
+                }
+            }
+        }
+        idle.forEach(entry -> evict(entry, EvictionReason.IDLE_TIMEOUT));
+        expired.forEach(entry -> evict(entry, EvictionReason.MAX_LIFETIME));
+    }
+
+    private void touch(Entry<S> entry) {
+        entry.lastAccessNanos = System.nanoTime();
+        synchronized (this.lock) {
+            if (!entry.removed) {
+                this.accessOrder.get(entry.id);
+            }
+        }
+    }
+
+    private void detach(Entry<S> entry) {
+        this.entriesBySession.remove(entry.session, entry);
+        synchronized (this.lock) {
+            unlink(entry);
+        }
+    }
+
+    // callers hold the lock
+    private void unlink(Entry<S> entry) {
+        entry.removed = true;
+        this.accessOrder.remove(entry.id, entry);
+        this.creationOrder.remove(entry.id, entry);
+    }
+
+    private void evict(Entry<S> entry, EvictionReason reason) {
+        synchronized (this.lock) {
+            unlink(entry);
+        }
+        this.sessions.remove(entry.id, entry);
+        this.entriesBySession.remove(entry.session, entry);
+        this.evictionCounters.get(reason).incrementAndGet();
+        logger.debug("Evicting session {} ({})", entry.id, reason);
+        entry.session.closeGracefully()
+                .subscribe(null, e -> logger.warn("Failed to close evicted session {}: {}", entry.id, e.getMessage()));
+    }
+
+    public static Policy.Builder policy() {
+        return new Policy.Builder();
+    }
+
+    public enum EvictionReason {
+        IDLE_TIMEOUT,
+        MAX_LIFETIME,
+        CAPACITY,
+        PING_FAILURES
+    }
+
+    private static final class Entry<S> {
+        private final String id;
+        private final S session;
+        private final long createdNanos;
+        private final AtomicInteger failedPings = new AtomicInteger();
+        private volatile long lastAccessNanos;
+        private boolean removed;
+
+        private Entry(String id, S session, long createdNanos) {
+            this.id = id;
+            this.session = session;
+            this.createdNanos = createdNanos;
+            this.lastAccessNanos = createdNanos;
+        }
+    }
+
+    public static final class Policy {
+        public static final Policy UNBOUNDED = new Builder().build();
+
+        private final Duration idleTimeout;
+        private final Duration maxLifetime;
+        private final int maxSessions;
+        private final int maxFailedPings;
+        private final Duration sweepInterval;
+        private final Scheduler scheduler;
+
+        private Policy(Builder builder) {
+            this.idleTimeout = builder.idleTimeout;
+            this.maxLifetime = builder.maxLifetime;
+            this.maxSessions = builder.maxSessions;
+            this.maxFailedPings = builder.maxFailedPings;
+            this.sweepInterval = builder.sweepInterval;
+            this.scheduler = builder.scheduler;
+        }
+
+        public Duration idleTimeout() {
+            return idleTimeout;
+        }
+
+        public Duration maxLifetime() {
+            return maxLifetime;
+        }
+
+        public int maxSessions() {
+            return maxSessions;
+        }
+
+        public int maxFailedPings() {
+            return maxFailedPings;
+        }
+
+        public Duration sweepInterval() {
+            return sweepInterval;
+        }
+
+        @Override
+        public String toString() {
+            return "Policy{" +
+                    "idleTimeout=" + idleTimeout +
+                    ", maxLifetime=" + maxLifetime +
+                    ", maxSessions=" + maxSessions +
+                    ", maxFailedPings=" + maxFailedPings +
+                    ", sweepInterval=" + sweepInterval +
+                    '}';
+        }
+
+        public static final class Builder {
+            private Duration idleTimeout;
+            private Duration maxLifetime;
+            private int maxSessions;
+            private int maxFailedPings;
+            private Duration sweepInterval = Duration.ofSeconds(10);
+            private Scheduler scheduler = Schedulers.parallel();
+
+            private Builder() {
+            }
+
+            public Builder idleTimeout(Duration idleTimeout) {
+                Assert.isTrue(idleTimeout == null || !idleTimeout.isNegative() && !idleTimeout.isZero(),
+                        "idleTimeout must be positive");
+                this.idleTimeout = idleTimeout;
+                return this;
+            }
+
+            public Builder maxLifetime(Duration maxLifetime) {
+                Assert.isTrue(maxLifetime == null || !maxLifetime.isNegative() && !maxLifetime.isZero(),
+                        "maxLifetime must be positive");
+                this.maxLifetime = maxLifetime;
+                return this;
+            }
+
+            public Builder maxSessions(int maxSessions) {
+                Assert.isTrue(maxSessions >= 0, "maxSessions must not be negative");
+                this.maxSessions = maxSessions;
+                return this;
+            }
+
+            public Builder maxFailedPings(int maxFailedPings) {
+                Assert.isTrue(maxFailedPings >= 0, "maxFailedPings must not be negative");
+                this.maxFailedPings = maxFailedPings;
+                return this;
+            }
+
+            public Builder sweepInterval(Duration sweepInterval) {
+                Assert.notNull(sweepInterval, "sweepInterval must not be null");
+                Assert.isTrue(!sweepInterval.isNegative() && !sweepInterval.isZero(), "sweepInterval must be positive");
+                this.sweepInterval = sweepInterval;
+                return this;
+            }
+
+            public Builder scheduler(Scheduler scheduler) {
+                Assert.notNull(scheduler, "scheduler must not be null");
+                this.scheduler = scheduler;
+                return this;
+            }
+
+            public Policy build() {
+                return new Policy(this);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -11,18 +11,25 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
-import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpJsonRpcMessageParser;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerSession;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransport;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportProvider;
 
-import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -34,6 +41,8 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
     private final JsonMapper jsonMapper;
     private final InputStream inputStream;
     private final OutputStream outputStream;
+    private final ReadableByteChannel inputChannel;
+    private final WritableByteChannel outputChannel;
     private McpServerSession session;
     private final AtomicBoolean isClosing = new AtomicBoolean(false);
     private final Sinks.One<Void> inboundReady = Sinks.one();
@@ -50,6 +59,27 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
         this.jsonMapper = jsonMapper;
         this.inputStream = inputStream;
         this.outputStream = outputStream;
+        this.inputChannel = null;
+        this.outputChannel = null;
+    }
+
+    public StdioServerTransportProvider(JsonMapper jsonMapper, ReadableByteChannel inputChannel, WritableByteChannel outputChannel) {
+        Assert.notNull(jsonMapper, "The JsonMapper can not be null");
+        Assert.notNull(inputChannel, "The input channel can not be null");
+        Assert.notNull(outputChannel, "The output channel can not be null");
+
+        this.jsonMapper = jsonMapper;
+        this.inputStream = null;
+        this.outputStream = null;
+        this.inputChannel = inputChannel;
+        this.outputChannel = outputChannel;
+    }
+
+    public static StdioServerTransportProvider ofChannels(JsonMapper jsonMapper) {
+        // bypasses System.out, whose PrintStream flushes on every write
+        return new StdioServerTransportProvider(jsonMapper,
+                new FileInputStream(FileDescriptor.in).getChannel(),
+                new FileOutputStream(FileDescriptor.out).getChannel());
     }
 
     @Override
@@ -84,6 +114,8 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
         private final Scheduler inboundScheduler;
         private final Scheduler outboundScheduler;
         private final Sinks.One<Void> outboundReady = Sinks.one();
+        private final ChannelWriter channelWriter;
+        private boolean flushScheduled;
 
         public StdioMcpTransport() {
             this.sessionId = UUID.randomUUID().toString();
@@ -91,6 +123,7 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
             this.outboundSink = Sinks.many().unicast().onBackpressureBuffer();
             this.inboundScheduler = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(), "stdio-inbound");
             this.outboundScheduler = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(), "stdio-outbound");
+            this.channelWriter = outputChannel != null ? new ChannelWriter(outputChannel) : null;
         }
 
         @Override
@@ -126,7 +159,7 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
         @Override
         public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
-            return jsonMapper.convertValue(data, typeRef);
+            return McpRawParams.bind(jsonMapper, data, typeRef);
         }
 
         private void initProcessing() {
@@ -146,20 +179,25 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
             if (isStarted.compareAndSet(false, true)) {
                 this.inboundScheduler.schedule(() -> {
                     inboundReady.tryEmitValue(null);
-                    BufferedReader reader = null;
                     try {
-                        reader = new BufferedReader(new InputStreamReader(inputStream));
+                        McpJsonRpcMessageParser parser = McpJsonRpcMessageParser.of(jsonMapper);
+                        LineReader reader = new LineReader(inputStream, inputChannel);
                         while (!isClosing.get()) {
                             try {
-                                String line = reader.readLine();
-                                if (line == null || isClosing.get()) {
+                                if (!reader.readLine() || isClosing.get()) {
                                     break;
                                 }
+                                if (reader.length() == 0) {
+                                    continue;
+                                }
 
-                                logger.debug("Received JSON message: {}", line);
+                                if (logger.isDebugEnabled()) {
+                                    logger.debug("Received JSON message: {}",
+                                            new String(reader.buffer(), 0, reader.length(), StandardCharsets.UTF_8));
+                                }
 
                                 try {
-                                    JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, line);
+                                    JSONRPCMessage message = parser.parse(reader.buffer(), 0, reader.length());
                                     if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
                                         break;
                                     }
@@ -192,15 +230,11 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
                     .handle((message, sink) -> {
                         if (message != null && !isClosing.get()) {
                             try {
-                                String jsonMessage = jsonMapper.writeValueAsString(message);
-                                jsonMessage = jsonMessage.replace("\r\n", "\\n")
-                                        .replace("\n", "\\n")
-                                        .replace("\r", "\\n");
-
-                                synchronized (outputStream) {
-                                    outputStream.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-                                    outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
-                                    outputStream.flush();
+                                if (channelWriter != null) {
+                                    jsonMapper.writeValue(message, channelWriter::writeLine);
+                                    scheduleFlush();
+                                } else {
+                                    jsonMapper.writeValue(message, this::writeLine);
                                 }
                                 sink.next(message);
                             }
@@ -220,6 +254,9 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
                     })
                     .doOnComplete(() -> {
                         isClosing.set(true);
+                        if (channelWriter != null) {
+                            flushChannel();
+                        }
                         outboundScheduler.dispose();
                     })
                     .doOnError(e -> {
@@ -234,10 +271,172 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
             outboundConsumer.apply(outboundSink.asFlux()).subscribe();
         }
 
+        private void writeLine(byte[] json, int offset, int length) throws IOException {
+            synchronized (outputStream) {
+                // JSON strings never contain raw line breaks, so any here are pretty-printing whitespace
+                int start = offset;
+                int end = offset + length;
+                for (int i = offset; i < end; i++) {
+                    if (json[i] == '\n' || json[i] == '\r') {
+                        outputStream.write(json, start, i - start);
+                        start = i + 1;
+                    }
+                }
+                outputStream.write(json, start, end - start);
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+        }
+
+        private void scheduleFlush() {
+            if (!this.flushScheduled) {
+                this.flushScheduled = true;
+                // queued behind the publishOn drain on the single outbound thread, so a burst of messages
+                // goes out in one channel write instead of one per message
+                this.outboundScheduler.schedule(this::flushChannel);
+            }
+        }
+
+        private void flushChannel() {
+            this.flushScheduled = false;
+            try {
+                this.channelWriter.flush();
+            } catch (IOException e) {
+                logIfNotClosing("Error writing message", e);
+                isClosing.set(true);
+            }
+        }
+
         private void logIfNotClosing(String message, Exception e) {
             if (!isClosing.get()) {
                 logger.error(message, e);
             }
         }
     }
+
+    private static final class LineReader {
+        private static final int CHUNK_SIZE = 8192;
+
+        private final InputStream inputStream;
+        private final ReadableByteChannel channel;
+        private final ByteBuffer direct;
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+        private int chunkPosition;
+        private int chunkLimit;
+        private byte[] line = new byte[8192];
+        private int length;
+
+        private LineReader(InputStream inputStream, ReadableByteChannel channel) {
+            this.inputStream = inputStream;
+            this.channel = channel;
+            this.direct = channel != null ? ByteBuffer.allocateDirect(CHUNK_SIZE) : null;
+        }
+
+        private boolean readLine() throws IOException {
+            this.length = 0;
+            while (true) {
+                if (this.chunkPosition == this.chunkLimit) {
+                    int read = read();
+                    if (read < 0) {
+                        return this.length > 0;
+                    }
+                    this.chunkPosition = 0;
+                    this.chunkLimit = read;
+                }
+                int start = this.chunkPosition;
+                while (this.chunkPosition < this.chunkLimit && this.chunk[this.chunkPosition] != '\n') {
+                    this.chunkPosition++;
+                }
+                append(start, this.chunkPosition - start);
+                if (this.chunkPosition < this.chunkLimit) {
+                    this.chunkPosition++;
+                    if (this.length > 0 && this.line[this.length - 1] == '\r') {
+                        this.length--;
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            if (this.channel == null) {
+                return this.inputStream.read(this.chunk);
+            }
+            // through Buffer, ByteBuffer's own overrides only exist since Java 9
+            ((Buffer) this.direct).clear();
+            int read = this.channel.read(this.direct);
+            if (read > 0) {
+                ((Buffer) this.direct).flip();
+                this.direct.get(this.chunk, 0, read);
+            }
+            return read;
+        }
+
+        private void append(int offset, int count) {
+            if (this.length + count > this.line.length) {
+                this.line = Arrays.copyOf(this.line, Math.max(this.line.length * 2, this.length + count));
+            }
+            System.arraycopy(this.chunk, offset, this.line, this.length, count);
+            this.length += count;
+        }
+
+        private byte[] buffer() {
+            return this.line;
+        }
+
+        private int length() {
+            return this.length;
+        }
+    }
+
+    private static final class ChannelWriter {
+        private static final int CAPACITY = 64 * 1024;
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY);
+
+        private ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        private void writeLine(byte[] json, int offset, int length) throws IOException {
+            // line breaks can only come from pretty-printing, drop them while copying into the buffer
+            int start = offset;
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                if (json[i] == '\n' || json[i] == '\r') {
+                    put(json, start, i - start);
+                    start = i + 1;
+                }
+            }
+            put(json, start, end - start);
+            if (!this.buffer.hasRemaining()) {
+                flush();
+            }
+            this.buffer.put((byte) '\n');
+        }
+
+        private void put(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!this.buffer.hasRemaining()) {
+                    flush();
+                }
+                int count = Math.min(length, this.buffer.remaining());
+                this.buffer.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        private void flush() throws IOException {
+            ((Buffer) this.buffer).flip();
+            try {
+                while (this.buffer.hasRemaining()) {
+                    this.channel.write(this.buffer);
+                }
+            } finally {
+                ((Buffer) this.buffer).clear();
+            }
+        }
+    }
 }
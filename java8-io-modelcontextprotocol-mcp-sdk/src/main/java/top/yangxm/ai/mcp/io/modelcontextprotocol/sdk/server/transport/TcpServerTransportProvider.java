@@ -0,0 +1,624 @@
+package top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
+import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.commons.logger.Logger;
+import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
+import top.yangxm.ai.mcp.commons.util.Assert;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.KeepAliveScheduler;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpJsonRpcMessageParser;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerSession;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransport;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@SuppressWarnings("unused")
+public class TcpServerTransportProvider implements McpServerTransportProvider {
+    private static final Logger logger = LoggerFactoryHolder.getLogger(TcpServerTransportProvider.class);
+
+    public static final String DEFAULT_HOST = "127.0.0.1";
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+    public static final String REMOTE_ADDRESS_KEY = "remoteAddress";
+
+    private static final int READ_CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_RETAINED_INPUT = 256 * 1024;
+    private static final int MAX_GATHERED_WRITES = 64;
+
+    private final JsonMapper jsonMapper;
+    private final McpJsonRpcMessageParser parser;
+    private final InetSocketAddress bindAddress;
+    private final int ioThreads;
+    private final int maxMessageSize;
+    private final McpSessionLifecycleManager<McpServerSession> sessions;
+    private final KeepAliveScheduler keepAliveScheduler;
+    private final AtomicBoolean isClosing = new AtomicBoolean(false);
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private volatile McpServerSession.Factory sessionFactory;
+    private ServerSocketChannel serverChannel;
+    private IoLoop[] loops;
+
+    private TcpServerTransportProvider(JsonMapper jsonMapper, InetSocketAddress bindAddress, int ioThreads,
+                                       int maxMessageSize, Duration keepAliveInterval,
+                                       McpSessionLifecycleManager.Policy sessionPolicy,
+                                       Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+        Assert.notNull(jsonMapper, "JsonMapper must not be null");
+        Assert.notNull(bindAddress, "bindAddress must not be null");
+
+        this.jsonMapper = jsonMapper;
+        this.parser = McpJsonRpcMessageParser.of(jsonMapper);
+        this.bindAddress = bindAddress;
+        this.ioThreads = ioThreads;
+        this.maxMessageSize = maxMessageSize;
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
+        if (keepAliveInterval != null) {
+            KeepAliveScheduler.Builder keepAliveBuilder = KeepAliveScheduler
+                    .builder(() -> (isClosing.get()) ? Flux.empty() : Flux.fromIterable(sessions.values()))
+                    .initialDelay(keepAliveInterval)
+                    .interval(keepAliveInterval)
+                    .onPingSuccess(sessions::pingSucceeded)
+                    .onPingFailure(sessions::pingFailed);
+            keepAliveCustomizer.accept(keepAliveBuilder);
+            this.keepAliveScheduler = keepAliveBuilder.build();
+
+            this.keepAliveScheduler.start();
+        } else {
+            this.keepAliveScheduler = null;
+        }
+    }
+
+    @Override
+    public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        start();
+    }
+
+    public synchronized InetSocketAddress localAddress() {
+        if (this.serverChannel == null) {
+            return null;
+        }
+        try {
+            return (InetSocketAddress) this.serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public int sessionCount() {
+        return this.sessions.size();
+    }
+
+    private synchronized void start() {
+        if (this.serverChannel != null) {
+            return;
+        }
+        ServerSocketChannel server = null;
+        try {
+            server = ServerSocketChannel.open();
+            server.configureBlocking(false);
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(this.bindAddress);
+            IoLoop[] loops = new IoLoop[this.ioThreads];
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new IoLoop(i);
+            }
+            // the first loop accepts and deals connections out round-robin
+            server.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+            this.serverChannel = server;
+            this.loops = loops;
+            for (IoLoop loop : loops) {
+                loop.thread.start();
+            }
+            logger.debug("MCP TCP transport listening on {} with {} I/O threads", server.getLocalAddress(), loops.length);
+        } catch (IOException e) {
+            if (server != null) {
+                closeQuietly(server);
+            }
+            throw new IllegalStateException("Failed to bind MCP TCP transport to " + this.bindAddress, e);
+        }
+    }
+
+    @Override
+    public Mono<Void> notifyClients(String method, Object params) {
+        if (sessions.isEmpty()) {
+            logger.debug("No active sessions to broadcast message to");
+            return Mono.empty();
+        }
+
+        logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        isClosing.set(true);
+        logger.debug("Initiating graceful shutdown with {} active sessions", sessions.size());
+        return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
+            sessions.clear();
+            sessions.close();
+            if (this.keepAliveScheduler != null) {
+                this.keepAliveScheduler.shutdown();
+            }
+            stop();
+            logger.debug("Graceful shutdown completed");
+        });
+    }
+
+    private synchronized void stop() {
+        if (this.serverChannel == null) {
+            return;
+        }
+        closeQuietly(this.serverChannel);
+        for (IoLoop loop : this.loops) {
+            // queued behind the pending flushes of gracefully closing connections
+            loop.execute(loop::shutdown);
+        }
+    }
+
+    private void disconnect(TcpConnection connection) {
+        McpServerSession session = this.sessions.remove(connection.sessionId);
+        if (session != null) {
+            logger.debug("TCP connection closed for session: {}", connection.sessionId);
+            session.disconnect();
+        }
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close {}: {}", closeable, e.getMessage());
+        }
+    }
+
+    private final class IoLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_CHUNK_SIZE);
+        private final ByteBuffer[] writeBatch = new ByteBuffer[MAX_GATHERED_WRITES];
+        private volatile boolean running = true;
+
+        private IoLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "mcp-tcp-io-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void execute(Runnable task) {
+            this.tasks.add(task);
+            this.selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (this.running) {
+                try {
+                    this.selector.select();
+                    runTasks();
+                    Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        TcpConnection connection = (TcpConnection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    }
+                } catch (ClosedSelectorException e) {
+                    break;
+                } catch (Exception e) {
+                    if (this.running) {
+                        logger.error("Error in MCP TCP I/O loop", e);
+                    }
+                }
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = this.tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private void accept() throws IOException {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                if (isClosing.get() || sessionFactory == null) {
+                    closeQuietly(channel);
+                    continue;
+                }
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                IoLoop loop = loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+                SocketChannel accepted = channel;
+                if (loop == this) {
+                    open(accepted);
+                } else {
+                    loop.execute(() -> loop.open(accepted));
+                }
+            }
+        }
+
+        private void open(SocketChannel channel) {
+            TcpConnection connection;
+            try {
+                connection = new TcpConnection(this, channel);
+                connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+            } catch (IOException e) {
+                logger.warn("Failed to register TCP connection: {}", e.getMessage());
+                closeQuietly(channel);
+                return;
+            }
+            McpServerSession session = sessionFactory.create(connection);
+            sessions.put(connection.sessionId, session);
+            connection.start(session);
+            logger.debug("Accepted TCP connection from {} as session {}", connection.remoteAddress, connection.sessionId);
+        }
+
+        private void shutdown() {
+            this.running = false;
+            for (SelectionKey key : this.selector.keys()) {
+                Object attachment = key.attachment();
+                if (attachment instanceof TcpConnection) {
+                    ((TcpConnection) attachment).closeChannel();
+                }
+            }
+            closeQuietly(this.selector);
+        }
+    }
+
+    private final class TcpConnection implements McpServerTransport {
+        private final String sessionId = UUID.randomUUID().toString();
+        private final IoLoop loop;
+        private final SocketChannel channel;
+        private final SocketAddress remoteAddress;
+        private final McpTransportContext transportContext;
+        private final Sinks.Many<JSONRPCMessage> inboundSink = Sinks.many().unicast().onBackpressureBuffer();
+        private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private volatile boolean closeAfterFlush;
+        private SelectionKey key;
+        private byte[] input = new byte[READ_CHUNK_SIZE];
+        private int inputLength;
+
+        private TcpConnection(IoLoop loop, SocketChannel channel) throws IOException {
+            this.loop = loop;
+            this.channel = channel;
+            this.remoteAddress = channel.getRemoteAddress();
+            this.transportContext = McpTransportContext.create(
+                    Collections.singletonMap(REMOTE_ADDRESS_KEY, this.remoteAddress));
+        }
+
+        private void start(McpServerSession session) {
+            this.inboundSink.asFlux()
+                    // client traffic is what keeps the session from going idle, the lookup marks it as used
+                    .doOnNext(message -> sessions.get(this.sessionId))
+                    .flatMap(message -> session.handle(message)
+                            .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, this.transportContext))
+                            .onErrorResume(e -> {
+                                logger.error("Error handling message for session {}: {}", this.sessionId, e.getMessage());
+                                return Mono.empty();
+                            }))
+                    .subscribe();
+        }
+
+        @Override
+        public String sessionId() {
+            return sessionId;
+        }
+
+        @Override
+        public Mono<Void> sendMessage(JSONRPCMessage message) {
+            return send(() -> jsonMapper.writeValue(message, this::enqueueLine));
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return send(() -> message.writeTo(this::enqueueLine));
+        }
+
+        private Mono<Void> send(LineWriter lineWriter) {
+            return Mono.defer(() -> {
+                if (this.closed.get() || this.closeAfterFlush) {
+                    return Mono.error(McpError.of("TCP connection of session " + this.sessionId + " is closed"));
+                }
+                try {
+                    lineWriter.write();
+                    return Mono.empty();
+                } catch (IOException e) {
+                    return Mono.error(e);
+                }
+            });
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.fromRunnable(() -> {
+                logger.debug("Closing session transport: {}", sessionId);
+                sessions.remove(sessionId);
+                this.closeAfterFlush = true;
+                scheduleFlush();
+            });
+        }
+
+        @Override
+        public void close() {
+            sessions.remove(sessionId);
+            this.loop.execute(this::closeChannel);
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+            return McpRawParams.bind(jsonMapper, data, typeRef);
+        }
+
+        private void read() {
+            ByteBuffer buffer = this.loop.readBuffer;
+            try {
+                int read;
+                do {
+                    // through Buffer, ByteBuffer's own overrides only exist since Java 9
+                    ((Buffer) buffer).clear();
+                    read = this.channel.read(buffer);
+                    if (read < 0) {
+                        closeChannel();
+                        return;
+                    }
+                    ((Buffer) buffer).flip();
+                    if (this.inputLength + read > this.input.length) {
+                        this.input = Arrays.copyOf(this.input, Math.max(this.input.length * 2, this.inputLength + read));
+                    }
+                    buffer.get(this.input, this.inputLength, read);
+                    int scanFrom = this.inputLength;
+                    this.inputLength += read;
+                    dispatchLines(scanFrom);
+                    if (this.inputLength > maxMessageSize) {
+                        logger.warn("Closing session {}, message exceeds {} bytes", this.sessionId, maxMessageSize);
+                        closeChannel();
+                        return;
+                    }
+                } while (read == READ_CHUNK_SIZE && !this.closed.get());
+            } catch (IOException e) {
+                if (!this.closed.get()) {
+                    logger.debug("Error reading from session {}: {}", this.sessionId, e.getMessage());
+                }
+                closeChannel();
+            }
+        }
+
+        private void dispatchLines(int scanFrom) {
+            int start = 0;
+            for (int i = scanFrom; i < this.inputLength; i++) {
+                if (this.input[i] != '\n') {
+                    continue;
+                }
+                int end = i > start && this.input[i - 1] == '\r' ? i - 1 : i;
+                if (end > start) {
+                    dispatch(start, end - start);
+                }
+                start = i + 1;
+            }
+            if (start > 0) {
+                this.inputLength -= start;
+                System.arraycopy(this.input, start, this.input, 0, this.inputLength);
+                if (this.input.length > MAX_RETAINED_INPUT && this.inputLength < READ_CHUNK_SIZE) {
+                    this.input = Arrays.copyOf(this.input, READ_CHUNK_SIZE);
+                }
+            }
+        }
+
+        private void dispatch(int offset, int length) {
+            JSONRPCMessage message;
+            try {
+                message = parser.parse(this.input, offset, length);
+            } catch (Exception e) {
+                // one bad line does not break the framing, report it and carry on with the next one
+                logger.error("Failed to deserialize message for session {}: {}", this.sessionId, e.getMessage());
+                sendMessage(JSONRPCResponse.ofError(null, McpSchema.ErrorCodes.PARSE_ERROR, "Invalid message format"))
+                        .subscribe(null, error -> logger.debug("Failed to report parse error: {}", error.getMessage()));
+                return;
+            }
+            if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
+                logger.warn("Dropped message for session {}, inbound processing has stopped", this.sessionId);
+            }
+        }
+
+        private void enqueueLine(byte[] json, int offset, int length) {
+            // line breaks can only come from pretty-printing, the frame is the newline
+            ByteBuffer line = ByteBuffer.allocate(length + 1);
+            int start = offset;
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                if (json[i] == '\n' || json[i] == '\r') {
+                    line.put(json, start, i - start);
+                    start = i + 1;
+                }
+            }
+            line.put(json, start, end - start);
+            line.put((byte) '\n');
+            ((Buffer) line).flip();
+            this.outbound.add(line);
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            if (this.flushScheduled.compareAndSet(false, true)) {
+                this.loop.execute(this::flush);
+            }
+        }
+
+        private void flush() {
+            this.flushScheduled.set(false);
+            if (this.closed.get()) {
+                return;
+            }
+            ByteBuffer[] batch = this.loop.writeBatch;
+            try {
+                while (true) {
+                    int count = 0;
+                    for (ByteBuffer buffer : this.outbound) {
+                        batch[count++] = buffer;
+                        if (count == batch.length) {
+                            break;
+                        }
+                    }
+                    if (count == 0) {
+                        break;
+                    }
+                    this.channel.write(batch, 0, count);
+                    for (int i = 0; i < count; i++) {
+                        if (batch[i].hasRemaining()) {
+                            Arrays.fill(batch, 0, count, null);
+                            // socket buffer is full, continue once the selector reports it writable
+                            this.key.interestOps(this.key.interestOps() | SelectionKey.OP_WRITE);
+                            return;
+                        }
+                        this.outbound.poll();
+                    }
+                    Arrays.fill(batch, 0, count, null);
+                }
+                if ((this.key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                    this.key.interestOps(this.key.interestOps() & ~SelectionKey.OP_WRITE);
+                }
+                if (this.closeAfterFlush) {
+                    closeChannel();
+                }
+            } catch (IOException e) {
+                if (!this.closed.get()) {
+                    logger.debug("Error writing to session {}: {}", this.sessionId, e.getMessage());
+                }
+                closeChannel();
+            }
+        }
+
+        private void closeChannel() {
+            if (!this.closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (this.key != null) {
+                this.key.cancel();
+            }
+            closeQuietly(this.channel);
+            this.outbound.clear();
+            this.inboundSink.tryEmitComplete();
+            disconnect(this);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineWriter {
+        void write() throws IOException;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private JsonMapper jsonMapper;
+        private String host = DEFAULT_HOST;
+        private int port;
+        private int ioThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+        private Duration keepAliveInterval;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+        private Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer = builder -> {
+        };
+
+        public Builder jsonMapper(JsonMapper jsonMapper) {
+            Assert.notNull(jsonMapper, "JsonMapper must not be null");
+            this.jsonMapper = jsonMapper;
+            return this;
+        }
+
+        public Builder host(String host) {
+            Assert.hasText(host, "Host must not be empty");
+            this.host = host;
+            return this;
+        }
+
+        public Builder port(int port) {
+            Assert.isTrue(port >= 0 && port <= 65535, "Port must be between 0 and 65535");
+            this.port = port;
+            return this;
+        }
+
+        public Builder ioThreads(int ioThreads) {
+            Assert.isTrue(ioThreads > 0, "ioThreads must be positive");
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        public Builder maxMessageSize(int maxMessageSize) {
+            Assert.isTrue(maxMessageSize > 0, "maxMessageSize must be positive");
+            this.maxMessageSize = maxMessageSize;
+            return this;
+        }
+
+        public Builder keepAliveInterval(Duration keepAliveInterval) {
+            this.keepAliveInterval = keepAliveInterval;
+            return this;
+        }
+
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public Builder keepAliveCustomizer(Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+            Assert.notNull(keepAliveCustomizer, "Keep-alive customizer must not be null");
+            this.keepAliveCustomizer = keepAliveCustomizer;
+            return this;
+        }
+
+        public TcpServerTransportProvider build() {
+            return new TcpServerTransportProvider(jsonMapper == null ? JsonMapper.getDefault() : jsonMapper,
+                    new InetSocketAddress(host, port), ioThreads, maxMessageSize, keepAliveInterval, sessionPolicy,
+                    keepAliveCustomizer);
+        }
+    }
+}
@@ -3,11 +3,10 @@ package top.yangxm.ai.mcp.org.springaicommunity.mcp;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.MimeType;
-import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.util.Lists;
 import top.yangxm.ai.mcp.commons.util.Maps;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Annotations;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
@@ -15,9 +14,9 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Content;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ImageContent;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Role;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Tool;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpBulkheads;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerFeatures;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerFeatures;
-import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpSyncServerExchange;
 import top.yangxm.ai.mcp.org.springframework.ai.chat.model.ToolContext;
 import top.yangxm.ai.mcp.org.springframework.ai.tool.ToolCallback;
 
@@ -89,23 +88,23 @@ public final class McpToolUtils {
     }
 
     public static McpServerFeatures.AsyncToolSpec toAsyncToolSpec(ToolCallback toolCallback, @Nullable MimeType mimeType) {
+        return toAsyncToolSpec(toolCallback, mimeType, null);
+    }
+
+    public static McpServerFeatures.AsyncToolSpec toAsyncToolSpec(ToolCallback toolCallback, @Nullable MimeType mimeType,
+                                                                  @Nullable McpBulkheads.Bulkhead bulkhead) {
         McpServerFeatures.SyncToolSpec syncToolSpec = toSyncToolSpec(toolCallback, mimeType);
-        return McpServerFeatures.AsyncToolSpec.builder()
-                .tool(syncToolSpec.tool())
-                .callHandler((exchange, map) -> Mono
-                        .fromCallable(() -> syncToolSpec.callHandler().apply(new McpSyncServerExchange(exchange), map))
-                        .subscribeOn(Schedulers.boundedElastic()))
-                .build();
+        return McpServerFeatures.AsyncToolSpec.fromSync(syncToolSpec, false, bulkhead);
     }
 
     public static McpStatelessServerFeatures.AsyncToolSpec toAsyncStatelessToolSpec(ToolCallback toolCallback, @Nullable MimeType mimeType) {
+        return toAsyncStatelessToolSpec(toolCallback, mimeType, null);
+    }
+
+    public static McpStatelessServerFeatures.AsyncToolSpec toAsyncStatelessToolSpec(ToolCallback toolCallback, @Nullable MimeType mimeType,
+                                                                                    @Nullable McpBulkheads.Bulkhead bulkhead) {
         McpStatelessServerFeatures.SyncToolSpec syncToolSpec = toSyncStatelessToolSpec(toolCallback, mimeType);
-        return McpStatelessServerFeatures.AsyncToolSpec.builder()
-                .tool(syncToolSpec.tool())
-                .callHandler((context, map) -> Mono
-                        .fromCallable(() -> syncToolSpec.callHandler().apply(context, map))
-                        .subscribeOn(Schedulers.boundedElastic()))
-                .build();
+        return McpStatelessServerFeatures.AsyncToolSpec.fromSync(syncToolSpec, false, bulkhead);
     }
 
     private static SharedSyncToolSpec toSharedSyncToolSpec(ToolCallback toolCallback, @Nullable MimeType mimeType) {
@@ -117,7 +116,7 @@ public final class McpToolUtils {
 
         return new SharedSyncToolSpec(tool, (exchangeOrContext, request) -> {
             try {
-                String callResult = toolCallback.call(JSON_MAPPER.writeValueAsString(request.arguments()),
+                String callResult = toolCallback.call(McpRawParams.toJson(JSON_MAPPER, request.arguments()),
                         new ToolContext(Maps.of(TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchangeOrContext)));
                 if (mimeType != null && mimeType.toString().startsWith(Content.TYPE_IMAGE)) {
                     Annotations annotations = new Annotations(Lists.of(Role.ASSISTANT), null);
@@ -0,0 +1,266 @@
+package top.yangxm.ai.mcp.org.springaicommunity.mcp.method;
+
+import top.yangxm.ai.mcp.commons.util.Assert;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// Invokes an annotated bean method through a class generated once at registration with LambdaMetafactory, so the
+// JIT sees a plain interface call. Methods the generated class cannot link against (non-public types, types from
+// another class loader, void or more than 8 parameters) keep using Method.invoke with access checks disabled once.
+@SuppressWarnings("unused")
+public abstract class McpMethodInvoker {
+    private static final int MAX_COMPILED_PARAMETERS = 8;
+    private static final Class<?>[] CALL_TYPES = {Call0.class, Call1.class, Call2.class, Call3.class, Call4.class,
+            Call5.class, Call6.class, Call7.class, Call8.class};
+
+    private final Method method;
+    private final int parameterCount;
+
+    private McpMethodInvoker(Method method) {
+        this.method = method;
+        this.parameterCount = method.getParameterCount();
+    }
+
+    public static McpMethodInvoker of(Method method, Object bean) {
+        Assert.notNull(method, "Method must not be null");
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (!isStatic) {
+            Assert.notNull(bean, "Bean must not be null");
+        }
+        if (isCompilable(method)) {
+            try {
+                return new CompiledInvoker(method, isStatic ? null : bean);
+            } catch (Throwable ex) {
+                // fall through to reflection, the method is still callable
+            }
+        }
+        try {
+            method.setAccessible(true);
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException("Could not access method: " + ex.getMessage(), ex);
+        }
+        return new ReflectiveInvoker(method, isStatic ? null : bean);
+    }
+
+    public Method method() {
+        return method;
+    }
+
+    public boolean isCompiled() {
+        return this instanceof CompiledInvoker;
+    }
+
+    public final Object invoke(Object[] args) throws InvocationTargetException {
+        if (args.length != this.parameterCount) {
+            throw argumentCountMismatch(args.length);
+        }
+        return doInvoke(args);
+    }
+
+    // kept out of invoke so the hot path stays small enough to be inlined
+    private IllegalArgumentException argumentCountMismatch(int actual) {
+        return new IllegalArgumentException(String.format("Method %s expects %d arguments but got %d",
+                this.method.getName(), this.parameterCount, actual));
+    }
+
+    protected abstract Object doInvoke(Object[] args) throws InvocationTargetException;
+
+    private static boolean isCompilable(Method method) {
+        if (method.getReturnType() == void.class || method.getParameterCount() > MAX_COMPILED_PARAMETERS
+                || method.isVarArgs() || !Modifier.isPublic(method.getModifiers())
+                || !isLinkable(method.getDeclaringClass()) || !isLinkable(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isLinkable(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the generated class lives next to this one, it has to see the very same public types
+    private static boolean isLinkable(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, McpMethodInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static final class CompiledInvoker extends McpMethodInvoker {
+        private final Spread call;
+
+        private CompiledInvoker(Method method, Object bean) throws Throwable {
+            super(method);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle implementation = lookup.unreflect(method);
+            int parameterCount = method.getParameterCount();
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Class<?>[] instantiatedTypes = new Class<?>[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
+                instantiatedTypes[i] = boxed(parameterTypes[i]);
+            }
+            Class<?> callType = CALL_TYPES[parameterCount];
+            MethodType invokedType = bean == null
+                    ? MethodType.methodType(callType)
+                    : MethodType.methodType(callType, method.getDeclaringClass());
+            MethodHandle factory = LambdaMetafactory.metafactory(lookup, "call", invokedType,
+                    MethodType.genericMethodType(parameterCount), implementation,
+                    MethodType.methodType(boxed(method.getReturnType()), instantiatedTypes)).getTarget();
+            this.call = spread(bean == null ? factory.invoke() : factory.invoke(bean), parameterCount);
+        }
+
+        // one small adapter per arity keeps doInvoke tiny enough to be inlined into the callbacks
+        private static Spread spread(Object call, int parameterCount) {
+            switch (parameterCount) {
+                case 0:
+                    Call0 call0 = (Call0) call;
+                    return a -> call0.call();
+                case 1:
+                    Call1 call1 = (Call1) call;
+                    return a -> call1.call(a[0]);
+                case 2:
+                    Call2 call2 = (Call2) call;
+                    return a -> call2.call(a[0], a[1]);
+                case 3:
+                    Call3 call3 = (Call3) call;
+                    return a -> call3.call(a[0], a[1], a[2]);
+                case 4:
+                    Call4 call4 = (Call4) call;
+                    return a -> call4.call(a[0], a[1], a[2], a[3]);
+                case 5:
+                    Call5 call5 = (Call5) call;
+                    return a -> call5.call(a[0], a[1], a[2], a[3], a[4]);
+                case 6:
+                    Call6 call6 = (Call6) call;
+                    return a -> call6.call(a[0], a[1], a[2], a[3], a[4], a[5]);
+                case 7:
+                    Call7 call7 = (Call7) call;
+                    return a -> call7.call(a[0], a[1], a[2], a[3], a[4], a[5], a[6]);
+                default:
+                    Call8 call8 = (Call8) call;
+                    return a -> call8.call(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]);
+            }
+        }
+
+        @Override
+        protected Object doInvoke(Object[] args) throws InvocationTargetException {
+            try {
+                return this.call.call(args);
+            } catch (ClassCastException | NullPointerException ex) {
+                if (isArgumentMismatch(args)) {
+                    throw new IllegalArgumentException("argument type mismatch", ex);
+                }
+                throw new InvocationTargetException(ex);
+            } catch (Throwable ex) {
+                // same contract as Method.invoke, callers unwrap or report the cause
+                throw new InvocationTargetException(ex);
+            }
+        }
+
+        // tells a bad argument apart from a ClassCastException or NullPointerException thrown by the method itself
+        private boolean isArgumentMismatch(Object[] args) {
+            Class<?>[] parameterTypes = method().getParameterTypes();
+            for (int i = 0; i < args.length; i++) {
+                Object arg = args[i];
+                if (arg == null ? parameterTypes[i].isPrimitive() : !boxed(parameterTypes[i]).isInstance(arg)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class ReflectiveInvoker extends McpMethodInvoker {
+        private final Object bean;
+
+        private ReflectiveInvoker(Method method, Object bean) {
+            super(method);
+            this.bean = bean;
+        }
+
+        @Override
+        protected Object doInvoke(Object[] args) throws InvocationTargetException {
+            try {
+                return method().invoke(this.bean, args);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Could not access method: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Spread {
+        Object call(Object[] args);
+    }
+
+    @FunctionalInterface
+    private interface Call0 {
+        Object call();
+    }
+
+    @FunctionalInterface
+    private interface Call1 {
+        Object call(Object a0);
+    }
+
+    @FunctionalInterface
+    private interface Call2 {
+        Object call(Object a0, Object a1);
+    }
+
+    @FunctionalInterface
+    private interface Call3 {
+        Object call(Object a0, Object a1, Object a2);
+    }
+
+    @FunctionalInterface
+    private interface Call4 {
+        Object call(Object a0, Object a1, Object a2, Object a3);
+    }
+
+    @FunctionalInterface
+    private interface Call5 {
+        Object call(Object a0, Object a1, Object a2, Object a3, Object a4);
+    }
+
+    @FunctionalInterface
+    private interface Call6 {
+        Object call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5);
+    }
+
+    @FunctionalInterface
+    private interface Call7 {
+        Object call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6);
+    }
+
+    @FunctionalInterface
+    private interface Call8 {
+        Object call(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7);
+    }
+}
@@ -10,6 +10,7 @@ import top.yangxm.ai.mcp.org.springaicommunity.mcp.adapter.CompleteAdapter;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpComplete;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpMeta;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpProgressToken;
+import top.yangxm.ai.mcp.org.springaicommunity.mcp.method.McpMethodInvoker;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -25,6 +26,8 @@ public abstract class AbstractMcpCompleteMethodCallback {
     protected final CompleteReference completeReference;
     protected final List<String> uriVariables;
     protected final McpUriTemplateManager uriTemplateManager;
+    protected final McpMethodInvoker invoker;
+    private final ArgumentBinder[] argumentBinders;
 
     protected AbstractMcpCompleteMethodCallback(Method method, Object bean, String prompt, String uri,
                                                 McpUriTemplateManager.Factory uriTemplateManagerFactory) {
@@ -57,6 +60,9 @@ public abstract class AbstractMcpCompleteMethodCallback {
             this.uriTemplateManager = null;
             this.uriVariables = new ArrayList<>();
         }
+
+        this.invoker = McpMethodInvoker.of(method, bean);
+        this.argumentBinders = this.createArgumentBinders(method);
     }
 
     protected void validateMethod(Method method) {
@@ -147,36 +153,51 @@ public abstract class AbstractMcpCompleteMethodCallback {
         }
     }
 
-    protected Object[] buildArgs(Method method, Object exchange, CompleteRequest request) {
+    protected Object[] buildArgs(Object exchange, CompleteRequest request) {
+        ArgumentBinder[] binders = this.argumentBinders;
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(exchange, request);
+        }
+        return args;
+    }
+
+    private ArgumentBinder[] createArgumentBinders(Method method) {
         Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
+        ArgumentBinder[] binders = new ArgumentBinder[parameters.length];
 
         for (int i = 0; i < parameters.length; i++) {
             Parameter param = parameters[i];
             Class<?> paramType = param.getType();
 
             if (param.isAnnotationPresent(McpProgressToken.class)) {
-                args[i] = null;
+                binders[i] = (exchange, request) -> null;
             } else if (McpMeta.class.isAssignableFrom(paramType)) {
-                args[i] = request != null ? new McpMeta(request.meta()) : new McpMeta(null);
+                binders[i] = (exchange, request) -> request != null ? new McpMeta(request.meta()) : new McpMeta(null);
             } else if (isExchangeType(paramType)) {
-                args[i] = exchange;
+                binders[i] = (exchange, request) -> exchange;
             } else if (CompleteRequest.class.isAssignableFrom(paramType)) {
-                args[i] = request;
+                binders[i] = (exchange, request) -> request;
             } else if (CompleteRequest.CompleteArgument.class.isAssignableFrom(paramType)) {
-                args[i] = request != null ? request.argument() : null;
+                binders[i] = (exchange, request) -> request != null ? request.argument() : null;
             } else if (String.class.isAssignableFrom(paramType)) {
-                args[i] = request != null && request.argument() != null ? request.argument().value() : null;
+                binders[i] = (exchange, request) ->
+                        request != null && request.argument() != null ? request.argument().value() : null;
             } else {
-                args[i] = null;
+                binders[i] = (exchange, request) -> null;
             }
         }
-        return args;
+        return binders;
     }
 
     protected abstract boolean isExchangeType(Class<?> paramType);
 
 
+    @FunctionalInterface
+    private interface ArgumentBinder {
+        Object bind(Object exchange, CompleteRequest request);
+    }
+
     public static class McpCompleteMethodException extends RuntimeException {
         private static final long serialVersionUID = 1L;
 
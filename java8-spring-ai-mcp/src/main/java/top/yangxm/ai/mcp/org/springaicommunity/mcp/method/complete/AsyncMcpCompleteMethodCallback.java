@@ -29,9 +29,8 @@ public final class AsyncMcpCompleteMethodCallback
         }
 
         try {
-            Object[] args = this.buildArgs(this.method, exchange, request);
-            this.method.setAccessible(true);
-            Object result = this.method.invoke(this.bean, args);
+            Object[] args = this.buildArgs(exchange, request);
+            Object result = this.invoker.invoke(args);
             return convertToCompleteResultMono(result);
         } catch (Exception e) {
             return Mono.error(new McpCompleteMethodException("Error invoking complete method: " + this.method.getName(), e));
@@ -28,9 +28,8 @@ public final class SyncMcpCompleteMethodCallback
         }
 
         try {
-            Object[] args = this.buildArgs(this.method, exchange, request);
-            this.method.setAccessible(true);
-            Object result = this.method.invoke(this.bean, args);
+            Object[] args = this.buildArgs(exchange, request);
+            Object result = this.invoker.invoke(args);
             return convertToCompleteResult(result);
         } catch (Exception e) {
             throw new McpCompleteMethodException("Error invoking complete method: " + this.method.getName(), e);
@@ -28,9 +28,8 @@ public final class SyncStatelessMcpCompleteMethodCallback
         }
 
         try {
-            Object[] args = this.buildArgs(this.method, context, request);
-            this.method.setAccessible(true);
-            Object result = this.method.invoke(this.bean, args);
+            Object[] args = this.buildArgs(context, request);
+            Object result = this.invoker.invoke(args);
             return convertToCompleteResult(result);
         } catch (Exception e) {
             throw new McpCompleteMethodException("Error invoking complete method: " + this.method.getName(), e);
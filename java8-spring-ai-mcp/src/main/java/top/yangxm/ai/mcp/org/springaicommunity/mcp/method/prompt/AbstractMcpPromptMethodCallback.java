@@ -12,6 +12,7 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.TextConten
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpArg;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpMeta;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpProgressToken;
+import top.yangxm.ai.mcp.org.springaicommunity.mcp.method.McpMethodInvoker;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -25,12 +26,16 @@ public abstract class AbstractMcpPromptMethodCallback {
     protected final Method method;
     protected final Object bean;
     protected final Prompt prompt;
+    protected final McpMethodInvoker invoker;
+    private final ArgumentBinder[] argumentBinders;
 
     protected AbstractMcpPromptMethodCallback(Method method, Object bean, Prompt prompt) {
         this.method = method;
         this.bean = bean;
         this.prompt = prompt;
         this.validateMethod(this.method);
+        this.invoker = McpMethodInvoker.of(method, bean);
+        this.argumentBinders = this.createArgumentBinders(method);
     }
 
     protected void validateMethod(Method method) {
@@ -103,50 +108,45 @@ public abstract class AbstractMcpPromptMethodCallback {
         }
     }
 
-    protected Object[] buildArgs(Method method, Object exchange, GetPromptRequest request) {
-        Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
-
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(McpProgressToken.class)) {
-                args[i] = null;
-            }
-        }
-
-        for (int i = 0; i < parameters.length; i++) {
-            if (McpMeta.class.isAssignableFrom(parameters[i].getType())) {
-                args[i] = request != null ? new McpMeta(request.meta()) : new McpMeta(null);
-            }
+    protected Object[] buildArgs(Object exchange, GetPromptRequest request) {
+        ArgumentBinder[] binders = this.argumentBinders;
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(exchange, request);
         }
+        return args;
+    }
 
+    private ArgumentBinder[] createArgumentBinders(Method method) {
+        Parameter[] parameters = method.getParameters();
+        ArgumentBinder[] binders = new ArgumentBinder[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
-            if (args[i] != null
-                    || parameters[i].isAnnotationPresent(McpProgressToken.class)
-                    || McpMeta.class.isAssignableFrom(parameters[i].getType())) {
-                continue;
-            }
-
             Parameter param = parameters[i];
             Class<?> paramType = param.getType();
 
-            if (isExchangeOrContextType(paramType)) {
-                args[i] = exchange;
+            if (param.isAnnotationPresent(McpProgressToken.class)) {
+                binders[i] = (exchange, request) -> null;
+            } else if (McpMeta.class.isAssignableFrom(paramType)) {
+                binders[i] = (exchange, request) -> request != null ? new McpMeta(request.meta()) : new McpMeta(null);
+            } else if (isExchangeOrContextType(paramType)) {
+                binders[i] = (exchange, request) -> exchange;
             } else if (GetPromptRequest.class.isAssignableFrom(paramType)) {
-                args[i] = request;
+                binders[i] = (exchange, request) -> request;
             } else if (Map.class.isAssignableFrom(paramType)) {
-                args[i] = request != null && request.arguments() != null ? request.arguments() : new HashMap<>();
+                binders[i] = (exchange, request) ->
+                        request != null && request.arguments() != null ? request.arguments() : new HashMap<>();
             } else {
                 McpArg arg = param.getAnnotation(McpArg.class);
                 String paramName = arg != null && !StringUtils.isBlank(arg.name()) ? arg.name() : param.getName();
-                if (request != null && request.arguments() != null && request.arguments().containsKey(paramName)) {
-                    Object argValue = request.arguments().get(paramName);
-                    args[i] = convertArgumentValue(argValue, paramType);
-                } else {
-                    args[i] = null;
-                }
+                binders[i] = (exchange, request) -> {
+                    if (request != null && request.arguments() != null && request.arguments().containsKey(paramName)) {
+                        return convertArgumentValue(request.arguments().get(paramName), paramType);
+                    }
+                    return null;
+                };
             }
         }
-        return args;
+        return binders;
     }
 
     protected Object convertArgumentValue(Object value, Class<?> targetType) {
@@ -241,6 +241,11 @@ public abstract class AbstractMcpPromptMethodCallback {
 
     }
 
+    @FunctionalInterface
+    private interface ArgumentBinder {
+        Object bind(Object exchange, GetPromptRequest request);
+    }
+
     public static class McpPromptMethodException extends RuntimeException {
         private static final long serialVersionUID = 1L;
 
@@ -25,9 +25,8 @@ public final class AsyncStatelessMcpPromptMethodCallback
 
         return Mono.defer(() -> {
             try {
-                Object[] args = this.buildArgs(this.method, context, request);
-                this.method.setAccessible(true);
-                Object result = this.method.invoke(this.bean, args);
+                Object[] args = this.buildArgs(context, request);
+                Object result = this.invoker.invoke(args);
 
                 if (result instanceof Mono<?>) {
                     return ((Mono<?>) result).map(this::convertToGetPromptResult);
@@ -25,9 +25,8 @@ public final class SyncStatelessMcpPromptMethodCallback
         }
 
         try {
-            Object[] args = this.buildArgs(this.method, context, request);
-            this.method.setAccessible(true);
-            Object result = this.method.invoke(this.bean, args);
+            Object[] args = this.buildArgs(context, request);
+            Object result = this.invoker.invoke(args);
             return this.convertToGetPromptResult(result);
         } catch (Exception e) {
             throw new McpPromptMethodException("Error invoking prompt method: " + this.method.getName(), e);
@@ -7,10 +7,10 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Resource;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ResourceTemplate;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpMeta;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpProgressToken;
+import top.yangxm.ai.mcp.org.springaicommunity.mcp.method.McpMethodInvoker;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -28,9 +28,15 @@ public abstract class AbstractMcpResourceMethodCallback {
     protected final String description;
     protected final String mimeType;
     protected final List<String> uriVariables;
+    // the URI variables a request must carry, query parameters and the like may be left out
+    protected final List<String> requiredUriVariables;
     protected final McpReadResourceResultConverter resultConverter;
     protected final McpUriTemplateManager uriTemplateManager;
     protected final ContentType contentType;
+    protected final McpMethodInvoker invoker;
+    private final ArgumentBinder[] argumentBinders;
+    private final int boundUriVariableCount;
+    private final boolean defaultUriTemplateSyntax;
 
     protected AbstractMcpResourceMethodCallback(Method method, Object bean, String uri, String name, String description,
                                                 String mimeType, McpReadResourceResultConverter resultConverter,
@@ -50,7 +56,19 @@ public abstract class AbstractMcpResourceMethodCallback {
         this.resultConverter = resultConverter;
         this.uriTemplateManager = uriTemplateMangerFactory.create(this.uri);
         this.uriVariables = this.uriTemplateManager.getVariableNames();
+        this.requiredUriVariables = this.uriTemplateManager.getRequiredVariableNames();
+        this.defaultUriTemplateSyntax = uriTemplateMangerFactory == McpUriTemplateManager.DEFAULT_FACTORY;
         this.contentType = contentType;
+        this.invoker = McpMethodInvoker.of(method, bean);
+
+        Parameter[] parameters = method.getParameters();
+        this.argumentBinders = new ArgumentBinder[parameters.length];
+        if (!this.uriVariables.isEmpty()) {
+            this.boundUriVariableCount = this.createArgumentBindersWithUriVariables(parameters, this.argumentBinders);
+        } else {
+            this.createArgumentBindersWithoutUriVariables(parameters, this.argumentBinders);
+            this.boundUriVariableCount = 0;
+        }
     }
 
     protected void validateMethod(Method method) {
@@ -209,91 +227,74 @@ public abstract class AbstractMcpResourceMethodCallback {
         }
     }
 
-    protected Object[] buildArgs(Method method,
-                                 Object exchange,
+    protected Map<String, String> extractUriVariableValues(ReadResourceRequest request) {
+        // the server's router already matched this template, with the same syntax
+        if (this.defaultUriTemplateSyntax && request.uriVariables() != null && this.uri.equals(request.uriTemplate())) {
+            return request.uriVariables();
+        }
+        return this.uriTemplateManager.extractVariableValues(request.uri());
+    }
+
+    protected Object[] buildArgs(Object exchange,
                                  ReadResourceRequest request,
                                  Map<String, String> uriVariableValues) {
-        Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(McpProgressToken.class)) {
-                args[i] = request != null ? request.progressToken() : null;
-            } else if (McpMeta.class.isAssignableFrom(parameters[i].getType())) {
-                args[i] = request != null ? new McpMeta(request.meta()) : new McpMeta(null);
-            }
+        if (this.boundUriVariableCount != this.uriVariables.size()) {
+            throw new IllegalArgumentException(String.format("Failed to assign all URI variables to method parameters. " +
+                    "Assigned: %s, Expected: %s", this.uriVariables.subList(0, this.boundUriVariableCount), this.uriVariables)
+            );
         }
-        if (!this.uriVariables.isEmpty()) {
-            this.buildArgsWithUriVariables(parameters, args, exchange, request, uriVariableValues);
-        } else {
-            this.buildArgsWithoutUriVariables(parameters, args, exchange, request);
+        ArgumentBinder[] binders = this.argumentBinders;
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(exchange, request, uriVariableValues);
         }
         return args;
     }
 
-    protected void buildArgsWithUriVariables(Parameter[] parameters,
-                                             Object[] args,
-                                             Object exchange,
-                                             ReadResourceRequest request,
-                                             Map<String, String> uriVariableValues) {
-        List<String> assignedVariables = new ArrayList<>();
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(McpProgressToken.class)
-                    || McpMeta.class.isAssignableFrom(parameters[i].getType())) {
-                continue;
-            }
-
-            Class<?> paramType = parameters[i].getType();
-            if (isExchangeOrContextType(paramType)) {
-                args[i] = exchange;
-            } else if (ReadResourceRequest.class.isAssignableFrom(paramType)) {
-                args[i] = request;
-            }
+    private boolean bindSpecialParameter(Parameter parameter, ArgumentBinder[] binders, int i) {
+        Class<?> paramType = parameter.getType();
+        if (parameter.isAnnotationPresent(McpProgressToken.class)) {
+            binders[i] = (exchange, request, uriVariableValues) -> request != null ? request.progressToken() : null;
+        } else if (McpMeta.class.isAssignableFrom(paramType)) {
+            binders[i] = (exchange, request, uriVariableValues) ->
+                    request != null ? new McpMeta(request.meta()) : new McpMeta(null);
+        } else if (isExchangeOrContextType(paramType)) {
+            binders[i] = (exchange, request, uriVariableValues) -> exchange;
+        } else if (ReadResourceRequest.class.isAssignableFrom(paramType)) {
+            binders[i] = (exchange, request, uriVariableValues) -> request;
+        } else {
+            return false;
         }
+        return true;
+    }
 
+    private int createArgumentBindersWithUriVariables(Parameter[] parameters, ArgumentBinder[] binders) {
         int variableIndex = 0;
         for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(McpProgressToken.class)
-                    || McpMeta.class.isAssignableFrom(parameters[i].getType())
-                    || args[i] != null) {
+            if (bindSpecialParameter(parameters[i], binders, i)) {
                 continue;
             }
-
+            // remaining parameters take the URI variables in declaration order
             if (variableIndex < this.uriVariables.size()) {
                 String variableName = this.uriVariables.get(variableIndex);
-                args[i] = uriVariableValues.get(variableName);
-                assignedVariables.add(variableName);
+                binders[i] = (exchange, request, uriVariableValues) -> uriVariableValues.get(variableName);
                 variableIndex++;
+            } else {
+                binders[i] = (exchange, request, uriVariableValues) -> null;
             }
         }
-
-        if (assignedVariables.size() != this.uriVariables.size()) {
-            throw new IllegalArgumentException(String.format("Failed to assign all URI variables to method parameters. " +
-                    "Assigned: %s, Expected: %s", assignedVariables, this.uriVariables)
-            );
-        }
+        return variableIndex;
     }
 
-    protected void buildArgsWithoutUriVariables(Parameter[] parameters,
-                                                Object[] args,
-                                                Object exchange,
-                                                ReadResourceRequest request) {
+    private void createArgumentBindersWithoutUriVariables(Parameter[] parameters, ArgumentBinder[] binders) {
         for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(McpProgressToken.class)
-                    || McpMeta.class.isAssignableFrom(parameters[i].getType())) {
+            if (bindSpecialParameter(parameters[i], binders, i)) {
                 continue;
             }
-
-            Parameter param = parameters[i];
-            Class<?> paramType = param.getType();
-
-            if (isExchangeOrContextType(paramType)) {
-                args[i] = exchange;
-            } else if (ReadResourceRequest.class.isAssignableFrom(paramType)) {
-                args[i] = request;
-            } else if (String.class.isAssignableFrom(paramType)) {
-                args[i] = request.uri();
+            if (String.class.isAssignableFrom(parameters[i].getType())) {
+                binders[i] = (exchange, request, uriVariableValues) -> request.uri();
             } else {
-                args[i] = null;
+                binders[i] = (exchange, request, uriVariableValues) -> null;
             }
         }
     }
@@ -307,6 +308,11 @@ public abstract class AbstractMcpResourceMethodCallback {
     }
 
 
+    @FunctionalInterface
+    private interface ArgumentBinder {
+        Object bind(Object exchange, ReadResourceRequest request, Map<String, String> uriVariableValues);
+    }
+
     public static class McpResourceMethodException extends RuntimeException {
         private static final long serialVersionUID = 1L;
 
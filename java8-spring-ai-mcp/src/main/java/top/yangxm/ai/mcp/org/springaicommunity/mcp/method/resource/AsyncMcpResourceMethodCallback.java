@@ -30,18 +30,17 @@ public final class AsyncMcpResourceMethodCallback
 
         return Mono.defer(() -> {
             try {
-                Map<String, String> uriVariableValues = this.uriTemplateManager.extractVariableValues(request.uri());
-                if (!this.uriVariables.isEmpty() && uriVariableValues.size() != this.uriVariables.size()) {
+                Map<String, String> uriVariableValues = this.extractUriVariableValues(request);
+                if (!uriVariableValues.keySet().containsAll(this.requiredUriVariables)) {
                     return Mono.error(new IllegalArgumentException(
                             String.format("Failed to extract all URI variables from request URI: %s." +
                                             "Expected variables: %s, but found: %s",
-                                    request.uri(), this.uriVariables, uriVariableValues.keySet()))
+                                    request.uri(), this.requiredUriVariables, uriVariableValues.keySet()))
                     );
                 }
 
-                Object[] args = this.buildArgs(this.method, exchange, request, uriVariableValues);
-                this.method.setAccessible(true);
-                Object result = this.method.invoke(this.bean, args);
+                Object[] args = this.buildArgs(exchange, request, uriVariableValues);
+                Object result = this.invoker.invoke(args);
 
                 if (result instanceof Mono<?>) {
                     return ((Mono<?>) result).map(r -> this.resultConverter.convertToReadResourceResult(r,
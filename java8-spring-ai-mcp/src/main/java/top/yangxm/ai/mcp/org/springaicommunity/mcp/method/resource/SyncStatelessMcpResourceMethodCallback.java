@@ -27,18 +27,17 @@ public final class SyncStatelessMcpResourceMethodCallback
             throw new IllegalArgumentException("Request must not be null");
         }
         try {
-            Map<String, String> uriVariableValues = this.uriTemplateManager.extractVariableValues(request.uri());
-            if (!this.uriVariables.isEmpty() && uriVariableValues.size() != this.uriVariables.size()) {
+            Map<String, String> uriVariableValues = this.extractUriVariableValues(request);
+            if (!uriVariableValues.keySet().containsAll(this.requiredUriVariables)) {
                 throw new IllegalArgumentException(
                         String.format("Failed to extract all URI variables from request URI: %s. " +
                                         "Expected variables: %s, but found: %s",
-                                request.uri(), this.uriVariables, uriVariableValues.keySet())
+                                request.uri(), this.requiredUriVariables, uriVariableValues.keySet())
                 );
             }
 
-            Object[] args = this.buildArgs(this.method, context, request, uriVariableValues);
-            this.method.setAccessible(true);
-            Object result = this.method.invoke(this.bean, args);
+            Object[] args = this.buildArgs(context, request, uriVariableValues);
+            Object result = this.invoker.invoke(args);
 
             return this.resultConverter.convertToReadResourceResult(
                     result, request.uri(), this.mimeType, this.contentType);
@@ -5,17 +5,20 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
+import top.yangxm.ai.mcp.commons.json.TypedValueConverter;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpCancellationToken;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpMeta;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpProgressToken;
+import top.yangxm.ai.mcp.org.springaicommunity.mcp.method.McpMethodInvoker;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.method.tool.utils.ReactiveUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.Map;
-import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
 public abstract class AbstractAsyncMcpToolMethodCallback<T> {
@@ -27,6 +30,8 @@ public abstract class AbstractAsyncMcpToolMethodCallback<T> {
     protected final Method toolMethod;
     protected final Object toolObject;
     protected final Class<? extends Throwable> toolCallExceptionClass;
+    private final McpMethodInvoker invoker;
+    private final ArgumentBinder<T>[] argumentBinders;
 
     protected AbstractAsyncMcpToolMethodCallback(ReturnMode returnMode,
                                                  Method toolMethod,
@@ -36,44 +41,58 @@ public abstract class AbstractAsyncMcpToolMethodCallback<T> {
         this.toolMethod = toolMethod;
         this.toolObject = toolObject;
         this.toolCallExceptionClass = toolCallExceptionClass;
+        this.invoker = McpMethodInvoker.of(toolMethod, toolObject);
+        this.argumentBinders = this.createArgumentBinders();
     }
 
     protected Object callMethod(Object[] methodArguments) {
-        this.toolMethod.setAccessible(true);
-        Object result;
         try {
-            result = this.toolMethod.invoke(this.toolObject, methodArguments);
-        } catch (IllegalAccessException ex) {
-            throw new IllegalStateException("Could not access method: " + ex.getMessage(), ex);
+            return this.invoker.invoke(methodArguments);
         } catch (InvocationTargetException ex) {
             throw new RuntimeException("Error invoking method: " + this.toolMethod.getName(), ex);
         }
-        return result;
     }
 
     protected Object[] buildMethodArguments(T exchangeOrContext,
                                             Map<String, Object> toolInputArguments,
                                             CallToolRequest request) {
-        return Stream.of(this.toolMethod.getParameters()).map(parameter -> {
-            if (parameter.isAnnotationPresent(McpProgressToken.class)) {
-                return request != null ? request.progressToken() : null;
-            }
-
-            if (McpMeta.class.isAssignableFrom(parameter.getType())) {
-                return request != null ? new McpMeta(request.meta()) : new McpMeta(null);
-            }
-
-            if (CallToolRequest.class.isAssignableFrom(parameter.getType())) {
-                return request;
-            }
+        ArgumentBinder<T>[] binders = this.argumentBinders;
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(exchangeOrContext, toolInputArguments, request);
+        }
+        return args;
+    }
 
-            if (isExchangeOrContextType(parameter.getType())) {
-                return exchangeOrContext;
+    @SuppressWarnings("unchecked")
+    private ArgumentBinder<T>[] createArgumentBinders() {
+        // parameter roles only depend on the method, resolve them once instead of on every call
+        Parameter[] parameters = this.toolMethod.getParameters();
+        ArgumentBinder<T>[] binders = new ArgumentBinder[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Class<?> parameterType = parameter.getType();
+            if (parameter.isAnnotationPresent(McpProgressToken.class)) {
+                binders[i] = (exchangeOrContext, arguments, request) -> request != null ? request.progressToken() : null;
+            } else if (McpMeta.class.isAssignableFrom(parameterType)) {
+                binders[i] = (exchangeOrContext, arguments, request) ->
+                        request != null ? new McpMeta(request.meta()) : new McpMeta(null);
+            } else if (CallToolRequest.class.isAssignableFrom(parameterType)) {
+                binders[i] = (exchangeOrContext, arguments, request) -> request;
+            } else if (McpCancellationToken.class.isAssignableFrom(parameterType)) {
+                binders[i] = (exchangeOrContext, arguments, request) -> cancellationToken(exchangeOrContext);
+            } else if (isExchangeOrContextType(parameterType)) {
+                binders[i] = (exchangeOrContext, arguments, request) -> exchangeOrContext;
+            } else {
+                String name = parameter.getName();
+                TypedValueConverter converter = TypedValueConverter.of(parameter.getParameterizedType(), JSON_MAPPER);
+                binders[i] = (exchangeOrContext, arguments, request) -> {
+                    Object value = arguments.get(name);
+                    return value != null ? converter.convert(value) : null;
+                };
             }
-
-            Object rawArgument = toolInputArguments.get(parameter.getName());
-            return buildTypedArgument(rawArgument, parameter.getParameterizedType());
-        }).toArray();
+        }
+        return binders;
     }
 
     protected Object buildTypedArgument(Object value, Type type) {
@@ -81,12 +100,7 @@ public abstract class AbstractAsyncMcpToolMethodCallback<T> {
             return null;
         }
 
-        if (type instanceof Class<?>) {
-            return JsonMapper.toTypedObject(value, (Class<?>) type);
-        }
-
-        String json = JSON_MAPPER.writeValueAsString(value);
-        return JSON_MAPPER.readValue(json, type);
+        return TypedValueConverter.of(type, JSON_MAPPER).convert(value);
     }
 
     @SuppressWarnings("unchecked")
@@ -192,5 +206,14 @@ public abstract class AbstractAsyncMcpToolMethodCallback<T> {
         return Mono.empty();
     }
 
+    protected McpCancellationToken cancellationToken(T exchangeOrContext) {
+        return McpCancellationToken.NONE;
+    }
+
     protected abstract boolean isExchangeOrContextType(Class<?> paramType);
+
+    @FunctionalInterface
+    private interface ArgumentBinder<T> {
+        Object bind(T exchangeOrContext, Map<String, Object> arguments, CallToolRequest request);
+    }
 }
@@ -3,6 +3,7 @@ package top.yangxm.ai.mcp.org.springaicommunity.mcp.method.tool;
 import reactor.core.publisher.Mono;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpCancellationToken;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAsyncServerExchange;
 
 import java.lang.reflect.Method;
@@ -31,6 +32,11 @@ public final class AsyncMcpToolMethodCallback
         return McpAsyncServerExchange.class.isAssignableFrom(paramType);
     }
 
+    @Override
+    protected McpCancellationToken cancellationToken(McpAsyncServerExchange exchange) {
+        return exchange != null ? exchange.cancellationToken() : McpCancellationToken.NONE;
+    }
+
     @Override
     public Mono<CallToolResult> apply(McpAsyncServerExchange exchange, CallToolRequest request) {
         return validateRequest(request).then(Mono.defer(() -> {
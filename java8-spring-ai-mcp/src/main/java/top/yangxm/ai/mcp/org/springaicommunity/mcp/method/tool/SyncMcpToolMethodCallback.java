@@ -2,6 +2,7 @@ package top.yangxm.ai.mcp.org.springaicommunity.mcp.method.tool;
 
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolResult;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpCancellationToken;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpSyncServerExchange;
 
 import java.lang.reflect.Method;
@@ -30,6 +31,11 @@ public final class SyncMcpToolMethodCallback
         return McpSyncServerExchange.class.isAssignableFrom(paramType);
     }
 
+    @Override
+    protected McpCancellationToken cancellationToken(McpSyncServerExchange exchange) {
+        return exchange != null ? exchange.cancellationToken() : McpCancellationToken.NONE;
+    }
+
     @Override
     public CallToolResult apply(McpSyncServerExchange exchange, CallToolRequest request) {
         validateRequest(request);
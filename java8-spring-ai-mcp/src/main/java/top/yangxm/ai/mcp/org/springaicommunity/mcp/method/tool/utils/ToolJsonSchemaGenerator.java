@@ -9,6 +9,7 @@ import top.yangxm.ai.mcp.commons.util.Maps;
 import top.yangxm.ai.mcp.commons.util.Utils;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.CallToolRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAsyncServerExchange;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpCancellationToken;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpSyncServerExchange;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpMeta;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.annotation.McpProgressToken;
@@ -55,6 +56,7 @@ public class ToolJsonSchemaGenerator {
                         return !CallToolRequest.class.isAssignableFrom(type)
                                 && !McpSyncServerExchange.class.isAssignableFrom(type)
                                 && !McpAsyncServerExchange.class.isAssignableFrom(type)
+                                && !McpCancellationToken.class.isAssignableFrom(type)
                                 && !param.isAnnotationPresent(McpProgressToken.class)
                                 && !McpMeta.class.isAssignableFrom(type);
                     });
@@ -100,6 +102,7 @@ public class ToolJsonSchemaGenerator {
                 Class<?> parameterClass = (Class<?>) parameterType;
                 if (ClassUtils.isAssignable(McpSyncServerExchange.class, parameterClass)
                         || ClassUtils.isAssignable(McpAsyncServerExchange.class, parameterClass)
+                        || ClassUtils.isAssignable(McpCancellationToken.class, parameterClass)
                         || ClassUtils.isAssignable(CallToolRequest.class, parameterClass)) {
                     continue;
                 }
@@ -8,8 +8,10 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.KeepAliveScheduler;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerSession;
@@ -18,19 +20,21 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportPr
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextExtractor;
 
 import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @SuppressWarnings("unused")
 @WebServlet(asyncSupported = true)
@@ -42,12 +46,13 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
     public static final String DEFAULT_SSE_ENDPOINT = "/sse";
     public static final String MESSAGE_EVENT_TYPE = "message";
     public static final String ENDPOINT_EVENT_TYPE = "endpoint";
+    private static final byte[] EVENT_TERMINATOR = "\n\n".getBytes(StandardCharsets.UTF_8);
 
     private final JsonMapper jsonMapper;
     private final String baseUrl;
     private final String messageEndpoint;
     private final String sseEndpoint;
-    private final Map<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+    private final McpSessionLifecycleManager<McpServerSession> sessions;
     private final McpTransportContextExtractor<HttpServletRequest> contextExtractor;
     private final AtomicBoolean isClosing = new AtomicBoolean(false);
     private final KeepAliveScheduler keepAliveScheduler;
@@ -55,6 +60,8 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
     private HttpServletSseServerTransportProvider(JsonMapper jsonMapper, String baseUrl, String messageEndpoint,
                                                   String sseEndpoint, Duration keepAliveInterval,
+                                                  McpSessionLifecycleManager.Policy sessionPolicy,
+                                                  Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer,
                                                   McpTransportContextExtractor<HttpServletRequest> contextExtractor) {
         Assert.notNull(jsonMapper, "JsonMapper must not be null");
         Assert.notNull(baseUrl, "baseUrl must not be null");
@@ -67,12 +74,16 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         this.messageEndpoint = messageEndpoint;
         this.sseEndpoint = sseEndpoint;
         this.contextExtractor = contextExtractor;
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
         if (keepAliveInterval != null) {
-            this.keepAliveScheduler = KeepAliveScheduler
+            KeepAliveScheduler.Builder keepAliveBuilder = KeepAliveScheduler
                     .builder(() -> (isClosing.get()) ? Flux.empty() : Flux.fromIterable(sessions.values()))
                     .initialDelay(keepAliveInterval)
                     .interval(keepAliveInterval)
-                    .build();
+                    .onPingSuccess(sessions::pingSucceeded)
+                    .onPingFailure(sessions::pingFailed);
+            keepAliveCustomizer.accept(keepAliveBuilder);
+            this.keepAliveScheduler = keepAliveBuilder.build();
 
             this.keepAliveScheduler.start();
         } else {
@@ -108,11 +119,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         }
 
         LOGGER.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-        return Flux.fromIterable(sessions.values())
-                .flatMap(session -> session.sendNotification(method, params)
-                        .doOnError(e -> LOGGER.error("Failed to send notification to session {}: {}", session.id(), e.getMessage()))
-                        .onErrorComplete())
-                .then();
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params);
     }
 
     @Override
@@ -121,6 +128,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         LOGGER.debug("Initiating graceful shutdown with {} active sessions", sessions.size());
         return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
             sessions.clear();
+            sessions.close();
             LOGGER.debug("Graceful shutdown completed");
             if (this.keepAliveScheduler != null) {
                 this.keepAliveScheduler.shutdown();
@@ -151,11 +159,40 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         AsyncContext asyncContext = request.startAsync();
         asyncContext.setTimeout(0);
 
-        PrintWriter writer = response.getWriter();
-        HttpServletMcpTransport sessionTransport = new HttpServletMcpTransport(sessionId, asyncContext, writer);
+        OutputStream outputStream = response.getOutputStream();
+        HttpServletMcpTransport sessionTransport = new HttpServletMcpTransport(sessionId, asyncContext, outputStream);
         McpServerSession session = sessionFactory.create(sessionTransport);
         this.sessions.put(sessionId, session);
-        this.sendEvent(writer, ENDPOINT_EVENT_TYPE, this.baseUrl + this.messageEndpoint + "?sessionId=" + sessionId);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                disconnect(sessionId);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                disconnect(sessionId);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                disconnect(sessionId);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        byte[] endpoint = (this.baseUrl + this.messageEndpoint + "?sessionId=" + sessionId).getBytes(StandardCharsets.UTF_8);
+        this.sendEvent(outputStream, ENDPOINT_EVENT_TYPE, endpoint, 0, endpoint.length);
+    }
+
+    private void disconnect(String sessionId) {
+        McpServerSession session = this.sessions.remove(sessionId);
+        if (session != null) {
+            LOGGER.debug("SSE connection closed for session: {}", sessionId);
+            session.disconnect();
+        }
     }
 
     @Override
@@ -196,15 +233,8 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         }
 
         try {
-            BufferedReader reader = request.getReader();
-            StringBuilder body = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                body.append(line);
-            }
-
             final McpTransportContext transportContext = this.contextExtractor.extract(request);
-            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body.toString());
+            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, request.getInputStream());
             session.handle(message).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)).block();
             response.setStatus(HttpServletResponse.SC_OK);
         } catch (Exception e) {
@@ -230,24 +260,24 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         super.destroy();
     }
 
-    private void sendEvent(PrintWriter writer, String eventType, String data) throws IOException {
-        writer.write("event: " + eventType + "\n");
-        writer.write("data: " + data + "\n\n");
-        writer.flush();
-        if (writer.checkError()) {
-            throw new IOException("Client disconnected");
+    private void sendEvent(OutputStream outputStream, String eventType, byte[] data, int offset, int length) throws IOException {
+        synchronized (outputStream) {
+            outputStream.write(("event: " + eventType + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+            outputStream.write(data, offset, length);
+            outputStream.write(EVENT_TERMINATOR);
+            outputStream.flush();
         }
     }
 
     private class HttpServletMcpTransport implements McpServerTransport {
         private final String sessionId;
         private final AsyncContext asyncContext;
-        private final PrintWriter writer;
+        private final OutputStream outputStream;
 
-        HttpServletMcpTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+        HttpServletMcpTransport(String sessionId, AsyncContext asyncContext, OutputStream outputStream) {
             this.sessionId = sessionId;
             this.asyncContext = asyncContext;
-            this.writer = writer;
+            this.outputStream = outputStream;
             LOGGER.debug("Session transport {} initialized with SSE writer", sessionId);
         }
 
@@ -258,14 +288,26 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
         @Override
         public Mono<Void> sendMessage(JSONRPCMessage message) {
+            return send(() -> jsonMapper.writeValue(message, this::sendMessageEvent));
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return send(() -> message.writeTo(this::sendMessageEvent));
+        }
+
+        private void sendMessageEvent(byte[] json, int offset, int length) throws IOException {
+            sendEvent(outputStream, MESSAGE_EVENT_TYPE, json, offset, length);
+        }
+
+        private Mono<Void> send(EventWriter eventWriter) {
             return Mono.fromRunnable(() -> {
                 try {
-                    String jsonText = jsonMapper.writeValueAsString(message);
-                    sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText);
+                    eventWriter.write();
                     LOGGER.debug("Message sent to session {}", sessionId);
                 } catch (Exception e) {
                     LOGGER.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
-                    sessions.remove(sessionId);
+                    disconnect(sessionId);
                     asyncContext.complete();
                 }
             });
@@ -287,10 +329,15 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
         @Override
         public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
-            return jsonMapper.convertValue(data, typeRef);
+            return McpRawParams.bind(jsonMapper, data, typeRef);
         }
     }
 
+    @FunctionalInterface
+    private interface EventWriter {
+        void write() throws IOException;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -302,6 +349,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
         private String sseEndpoint = DEFAULT_SSE_ENDPOINT;
         private McpTransportContextExtractor<HttpServletRequest> contextExtractor = (serverRequest) -> McpTransportContext.EMPTY;
         private Duration keepAliveInterval;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+        private Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer = builder -> {
+        };
 
         public Builder jsonMapper(JsonMapper jsonMapper) {
             Assert.notNull(jsonMapper, "JsonMapper must not be null");
@@ -338,12 +388,24 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
             return this;
         }
 
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public Builder keepAliveCustomizer(Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+            Assert.notNull(keepAliveCustomizer, "Keep-alive customizer must not be null");
+            this.keepAliveCustomizer = keepAliveCustomizer;
+            return this;
+        }
+
         public HttpServletSseServerTransportProvider build() {
             if (messageEndpoint == null) {
                 throw new IllegalStateException("MessageEndpoint must be set");
             }
             return new HttpServletSseServerTransportProvider(jsonMapper == null ? JsonMapper.getDefault() : jsonMapper,
-                    baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, contextExtractor);
+                    baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, sessionPolicy, keepAliveCustomizer, contextExtractor);
         }
     }
 }
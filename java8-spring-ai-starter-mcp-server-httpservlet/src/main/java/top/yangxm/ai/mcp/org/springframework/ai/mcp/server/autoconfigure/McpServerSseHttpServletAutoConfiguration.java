@@ -12,6 +12,7 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportProviderBase;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport.HttpServletSseServerTransportProvider;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport.McpSessionLifecycleManager;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.McpServerAutoConfiguration;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.McpServerStdioDisabledCondition;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.properties.McpServerSseProperties;
@@ -41,6 +42,12 @@ public class McpServerSseHttpServletAutoConfiguration {
                 .messageEndpoint(sseProperties.getSseMessageEndpoint())
                 .sseEndpoint(sseProperties.getSseEndpoint())
                 .keepAliveInterval(sseProperties.getKeepAliveInterval())
+                .sessionPolicy(McpSessionLifecycleManager.policy()
+                        .idleTimeout(sseProperties.getSessionIdleTimeout())
+                        .maxLifetime(sseProperties.getMaxSessionLifetime())
+                        .maxSessions(sseProperties.getMaxSessions())
+                        .maxFailedPings(sseProperties.getMaxFailedPings())
+                        .build())
                 .build();
     }
 
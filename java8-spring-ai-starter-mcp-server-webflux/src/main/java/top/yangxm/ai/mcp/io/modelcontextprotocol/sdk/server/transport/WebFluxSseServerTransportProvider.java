@@ -18,8 +18,10 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.KeepAliveScheduler;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerSession;
@@ -29,7 +31,8 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextE
 
 import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
 public class WebFluxSseServerTransportProvider implements McpServerTransportProvider {
@@ -40,7 +43,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
     private final String messageEndpoint;
     private final String sseEndpoint;
     private final RouterFunction<?> routerFunction;
-    private final ConcurrentHashMap<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+    private final McpSessionLifecycleManager<McpServerSession> sessions;
     private final McpTransportContextExtractor<ServerRequest> contextExtractor;
     private final KeepAliveScheduler keepAliveScheduler;
     private volatile boolean isClosing = false;
@@ -48,6 +51,8 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
     private WebFluxSseServerTransportProvider(JsonMapper jsonMapper, String baseUrl, String messageEndpoint,
                                               String sseEndpoint, Duration keepAliveInterval,
+                                              McpSessionLifecycleManager.Policy sessionPolicy,
+                                              Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer,
                                               McpTransportContextExtractor<ServerRequest> contextExtractor) {
         Assert.notNull(jsonMapper, "JsonMapper must not be null");
         Assert.notNull(baseUrl, "baseUrl must not be null");
@@ -65,12 +70,16 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
                 .POST(this.messageEndpoint, this::handleMessage)
                 .build();
 
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
         if (keepAliveInterval != null) {
-            this.keepAliveScheduler = KeepAliveScheduler
+            KeepAliveScheduler.Builder keepAliveBuilder = KeepAliveScheduler
                     .builder(() -> (isClosing) ? Flux.empty() : Flux.fromIterable(sessions.values()))
                     .initialDelay(keepAliveInterval)
                     .interval(keepAliveInterval)
-                    .build();
+                    .onPingSuccess(sessions::pingSucceeded)
+                    .onPingFailure(sessions::pingFailed);
+            keepAliveCustomizer.accept(keepAliveBuilder);
+            this.keepAliveScheduler = keepAliveBuilder.build();
             this.keepAliveScheduler.start();
         } else {
             this.keepAliveScheduler = null;
@@ -113,7 +122,10 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
                             .build());
                     sink.onCancel(() -> {
                         logger.debug("Session {} cancelled", sessionId);
-                        sessions.remove(sessionId);
+                        McpServerSession removed = sessions.remove(sessionId);
+                        if (removed != null) {
+                            removed.disconnect();
+                        }
                     });
                 }).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)), ServerSentEvent.class);
     }
@@ -136,7 +148,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
         McpTransportContext transportContext = this.contextExtractor.extract(request);
 
-        return request.bodyToMono(String.class).flatMap(body -> {
+        return request.bodyToMono(byte[].class).flatMap(body -> {
             try {
                 JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
                 return session.handle(message).flatMap(response -> ServerResponse.ok().build()).onErrorResume(error -> {
@@ -164,11 +176,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
             return Mono.empty();
         }
         logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-        return Flux.fromIterable(sessions.values())
-                .flatMap(session -> session.sendNotification(method, params)
-                        .doOnError(e -> logger.error("Failed to send message to session {}: {}", session.id(), e.getMessage()))
-                        .onErrorComplete())
-                .then();
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params);
     }
 
     @Override
@@ -181,6 +189,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
                 .doOnSuccess(v -> {
                     logger.debug("Graceful shutdown completed");
                     sessions.clear();
+                    sessions.close();
                     if (this.keepAliveScheduler != null) {
                         this.keepAliveScheduler.shutdown();
                     }
@@ -202,9 +211,18 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
         @Override
         public Mono<Void> sendMessage(JSONRPCMessage message) {
+            return send(() -> jsonMapper.writeValueAsString(message));
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return send(message::text);
+        }
+
+        private Mono<Void> send(Supplier<String> jsonTextSupplier) {
             return Mono.fromSupplier(() -> {
                 try {
-                    return jsonMapper.writeValueAsString(message);
+                    return jsonTextSupplier.get();
                 } catch (Exception e) {
                     throw Exceptions.propagate(e);
                 }
@@ -237,7 +255,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
         @Override
         public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
-            return jsonMapper.convertValue(data, typeRef);
+            return McpRawParams.bind(jsonMapper, data, typeRef);
         }
 
         @Override
@@ -257,6 +275,9 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
         private String sseEndpoint = McpTransportConst.DEFAULT_SSE_ENDPOINT;
         private McpTransportContextExtractor<ServerRequest> contextExtractor = (serverRequest) -> McpTransportContext.EMPTY;
         private Duration keepAliveInterval;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+        private Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer = builder -> {
+        };
 
         private Builder() {
         }
@@ -296,10 +317,22 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
             return this;
         }
 
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public Builder keepAliveCustomizer(Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+            Assert.notNull(keepAliveCustomizer, "Keep-alive customizer must not be null");
+            this.keepAliveCustomizer = keepAliveCustomizer;
+            return this;
+        }
+
         public WebFluxSseServerTransportProvider build() {
             Assert.notNull(this.messageEndpoint, "Message endpoint must be set");
             return new WebFluxSseServerTransportProvider(jsonMapper, baseUrl, messageEndpoint, sseEndpoint,
-                    keepAliveInterval, contextExtractor);
+                    keepAliveInterval, sessionPolicy, keepAliveCustomizer, contextExtractor);
         }
     }
 }
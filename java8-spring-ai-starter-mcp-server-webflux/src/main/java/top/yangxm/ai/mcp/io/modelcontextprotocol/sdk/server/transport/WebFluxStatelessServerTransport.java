@@ -15,9 +15,12 @@ import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAdmissionController;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerHandler;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerTransport;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextExtractor;
@@ -83,26 +86,21 @@ public class WebFluxStatelessServerTransport implements McpStatelessServerTransp
             return ServerResponse.badRequest().build();
         }
 
-        return request.bodyToMono(String.class).<ServerResponse>flatMap(body -> {
+        return request.bodyToMono(byte[].class).<ServerResponse>flatMap(body -> {
             try {
                 JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
                 if (message instanceof JSONRPCRequest) {
                     JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
                     return this.mcpHandler.handleRequest(transportContext, jsonrpcRequest)
-                            .flatMap(jsonrpcResponse -> {
-                                try {
-                                    String json = jsonMapper.writeValueAsString(jsonrpcResponse);
-                                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(json);
-                                } catch (JsonException e) {
-                                    logger.error("Failed to serialize response: {}", e.getMessage());
-                                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                            .bodyValue(McpError.of("Failed to serialize response"));
-                                }
-                            });
+                            .flatMap(this::jsonResponse);
                 } else if (message instanceof JSONRPCNotification) {
                     JSONRPCNotification jsonrpcNotification = (JSONRPCNotification) message;
                     return this.mcpHandler.handleNotification(transportContext, jsonrpcNotification)
                             .then(ServerResponse.accepted().build());
+                } else if (message instanceof JSONRPCBatch) {
+                    return this.mcpHandler.handleBatch(transportContext, (JSONRPCBatch) message)
+                            .flatMap(this::jsonResponse)
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.accepted().build()));
                 } else {
                     return ServerResponse.badRequest()
                             .bodyValue(McpError.of("The server accepts either requests or notifications"));
@@ -114,6 +112,20 @@ public class WebFluxStatelessServerTransport implements McpStatelessServerTransp
         }).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
     }
 
+    private Mono<ServerResponse> jsonResponse(JSONRPCMessage message) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(message);
+            int status = message instanceof JSONRPCResponse
+                    ? McpAdmissionController.httpStatus(((JSONRPCResponse) message).error()) : 0;
+            return ServerResponse.status(status > 0 ? HttpStatus.valueOf(status) : HttpStatus.OK)
+                    .contentType(MediaType.APPLICATION_JSON).bodyValue(json);
+        } catch (JsonException e) {
+            logger.error("Failed to serialize response: {}", e.getMessage());
+            return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .bodyValue(McpError.of("Failed to serialize response"));
+        }
+    }
+
     public RouterFunction<?> getRouterFunction() {
         return this.routerFunction;
     }
@@ -8,6 +8,7 @@ import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
@@ -20,15 +21,20 @@ import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.commons.util.Lists;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.KeepAliveScheduler;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.InitializeRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.ProtocolVersions;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAdmissionController;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession.McpStreamableServerSessionInit;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession.McpStreamableServerSessionStream;
@@ -38,7 +44,9 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextE
 
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
 public class WebFluxStreamableServerTransportProvider implements McpStreamableServerTransportProvider {
@@ -48,7 +56,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
     private final String messageEndpoint;
     private final boolean disallowDelete;
     private final RouterFunction<?> routerFunction;
-    private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+    private final McpSessionLifecycleManager<McpStreamableServerSession> sessions;
     private final McpTransportContextExtractor<ServerRequest> contextExtractor;
     private final KeepAliveScheduler keepAliveScheduler;
     private volatile boolean isClosing = false;
@@ -56,6 +64,8 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
     private WebFluxStreamableServerTransportProvider(JsonMapper jsonMapper, String messageEndpoint,
                                                      boolean disallowDelete, Duration keepAliveInterval,
+                                                     McpSessionLifecycleManager.Policy sessionPolicy,
+                                                     Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer,
                                                      McpTransportContextExtractor<ServerRequest> contextExtractor) {
         Assert.notNull(jsonMapper, "JsonMapper must not be null");
         Assert.notNull(messageEndpoint, "Message endpoint must not be null");
@@ -71,12 +81,16 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
                 .DELETE(this.messageEndpoint, this::handleDelete)
                 .build();
 
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
         if (keepAliveInterval != null) {
-            this.keepAliveScheduler = KeepAliveScheduler
+            KeepAliveScheduler.Builder keepAliveBuilder = KeepAliveScheduler
                     .builder(() -> (isClosing) ? Flux.empty() : Flux.fromIterable(sessions.values()))
                     .initialDelay(keepAliveInterval)
                     .interval(keepAliveInterval)
-                    .build();
+                    .onPingSuccess(sessions::pingSucceeded)
+                    .onPingFailure(sessions::pingFailed);
+            keepAliveCustomizer.accept(keepAliveBuilder);
+            this.keepAliveScheduler = keepAliveBuilder.build();
             this.keepAliveScheduler.start();
         } else {
             this.keepAliveScheduler = null;
@@ -115,20 +129,24 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
                 return ServerResponse.notFound().build();
             }
 
-            if (request.headers().asHttpHeaders().containsKey(McpTransportConst.HEADER_LAST_EVENT_ID)) {
-                String lastId = request.headers().asHttpHeaders().getFirst(McpTransportConst.HEADER_LAST_EVENT_ID);
-                return ServerResponse.ok()
-                        .contentType(MediaType.TEXT_EVENT_STREAM)
-                        .body(session.replay(lastId)
-                                .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)), ServerSentEvent.class);
-            }
-
+            String lastId = request.headers().asHttpHeaders().getFirst(McpTransportConst.HEADER_LAST_EVENT_ID);
             return ServerResponse.ok()
                     .contentType(MediaType.TEXT_EVENT_STREAM)
                     .body(Flux.<ServerSentEvent<?>>create(sink -> {
                         WebFluxMcpTransport sessionTransport = new WebFluxMcpTransport(sessionId, sink);
-                        McpStreamableServerSessionStream listeningStream = session.listeningStream(sessionTransport);
-                        sink.onDispose(listeningStream::close);
+                        Flux<Void> replay = lastId == null ? Flux.empty() : session.replay(lastId)
+                                .concatMap(event -> sessionTransport.sendMessage(event.message(), event.id()));
+                        // the sink keeps a single dispose hook, so the replay and the listening stream share one
+                        Disposable.Composite resources = Disposables.composite();
+                        sink.onDispose(resources);
+                        // replayed events must reach the client before any live message on this stream
+                        resources.add(replay.then(Mono.fromRunnable(() -> {
+                            McpStreamableServerSessionStream listeningStream = session.listeningStream(sessionTransport);
+                            resources.add(listeningStream::close);
+                        })).subscribe(null, e -> {
+                            logger.error("Failed to replay messages for session {}: {}", sessionId, e.getMessage());
+                            sink.error(e);
+                        }));
                         // TODO Clarify why the outer context is not present in the
                     }).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)), ServerSentEvent.class);
 
@@ -147,19 +165,19 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
             return ServerResponse.badRequest().build();
         }
 
-        return request.bodyToMono(String.class).flatMap(body -> {
+        return request.bodyToMono(byte[].class).flatMap(body -> {
                     try {
                         JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
                         if (message instanceof JSONRPCRequest) {
                             JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
                             if (jsonrpcRequest.method().equals(McpSchema.METHOD_INITIALIZE)) {
-                                InitializeRequest initializeRequest = jsonMapper.convertValue(jsonrpcRequest.params(), InitializeRequest.class);
+                                InitializeRequest initializeRequest = McpRawParams.bind(jsonMapper, jsonrpcRequest.params(), InitializeRequest.class);
                                 McpStreamableServerSessionInit init = this.sessionFactory.startSession(initializeRequest);
                                 sessions.put(init.session().id(), init.session());
                                 return init.initResult()
                                         .map(initializeResult -> {
                                             try {
-                                                return this.jsonMapper.writeValueAsString(
+                                                return this.jsonMapper.writeValueAsBytes(
                                                         JSONRPCResponse.ofSuccess(jsonrpcRequest.id(), initializeResult)
                                                 );
                                             } catch (Exception e) {
@@ -172,6 +190,10 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
                                                 .header(McpTransportConst.HEADER_MCP_SESSION_ID, init.session().id())
                                                 .bodyValue(initResult));
                             }
+                        } else if (message instanceof JSONRPCBatch
+                                && ((JSONRPCBatch) message).containsRequest(McpSchema.METHOD_INITIALIZE)) {
+                            return ServerResponse.badRequest()
+                                    .bodyValue(McpError.of("Initialize request must not be part of a batch"));
                         }
 
                         if (!request.headers().asHttpHeaders().containsKey(McpTransportConst.HEADER_MCP_SESSION_ID)) {
@@ -192,19 +214,19 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
                             return session.accept((JSONRPCNotification) message).then(ServerResponse.accepted().build());
                         } else if (message instanceof JSONRPCRequest) {
                             JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
-                            return ServerResponse.ok()
-                                    .contentType(MediaType.TEXT_EVENT_STREAM)
-                                    .body(Flux.<ServerSentEvent<?>>create(sink -> {
-                                                WebFluxMcpTransport st = new WebFluxMcpTransport(sessionId, sink);
-                                                Mono<Void> stream = session.responseStream(jsonrpcRequest, st);
-                                                Disposable streamSubscription = stream.onErrorComplete(err -> {
-                                                    sink.error(err);
-                                                    return true;
-                                                }).contextWrite(sink.contextView()).subscribe();
-                                                sink.onCancel(streamSubscription);
-                                                // TODO Clarify why the outer context is not present in the
-                                            }).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)),
-                                            ServerSentEvent.class);
+                            JSONRPCError rejection = session.checkAdmission(jsonrpcRequest);
+                            if (rejection != null) {
+                                return ServerResponse.status(McpAdmissionController.httpStatus(rejection))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(JSONRPCResponse.ofError(jsonrpcRequest.id(), rejection.code(), rejection.message()));
+                            }
+                            return responseStream(sessionId, transportContext, st -> session.responseStream(jsonrpcRequest, st));
+                        } else if (message instanceof JSONRPCBatch) {
+                            JSONRPCBatch batch = (JSONRPCBatch) message;
+                            if (!batch.hasRequests()) {
+                                return session.accept(batch).then(ServerResponse.accepted().build());
+                            }
+                            return responseStream(sessionId, transportContext, st -> session.responseStream(batch, st));
                         } else {
                             return ServerResponse.badRequest().bodyValue(McpError.of("Unknown message type"));
                         }
@@ -217,6 +239,23 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
                 .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
     }
 
+    private Mono<ServerResponse> responseStream(String sessionId, McpTransportContext transportContext,
+                                                Function<WebFluxMcpTransport, Mono<Void>> streamFactory) {
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.<ServerSentEvent<?>>create(sink -> {
+                            WebFluxMcpTransport st = new WebFluxMcpTransport(sessionId, sink);
+                            Mono<Void> stream = streamFactory.apply(st);
+                            Disposable streamSubscription = stream.onErrorComplete(err -> {
+                                sink.error(err);
+                                return true;
+                            }).contextWrite(sink.contextView()).subscribe();
+                            sink.onCancel(streamSubscription);
+                            // TODO Clarify why the outer context is not present in the
+                        }).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)),
+                        ServerSentEvent.class);
+    }
+
     private Mono<ServerResponse> handleDelete(ServerRequest request) {
         if (isClosing) {
             return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).bodyValue("Server is shutting down");
@@ -237,7 +276,9 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
             if (session == null) {
                 return ServerResponse.notFound().build();
             }
-            return session.delete().then(ServerResponse.ok().build());
+            return session.delete()
+                    .doOnSuccess(v -> this.sessions.remove(sessionId))
+                    .then(ServerResponse.ok().build());
         }).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
     }
 
@@ -260,11 +301,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
             return Mono.empty();
         }
         logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-        return Flux.fromIterable(sessions.values())
-                .flatMap(session -> session.sendNotification(method, params)
-                        .doOnError(e -> logger.error("Failed to send message to session {}: {}", session.id(), e.getMessage()))
-                        .onErrorComplete())
-                .then();
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params);
     }
 
     @Override
@@ -277,6 +314,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
                     .then();
         }).then().doOnSuccess(v -> {
             sessions.clear();
+            sessions.close();
             if (this.keepAliveScheduler != null) {
                 this.keepAliveScheduler.shutdown();
             }
@@ -303,9 +341,23 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
         @Override
         public Mono<Void> sendMessage(JSONRPCMessage message, String messageId) {
+            return send(() -> jsonMapper.writeValueAsString(message), messageId);
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return this.sendEncodedMessage(message, null);
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message, String messageId) {
+            return send(message::text, messageId);
+        }
+
+        private Mono<Void> send(Supplier<String> jsonTextSupplier, String messageId) {
             return Mono.fromSupplier(() -> {
                 try {
-                    return jsonMapper.writeValueAsString(message);
+                    return jsonTextSupplier.get();
                 } catch (Exception e) {
                     throw Exceptions.propagate(e);
                 }
@@ -325,7 +377,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
         @Override
         public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
-            return jsonMapper.convertValue(data, typeRef);
+            return McpRawParams.bind(jsonMapper, data, typeRef);
         }
 
         @Override
@@ -354,6 +406,9 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
         private McpTransportContextExtractor<ServerRequest> contextExtractor = (serverRequest) -> McpTransportContext.EMPTY;
         private boolean disallowDelete;
         private Duration keepAliveInterval;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+        private Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer = builder -> {
+        };
 
         private Builder() {
         }
@@ -386,9 +441,21 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
             return this;
         }
 
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public Builder keepAliveCustomizer(Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+            Assert.notNull(keepAliveCustomizer, "Keep-alive customizer must not be null");
+            this.keepAliveCustomizer = keepAliveCustomizer;
+            return this;
+        }
+
         public WebFluxStreamableServerTransportProvider build() {
             Assert.notNull(this.messageEndpoint, "Message endpoint must be set");
-            return new WebFluxStreamableServerTransportProvider(jsonMapper, messageEndpoint, disallowDelete, keepAliveInterval, contextExtractor);
+            return new WebFluxStreamableServerTransportProvider(jsonMapper, messageEndpoint, disallowDelete, keepAliveInterval, sessionPolicy, keepAliveCustomizer, contextExtractor);
         }
     }
 }
@@ -12,6 +12,7 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportProviderBase;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport.McpSessionLifecycleManager;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport.WebFluxSseServerTransportProvider;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.McpServerAutoConfiguration;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.McpServerStdioDisabledCondition;
@@ -43,6 +44,12 @@ public class McpServerSseWebFluxAutoConfiguration {
                 .messageEndpoint(sseProperties.getSseMessageEndpoint())
                 .sseEndpoint(sseProperties.getSseEndpoint())
                 .keepAliveInterval(sseProperties.getKeepAliveInterval())
+                .sessionPolicy(McpSessionLifecycleManager.policy()
+                        .idleTimeout(sseProperties.getSessionIdleTimeout())
+                        .maxLifetime(sseProperties.getMaxSessionLifetime())
+                        .maxSessions(sseProperties.getMaxSessions())
+                        .maxFailedPings(sseProperties.getMaxFailedPings())
+                        .build())
                 .build();
     }
 
@@ -12,6 +12,7 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerTransportProviderBase;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport.McpSessionLifecycleManager;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.transport.WebFluxStreamableServerTransportProvider;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.McpServerAutoConfiguration;
 import top.yangxm.ai.mcp.org.springframework.ai.mcp.server.common.autoconfigure.McpServerStdioDisabledCondition;
@@ -45,6 +46,12 @@ public class McpServerStreamableHttpWebFluxAutoConfiguration {
                 .jsonMapper(JsonMapper.getDefault())
                 .messageEndpoint(streamableHttpProperties.getMcpEndpoint())
                 .keepAliveInterval(streamableHttpProperties.getKeepAliveInterval())
+                .sessionPolicy(McpSessionLifecycleManager.policy()
+                        .idleTimeout(streamableHttpProperties.getSessionIdleTimeout())
+                        .maxLifetime(streamableHttpProperties.getMaxSessionLifetime())
+                        .maxSessions(streamableHttpProperties.getMaxSessions())
+                        .maxFailedPings(streamableHttpProperties.getMaxFailedPings())
+                        .build())
                 .disallowDelete(streamableHttpProperties.isDisallowDelete())
                 .build();
     }
@@ -7,6 +7,7 @@ import org.springframework.web.servlet.function.ServerRequest;
 import org.springframework.web.servlet.function.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import top.yangxm.ai.mcp.commons.json.JsonException;
 import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
@@ -14,8 +15,10 @@ import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.KeepAliveScheduler;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerSession;
@@ -25,8 +28,9 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextE
 
 import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
 public class WebMvcSseServerTransportProvider implements McpServerTransportProvider {
@@ -37,7 +41,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
     private final String messageEndpoint;
     private final String sseEndpoint;
     private final RouterFunction<ServerResponse> routerFunction;
-    private final ConcurrentHashMap<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+    private final McpSessionLifecycleManager<McpServerSession> sessions;
     private final McpTransportContextExtractor<ServerRequest> contextExtractor;
     private final KeepAliveScheduler keepAliveScheduler;
     private volatile boolean isClosing = false;
@@ -45,6 +49,8 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
     private WebMvcSseServerTransportProvider(JsonMapper jsonMapper, String baseUrl, String messageEndpoint,
                                              String sseEndpoint, Duration keepAliveInterval,
+                                             McpSessionLifecycleManager.Policy sessionPolicy,
+                                             Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer,
                                              McpTransportContextExtractor<ServerRequest> contextExtractor) {
         Assert.notNull(jsonMapper, "McpJsonMapper must not be null");
         Assert.notNull(baseUrl, "Message base URL must not be null");
@@ -62,12 +68,16 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
                 .POST(this.messageEndpoint, this::handleMessage)
                 .build();
 
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
         if (keepAliveInterval != null) {
-            this.keepAliveScheduler = KeepAliveScheduler
+            KeepAliveScheduler.Builder keepAliveBuilder = KeepAliveScheduler
                     .builder(() -> (isClosing) ? Flux.empty() : Flux.fromIterable(sessions.values()))
                     .initialDelay(keepAliveInterval)
                     .interval(keepAliveInterval)
-                    .build();
+                    .onPingSuccess(sessions::pingSucceeded)
+                    .onPingFailure(sessions::pingFailed);
+            keepAliveCustomizer.accept(keepAliveBuilder);
+            this.keepAliveScheduler = keepAliveBuilder.build();
             this.keepAliveScheduler.start();
         } else {
             this.keepAliveScheduler = null;
@@ -100,11 +110,8 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
             return Mono.empty();
         }
         logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-        return Flux.fromIterable(sessions.values())
-                .flatMap(session -> session.sendNotification(method, params)
-                        .doOnError(e -> logger.error("Failed to send notification to session {}: {}", session.id(), e.getMessage()))
-                        .onErrorComplete())
-                .then();
+        return McpNotificationBroadcaster.broadcast(jsonMapper, sessions.values(), method, params,
+                Schedulers.boundedElastic());
     }
 
     @Override
@@ -115,6 +122,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
         }).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
             logger.debug("Graceful shutdown completed");
             sessions.clear();
+            sessions.close();
             if (this.keepAliveScheduler != null) {
                 this.keepAliveScheduler.shutdown();
             }
@@ -137,11 +145,15 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
             return ServerResponse.sse(sseBuilder -> {
                 sseBuilder.onComplete(() -> {
                     logger.debug("SSE connection completed for session: {}", sessionId);
-                    sessions.remove(sessionId);
+                    disconnect(sessionId);
                 });
                 sseBuilder.onTimeout(() -> {
                     logger.debug("SSE connection timed out for session: {}", sessionId);
-                    sessions.remove(sessionId);
+                    disconnect(sessionId);
+                });
+                sseBuilder.onError(e -> {
+                    logger.debug("SSE connection failed for session: {}: {}", sessionId, e.getMessage());
+                    disconnect(sessionId);
                 });
 
                 WebMvcMcpTransport sessionTransport = new WebMvcMcpTransport(sessionId, sseBuilder);
@@ -164,6 +176,13 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
         }
     }
 
+    private void disconnect(String sessionId) {
+        McpServerSession session = this.sessions.remove(sessionId);
+        if (session != null) {
+            session.disconnect();
+        }
+    }
+
     private ServerResponse handleMessage(ServerRequest request) {
         if (this.isClosing) {
             return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is shutting down");
@@ -182,8 +201,8 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
         try {
             final McpTransportContext transportContext = this.contextExtractor.extract(request);
-            String body = request.body(String.class);
-            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
+            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper,
+                    request.servletRequest().getInputStream());
             session.handle(message).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext)).block();
             return ServerResponse.ok().build();
         } catch (JsonException | IllegalArgumentException e) {
@@ -208,10 +227,19 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
         @Override
         public Mono<Void> sendMessage(JSONRPCMessage message) {
+            return send(() -> jsonMapper.writeValueAsString(message));
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return send(message::text);
+        }
+
+        private Mono<Void> send(Supplier<String> jsonTextSupplier) {
             return Mono.fromRunnable(() -> {
                 sseBuilderLock.lock();
                 try {
-                    String jsonText = jsonMapper.writeValueAsString(message);
+                    String jsonText = jsonTextSupplier.get();
                     sseBuilder.id(sessionId).event(McpTransportConst.MESSAGE_EVENT_TYPE).data(jsonText);
                     logger.debug("Message sent to session {}", sessionId);
                 } catch (Exception e) {
@@ -225,7 +253,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
         @Override
         public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
-            return jsonMapper.convertValue(data, typeRef);
+            return McpRawParams.bind(jsonMapper, data, typeRef);
         }
 
         @Override
@@ -263,6 +291,9 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
         private String messageEndpoint = McpTransportConst.DEFAULT_SSE_MESSAGE_ENDPOINT;
         private String sseEndpoint = McpTransportConst.DEFAULT_SSE_ENDPOINT;
         private Duration keepAliveInterval;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+        private Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer = builder -> {
+        };
         private McpTransportContextExtractor<ServerRequest> contextExtractor = (serverRequest) -> McpTransportContext.EMPTY;
 
         public Builder jsonMapper(JsonMapper jsonMapper) {
@@ -294,6 +325,18 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
             return this;
         }
 
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public Builder keepAliveCustomizer(Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+            Assert.notNull(keepAliveCustomizer, "Keep-alive customizer must not be null");
+            this.keepAliveCustomizer = keepAliveCustomizer;
+            return this;
+        }
+
         public Builder contextExtractor(McpTransportContextExtractor<ServerRequest> contextExtractor) {
             Assert.notNull(contextExtractor, "contextExtractor must not be null");
             this.contextExtractor = contextExtractor;
@@ -305,7 +348,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
                 throw new IllegalStateException("MessageEndpoint must be set");
             }
             return new WebMvcSseServerTransportProvider(jsonMapper == null ? JsonMapper.getDefault() : jsonMapper,
-                    baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, contextExtractor);
+                    baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval, sessionPolicy, keepAliveCustomizer, contextExtractor);
         }
     }
 }
@@ -15,10 +15,12 @@ import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAdmissionController;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerHandler;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerTransport;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextExtractor;
@@ -33,11 +35,13 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
     private final String messageEndpoint;
     private final RouterFunction<ServerResponse> routerFunction;
     private final McpTransportContextExtractor<ServerRequest> contextExtractor;
+    private final boolean asyncExecution;
     private McpStatelessServerHandler mcpHandler;
     private volatile boolean isClosing = false;
 
     private WebMvcStatelessServerTransport(JsonMapper jsonMapper, String messageEndpoint,
-                                           McpTransportContextExtractor<ServerRequest> contextExtractor) {
+                                           McpTransportContextExtractor<ServerRequest> contextExtractor,
+                                           boolean asyncExecution) {
         Assert.notNull(jsonMapper, "jsonMapper must not be null");
         Assert.notNull(messageEndpoint, "messageEndpoint must not be null");
         Assert.notNull(contextExtractor, "contextExtractor must not be null");
@@ -45,12 +49,14 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
         this.jsonMapper = jsonMapper;
         this.messageEndpoint = messageEndpoint;
         this.contextExtractor = contextExtractor;
+        this.asyncExecution = asyncExecution;
         this.routerFunction = RouterFunctions.route()
                 .GET(this.messageEndpoint, this::handleGet)
                 .POST(this.messageEndpoint, this::handlePost)
                 .build();
 
-        logger.debug("WebMVC STATELESS transport provider initialized with messageEndpoint: {}", messageEndpoint);
+        logger.debug("WebMVC STATELESS transport provider initialized with messageEndpoint: {}, asyncExecution: {}",
+                messageEndpoint, asyncExecution);
     }
 
     public String messageEndpoint() {
@@ -84,36 +90,25 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
         }
 
         try {
-            String body = request.body(String.class);
-            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
+            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper,
+                    request.servletRequest().getInputStream());
             if (message instanceof JSONRPCRequest) {
-                try {
-                    JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
-                    JSONRPCResponse jsonrpcResponse = this.mcpHandler
-                            .handleRequest(transportContext, jsonrpcRequest)
-                            .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-                            .block();
-                    if (jsonrpcResponse == null) {
-                        throw new RuntimeException("Response is null");
-                    }
-                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(jsonrpcResponse);
-                } catch (Exception e) {
-                    logger.error("Failed to handle request: {}", e.getMessage());
-                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .body(McpError.of("Failed to handle request: " + e.getMessage()));
-                }
+                JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
+                return execute(this.mcpHandler.handleRequest(transportContext, jsonrpcRequest)
+                        .switchIfEmpty(Mono.error(() -> new RuntimeException("Response is null")))
+                        .map(jsonrpcResponse -> ServerResponse.status(status(jsonrpcResponse))
+                                .contentType(MediaType.APPLICATION_JSON).body(jsonrpcResponse))
+                        .onErrorResume(e -> errorResponse("Failed to handle request", e)), transportContext);
             } else if (message instanceof JSONRPCNotification) {
-                try {
-                    JSONRPCNotification jsonrpcNotification = (JSONRPCNotification) message;
-                    this.mcpHandler.handleNotification(transportContext, jsonrpcNotification)
-                            .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-                            .block();
-                    return ServerResponse.accepted().build();
-                } catch (Exception e) {
-                    logger.error("Failed to handle notification: {}", e.getMessage());
-                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .body(McpError.of("Failed to handle notification: " + e.getMessage()));
-                }
+                JSONRPCNotification jsonrpcNotification = (JSONRPCNotification) message;
+                return execute(this.mcpHandler.handleNotification(transportContext, jsonrpcNotification)
+                        .then(Mono.fromSupplier(() -> ServerResponse.accepted().build()))
+                        .onErrorResume(e -> errorResponse("Failed to handle notification", e)), transportContext);
+            } else if (message instanceof JSONRPCBatch) {
+                return execute(this.mcpHandler.handleBatch(transportContext, (JSONRPCBatch) message)
+                        .map(batchResponse -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(batchResponse))
+                        .switchIfEmpty(Mono.fromSupplier(() -> ServerResponse.accepted().build()))
+                        .onErrorResume(e -> errorResponse("Failed to handle batch", e)), transportContext);
             } else {
                 return ServerResponse.badRequest()
                         .body(McpError.of("The server accepts either requests or notifications"));
@@ -128,6 +123,25 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
         }
     }
 
+    private ServerResponse execute(Mono<ServerResponse> response, McpTransportContext transportContext) {
+        Mono<ServerResponse> contextual = response.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
+        if (this.asyncExecution) {
+            return ServerResponse.async(contextual.toFuture());
+        }
+        return contextual.block();
+    }
+
+    private static HttpStatus status(JSONRPCResponse response) {
+        int status = McpAdmissionController.httpStatus(response.error());
+        return status > 0 ? HttpStatus.valueOf(status) : HttpStatus.OK;
+    }
+
+    private Mono<ServerResponse> errorResponse(String message, Throwable e) {
+        logger.error("{}: {}", message, e.getMessage());
+        return Mono.fromSupplier(() -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(McpError.of(message + ": " + e.getMessage())));
+    }
+
     public RouterFunction<ServerResponse> getRouterFunction() {
         return this.routerFunction;
     }
@@ -140,6 +154,7 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
         private JsonMapper jsonMapper = JsonMapper.getDefault();
         private String messageEndpoint = McpTransportConst.DEFAULT_STATELESS_MESSAGE_ENDPOINT;
         private McpTransportContextExtractor<ServerRequest> contextExtractor = (serverRequest) -> McpTransportContext.EMPTY;
+        private boolean asyncExecution;
 
         private Builder() {
         }
@@ -162,9 +177,14 @@ public class WebMvcStatelessServerTransport implements McpStatelessServerTranspo
             return this;
         }
 
+        public Builder asyncExecution(boolean asyncExecution) {
+            this.asyncExecution = asyncExecution;
+            return this;
+        }
+
         public WebMvcStatelessServerTransport build() {
             Assert.notNull(this.messageEndpoint, "Message endpoint must be set");
-            return new WebMvcStatelessServerTransport(jsonMapper, messageEndpoint, contextExtractor);
+            return new WebMvcStatelessServerTransport(jsonMapper, messageEndpoint, contextExtractor, asyncExecution);
         }
     }
 }
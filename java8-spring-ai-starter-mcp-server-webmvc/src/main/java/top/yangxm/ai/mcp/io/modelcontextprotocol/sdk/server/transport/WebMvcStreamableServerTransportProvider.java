@@ -6,8 +6,11 @@ import org.springframework.web.servlet.function.RouterFunction;
 import org.springframework.web.servlet.function.RouterFunctions;
 import org.springframework.web.servlet.function.ServerRequest;
 import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import top.yangxm.ai.mcp.commons.json.JsonException;
 import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.json.TypeRef;
@@ -16,15 +19,20 @@ import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.commons.util.Assert;
 import top.yangxm.ai.mcp.commons.util.Lists;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.KeepAliveScheduler;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpEncodedMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.common.McpTransportContext;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.exception.McpError;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpRawParams;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.InitializeRequest;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCBatch;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCError;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCMessage;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCNotification;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCRequest;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.JSONRPCResponse;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.ProtocolVersions;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAdmissionController;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerSession.McpStreamableServerSessionStream;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStreamableServerTransport;
@@ -33,8 +41,13 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpTransportContextE
 
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class WebMvcStreamableServerTransportProvider implements McpStreamableServerTransportProvider {
     private static final Logger logger = LoggerFactoryHolder.getLogger(WebMvcStreamableServerTransportProvider.class);
@@ -42,15 +55,19 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
     private final String messageEndpoint;
     private final boolean disallowDelete;
     private final RouterFunction<ServerResponse> routerFunction;
-    private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+    private final McpSessionLifecycleManager<McpStreamableServerSession> sessions;
     private final McpTransportContextExtractor<ServerRequest> contextExtractor;
     private final KeepAliveScheduler keepAliveScheduler;
+    private final boolean asyncExecution;
     private volatile boolean isClosing = false;
     private McpStreamableServerSession.Factory sessionFactory;
 
     private WebMvcStreamableServerTransportProvider(JsonMapper jsonMapper, String messageEndpoint,
                                                     boolean disallowDelete, Duration keepAliveInterval,
-                                                    McpTransportContextExtractor<ServerRequest> contextExtractor) {
+                                                    McpSessionLifecycleManager.Policy sessionPolicy,
+                                                    Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer,
+                                                    McpTransportContextExtractor<ServerRequest> contextExtractor,
+                                                    boolean asyncExecution) {
         Assert.notNull(jsonMapper, "JsonMapper must not be null");
         Assert.notNull(messageEndpoint, "Message endpoint must not be null");
         Assert.notNull(contextExtractor, "Context extractor must not be null");
@@ -59,24 +76,29 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
         this.messageEndpoint = messageEndpoint;
         this.contextExtractor = contextExtractor;
         this.disallowDelete = disallowDelete;
+        this.asyncExecution = asyncExecution;
         this.routerFunction = RouterFunctions.route()
                 .GET(this.messageEndpoint, this::handleGet)
                 .POST(this.messageEndpoint, this::handlePost)
                 .DELETE(this.messageEndpoint, this::handleDelete)
                 .build();
 
+        this.sessions = new McpSessionLifecycleManager<>(sessionPolicy);
         if (keepAliveInterval != null) {
-            this.keepAliveScheduler = KeepAliveScheduler
+            KeepAliveScheduler.Builder keepAliveBuilder = KeepAliveScheduler
                     .builder(() -> (isClosing) ? Flux.empty() : Flux.fromIterable(sessions.values()))
                     .initialDelay(keepAliveInterval)
                     .interval(keepAliveInterval)
-                    .build();
+                    .onPingSuccess(sessions::pingSucceeded)
+                    .onPingFailure(sessions::pingFailed);
+            keepAliveCustomizer.accept(keepAliveBuilder);
+            this.keepAliveScheduler = keepAliveBuilder.build();
             this.keepAliveScheduler.start();
         } else {
             this.keepAliveScheduler = null;
         }
-        logger.debug("WebMVC STREAMABLE transport provider initialized with messageEndpoint: {}, keepAliveInterval: {}, disallowDelete: {}",
-                messageEndpoint, keepAliveInterval, disallowDelete);
+        logger.debug("WebMVC STREAMABLE transport provider initialized with messageEndpoint: {}, keepAliveInterval: {}, disallowDelete: {}, asyncExecution: {}",
+                messageEndpoint, keepAliveInterval, disallowDelete, asyncExecution);
     }
 
     public String messageEndpoint() {
@@ -120,27 +142,20 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
                         session.replay(lastId)
                                 .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
                                 .toIterable()
-                                .forEach(message -> {
-                                    try {
-                                        sessionTransport.sendMessage(message)
-                                                .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-                                                .block();
-                                    } catch (Exception e) {
-                                        logger.error("Failed to replay message: {}", e.getMessage());
-                                        sseBuilder.error(e);
-                                    }
-                                });
+                                .forEach(event -> sessionTransport.sendMessage(event.message(), event.id())
+                                        .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+                                        .block());
                     } catch (Exception e) {
                         logger.error("Failed to replay messages: {}", e.getMessage());
                         sseBuilder.error(e);
+                        return;
                     }
-                } else {
-                    McpStreamableServerSessionStream listeningStream = session.listeningStream(sessionTransport);
-                    sseBuilder.onComplete(() -> {
-                        logger.debug("SSE connection completed for session: {}", sessionId);
-                        listeningStream.close();
-                    });
                 }
+                McpStreamableServerSessionStream listeningStream = session.listeningStream(sessionTransport);
+                sseBuilder.onComplete(() -> {
+                    logger.debug("SSE connection completed for session: {}", sessionId);
+                    listeningStream.close();
+                });
             }, Duration.ZERO);
         } catch (Exception e) {
             logger.error("Failed to handle GET request for session {}: {}", sessionId, e.getMessage());
@@ -163,29 +178,31 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
         McpTransportContext transportContext = this.contextExtractor.extract(request);
 
         try {
-            String body = request.body(String.class);
-            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper, body);
+            JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(jsonMapper,
+                    request.servletRequest().getInputStream());
             if (message instanceof JSONRPCRequest) {
                 JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
                 if (jsonrpcRequest.method().equals(McpSchema.METHOD_INITIALIZE)) {
-                    InitializeRequest initializeRequest = jsonMapper.convertValue(jsonrpcRequest.params(), InitializeRequest.class);
+                    InitializeRequest initializeRequest = McpRawParams.bind(jsonMapper, jsonrpcRequest.params(), InitializeRequest.class);
                     McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
                             .startSession(initializeRequest);
                     this.sessions.put(init.session().id(), init.session());
 
-                    try {
-                        McpSchema.InitializeResult initResult = init.initResult().block();
-
-                        return ServerResponse.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .header(McpTransportConst.HEADER_MCP_SESSION_ID, init.session().id())
-                                .body(new JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), initResult,
-                                        null));
-                    } catch (Exception e) {
-                        logger.error("Failed to initialize session: {}", e.getMessage());
-                        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).body(McpError.of(e.getMessage()));
-                    }
+                    return execute(init.initResult()
+                            .map(initResult -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .header(McpTransportConst.HEADER_MCP_SESSION_ID, init.session().id())
+                                    .body(new JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), initResult,
+                                            null)))
+                            .onErrorResume(e -> {
+                                logger.error("Failed to initialize session: {}", e.getMessage());
+                                return Mono.fromSupplier(() -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                        .body(McpError.of(e.getMessage())));
+                            }), transportContext);
                 }
+            } else if (message instanceof JSONRPCBatch
+                    && ((JSONRPCBatch) message).containsRequest(McpSchema.METHOD_INITIALIZE)) {
+                return ServerResponse.badRequest().body(McpError.of("Initialize request must not be part of a batch"));
             }
 
             if (!request.headers().asHttpHeaders().containsKey(McpTransportConst.HEADER_MCP_SESSION_ID)) {
@@ -201,30 +218,26 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
             }
 
             if (message instanceof JSONRPCResponse) {
-                session.accept((JSONRPCResponse) message)
-                        .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-                        .block();
-                return ServerResponse.accepted().build();
+                return accepted(session.accept((JSONRPCResponse) message), transportContext);
             } else if (message instanceof JSONRPCNotification) {
-                session.accept((JSONRPCNotification) message)
-                        .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-                        .block();
-                return ServerResponse.accepted().build();
+                return accepted(session.accept((JSONRPCNotification) message), transportContext);
             } else if (message instanceof JSONRPCRequest) {
                 JSONRPCRequest jsonrpcRequest = (JSONRPCRequest) message;
-                return ServerResponse.sse(sseBuilder -> {
-                    sseBuilder.onComplete(() -> logger.debug("Request response stream completed for session: {}", sessionId));
-                    sseBuilder.onTimeout(() -> logger.debug("Request response stream timed out for session: {}", sessionId));
-                    WebMvcMcpTransport sessionTransport = new WebMvcMcpTransport(sessionId, sseBuilder);
-                    try {
-                        session.responseStream(jsonrpcRequest, sessionTransport)
-                                .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-                                .block();
-                    } catch (Exception e) {
-                        logger.error("Failed to handle request stream: {}", e.getMessage());
-                        sseBuilder.error(e);
-                    }
-                }, Duration.ZERO);
+                JSONRPCError rejection = session.checkAdmission(jsonrpcRequest);
+                if (rejection != null) {
+                    return ServerResponse.status(McpAdmissionController.httpStatus(rejection))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(JSONRPCResponse.ofError(jsonrpcRequest.id(), rejection.code(), rejection.message()));
+                }
+                return responseStream(sessionId, transportContext,
+                        sessionTransport -> session.responseStream(jsonrpcRequest, sessionTransport));
+            } else if (message instanceof JSONRPCBatch) {
+                JSONRPCBatch batch = (JSONRPCBatch) message;
+                if (!batch.hasRequests()) {
+                    return accepted(session.accept(batch), transportContext);
+                }
+                return responseStream(sessionId, transportContext,
+                        sessionTransport -> session.responseStream(batch, sessionTransport));
             } else {
                 return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
                         .body(McpError.of("Unknown message type"));
@@ -238,6 +251,60 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
         }
     }
 
+    private ServerResponse responseStream(String sessionId, McpTransportContext transportContext,
+                                          Function<WebMvcMcpTransport, Mono<Void>> streamFactory) {
+        return ServerResponse.sse(sseBuilder -> {
+            Disposable.Swap subscription = Disposables.swap();
+            sseBuilder.onComplete(() -> {
+                logger.debug("Request response stream completed for session: {}", sessionId);
+                subscription.dispose();
+            });
+            sseBuilder.onTimeout(() -> {
+                logger.debug("Request response stream timed out for session: {}", sessionId);
+                subscription.dispose();
+            });
+            sseBuilder.onError(e -> subscription.dispose());
+            WebMvcMcpTransport sessionTransport = new WebMvcMcpTransport(sessionId, sseBuilder);
+            Mono<Void> stream = streamFactory.apply(sessionTransport)
+                    .contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
+            if (this.asyncExecution) {
+                subscription.update(stream.subscribe(null, e -> {
+                    logger.error("Failed to handle request stream: {}", e.getMessage());
+                    sseBuilder.error(e);
+                }));
+                return;
+            }
+            CompletableFuture<Void> future = stream.toFuture();
+            subscription.update(() -> future.cancel(true));
+            try {
+                future.join();
+            } catch (CancellationException e) {
+                logger.debug("Request response stream closed early for session: {}", sessionId);
+            } catch (CompletionException e) {
+                logger.error("Failed to handle request stream: {}", e.getCause().getMessage());
+                sseBuilder.error(e.getCause());
+            }
+        }, Duration.ZERO);
+    }
+
+    private ServerResponse accepted(Mono<Void> accept, McpTransportContext transportContext) {
+        return execute(accept
+                .then(Mono.fromSupplier(() -> ServerResponse.accepted().build()))
+                .onErrorResume(e -> {
+                    logger.error("Error handling message: {}", e.getMessage());
+                    return Mono.fromSupplier(() -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(McpError.of(e.getMessage())));
+                }), transportContext);
+    }
+
+    private ServerResponse execute(Mono<ServerResponse> response, McpTransportContext transportContext) {
+        Mono<ServerResponse> contextual = response.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
+        if (this.asyncExecution) {
+            return ServerResponse.async(contextual.toFuture());
+        }
+        return contextual.block();
+    }
+
     private ServerResponse handleDelete(ServerRequest request) {
         if (this.isClosing) {
             return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is shutting down");
@@ -293,13 +360,8 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
         }
 
         logger.debug("Attempting to broadcast message to {} active sessions", this.sessions.size());
-        return Mono.fromRunnable(() -> this.sessions.values().parallelStream().forEach(session -> {
-            try {
-                session.sendNotification(method, params).block();
-            } catch (Exception e) {
-                logger.error("Failed to send message to session {}: {}", session.id(), e.getMessage());
-            }
-        }));
+        return McpNotificationBroadcaster.broadcast(jsonMapper, this.sessions.values(), method, params,
+                Schedulers.boundedElastic());
     }
 
     @Override
@@ -317,6 +379,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
             });
 
             this.sessions.clear();
+            this.sessions.close();
             logger.debug("Graceful shutdown completed");
         }).then().doOnSuccess(v -> {
             if (this.keepAliveScheduler != null) {
@@ -353,6 +416,20 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 
         @Override
         public Mono<Void> sendMessage(JSONRPCMessage message, String messageId) {
+            return send(() -> jsonMapper.writeValueAsString(message), messageId);
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+            return sendEncodedMessage(message, null);
+        }
+
+        @Override
+        public Mono<Void> sendEncodedMessage(McpEncodedMessage message, String messageId) {
+            return send(message::text, messageId);
+        }
+
+        private Mono<Void> send(Supplier<String> jsonTextSupplier, String messageId) {
             return Mono.fromRunnable(() -> {
                 if (this.closed) {
                     logger.debug("Attempted to send message to closed session: {}", this.sessionId);
@@ -366,7 +443,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
                         return;
                     }
 
-                    String jsonText = jsonMapper.writeValueAsString(message);
+                    String jsonText = jsonTextSupplier.get();
                     this.sseBuilder.id(messageId != null ? messageId : this.sessionId)
                             .event(McpTransportConst.MESSAGE_EVENT_TYPE)
                             .data(jsonText);
@@ -387,7 +464,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 
         @Override
         public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
-            return jsonMapper.convertValue(data, typeRef);
+            return McpRawParams.bind(jsonMapper, data, typeRef);
         }
 
         @Override
@@ -424,6 +501,10 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
         private McpTransportContextExtractor<ServerRequest> contextExtractor = (serverRequest) -> McpTransportContext.EMPTY;
         private boolean disallowDelete;
         private Duration keepAliveInterval;
+        private McpSessionLifecycleManager.Policy sessionPolicy = McpSessionLifecycleManager.Policy.UNBOUNDED;
+        private Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer = builder -> {
+        };
+        private boolean asyncExecution;
 
         private Builder() {
         }
@@ -456,9 +537,26 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
             return this;
         }
 
+        public Builder sessionPolicy(McpSessionLifecycleManager.Policy sessionPolicy) {
+            Assert.notNull(sessionPolicy, "Session policy must not be null");
+            this.sessionPolicy = sessionPolicy;
+            return this;
+        }
+
+        public Builder keepAliveCustomizer(Consumer<KeepAliveScheduler.Builder> keepAliveCustomizer) {
+            Assert.notNull(keepAliveCustomizer, "Keep-alive customizer must not be null");
+            this.keepAliveCustomizer = keepAliveCustomizer;
+            return this;
+        }
+
+        public Builder asyncExecution(boolean asyncExecution) {
+            this.asyncExecution = asyncExecution;
+            return this;
+        }
+
         public WebMvcStreamableServerTransportProvider build() {
             Assert.notNull(this.messageEndpoint, "Message endpoint must be set");
-            return new WebMvcStreamableServerTransportProvider(jsonMapper, messageEndpoint, disallowDelete, keepAliveInterval, contextExtractor);
+            return new WebMvcStreamableServerTransportProvider(jsonMapper, messageEndpoint, disallowDelete, keepAliveInterval, sessionPolicy, keepAliveCustomizer, contextExtractor, asyncExecution);
         }
     }
 }
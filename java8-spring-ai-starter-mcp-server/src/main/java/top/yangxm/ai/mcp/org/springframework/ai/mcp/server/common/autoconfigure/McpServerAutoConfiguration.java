@@ -14,6 +14,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.context.support.StandardServletEnvironment;
 import reactor.core.publisher.Mono;
+import top.yangxm.ai.mcp.commons.json.JsonMapper;
 import top.yangxm.ai.mcp.commons.logger.Logger;
 import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
@@ -22,6 +23,8 @@ import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Root;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ServerCapabilities;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAsyncServer;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAsyncServerExchange;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAdmissionController;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpBulkheads;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerFeatures.AsyncCompletionSpec;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerFeatures.AsyncPromptSpec;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerFeatures.AsyncResourceSpec;
@@ -69,7 +72,10 @@ public class McpServerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public McpServerTransportProviderBase stdioServerTransport() {
+    public McpServerTransportProviderBase stdioServerTransport(McpServerProperties serverProperties) {
+        if (serverProperties.isStdioChannels()) {
+            return StdioServerTransportProvider.ofChannels(JsonMapper.getDefault());
+        }
         return new StdioServerTransportProvider();
     }
 
@@ -79,6 +85,55 @@ public class McpServerAutoConfiguration {
         return ServerCapabilities.builder();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public McpBulkheads mcpBulkheads(McpServerProperties serverProperties) {
+        return createBulkheads(serverProperties.getBulkhead());
+    }
+
+    static McpBulkheads createBulkheads(McpServerProperties.Bulkhead properties) {
+        McpBulkheads.Builder builder = McpBulkheads.builder().keepAlive(properties.getKeepAlive());
+        bulkhead(builder, McpBulkheads.FeatureType.TOOL, properties.getTool());
+        bulkhead(builder, McpBulkheads.FeatureType.RESOURCE, properties.getResource());
+        bulkhead(builder, McpBulkheads.FeatureType.PROMPT, properties.getPrompt());
+        bulkhead(builder, McpBulkheads.FeatureType.COMPLETION, properties.getCompletion());
+        properties.getTools().forEach((toolName, limit) ->
+                builder.tool(toolName, limit.getMaxConcurrency(), limit.getMaxQueued()));
+        McpBulkheads bulkheads = builder.build();
+        if (!bulkheads.isEmpty()) {
+            logger.info("Registered bulkheads: {}", bulkheads.bulkheads());
+        }
+        return bulkheads;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public McpAdmissionController mcpAdmissionController(McpServerProperties serverProperties) {
+        return createAdmissionController(serverProperties.getAdmission());
+    }
+
+    static McpAdmissionController createAdmissionController(McpServerProperties.Admission properties) {
+        McpAdmissionController.Builder builder = McpAdmissionController.builder()
+                .methods(properties.getMethods())
+                .maxConcurrent(properties.getMaxConcurrent())
+                .maxConcurrentPerSession(properties.getMaxConcurrentPerSession());
+        if (properties.isAdaptive()) {
+            builder.adaptive(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+        }
+        McpAdmissionController admissionController = builder.build();
+        if (admissionController.isLimited(McpSchema.METHOD_TOOLS_CALL)) {
+            logger.info("Registered admission controller: {}", admissionController);
+        }
+        return admissionController;
+    }
+
+    private static void bulkhead(McpBulkheads.Builder builder, McpBulkheads.FeatureType featureType,
+                                 McpServerProperties.Limit limit) {
+        if (limit != null) {
+            builder.feature(featureType, limit.getMaxConcurrency(), limit.getMaxQueued());
+        }
+    }
+
     @Bean
     @ConditionalOnProperty(
             prefix = McpServerProperties.CONFIG_PREFIX,
@@ -95,6 +150,8 @@ public class McpServerAutoConfiguration {
                                        ObjectProvider<List<SyncPromptSpec>> prompts,
                                        ObjectProvider<List<SyncCompletionSpec>> completions,
                                        ObjectProvider<BiConsumer<McpSyncServerExchange, List<Root>>> rootsChangeConsumers,
+                                       McpBulkheads bulkheads,
+                                       McpAdmissionController admissionController,
                                        Environment environment) {
         Implementation serverInfo = new Implementation(serverProperties.getName(), serverProperties.getVersion());
         McpSyncServer.Builder serverBuilder = McpSyncServer.builder();
@@ -155,6 +212,13 @@ public class McpServerAutoConfiguration {
         serverBuilder.serverCapabilities(capabilitiesBuilder.build());
         serverBuilder.instructions(serverProperties.getInstructions());
         serverBuilder.requestTimeout(serverProperties.getRequestTimeout());
+        serverBuilder.batchConcurrency(serverProperties.getBatchConcurrency());
+        serverBuilder.listPageSize(serverProperties.getListPageSize());
+        serverBuilder.listSnapshotRetention(serverProperties.getListRetainedSnapshots(),
+                serverProperties.getListSnapshotRetention());
+        serverBuilder.listChangedDebounce(serverProperties.getListChangedDebounce());
+        serverBuilder.admissionController(admissionController);
+        serverBuilder.bulkheads(bulkheads);
         if (environment instanceof StandardServletEnvironment) {
             serverBuilder.immediateExecution(true);
         }
@@ -180,7 +244,8 @@ public class McpServerAutoConfiguration {
                                          ObjectProvider<List<AsyncResourceSpec>> resources,
                                          ObjectProvider<List<AsyncPromptSpec>> prompts,
                                          ObjectProvider<List<AsyncCompletionSpec>> completions,
-                                         ObjectProvider<BiConsumer<McpAsyncServerExchange, List<McpSchema.Root>>> rootsChangeConsumer) {
+                                         ObjectProvider<BiConsumer<McpAsyncServerExchange, List<McpSchema.Root>>> rootsChangeConsumer,
+                                         McpAdmissionController admissionController) {
         Implementation serverInfo = new Implementation(serverProperties.getName(), serverProperties.getVersion());
         McpAsyncServer.Builder serverBuilder = McpAsyncServer.builder();
         serverBuilder.serverInfo(serverInfo);
@@ -244,6 +309,12 @@ public class McpServerAutoConfiguration {
         serverBuilder.serverCapabilities(capabilitiesBuilder.build());
         serverBuilder.instructions(serverProperties.getInstructions());
         serverBuilder.requestTimeout(serverProperties.getRequestTimeout());
+        serverBuilder.batchConcurrency(serverProperties.getBatchConcurrency());
+        serverBuilder.listPageSize(serverProperties.getListPageSize());
+        serverBuilder.listSnapshotRetention(serverProperties.getListRetainedSnapshots(),
+                serverProperties.getListSnapshotRetention());
+        serverBuilder.listChangedDebounce(serverProperties.getListChangedDebounce());
+        serverBuilder.admissionController(admissionController);
 
         if (transportProvider instanceof McpStreamableServerTransportProvider) {
             return serverBuilder.buildStreamableSessionMcpServer((McpStreamableServerTransportProvider) transportProvider);
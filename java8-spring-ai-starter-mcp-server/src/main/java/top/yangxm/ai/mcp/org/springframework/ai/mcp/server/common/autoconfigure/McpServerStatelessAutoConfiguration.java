@@ -17,6 +17,8 @@ import top.yangxm.ai.mcp.commons.logger.LoggerFactoryHolder;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.Implementation;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.schema.McpSchema.ServerCapabilities;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpAdmissionController;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpBulkheads;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessAsyncServer;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerFeatures;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerFeatures.SyncCompletionSpec;
@@ -56,6 +58,18 @@ public class McpServerStatelessAutoConfiguration {
         return ServerCapabilities.builder();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public McpBulkheads mcpBulkheads(McpServerProperties serverProperties) {
+        return McpServerAutoConfiguration.createBulkheads(serverProperties.getBulkhead());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public McpAdmissionController mcpAdmissionController(McpServerProperties serverProperties) {
+        return McpServerAutoConfiguration.createAdmissionController(serverProperties.getAdmission());
+    }
+
     @Bean
     @ConditionalOnProperty(
             prefix = McpServerProperties.CONFIG_PREFIX,
@@ -70,6 +84,8 @@ public class McpServerStatelessAutoConfiguration {
                                                          ObjectProvider<List<SyncResourceSpec>> resources,
                                                          ObjectProvider<List<SyncPromptSpec>> prompts,
                                                          ObjectProvider<List<SyncCompletionSpec>> completions,
+                                                         McpBulkheads bulkheads,
+                                                         McpAdmissionController admissionController,
                                                          Environment environment) {
         Implementation serverInfo = new Implementation(serverProperties.getName(), serverProperties.getVersion());
         McpStatelessSyncServer.Builder serverBuilder = McpStatelessSyncServer.builder();
@@ -120,6 +136,10 @@ public class McpServerStatelessAutoConfiguration {
         serverBuilder.serverCapabilities(capabilitiesBuilder.build());
         serverBuilder.instructions(serverProperties.getInstructions());
         serverBuilder.requestTimeout(serverProperties.getRequestTimeout());
+        serverBuilder.batchConcurrency(serverProperties.getBatchConcurrency());
+        serverBuilder.listPageSize(serverProperties.getListPageSize());
+        serverBuilder.admissionController(admissionController);
+        serverBuilder.bulkheads(bulkheads);
         if (environment instanceof StandardServletEnvironment) {
             serverBuilder.immediateExecution(true);
         }
@@ -139,7 +159,8 @@ public class McpServerStatelessAutoConfiguration {
                                                            ObjectProvider<List<McpStatelessServerFeatures.AsyncToolSpec>> tools,
                                                            ObjectProvider<List<McpStatelessServerFeatures.AsyncResourceSpec>> resources,
                                                            ObjectProvider<List<McpStatelessServerFeatures.AsyncPromptSpec>> prompts,
-                                                           ObjectProvider<List<McpStatelessServerFeatures.AsyncCompletionSpec>> completions) {
+                                                           ObjectProvider<List<McpStatelessServerFeatures.AsyncCompletionSpec>> completions,
+                                                           McpAdmissionController admissionController) {
         Implementation serverInfo = new Implementation(serverProperties.getName(), serverProperties.getVersion());
         McpStatelessAsyncServer.Builder serverBuilder = McpStatelessAsyncServer.builder();
         serverBuilder.serverInfo(serverInfo);
@@ -188,6 +209,9 @@ public class McpServerStatelessAutoConfiguration {
         serverBuilder.serverCapabilities(capabilitiesBuilder.build());
         serverBuilder.instructions(serverProperties.getInstructions());
         serverBuilder.requestTimeout(serverProperties.getRequestTimeout());
+        serverBuilder.batchConcurrency(serverProperties.getBatchConcurrency());
+        serverBuilder.listPageSize(serverProperties.getListPageSize());
+        serverBuilder.admissionController(admissionController);
 
         return serverBuilder.build(statelessTransport);
     }
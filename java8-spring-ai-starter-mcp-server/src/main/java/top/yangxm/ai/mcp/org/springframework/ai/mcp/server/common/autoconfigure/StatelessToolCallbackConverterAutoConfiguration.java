@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MimeType;
 import top.yangxm.ai.mcp.commons.util.Lists;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpBulkheads;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerFeatures.AsyncToolSpec;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpStatelessServerFeatures.SyncToolSpec;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.McpToolUtils;
@@ -55,9 +56,10 @@ public class StatelessToolCallbackConverterAutoConfiguration {
     public List<AsyncToolSpec> asyncStatelessToolSpecs(ObjectProvider<List<ToolCallback>> toolCalls,
                                                        List<ToolCallback> toolCallbacksList,
                                                        List<ToolCallbackProvider> toolCallbackProvider,
-                                                       McpServerProperties serverProperties) {
+                                                       McpServerProperties serverProperties,
+                                                       ObjectProvider<McpBulkheads> bulkheads) {
         List<ToolCallback> tools = this.aggregateToolCallbacks(toolCalls, toolCallbacksList, toolCallbackProvider);
-        return this.toAsyncStatelessToolSpecs(tools, serverProperties);
+        return this.toAsyncStatelessToolSpecs(tools, serverProperties, bulkheads.getIfAvailable(() -> McpBulkheads.NONE));
     }
 
     private List<SyncToolSpec> toSyncStatelessToolSpecs(List<ToolCallback> tools, McpServerProperties serverProperties) {
@@ -78,7 +80,8 @@ public class StatelessToolCallbackConverterAutoConfiguration {
                 .collect(Collectors.toList());
     }
 
-    private List<AsyncToolSpec> toAsyncStatelessToolSpecs(List<ToolCallback> tools, McpServerProperties serverProperties) {
+    private List<AsyncToolSpec> toAsyncStatelessToolSpecs(List<ToolCallback> tools, McpServerProperties serverProperties,
+                                                          McpBulkheads bulkheads) {
         return tools.stream()
                 .collect(Collectors.toMap(
                         tool -> tool.getToolDefinition().name(),
@@ -91,7 +94,7 @@ public class StatelessToolCallbackConverterAutoConfiguration {
                     String toolName = tool.getToolDefinition().name();
                     MimeType mimeType = (serverProperties.getToolResponseMimeType().containsKey(toolName))
                             ? MimeType.valueOf(serverProperties.getToolResponseMimeType().get(toolName)) : null;
-                    return McpToolUtils.toAsyncStatelessToolSpec(tool, mimeType);
+                    return McpToolUtils.toAsyncStatelessToolSpec(tool, mimeType, bulkheads.forTool(toolName));
                 })
                 .collect(Collectors.toList());
     }
@@ -11,6 +11,7 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MimeType;
 import top.yangxm.ai.mcp.commons.util.Lists;
+import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpBulkheads;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerFeatures.AsyncToolSpec;
 import top.yangxm.ai.mcp.io.modelcontextprotocol.sdk.server.McpServerFeatures.SyncToolSpec;
 import top.yangxm.ai.mcp.org.springaicommunity.mcp.McpToolUtils;
@@ -55,9 +56,10 @@ public class ToolCallbackConverterAutoConfiguration {
     public List<AsyncToolSpec> asyncToolSpecs(ObjectProvider<List<ToolCallback>> toolCalls,
                                               List<ToolCallback> toolCallbacksList,
                                               List<ToolCallbackProvider> toolCallbackProvider,
-                                              McpServerProperties serverProperties) {
+                                              McpServerProperties serverProperties,
+                                              ObjectProvider<McpBulkheads> bulkheads) {
         List<ToolCallback> tools = this.aggregateToolCallbacks(toolCalls, toolCallbacksList, toolCallbackProvider);
-        return this.toAsyncToolSpecs(tools, serverProperties);
+        return this.toAsyncToolSpecs(tools, serverProperties, bulkheads.getIfAvailable(() -> McpBulkheads.NONE));
     }
 
     private List<SyncToolSpec> toSyncToolSpecs(List<ToolCallback> tools, McpServerProperties serverProperties) {
@@ -78,7 +80,8 @@ public class ToolCallbackConverterAutoConfiguration {
                 .collect(Collectors.toList());
     }
 
-    private List<AsyncToolSpec> toAsyncToolSpecs(List<ToolCallback> tools, McpServerProperties serverProperties) {
+    private List<AsyncToolSpec> toAsyncToolSpecs(List<ToolCallback> tools, McpServerProperties serverProperties,
+                                                 McpBulkheads bulkheads) {
         return tools.stream()
                 .collect(Collectors.toMap(
                         tool -> tool.getToolDefinition().name(),
@@ -91,7 +94,7 @@ public class ToolCallbackConverterAutoConfiguration {
                     String toolName = tool.getToolDefinition().name();
                     MimeType mimeType = (serverProperties.getToolResponseMimeType().containsKey(toolName))
                             ? MimeType.valueOf(serverProperties.getToolResponseMimeType().get(toolName)) : null;
-                    return McpToolUtils.toAsyncToolSpec(tool, mimeType);
+                    return McpToolUtils.toAsyncToolSpec(tool, mimeType, bulkheads.forTool(toolName));
                 })
                 .collect(Collectors.toList());
     }
@@ -4,7 +4,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.util.Assert;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings("unused")
@@ -14,6 +17,7 @@ public class McpServerProperties {
 
     private boolean enabled = true;
     private boolean stdio = false;
+    private boolean stdioChannels = false;
     private String name = "mcp-server";
     private String version = "1.0.0";
     private String instructions = null;
@@ -21,7 +25,14 @@ public class McpServerProperties {
     private Capabilities capabilities = new Capabilities();
     private ServerProtocol protocol = ServerProtocol.SSE;
     private Duration requestTimeout = Duration.ofSeconds(20);
+    private int batchConcurrency = 16;
+    private int listPageSize = 0;
+    private int listRetainedSnapshots = 64;
+    private Duration listSnapshotRetention = Duration.ofMinutes(5);
+    private Duration listChangedDebounce = Duration.ZERO;
     private Map<String, String> toolResponseMimeType = new HashMap<>();
+    private Bulkhead bulkhead = new Bulkhead();
+    private Admission admission = new Admission();
 
     public boolean isEnabled() {
         return enabled;
@@ -39,6 +50,14 @@ public class McpServerProperties {
         this.stdio = stdio;
     }
 
+    public boolean isStdioChannels() {
+        return stdioChannels;
+    }
+
+    public void setStdioChannels(boolean stdioChannels) {
+        this.stdioChannels = stdioChannels;
+    }
+
     public String getName() {
         return name;
     }
@@ -100,6 +119,53 @@ public class McpServerProperties {
         this.requestTimeout = requestTimeout;
     }
 
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    public void setBatchConcurrency(int batchConcurrency) {
+        Assert.isTrue(batchConcurrency > 0, "Batch concurrency must be positive");
+        this.batchConcurrency = batchConcurrency;
+    }
+
+    public int getListPageSize() {
+        return listPageSize;
+    }
+
+    public void setListPageSize(int listPageSize) {
+        Assert.isTrue(listPageSize >= 0, "List page size must not be negative");
+        this.listPageSize = listPageSize;
+    }
+
+    public int getListRetainedSnapshots() {
+        return listRetainedSnapshots;
+    }
+
+    public void setListRetainedSnapshots(int listRetainedSnapshots) {
+        Assert.isTrue(listRetainedSnapshots >= 0, "List retained snapshots must not be negative");
+        this.listRetainedSnapshots = listRetainedSnapshots;
+    }
+
+    public Duration getListSnapshotRetention() {
+        return listSnapshotRetention;
+    }
+
+    public void setListSnapshotRetention(Duration listSnapshotRetention) {
+        Assert.notNull(listSnapshotRetention, "List snapshot retention must not be null");
+        Assert.isTrue(!listSnapshotRetention.isNegative(), "List snapshot retention must not be negative");
+        this.listSnapshotRetention = listSnapshotRetention;
+    }
+
+    public Duration getListChangedDebounce() {
+        return listChangedDebounce;
+    }
+
+    public void setListChangedDebounce(Duration listChangedDebounce) {
+        Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+        Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+        this.listChangedDebounce = listChangedDebounce;
+    }
+
     public Map<String, String> getToolResponseMimeType() {
         return toolResponseMimeType;
     }
@@ -108,11 +174,30 @@ public class McpServerProperties {
         this.toolResponseMimeType = toolResponseMimeType;
     }
 
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        Assert.notNull(bulkhead, "Bulkhead must not be null");
+        this.bulkhead = bulkhead;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(Admission admission) {
+        Assert.notNull(admission, "Admission must not be null");
+        this.admission = admission;
+    }
+
     @Override
     public String toString() {
         return "McpServerProperties{" +
                 "enabled=" + enabled +
                 ", stdio=" + stdio +
+                ", stdioChannels=" + stdioChannels +
                 ", name='" + name + '\'' +
                 ", version='" + version + '\'' +
                 ", instructions='" + instructions + '\'' +
@@ -120,7 +205,14 @@ public class McpServerProperties {
                 ", capabilities=" + capabilities +
                 ", protocol=" + protocol +
                 ", requestTimeout=" + requestTimeout +
+                ", batchConcurrency=" + batchConcurrency +
+                ", listPageSize=" + listPageSize +
+                ", listRetainedSnapshots=" + listRetainedSnapshots +
+                ", listSnapshotRetention=" + listSnapshotRetention +
+                ", listChangedDebounce=" + listChangedDebounce +
                 ", toolResponseMimeType=" + toolResponseMimeType +
+                ", bulkhead=" + bulkhead +
+                ", admission=" + admission +
                 '}';
     }
 
@@ -183,4 +275,187 @@ public class McpServerProperties {
                     '}';
         }
     }
+
+    public static class Bulkhead {
+        private Limit tool;
+        private Limit resource;
+        private Limit prompt;
+        private Limit completion;
+        private Map<String, Limit> tools = new HashMap<>();
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        public Limit getTool() {
+            return this.tool;
+        }
+
+        public void setTool(Limit tool) {
+            this.tool = tool;
+        }
+
+        public Limit getResource() {
+            return this.resource;
+        }
+
+        public void setResource(Limit resource) {
+            this.resource = resource;
+        }
+
+        public Limit getPrompt() {
+            return this.prompt;
+        }
+
+        public void setPrompt(Limit prompt) {
+            this.prompt = prompt;
+        }
+
+        public Limit getCompletion() {
+            return this.completion;
+        }
+
+        public void setCompletion(Limit completion) {
+            this.completion = completion;
+        }
+
+        public Map<String, Limit> getTools() {
+            return this.tools;
+        }
+
+        public void setTools(Map<String, Limit> tools) {
+            this.tools = tools;
+        }
+
+        public Duration getKeepAlive() {
+            return this.keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            Assert.notNull(keepAlive, "Keep alive must not be null");
+            this.keepAlive = keepAlive;
+        }
+
+        @Override
+        public String toString() {
+            return "Bulkhead{" +
+                    "tool=" + tool +
+                    ", resource=" + resource +
+                    ", prompt=" + prompt +
+                    ", completion=" + completion +
+                    ", tools=" + tools +
+                    ", keepAlive=" + keepAlive +
+                    '}';
+        }
+    }
+
+    public static class Admission {
+        private List<String> methods = new ArrayList<>(Collections.singletonList("tools/call"));
+        private int maxConcurrent = 0;
+        private int maxConcurrentPerSession = 0;
+        private boolean adaptive = false;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+
+        public List<String> getMethods() {
+            return this.methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            Assert.notEmpty(methods, "Methods must not be empty");
+            this.methods = methods;
+        }
+
+        public int getMaxConcurrent() {
+            return this.maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            Assert.isTrue(maxConcurrent >= 0, "Max concurrent must not be negative");
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxConcurrentPerSession() {
+            return this.maxConcurrentPerSession;
+        }
+
+        public void setMaxConcurrentPerSession(int maxConcurrentPerSession) {
+            Assert.isTrue(maxConcurrentPerSession >= 0, "Max concurrent per session must not be negative");
+            this.maxConcurrentPerSession = maxConcurrentPerSession;
+        }
+
+        public boolean isAdaptive() {
+            return this.adaptive;
+        }
+
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        public int getInitialLimit() {
+            return this.initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return this.minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return this.maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        @Override
+        public String toString() {
+            return "Admission{" +
+                    "methods=" + methods +
+                    ", maxConcurrent=" + maxConcurrent +
+                    ", maxConcurrentPerSession=" + maxConcurrentPerSession +
+                    ", adaptive=" + adaptive +
+                    ", initialLimit=" + initialLimit +
+                    ", minLimit=" + minLimit +
+                    ", maxLimit=" + maxLimit +
+                    '}';
+        }
+    }
+
+    public static class Limit {
+        private int maxConcurrency = 10;
+        private int maxQueued = 100;
+
+        public int getMaxConcurrency() {
+            return this.maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            Assert.isTrue(maxConcurrency > 0, "Max concurrency must be positive");
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxQueued() {
+            return this.maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            Assert.isTrue(maxQueued >= 0, "Max queued must not be negative");
+            this.maxQueued = maxQueued;
+        }
+
+        @Override
+        public String toString() {
+            return "Limit{" +
+                    "maxConcurrency=" + maxConcurrency +
+                    ", maxQueued=" + maxQueued +
+                    '}';
+        }
+    }
 }
@@ -14,6 +14,10 @@ public class McpServerSseProperties {
     private String sseEndpoint = "/sse";
     private String sseMessageEndpoint = "/mcp/message";
     private Duration keepAliveInterval;
+    private Duration sessionIdleTimeout;
+    private Duration maxSessionLifetime;
+    private int maxSessions;
+    private int maxFailedPings;
 
     public String getBaseUrl() {
         return baseUrl;
@@ -50,6 +54,38 @@ public class McpServerSseProperties {
         this.keepAliveInterval = keepAliveInterval;
     }
 
+    public Duration getSessionIdleTimeout() {
+        return sessionIdleTimeout;
+    }
+
+    public void setSessionIdleTimeout(Duration sessionIdleTimeout) {
+        this.sessionIdleTimeout = sessionIdleTimeout;
+    }
+
+    public Duration getMaxSessionLifetime() {
+        return maxSessionLifetime;
+    }
+
+    public void setMaxSessionLifetime(Duration maxSessionLifetime) {
+        this.maxSessionLifetime = maxSessionLifetime;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public int getMaxFailedPings() {
+        return maxFailedPings;
+    }
+
+    public void setMaxFailedPings(int maxFailedPings) {
+        this.maxFailedPings = maxFailedPings;
+    }
+
     @Override
     public String toString() {
         return "McpServerSseProperties{" +
@@ -57,6 +93,10 @@ public class McpServerSseProperties {
                 ", sseEndpoint='" + sseEndpoint + '\'' +
                 ", sseMessageEndpoint='" + sseMessageEndpoint + '\'' +
                 ", keepAliveInterval=" + keepAliveInterval +
+                ", sessionIdleTimeout=" + sessionIdleTimeout +
+                ", maxSessionLifetime=" + maxSessionLifetime +
+                ", maxSessions=" + maxSessions +
+                ", maxFailedPings=" + maxFailedPings +
                 '}';
     }
 }
@@ -15,6 +15,14 @@ public class McpServerStreamableHttpProperties {
 
     private boolean disallowDelete;
 
+    private Duration sessionIdleTimeout;
+
+    private Duration maxSessionLifetime;
+
+    private int maxSessions;
+
+    private int maxFailedPings;
+
     public String getMcpEndpoint() {
         return mcpEndpoint;
     }
@@ -39,12 +47,48 @@ public class McpServerStreamableHttpProperties {
         this.disallowDelete = disallowDelete;
     }
 
+    public Duration getSessionIdleTimeout() {
+        return sessionIdleTimeout;
+    }
+
+    public void setSessionIdleTimeout(Duration sessionIdleTimeout) {
+        this.sessionIdleTimeout = sessionIdleTimeout;
+    }
+
+    public Duration getMaxSessionLifetime() {
+        return maxSessionLifetime;
+    }
+
+    public void setMaxSessionLifetime(Duration maxSessionLifetime) {
+        this.maxSessionLifetime = maxSessionLifetime;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public int getMaxFailedPings() {
+        return maxFailedPings;
+    }
+
+    public void setMaxFailedPings(int maxFailedPings) {
+        this.maxFailedPings = maxFailedPings;
+    }
+
     @Override
     public String toString() {
         return "McpServerStreamableHttpProperties{" +
                 "mcpEndpoint='" + mcpEndpoint + '\'' +
                 ", keepAliveInterval=" + keepAliveInterval +
                 ", disallowDelete=" + disallowDelete +
+                ", sessionIdleTimeout=" + sessionIdleTimeout +
+                ", maxSessionLifetime=" + maxSessionLifetime +
+                ", maxSessions=" + maxSessions +
+                ", maxFailedPings=" + maxFailedPings +
                 '}';
     }
 }
\ No newline at end of file